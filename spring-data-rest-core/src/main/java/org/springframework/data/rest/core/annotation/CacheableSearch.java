@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotate an exported query method with this to cache the results of its search resource. Results are cached in
+ * serialized form, every hit gets a detached copy of them. Cached results are dropped once an entity of the
+ * repository's domain type is created, updated, deleted or its associations change through the exporter. Thus only use
+ * this for query methods returning {@link java.io.Serializable} results that don't depend on lazy loading during
+ * rendering and are not changed by other means within the configured time to live. Results not serializable are not
+ * cached.
+ * <p>
+ * Cache hits don't invoke the repository, so security checks applied to the query method are skipped for them. Results
+ * are thus keyed by the name of the authenticated principal and query methods carrying security annotations, or
+ * declared in repositories carrying them, are not cached at all. Results depending on anything else than the
+ * principal, the parameters bound to the query method and the requested page must not be cached.
+ * 
+ * @author Oliver Gierke
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheableSearch {
+
+	/**
+	 * The number of milliseconds a result is cached for.
+	 * 
+	 * @return
+	 */
+	long timeToLive() default 60000;
+
+	/**
+	 * The maximum number of results cached for the query method. The least recently used results are evicted first.
+	 * 
+	 * @return
+	 */
+	int maxEntries() default 100;
+}
@@ -72,4 +72,20 @@ public @interface RepositoryRestResource {
 	 * @return
 	 */
 	Description itemResourceDescription() default @Description(value = "");
+
+	/**
+	 * Whether the collection resource is paged using opaque cursors pointing to the last seen element instead of page
+	 * numbers. Stores that cannot query by key ranges fall back to offset based cursors.
+	 * 
+	 * @return {@literal true} if keyset paging is to be used, {@literal false} otherwise.
+	 */
+	boolean keysetPaging() default false;
+
+	/**
+	 * Whether paged resources of the repository are rendered without the total number of elements so that no count
+	 * query has to be issued. Clients can still request the total explicitly.
+	 * 
+	 * @return {@literal true} if the count query is to be skipped by default, {@literal false} otherwise.
+	 */
+	boolean slicedPaging() default false;
 }
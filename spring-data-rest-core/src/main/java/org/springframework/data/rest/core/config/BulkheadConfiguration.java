@@ -0,0 +1,233 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.config;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * Configuration of the bulkheads that bound the number of concurrent invocations per repository. Each kind of
+ * invocation is assigned a {@link Priority} that determines the share of a repository's capacity it may occupy, so
+ * that cheap item lookups can still be served while collection scans saturate their share.
+ * 
+ * @author Oliver Gierke
+ */
+public class BulkheadConfiguration {
+
+	/**
+	 * The kinds of invocations bulkheads distinguish.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	public static enum InvocationType {
+		ITEM, COLLECTION, SEARCH, ASSOCIATION;
+	}
+
+	/**
+	 * Priority classes of invocations, expressed as the percentage of a repository's capacity invocations of the class
+	 * may occupy.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	public static enum Priority {
+
+		HIGH(100), NORMAL(75), LOW(50);
+
+		private final int share;
+
+		private Priority(int share) {
+			this.share = share;
+		}
+
+		/**
+		 * Returns the number of concurrent invocations of this priority class given the overall capacity. Always allows
+		 * at least a single invocation.
+		 * 
+		 * @param capacity the overall number of concurrent invocations.
+		 * @return
+		 */
+		public int getPermits(int capacity) {
+			return Math.max(1, capacity * share / 100);
+		}
+	}
+
+	private boolean enabled = false;
+	private int maxConcurrentCalls = 20;
+	private int maxWaitingCalls = 10;
+	private long maxWaitTime = 100;
+	private int retryAfter = 1;
+	private final Map<Class<?>, Integer> maxConcurrentCallsFor = new HashMap<Class<?>, Integer>();
+	private final Map<InvocationType, Priority> priorities = new EnumMap<InvocationType, Priority>(InvocationType.class);
+
+	public BulkheadConfiguration() {
+
+		priorities.put(InvocationType.ITEM, Priority.HIGH);
+		priorities.put(InvocationType.ASSOCIATION, Priority.NORMAL);
+		priorities.put(InvocationType.SEARCH, Priority.NORMAL);
+		priorities.put(InvocationType.COLLECTION, Priority.LOW);
+	}
+
+	/**
+	 * Whether invocations are subject to bulkheads at all. Default is {@literal false}.
+	 * 
+	 * @return
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set whether invocations are subject to bulkheads.
+	 * 
+	 * @param enabled
+	 * @return {@literal this}
+	 */
+	public BulkheadConfiguration setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		return this;
+	}
+
+	/**
+	 * Set the default number of concurrent invocations per repository. Default is 20.
+	 * 
+	 * @param maxConcurrentCalls must be greater than 0.
+	 * @return {@literal this}
+	 */
+	public BulkheadConfiguration setMaxConcurrentCalls(int maxConcurrentCalls) {
+		Assert.isTrue(maxConcurrentCalls > 0, "Maximum number of concurrent calls must be greater than 0.");
+		this.maxConcurrentCalls = maxConcurrentCalls;
+		return this;
+	}
+
+	/**
+	 * Set the number of concurrent invocations of the repository managing the given domain type.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @param maxConcurrentCalls must be greater than 0.
+	 * @return {@literal this}
+	 */
+	public BulkheadConfiguration setMaxConcurrentCalls(Class<?> domainType, int maxConcurrentCalls) {
+		Assert.notNull(domainType, "Domain type must not be null.");
+		Assert.isTrue(maxConcurrentCalls > 0, "Maximum number of concurrent calls must be greater than 0.");
+		this.maxConcurrentCallsFor.put(domainType, maxConcurrentCalls);
+		return this;
+	}
+
+	/**
+	 * Get the number of concurrent invocations of the repository managing the given domain type.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @return
+	 */
+	public int getMaxConcurrentCallsFor(Class<?> domainType) {
+		Integer calls = maxConcurrentCallsFor.get(domainType);
+		return calls == null ? maxConcurrentCalls : calls;
+	}
+
+	/**
+	 * Get the number of invocations that may wait for a saturated repository before further ones are rejected. Default
+	 * is 10.
+	 * 
+	 * @return
+	 */
+	public int getMaxWaitingCalls() {
+		return maxWaitingCalls;
+	}
+
+	/**
+	 * Set the number of invocations that may wait for a saturated repository before further ones are rejected.
+	 * 
+	 * @param maxWaitingCalls must not be negative.
+	 * @return {@literal this}
+	 */
+	public BulkheadConfiguration setMaxWaitingCalls(int maxWaitingCalls) {
+		Assert.isTrue(maxWaitingCalls >= 0, "Maximum number of waiting calls must not be negative.");
+		this.maxWaitingCalls = maxWaitingCalls;
+		return this;
+	}
+
+	/**
+	 * Get the number of milliseconds an invocation waits for a saturated repository before it is rejected. Default is
+	 * 100.
+	 * 
+	 * @return
+	 */
+	public long getMaxWaitTime() {
+		return maxWaitTime;
+	}
+
+	/**
+	 * Set the number of milliseconds an invocation waits for a saturated repository before it is rejected.
+	 * 
+	 * @param maxWaitTime must not be negative.
+	 * @return {@literal this}
+	 */
+	public BulkheadConfiguration setMaxWaitTime(long maxWaitTime) {
+		Assert.isTrue(maxWaitTime >= 0, "Maximum wait time must not be negative.");
+		this.maxWaitTime = maxWaitTime;
+		return this;
+	}
+
+	/**
+	 * Get the number of seconds rejected clients are advised to wait before retrying. Default is 1.
+	 * 
+	 * @return
+	 */
+	public int getRetryAfter() {
+		return retryAfter;
+	}
+
+	/**
+	 * Set the number of seconds rejected clients are advised to wait before retrying using the {@code Retry-After}
+	 * header.
+	 * 
+	 * @param retryAfter must not be negative.
+	 * @return {@literal this}
+	 */
+	public BulkheadConfiguration setRetryAfter(int retryAfter) {
+		Assert.isTrue(retryAfter >= 0, "Retry after must not be negative.");
+		this.retryAfter = retryAfter;
+		return this;
+	}
+
+	/**
+	 * Get the {@link Priority} of the given {@link InvocationType}. Item invocations default to {@link Priority#HIGH},
+	 * associations and searches to {@link Priority#NORMAL} and collections to {@link Priority#LOW}.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @return
+	 */
+	public Priority getPriority(InvocationType type) {
+		return priorities.get(type);
+	}
+
+	/**
+	 * Set the {@link Priority} of the given {@link InvocationType}.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @param priority must not be {@literal null}.
+	 * @return {@literal this}
+	 */
+	public BulkheadConfiguration setPriority(InvocationType type, Priority priority) {
+		Assert.notNull(type, "Invocation type must not be null.");
+		Assert.notNull(priority, "Priority must not be null.");
+		this.priorities.put(type, priority);
+		return this;
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * Configuration of the cache for entities looked up by identifier. Caching is enabled per domain type.
+ * 
+ * @author Oliver Gierke
+ */
+public class EntityCacheConfiguration {
+
+	/**
+	 * How cached entities are handed out to callers.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	public static enum Mode {
+
+		/**
+		 * Entities are cached in serialized form and every lookup gets its own detached copy, so that callers can modify
+		 * them freely. Requires the entities to be {@link java.io.Serializable}, others are not cached.
+		 * <p>
+		 * Serialization walks the entity's entire object graph. For JPA entities this loads lazy associations while
+		 * caching, or fails if they can't be loaded anymore, in which case the entity is not cached. Copies are detached,
+		 * so nothing can be loaded lazily from them. Thus only use this for types whose associations are eagerly fetched
+		 * or not exported.
+		 */
+		COPY,
+
+		/**
+		 * All lookups share the very same instance. Only suitable for entities that are not modified through the
+		 * exporter, as modifications become visible to concurrent requests before they're persisted.
+		 */
+		READ_ONLY;
+	}
+
+	private final List<Class<?>> cachedTypes = new ArrayList<Class<?>>();
+	private int maxEntries = 1000;
+	private long timeToLive = 60000;
+	private boolean cacheMisses = false;
+	private Mode mode = Mode.COPY;
+
+	/**
+	 * Should entities of the given domain type be cached?
+	 * 
+	 * @param domainType The domain type to check.
+	 * @return {@literal true} if entities of the given type are cached, {@literal false} otherwise.
+	 */
+	public boolean isCached(Class<?> domainType) {
+		return cachedTypes.contains(domainType);
+	}
+
+	/**
+	 * Enables caching entities of the given domain types. Only read-only lookups are answered from the cache, without
+	 * invoking the repository. Thus security checks applied to the repository are skipped on hits and cached entities
+	 * are shared between all principals, so only cache types readable by everyone.
+	 * 
+	 * @param domainTypes Array of types to cache entities of.
+	 * @return {@literal this}
+	 */
+	public EntityCacheConfiguration cache(Class<?>... domainTypes) {
+		Collections.addAll(cachedTypes, domainTypes);
+		return this;
+	}
+
+	/**
+	 * Get the maximum number of entities cached per domain type. Default is 1000.
+	 * 
+	 * @return
+	 */
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * Set the maximum number of entities cached per domain type. The least recently used entities are evicted first.
+	 * 
+	 * @param maxEntries must be greater than 0.
+	 * @return {@literal this}
+	 */
+	public EntityCacheConfiguration setMaxEntries(int maxEntries) {
+		Assert.isTrue(maxEntries > 0, "Maximum number of entries must be greater than 0.");
+		this.maxEntries = maxEntries;
+		return this;
+	}
+
+	/**
+	 * Get the number of milliseconds entities are cached for. Default is 60000.
+	 * 
+	 * @return
+	 */
+	public long getTimeToLive() {
+		return timeToLive;
+	}
+
+	/**
+	 * Set the number of milliseconds entities are cached for. Bounds the staleness of entities changed without going
+	 * through the exporter.
+	 * 
+	 * @param timeToLive must be greater than 0.
+	 * @return {@literal this}
+	 */
+	public EntityCacheConfiguration setTimeToLive(long timeToLive) {
+		Assert.isTrue(timeToLive > 0, "Time to live must be greater than 0.");
+		this.timeToLive = timeToLive;
+		return this;
+	}
+
+	/**
+	 * Whether lookups for identifiers without an entity are cached as well. Default is {@literal false}.
+	 * 
+	 * @return
+	 */
+	public boolean isCacheMisses() {
+		return cacheMisses;
+	}
+
+	/**
+	 * Set whether lookups for identifiers without an entity are cached as well.
+	 * 
+	 * @param cacheMisses
+	 * @return {@literal this}
+	 */
+	public EntityCacheConfiguration setCacheMisses(boolean cacheMisses) {
+		this.cacheMisses = cacheMisses;
+		return this;
+	}
+
+	/**
+	 * Get the {@link Mode} cached entities are handed out in. Default is {@link Mode#COPY}.
+	 * 
+	 * @return
+	 */
+	public Mode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Set the {@link Mode} cached entities are handed out in.
+	 * 
+	 * @param mode must not be {@literal null}.
+	 * @return {@literal this}
+	 */
+	public EntityCacheConfiguration setMode(Mode mode) {
+		Assert.notNull(mode, "Mode must not be null.");
+		this.mode = mode;
+		return this;
+	}
+}
@@ -18,7 +18,9 @@ package org.springframework.data.rest.core.config;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.MediaType;
@@ -34,17 +36,42 @@ public class RepositoryRestConfiguration {
 	private URI baseUri = URI.create("");
 	private int defaultPageSize = 20;
 	private int maxPageSize = 1000;
+	private int maxUnpagedResults = 10000;
+	private int maxPageOffset = Integer.MAX_VALUE;
+	private long totalCountCacheTtl = 0;
+	private int bulkChunkSize = 100;
+	private boolean batchEnabled = false;
+	private int maxBatchOperations = 100;
+	private int batchParallelism = 4;
+	private boolean asyncExecution = false;
+	private long asyncTimeout = 30000;
+	private int asyncPoolSize = 10;
+	private int asyncQueueCapacity = 100;
+	private Map<Class<?>, Integer> asyncPoolSizes = new HashMap<Class<?>, Integer>();
+	private boolean coalesceInvocations = false;
+	private boolean representationETags = false;
+	private boolean streamingCollections = false;
+	private boolean prettyPrintJson = false;
 	private String pageParamName = "page";
 	private String limitParamName = "size";
 	private String sortParamName = "sort";
+	private String cursorParamName = "cursor";
+	private String countParamName = "count";
+	private String fieldsParamName = "fields";
 	private MediaType defaultMediaType = MediaTypes.HAL_JSON;
 	private boolean useHalAsDefaultJsonMediaType = true;
 	private boolean returnBodyOnCreate = false;
 	private boolean returnBodyOnUpdate = false;
+	private boolean slicedPaging = false;
 	private List<Class<?>> exposeIdsFor = new ArrayList<Class<?>>();
+	private List<Class<?>> keysetPagingFor = new ArrayList<Class<?>>();
+	private List<Class<?>> slicedPagingFor = new ArrayList<Class<?>>();
 	private ResourceMappingConfiguration domainMappings = new ResourceMappingConfiguration();
 	private ResourceMappingConfiguration repoMappings = new ResourceMappingConfiguration();
 	private final ProjectionDefinitionConfiguration projectionConfiguration;
+	private final BulkheadConfiguration bulkheadConfiguration = new BulkheadConfiguration();
+	private final EntityCacheConfiguration entityCacheConfiguration = new EntityCacheConfiguration();
+	private final RepresentationCacheConfiguration representationCacheConfiguration = new RepresentationCacheConfiguration();
 
 	/**
 	 * Creates a new default {@link RepositoryRestConfiguration}.
@@ -126,6 +153,367 @@ public class RepositoryRestConfiguration {
 		return this;
 	}
 
+	/**
+	 * Get the maximum number of results a collection request without paging information may materialize for
+	 * repositories that cannot page on the store level. Default is 10000.
+	 * 
+	 * @return Maximum number of unpaged results.
+	 */
+	public int getMaxUnpagedResults() {
+		return maxUnpagedResults;
+	}
+
+	/**
+	 * Set the maximum number of results a collection request without paging information may materialize for
+	 * repositories that cannot page on the store level. Requests exceeding it get the first page of the maximum page
+	 * size.
+	 * 
+	 * @param maxUnpagedResults Maximum number of unpaged results.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setMaxUnpagedResults(int maxUnpagedResults) {
+		Assert.isTrue(maxUnpagedResults > 0, "Maximum number of unpaged results must be greater than 0.");
+		this.maxUnpagedResults = maxUnpagedResults;
+		return this;
+	}
+
+	/**
+	 * Get the maximum offset (page number times page size) a paged request may address. Default is no limit.
+	 * 
+	 * @return Maximum offset of a page.
+	 */
+	public int getMaxPageOffset() {
+		return maxPageOffset;
+	}
+
+	/**
+	 * Set the maximum offset (page number times page size) a paged request may address. Requests for pages beyond it are
+	 * rejected, so that clients have to use cursors to navigate deep into large collections.
+	 * 
+	 * @param maxPageOffset Maximum offset of a page.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setMaxPageOffset(int maxPageOffset) {
+		Assert.isTrue(maxPageOffset >= 0, "Maximum page offset must not be negative.");
+		this.maxPageOffset = maxPageOffset;
+		return this;
+	}
+
+	/**
+	 * Get the number of milliseconds the total number of elements of paged collection resources is cached for. Default
+	 * is 0, i.e. totals are calculated for every request.
+	 * 
+	 * @return Time to live of cached totals in milliseconds.
+	 */
+	public long getTotalCountCacheTtl() {
+		return totalCountCacheTtl;
+	}
+
+	/**
+	 * Set the number of milliseconds the total number of elements of paged collection resources is cached for. Cached
+	 * totals are dropped when entities of the domain type are created or deleted through the exporter.
+	 * 
+	 * @param totalCountCacheTtl Time to live of cached totals in milliseconds, 0 to disable caching.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setTotalCountCacheTtl(long totalCountCacheTtl) {
+		Assert.isTrue(totalCountCacheTtl >= 0, "Total count cache time to live must not be negative.");
+		this.totalCountCacheTtl = totalCountCacheTtl;
+		return this;
+	}
+
+	/**
+	 * Get the number of entities saved or deleted at once when creating or deleting multiple entities with a single
+	 * request. Default is 100.
+	 * 
+	 * @return Number of entities handed to the repository in a single save or delete call.
+	 */
+	public int getBulkChunkSize() {
+		return bulkChunkSize;
+	}
+
+	/**
+	 * Set the number of entities saved or deleted at once when creating or deleting multiple entities with a single
+	 * request.
+	 * 
+	 * @param bulkChunkSize Number of entities handed to the repository in a single save or delete call.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setBulkChunkSize(int bulkChunkSize) {
+		Assert.isTrue(bulkChunkSize > 0, "Bulk chunk size must be greater than 0.");
+		this.bulkChunkSize = bulkChunkSize;
+		return this;
+	}
+
+	/**
+	 * Whether the batch resource ({@code POST /$batch}) is exposed. Default is {@literal false} as the operations of a
+	 * batch are dispatched in-process and thus bypass the servlet filter chain (e.g. security filters) for everything
+	 * but the batch request itself.
+	 * 
+	 * @return {@literal true} if batch requests are accepted, {@literal false} otherwise.
+	 */
+	public boolean isBatchEnabled() {
+		return batchEnabled;
+	}
+
+	/**
+	 * Set whether the batch resource ({@code POST /$batch}) is exposed. As batch operations don't pass the servlet filter
+	 * chain, every operation is rejected unless a {@code BatchOperationAuthorizer} is registered that applies the access
+	 * rules of the filter chain to it.
+	 * 
+	 * @param batchEnabled Whether batch requests are accepted.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setBatchEnabled(boolean batchEnabled) {
+		this.batchEnabled = batchEnabled;
+		return this;
+	}
+
+	/**
+	 * Get the maximum number of operations accepted in a single batch request. Default is 100.
+	 * 
+	 * @return Maximum number of operations per batch request.
+	 */
+	public int getMaxBatchOperations() {
+		return maxBatchOperations;
+	}
+
+	/**
+	 * Set the maximum number of operations accepted in a single batch request.
+	 * 
+	 * @param maxBatchOperations Maximum number of operations per batch request.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setMaxBatchOperations(int maxBatchOperations) {
+		Assert.isTrue(maxBatchOperations > 0, "Maximum number of batch operations must be greater than 0.");
+		this.maxBatchOperations = maxBatchOperations;
+		return this;
+	}
+
+	/**
+	 * Get the number of threads read-only operations of a batch request may be executed on in parallel. Default is 4.
+	 * 
+	 * @return Number of threads available to execute batch operations in parallel.
+	 */
+	public int getBatchParallelism() {
+		return batchParallelism;
+	}
+
+	/**
+	 * Set the number of threads read-only operations of a batch request may be executed on in parallel.
+	 * 
+	 * @param batchParallelism Number of threads available to execute batch operations in parallel.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setBatchParallelism(int batchParallelism) {
+		Assert.isTrue(batchParallelism > 0, "Batch parallelism must be greater than 0.");
+		this.batchParallelism = batchParallelism;
+		return this;
+	}
+
+	/**
+	 * Whether repository invocations are executed asynchronously, i.e. off the servlet container's request threads.
+	 * Default is {@literal false}.
+	 * 
+	 * @return {@literal true} if repository invocations are executed asynchronously, {@literal false} otherwise.
+	 */
+	public boolean isAsyncExecution() {
+		return asyncExecution;
+	}
+
+	/**
+	 * Set whether repository invocations and the assembly of the resulting resources are executed asynchronously using
+	 * Servlet 3 async support. Requires the servlet and all filters to be async supported.
+	 * 
+	 * @param asyncExecution
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setAsyncExecution(boolean asyncExecution) {
+		this.asyncExecution = asyncExecution;
+		return this;
+	}
+
+	/**
+	 * Get the number of milliseconds an asynchronous repository invocation may take before the request is answered with
+	 * {@code 504 Gateway Timeout}. Default is 30000.
+	 * 
+	 * @return Timeout of asynchronous repository invocations in milliseconds.
+	 */
+	public long getAsyncTimeout() {
+		return asyncTimeout;
+	}
+
+	/**
+	 * Set the number of milliseconds an asynchronous repository invocation may take before the request is answered with
+	 * {@code 504 Gateway Timeout}.
+	 * 
+	 * @param asyncTimeout Timeout of asynchronous repository invocations in milliseconds.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setAsyncTimeout(long asyncTimeout) {
+		Assert.isTrue(asyncTimeout > 0, "Async timeout must be greater than 0.");
+		this.asyncTimeout = asyncTimeout;
+		return this;
+	}
+
+	/**
+	 * Get the default number of threads asynchronous invocations of a single repository are executed on. Default is 10.
+	 * 
+	 * @return Default number of threads per repository.
+	 */
+	public int getAsyncPoolSize() {
+		return asyncPoolSize;
+	}
+
+	/**
+	 * Set the default number of threads asynchronous invocations of a single repository are executed on.
+	 * 
+	 * @param asyncPoolSize Default number of threads per repository.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setAsyncPoolSize(int asyncPoolSize) {
+		Assert.isTrue(asyncPoolSize > 0, "Async pool size must be greater than 0.");
+		this.asyncPoolSize = asyncPoolSize;
+		return this;
+	}
+
+	/**
+	 * Get the number of threads asynchronous invocations of the repository for the given domain type are executed on.
+	 * 
+	 * @param domainType The domain type to look up the pool size for.
+	 * @return Number of threads configured for the given domain type or the default pool size.
+	 */
+	public int getAsyncPoolSizeFor(Class<?> domainType) {
+		Integer poolSize = asyncPoolSizes.get(domainType);
+		return poolSize == null ? asyncPoolSize : poolSize;
+	}
+
+	/**
+	 * Set the number of threads asynchronous invocations of the repository for the given domain type are executed on.
+	 * 
+	 * @param domainType The domain type to configure the pool size for.
+	 * @param asyncPoolSize Number of threads for the repository of the given domain type.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setAsyncPoolSize(Class<?> domainType, int asyncPoolSize) {
+		Assert.notNull(domainType, "Domain type must not be null.");
+		Assert.isTrue(asyncPoolSize > 0, "Async pool size must be greater than 0.");
+		this.asyncPoolSizes.put(domainType, asyncPoolSize);
+		return this;
+	}
+
+	/**
+	 * Get the number of asynchronous repository invocations that may wait for a thread per repository before requests
+	 * are rejected with {@code 503 Service Unavailable}. Default is 100.
+	 * 
+	 * @return Number of invocations that may be queued per repository.
+	 */
+	public int getAsyncQueueCapacity() {
+		return asyncQueueCapacity;
+	}
+
+	/**
+	 * Set the number of asynchronous repository invocations that may wait for a thread per repository before requests
+	 * are rejected with {@code 503 Service Unavailable}.
+	 * 
+	 * @param asyncQueueCapacity Number of invocations that may be queued per repository.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setAsyncQueueCapacity(int asyncQueueCapacity) {
+		Assert.isTrue(asyncQueueCapacity >= 0, "Async queue capacity must not be negative.");
+		this.asyncQueueCapacity = asyncQueueCapacity;
+		return this;
+	}
+
+	/**
+	 * Whether concurrent identical lookups by identifier and query method invocations share a single repository
+	 * invocation. Default is {@literal false}.
+	 * 
+	 * @return {@literal true} if concurrent identical invocations are coalesced, {@literal false} otherwise.
+	 */
+	public boolean isCoalesceInvocations() {
+		return coalesceInvocations;
+	}
+
+	/**
+	 * Set whether concurrent identical lookups by identifier and query method invocations share a single repository
+	 * invocation and its result. Each response is still rendered individually.
+	 * 
+	 * @param coalesceInvocations
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setCoalesceInvocations(boolean coalesceInvocations) {
+		this.coalesceInvocations = coalesceInvocations;
+		return this;
+	}
+
+	/**
+	 * Whether item resources of entities without a version property get an ETag calculated from a hash of their
+	 * representation. Default is {@literal false}.
+	 * 
+	 * @return {@literal true} if representation based ETags are calculated, {@literal false} otherwise.
+	 */
+	public boolean isRepresentationETags() {
+		return representationETags;
+	}
+
+	/**
+	 * Set whether item resources of entities without a version property get an ETag calculated from a hash of their
+	 * representation. Such responses are buffered to calculate the hash, so a matching {@code If-None-Match} header
+	 * saves bandwidth but not the rendering.
+	 * 
+	 * @param representationETags
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setRepresentationETags(boolean representationETags) {
+		this.representationETags = representationETags;
+		return this;
+	}
+
+	/**
+	 * Whether collection and search resources are rendered by writing their items one by one while the repository
+	 * result is consumed instead of building the complete representation in memory first. Default is {@literal false}.
+	 * 
+	 * @return {@literal true} if collection resources are streamed, {@literal false} otherwise.
+	 */
+	public boolean isStreamingCollections() {
+		return streamingCollections;
+	}
+
+	/**
+	 * Set whether collection and search resources are rendered by writing their items one by one while the repository
+	 * result is consumed. {@link org.springframework.hateoas.ResourceProcessor}s for the individual items are invoked
+	 * right before an item is written. Processors for the collection itself don't get to see its content.
+	 * 
+	 * @param streamingCollections
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setStreamingCollections(boolean streamingCollections) {
+		this.streamingCollections = streamingCollections;
+		return this;
+	}
+
+	/**
+	 * Whether the filtered {@code application/json} representations of repository resources are pretty printed.
+	 * Default is {@literal false}.
+	 * 
+	 * @return {@literal true} if the representations are pretty printed, {@literal false} otherwise.
+	 */
+	public boolean isPrettyPrintJson() {
+		return prettyPrintJson;
+	}
+
+	/**
+	 * Set whether the filtered {@code application/json} representations of repository resources are pretty printed.
+	 * 
+	 * @param prettyPrintJson
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setPrettyPrintJson(boolean prettyPrintJson) {
+		this.prettyPrintJson = prettyPrintJson;
+		return this;
+	}
+
 	/**
 	 * Get the name of the URL query string parameter that indicates what page to return. Default is 'page'.
 	 * 
@@ -191,6 +579,74 @@ public class RepositoryRestConfiguration {
 		return this;
 	}
 
+	/**
+	 * Get the name of the URL query string parameter that carries the cursor of keyset paged collections. Default is
+	 * 'cursor'.
+	 * 
+	 * @return Name of the query string parameter used to indicate the cursor to continue paging from.
+	 */
+	public String getCursorParamName() {
+		return cursorParamName;
+	}
+
+	/**
+	 * Set the name of the URL query string parameter that carries the cursor of keyset paged collections.
+	 * 
+	 * @param cursorParamName Name of the query string parameter used to indicate the cursor to continue paging from.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setCursorParamName(String cursorParamName) {
+		Assert.notNull(cursorParamName, "Cursor param name cannot be null.");
+		this.cursorParamName = cursorParamName;
+		return this;
+	}
+
+	/**
+	 * Get the name of the URL query string parameter that allows clients to skip the count query of paged resources by
+	 * handing in {@literal false}. Default is 'count'.
+	 * 
+	 * @return Name of the query string parameter used to indicate whether to calculate the total number of elements.
+	 */
+	public String getCountParamName() {
+		return countParamName;
+	}
+
+	/**
+	 * Set the name of the URL query string parameter that allows clients to skip the count query of paged resources.
+	 * 
+	 * @param countParamName Name of the query string parameter used to indicate whether to calculate the total number
+	 *          of elements.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setCountParamName(String countParamName) {
+		Assert.notNull(countParamName, "Count param name cannot be null.");
+		this.countParamName = countParamName;
+		return this;
+	}
+
+	/**
+	 * Get the name of the URL query string parameter that allows clients to restrict the rendered properties of
+	 * entities to a comma separated list of property paths. Default is 'fields'.
+	 * 
+	 * @return Name of the query string parameter used to select the properties to render.
+	 */
+	public String getFieldsParamName() {
+		return fieldsParamName;
+	}
+
+	/**
+	 * Set the name of the URL query string parameter that allows clients to restrict the rendered properties of
+	 * entities.
+	 * 
+	 * @param fieldsParamName Name of the query string parameter used to select the properties to render.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setFieldsParamName(String fieldsParamName) {
+		Assert.notNull(fieldsParamName, "Fields param name cannot be null.");
+		this.fieldsParamName = fieldsParamName;
+		return this;
+	}
+
 	/**
 	 * Get the {@link MediaType} to use as a default when none is specified.
 	 * 
@@ -373,6 +829,71 @@ public class RepositoryRestConfiguration {
 		return this;
 	}
 
+	/**
+	 * Should the collection resource of this domain type be paged using cursors?
+	 * 
+	 * @param domainType The domain type to check.
+	 * @return {@literal true} if keyset paging is enabled, {@literal false} otherwise.
+	 */
+	public boolean isKeysetPagingEnabledFor(Class<?> domainType) {
+		return keysetPagingFor.contains(domainType);
+	}
+
+	/**
+	 * Set the list of domain types whose collection resources will be paged using cursors pointing to the last seen
+	 * element instead of page numbers.
+	 * 
+	 * @param domainTypes Array of types to enable keyset paging for.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration keysetPagingFor(Class<?>... domainTypes) {
+		Collections.addAll(keysetPagingFor, domainTypes);
+		return this;
+	}
+
+	/**
+	 * Whether paged resources are rendered as slices by default, i.e. without calculating the total number of elements.
+	 * 
+	 * @return {@literal true} if the count query is skipped for all repositories, {@literal false} otherwise.
+	 */
+	public boolean isSlicedPaging() {
+		return slicedPaging;
+	}
+
+	/**
+	 * Set whether paged resources are rendered as slices by default. Clients can still request a total by handing in
+	 * {@literal true} for the parameter configured in {@link #setCountParamName(String)}.
+	 * 
+	 * @param slicedPaging
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration setSlicedPaging(boolean slicedPaging) {
+		this.slicedPaging = slicedPaging;
+		return this;
+	}
+
+	/**
+	 * Should paged resources of this domain type be rendered without calculating the total number of elements?
+	 * 
+	 * @param domainType The domain type to check.
+	 * @return {@literal true} if sliced paging is enabled, {@literal false} otherwise.
+	 */
+	public boolean isSlicedPagingEnabledFor(Class<?> domainType) {
+		return slicedPaging || slicedPagingFor.contains(domainType);
+	}
+
+	/**
+	 * Set the list of domain types whose paged resources will be rendered as slices, i.e. with a link to the next page
+	 * but without the total number of elements and pages.
+	 * 
+	 * @param domainTypes Array of types to enable sliced paging for.
+	 * @return {@literal this}
+	 */
+	public RepositoryRestConfiguration slicedPagingFor(Class<?>... domainTypes) {
+		Collections.addAll(slicedPagingFor, domainTypes);
+		return this;
+	}
+
 	/**
 	 * Returns the {@link ProjectionDefinitionConfiguration} to register addition projections.
 	 * 
@@ -381,4 +902,31 @@ public class RepositoryRestConfiguration {
 	public ProjectionDefinitionConfiguration projectionConfiguration() {
 		return projectionConfiguration;
 	}
+
+	/**
+	 * Returns the {@link BulkheadConfiguration} to bound concurrent repository invocations.
+	 * 
+	 * @return
+	 */
+	public BulkheadConfiguration bulkheadConfiguration() {
+		return bulkheadConfiguration;
+	}
+
+	/**
+	 * Returns the {@link EntityCacheConfiguration} to cache entities looked up by identifier.
+	 * 
+	 * @return
+	 */
+	public EntityCacheConfiguration entityCacheConfiguration() {
+		return entityCacheConfiguration;
+	}
+
+	/**
+	 * Returns the {@link RepresentationCacheConfiguration} to cache rendered item resources.
+	 * 
+	 * @return
+	 */
+	public RepresentationCacheConfiguration representationCacheConfiguration() {
+		return representationCacheConfiguration;
+	}
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * Configuration of the cache for rendered item resource representations. Caching is enabled per domain type.
+ * 
+ * @author Oliver Gierke
+ */
+public class RepresentationCacheConfiguration {
+
+	private final List<Class<?>> cachedTypes = new ArrayList<Class<?>>();
+	private int maxEntries = 1000;
+	private long timeToLive = 60000;
+	private boolean gzip = false;
+
+	/**
+	 * Should the item resources of the given domain type be cached?
+	 * 
+	 * @param domainType The domain type to check.
+	 * @return {@literal true} if item resources of the given type are cached, {@literal false} otherwise.
+	 */
+	public boolean isCached(Class<?> domainType) {
+		return cachedTypes.contains(domainType);
+	}
+
+	/**
+	 * Enables caching the item resources of the given domain types. Cached representations are handed out without
+	 * invoking the repository or any resource processors again, just keyed by the name of the authenticated principal.
+	 * Thus only enable this for types whose item resources are either public or authorized per principal and don't
+	 * differ between requests otherwise.
+	 * 
+	 * @param domainTypes Array of types to cache item resources of.
+	 * @return {@literal this}
+	 */
+	public RepresentationCacheConfiguration cache(Class<?>... domainTypes) {
+		Collections.addAll(cachedTypes, domainTypes);
+		return this;
+	}
+
+	/**
+	 * Get the maximum number of representations cached per domain type. Every variant of an entity's representation
+	 * (e.g. per projection or media type) counts as an entry. Default is 1000.
+	 * 
+	 * @return
+	 */
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * Set the maximum number of representations cached per domain type. Every variant of an entity's representation
+	 * counts as an entry. The representations of the least recently used entities are evicted first.
+	 * 
+	 * @param maxEntries must be greater than 0.
+	 * @return {@literal this}
+	 */
+	public RepresentationCacheConfiguration setMaxEntries(int maxEntries) {
+		Assert.isTrue(maxEntries > 0, "Maximum number of entries must be greater than 0.");
+		this.maxEntries = maxEntries;
+		return this;
+	}
+
+	/**
+	 * Get the number of milliseconds representations are cached for. Default is 60000.
+	 * 
+	 * @return
+	 */
+	public long getTimeToLive() {
+		return timeToLive;
+	}
+
+	/**
+	 * Set the number of milliseconds representations are cached for. Bounds the staleness of representations of
+	 * entities changed without going through the exporter.
+	 * 
+	 * @param timeToLive must be greater than 0.
+	 * @return {@literal this}
+	 */
+	public RepresentationCacheConfiguration setTimeToLive(long timeToLive) {
+		Assert.isTrue(timeToLive > 0, "Time to live must be greater than 0.");
+		this.timeToLive = timeToLive;
+		return this;
+	}
+
+	/**
+	 * Whether a gzipped copy of each representation is kept for clients accepting it. Default is {@literal false}.
+	 * 
+	 * @return
+	 */
+	public boolean isGzip() {
+		return gzip;
+	}
+
+	/**
+	 * Set whether a gzipped copy of each representation is kept for clients accepting it.
+	 * 
+	 * @param gzip
+	 * @return {@literal this}
+	 */
+	public RepresentationCacheConfiguration setGzip(boolean gzip) {
+		this.gzip = gzip;
+		return this;
+	}
+}
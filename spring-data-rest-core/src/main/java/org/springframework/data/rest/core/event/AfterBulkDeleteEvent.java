@@ -0,0 +1,17 @@
+package org.springframework.data.rest.core.event;
+
+import java.util.List;
+
+/**
+ * Emitted once after a batch of entities is deleted from the repository.
+ * 
+ * @author Oliver Gierke
+ */
+public class AfterBulkDeleteEvent extends BulkDeleteEvent {
+
+	private static final long serialVersionUID = 5519603271932470813L;
+
+	public AfterBulkDeleteEvent(List<?> entities, Class<?> domainType) {
+		super(entities, domainType);
+	}
+}
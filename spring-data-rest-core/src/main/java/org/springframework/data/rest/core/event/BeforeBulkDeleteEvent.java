@@ -0,0 +1,17 @@
+package org.springframework.data.rest.core.event;
+
+import java.util.List;
+
+/**
+ * Emitted once before a batch of entities is deleted from the repository.
+ * 
+ * @author Oliver Gierke
+ */
+public class BeforeBulkDeleteEvent extends BulkDeleteEvent {
+
+	private static final long serialVersionUID = -2630941213857632153L;
+
+	public BeforeBulkDeleteEvent(List<?> entities, Class<?> domainType) {
+		super(entities, domainType);
+	}
+}
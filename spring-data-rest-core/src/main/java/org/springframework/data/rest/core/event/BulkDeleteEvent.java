@@ -0,0 +1,39 @@
+package org.springframework.data.rest.core.event;
+
+import java.util.List;
+
+/**
+ * Base class for {@link RepositoryEvent}s emitted once for a batch of entities deleted through a single request. The
+ * per-entity {@link BeforeDeleteEvent}s and {@link AfterDeleteEvent}s are published nonetheless, listeners that can
+ * handle a batch at once can opt in by listening to the bulk events instead.
+ * 
+ * @author Oliver Gierke
+ */
+public abstract class BulkDeleteEvent extends RepositoryEvent {
+
+	private static final long serialVersionUID = 3209817052347366235L;
+	private final Class<?> domainType;
+
+	public BulkDeleteEvent(List<?> entities, Class<?> domainType) {
+		super(entities);
+		this.domainType = domainType;
+	}
+
+	/**
+	 * Get the entities of the batch.
+	 * 
+	 * @return The entities being deleted.
+	 */
+	public List<?> getEntities() {
+		return (List<?>) getSource();
+	}
+
+	/**
+	 * Get the domain type of the entities.
+	 * 
+	 * @return The type managed by the repository the entities are deleted from.
+	 */
+	public Class<?> getDomainType() {
+		return domainType;
+	}
+}
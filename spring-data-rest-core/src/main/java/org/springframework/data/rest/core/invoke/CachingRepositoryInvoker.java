@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import java.io.Serializable;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.rest.core.invoke.EntityCache.Region;
+import org.springframework.data.rest.core.invoke.EntityCache.Region.Lookup;
+import org.springframework.util.Assert;
+
+/**
+ * {@link RepositoryInvoker} that answers read-only lookups by identifier from a {@link Region} of the
+ * {@link EntityCache}. Lookups for entities about to be modified always go to the repository, so that updates are
+ * never merged into stale copies. Cache hits don't invoke the repository, i.e. security checks applied to its
+ * {@code findOne(…)} method are skipped and entities are shared between all principals. Identifiers are converted into the repository's identifier type first so that lookups and the evictions triggered by
+ * repository events use equal keys.
+ * 
+ * @author Oliver Gierke
+ */
+class CachingRepositoryInvoker extends DecoratingRepositoryInvoker {
+
+	private final Region region;
+	private final Class<?> idType;
+	private final ConversionService conversionService;
+
+	/**
+	 * Creates a new {@link CachingRepositoryInvoker} for the given delegate.
+	 * 
+	 * @param delegate must not be {@literal null}.
+	 * @param region must not be {@literal null}.
+	 * @param idType must not be {@literal null}.
+	 * @param conversionService must not be {@literal null}.
+	 */
+	public CachingRepositoryInvoker(RepositoryInvoker delegate, Region region, Class<?> idType,
+			ConversionService conversionService) {
+
+		super(delegate);
+
+		Assert.notNull(region, "Region must not be null!");
+		Assert.notNull(idType, "Id type must not be null!");
+		Assert.notNull(conversionService, "ConversionService must not be null!");
+
+		this.region = region;
+		this.idType = idType;
+		this.conversionService = conversionService;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.DecoratingRepositoryInvoker#invokeFindOneReadOnly(java.io.Serializable)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T invokeFindOneReadOnly(Serializable id) {
+
+		if (id == null) {
+			return super.invokeFindOneReadOnly(id);
+		}
+
+		Serializable key = idType.isInstance(id) ? id : (Serializable) conversionService.convert(id, idType);
+		Lookup lookup = region.lookup(key);
+
+		if (lookup.isHit()) {
+			return (T) lookup.getEntity();
+		}
+
+		T entity = super.invokeFindOneReadOnly(key);
+		lookup.store(entity);
+
+		return entity;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+/**
+ * {@link RepositoryInvoker} that coalesces concurrent identical read-only lookups by identifier and query method
+ * invocations of the same principal using an {@link InvocationCoalescer}. Callers joining an invocation receive
+ * detached copies of its result, so associations not loaded by the invocation can't be loaded lazily by them. Lookups by
+ * identifier through {@link #invokeFindOne(Serializable)}, which are used to modify the entity, are never coalesced.
+ * 
+ * @author Oliver Gierke
+ */
+class CoalescingRepositoryInvoker extends DecoratingRepositoryInvoker {
+
+	private final Class<?> domainType;
+	private final InvocationCoalescer coalescer;
+
+	/**
+	 * Creates a new {@link CoalescingRepositoryInvoker} for the given delegate.
+	 * 
+	 * @param delegate must not be {@literal null}.
+	 * @param domainType must not be {@literal null}.
+	 * @param coalescer must not be {@literal null}.
+	 */
+	public CoalescingRepositoryInvoker(RepositoryInvoker delegate, Class<?> domainType, InvocationCoalescer coalescer) {
+
+		super(delegate);
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+		Assert.notNull(coalescer, "InvocationCoalescer must not be null!");
+
+		this.domainType = domainType;
+		this.coalescer = coalescer;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.DecoratingRepositoryInvoker#invokeFindOneReadOnly(java.io.Serializable)
+	 */
+	@Override
+	public <T> T invokeFindOneReadOnly(final Serializable id) {
+
+		if (id == null) {
+			return super.invokeFindOneReadOnly(id);
+		}
+
+		return coalescer.execute(Arrays.<Object> asList(domainType, id), new Callable<T>() {
+
+			@Override
+			public T call() {
+				return getDelegate().invokeFindOneReadOnly(id);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.DecoratingRepositoryInvoker#invokeQueryMethod(java.lang.reflect.Method, java.util.Map, org.springframework.data.domain.Pageable, org.springframework.data.domain.Sort)
+	 */
+	@Override
+	public Object invokeQueryMethod(final Method method, final Map<String, String[]> parameters,
+			final Pageable pageable, final Sort sort) {
+
+		Object key = Arrays.<Object> asList(domainType, method, normalize(parameters), pageable, sort);
+
+		return coalescer.execute(key, new Callable<Object>() {
+
+			@Override
+			public Object call() {
+				return getDelegate().invokeQueryMethod(method, parameters, pageable, sort);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.DecoratingRepositoryInvoker#invokeQueryMethodSliced(java.lang.reflect.Method, java.util.Map, org.springframework.data.domain.Pageable, org.springframework.data.domain.Sort)
+	 */
+	@Override
+	public Object invokeQueryMethodSliced(final Method method, final Map<String, String[]> parameters,
+			final Pageable pageable, final Sort sort) {
+
+		Object key = Arrays.<Object> asList(domainType, method, normalize(parameters), pageable, sort, Boolean.TRUE);
+
+		return coalescer.execute(key, new Callable<Object>() {
+
+			@Override
+			public Object call() {
+				return getDelegate().invokeQueryMethodSliced(method, parameters, pageable, sort);
+			}
+		});
+	}
+
+	/**
+	 * Turns the given parameters into a map with stable iteration order and value-based equality.
+	 * 
+	 * @param parameters can be {@literal null}.
+	 * @return
+	 */
+	private static Map<String, List<String>> normalize(Map<String, String[]> parameters) {
+
+		Map<String, List<String>> result = new TreeMap<String, List<String>>();
+
+		if (parameters == null) {
+			return result;
+		}
+
+		for (Entry<String, String[]> entry : parameters.entrySet()) {
+			String[] values = entry.getValue();
+			result.put(entry.getKey(), values == null ? null : Arrays.asList(values));
+		}
+
+		return result;
+	}
+}
@@ -17,32 +17,54 @@ package org.springframework.data.rest.core.invoke;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.core.CrudMethods;
 import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.util.Assert;
 
 /**
  * {@link RepositoryInvoker} to shortcut execution of CRUD methods into direct calls on a {@link CrudRepository}. Used
  * to avoid reflection overhead introduced by the base class if we know we work with a {@link CrudRepository}.
+ * <p>
+ * Paging requests are handed to a redeclared {@code findAll(Pageable)} method if the repository interface has one.
+ * Otherwise the requested page is cut out of {@link CrudRepository#findAll()} without consuming more elements than
+ * necessary. Unpaged requests materialize at most the configured maximum number of results and fall back to the first
+ * page of the configured maximum page size if the repository contains more elements.
+ * <p>
+ * Sorting requires the repository interface to redeclare {@code findAll(Sort)} or {@code findAll(Pageable)}. Sorted
+ * requests to repositories that don't are rejected with an {@link IllegalArgumentException} instead of silently
+ * returning unsorted results.
  * 
  * @author Oliver Gierke
  */
 class CrudRepositoryInvoker extends ReflectionRepositoryInvoker {
 
+	static final int UNLIMITED_RESULTS = Integer.MAX_VALUE;
+
 	private final CrudRepository<Object, Serializable> repository;
 	private final CrudMethods crudMethods;
+	private final Class<?> repositoryInterface;
+	private final int maxUnpagedResults;
+	private final int maxPageSize;
 
 	private final boolean customSaveMethod;
 	private final boolean customFindOneMethod;
 	private final boolean customDeleteMethod;
+	private final boolean pagingFindAllMethod;
+	private final boolean sortingFindAllMethod;
 
 	/**
 	 * Creates a new {@link CrudRepositoryInvoker} for the given {@link CrudRepository}, {@link RepositoryInformation} and
-	 * {@link ConversionService}.
+	 * {@link ConversionService} not limiting the number of results of unpaged requests.
 	 * 
 	 * @param repository must not be {@literal null}.
 	 * @param information must not be {@literal null}.
@@ -50,14 +72,41 @@ class CrudRepositoryInvoker extends ReflectionRepositoryInvoker {
 	 */
 	public CrudRepositoryInvoker(CrudRepository<Object, Serializable> repository, RepositoryInformation information,
 			ConversionService conversionService) {
+		this(repository, information, conversionService, UNLIMITED_RESULTS, UNLIMITED_RESULTS);
+	}
+
+	/**
+	 * Creates a new {@link CrudRepositoryInvoker} for the given {@link CrudRepository}, {@link RepositoryInformation},
+	 * {@link ConversionService}, maximum number of results to materialize for unpaged requests and the maximum page size
+	 * to fall back to if an unpaged request exceeds that limit.
+	 * 
+	 * @param repository must not be {@literal null}.
+	 * @param information must not be {@literal null}.
+	 * @param conversionService must not be {@literal null}.
+	 * @param maxUnpagedResults must be greater than 0.
+	 * @param maxPageSize must be greater than 0.
+	 */
+	public CrudRepositoryInvoker(CrudRepository<Object, Serializable> repository, RepositoryInformation information,
+			ConversionService conversionService, int maxUnpagedResults, int maxPageSize) {
 
 		super(repository, information, conversionService);
+
+		Assert.isTrue(maxUnpagedResults > 0, "Maximum number of unpaged results must be greater than 0!");
+		Assert.isTrue(maxPageSize > 0, "Maximum page size must be greater than 0!");
+
 		this.repository = repository;
 		this.crudMethods = information.getCrudMethods();
+		this.repositoryInterface = information.getRepositoryInterface();
+		this.maxUnpagedResults = maxUnpagedResults;
+		this.maxPageSize = maxPageSize;
 
 		this.customSaveMethod = isRedeclaredMethod(crudMethods.getSaveMethod());
 		this.customFindOneMethod = isRedeclaredMethod(crudMethods.getFindOneMethod());
 		this.customDeleteMethod = isRedeclaredMethod(crudMethods.getDeleteMethod());
+
+		Method findAllMethod = crudMethods.hasFindAllMethod() ? crudMethods.getFindAllMethod() : null;
+		this.pagingFindAllMethod = takesFirstParameter(findAllMethod, Pageable.class);
+		this.sortingFindAllMethod = takesFirstParameter(findAllMethod, Sort.class);
 	}
 
 	/**
@@ -74,8 +123,28 @@ class CrudRepositoryInvoker extends ReflectionRepositoryInvoker {
 	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeFindAll(org.springframework.data.domain.Sort)
 	 */
 	@Override
-	public Iterable<Object> invokeFindAll(Sort pageable) {
-		return repository.findAll();
+	public Iterable<Object> invokeFindAll(Sort sort) {
+
+		if (pagingFindAllMethod) {
+
+			Iterable<Object> result = super.invokeFindAll(new PageRequest(0, maxUnpagedResults, sort));
+
+			if (!(result instanceof Page)) {
+				return result;
+			}
+
+			Page<Object> page = (Page<Object>) result;
+
+			return page.getTotalElements() <= page.getNumberOfElements() ? page.getContent() : IterablePaging.truncate(
+					page.getContent(), new PageRequest(0, Math.min(maxPageSize, maxUnpagedResults), sort),
+					page.getTotalElements());
+		}
+
+		assertSortable(sort);
+
+		Iterable<Object> source = sortingFindAllMethod ? super.invokeFindAll(sort) : repository.findAll();
+		return maxUnpagedResults == UNLIMITED_RESULTS ? source : IterablePaging.limit(source, maxUnpagedResults,
+				maxPageSize, repository);
 	}
 
 	/* 
@@ -84,7 +153,60 @@ class CrudRepositoryInvoker extends ReflectionRepositoryInvoker {
 	 */
 	@Override
 	public Iterable<Object> invokeFindAll(Pageable pageable) {
-		return repository.findAll();
+
+		if (pageable == null) {
+			return invokeFindAll((Sort) null);
+		}
+
+		if (pagingFindAllMethod) {
+			return super.invokeFindAll(pageable);
+		}
+
+		assertSortable(pageable.getSort());
+
+		Iterable<Object> source = sortingFindAllMethod ? super.invokeFindAll(pageable.getSort()) : repository.findAll();
+		return IterablePaging.getPage(source, pageable, repository);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.ReflectionRepositoryInvoker#invokeFindAllSliced(org.springframework.data.domain.Pageable)
+	 */
+	@Override
+	public Slice<Object> invokeFindAllSliced(Pageable pageable) {
+
+		if (pageable == null || pagingFindAllMethod || hasSlicedFindAllMethod()) {
+			return super.invokeFindAllSliced(pageable);
+		}
+
+		assertSortable(pageable.getSort());
+
+		Iterable<Object> source = sortingFindAllMethod ? super.invokeFindAll(pageable.getSort()) : repository.findAll();
+		return IterablePaging.getSlice(source, pageable);
+	}
+
+	/**
+	 * Rejects the given {@link Sort} if the repository doesn't expose a way to sort its elements.
+	 * 
+	 * @param sort can be {@literal null}.
+	 * @throws IllegalArgumentException in case a {@link Sort} is given but can't be applied.
+	 */
+	private void assertSortable(Sort sort) {
+
+		if (sort != null && !sortingFindAllMethod) {
+			throw new IllegalArgumentException(String.format(
+					"Repository %s does not support sorting! Redeclare findAll(Sort) or findAll(Pageable) to enable it.",
+					repositoryInterface.getName()));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.ReflectionRepositoryInvoker#invokeCount()
+	 */
+	@Override
+	public long invokeCount() {
+		return repository.count();
 	}
 
 	/*
@@ -97,6 +219,31 @@ class CrudRepositoryInvoker extends ReflectionRepositoryInvoker {
 		return customFindOneMethod ? super.<T> invokeFindOne(id) : (T) repository.findOne(convertId(id));
 	}
 
+	/**
+	 * Looks up all entities with the given ids using a single call to {@link CrudRepository#findAll(Iterable)} unless
+	 * the repository redeclares {@code findOne(…)}, in which case the customized method is invoked per id. The order of
+	 * the returned entities is store specific and ids without an entity are skipped.
+	 * 
+	 * @see org.springframework.data.rest.core.invoke.ReflectionRepositoryInvoker#invokeFindAll(java.lang.Iterable)
+	 */
+	@Override
+	public Iterable<Object> invokeFindAll(Iterable<? extends Serializable> ids) {
+
+		if (customFindOneMethod) {
+			return super.invokeFindAll(ids);
+		}
+
+		Assert.notNull(ids, "Ids must not be null!");
+
+		List<Serializable> converted = new ArrayList<Serializable>();
+
+		for (Serializable id : ids) {
+			converted.add(convertId(id));
+		}
+
+		return repository.findAll(converted);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.rest.core.invoke.ReflectionRepositoryInvoker#invokeSave(java.lang.Object)
@@ -106,6 +253,15 @@ class CrudRepositoryInvoker extends ReflectionRepositoryInvoker {
 		return customSaveMethod ? super.invokeSave(entity) : repository.save(entity);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.ReflectionRepositoryInvoker#invokeSaveAll(java.lang.Iterable)
+	 */
+	@Override
+	public <T> Iterable<T> invokeSaveAll(Iterable<T> entities) {
+		return customSaveMethod ? super.invokeSaveAll(entities) : repository.save(entities);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeDelete(java.io.Serializable)
@@ -120,7 +276,32 @@ class CrudRepositoryInvoker extends ReflectionRepositoryInvoker {
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.ReflectionRepositoryInvoker#invokeDeleteAll(java.lang.Iterable)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void invokeDeleteAll(Iterable<?> entities) {
+
+		if (customDeleteMethod) {
+			super.invokeDeleteAll(entities);
+		} else {
+			repository.delete((Iterable<Object>) entities);
+		}
+	}
+
 	private boolean isRedeclaredMethod(Method method) {
 		return !method.getDeclaringClass().equals(CrudRepository.class);
 	}
+
+	private static boolean takesFirstParameter(Method method, Class<?> type) {
+
+		if (method == null) {
+			return false;
+		}
+
+		Class<?>[] types = method.getParameterTypes();
+		return types.length > 0 && type.isAssignableFrom(types[0]);
+	}
 }
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+/**
+ * Base class for {@link RepositoryInvoker}s that add behavior to individual invocations of another
+ * {@link RepositoryInvoker}. Delegates all calls by default.
+ * 
+ * @author Oliver Gierke
+ */
+abstract class DecoratingRepositoryInvoker implements RepositoryInvoker {
+
+	private final RepositoryInvoker delegate;
+
+	/**
+	 * Creates a new {@link DecoratingRepositoryInvoker} for the given delegate.
+	 * 
+	 * @param delegate must not be {@literal null}.
+	 */
+	public DecoratingRepositoryInvoker(RepositoryInvoker delegate) {
+
+		Assert.notNull(delegate, "Delegate RepositoryInvoker must not be null!");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Returns the {@link RepositoryInvoker} decorated.
+	 * 
+	 * @return
+	 */
+	protected RepositoryInvoker getDelegate() {
+		return delegate;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#hasSaveMethod()
+	 */
+	@Override
+	public boolean hasSaveMethod() {
+		return delegate.hasSaveMethod();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#exposesSave()
+	 */
+	@Override
+	public boolean exposesSave() {
+		return delegate.exposesSave();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#hasDeleteMethod()
+	 */
+	@Override
+	public boolean hasDeleteMethod() {
+		return delegate.hasDeleteMethod();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#exposesDelete()
+	 */
+	@Override
+	public boolean exposesDelete() {
+		return delegate.exposesDelete();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#hasFindOneMethod()
+	 */
+	@Override
+	public boolean hasFindOneMethod() {
+		return delegate.hasFindOneMethod();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#exposesFindOne()
+	 */
+	@Override
+	public boolean exposesFindOne() {
+		return delegate.exposesFindOne();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#hasFindAllMethod()
+	 */
+	@Override
+	public boolean hasFindAllMethod() {
+		return delegate.hasFindAllMethod();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#exposesFindAll()
+	 */
+	@Override
+	public boolean exposesFindAll() {
+		return delegate.exposesFindAll();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#hasCountMethod()
+	 */
+	@Override
+	public boolean hasCountMethod() {
+		return delegate.hasCountMethod();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeSave(java.lang.Object)
+	 */
+	@Override
+	public <T> T invokeSave(T object) {
+		return delegate.invokeSave(object);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeSaveAll(java.lang.Iterable)
+	 */
+	@Override
+	public <T> Iterable<T> invokeSaveAll(Iterable<T> objects) {
+		return delegate.invokeSaveAll(objects);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeFindOne(java.io.Serializable)
+	 */
+	@Override
+	public <T> T invokeFindOne(Serializable id) {
+		return delegate.invokeFindOne(id);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeFindOneReadOnly(java.io.Serializable)
+	 */
+	@Override
+	public <T> T invokeFindOneReadOnly(Serializable id) {
+		return delegate.invokeFindOneReadOnly(id);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeFindAll(java.lang.Iterable)
+	 */
+	@Override
+	public Iterable<Object> invokeFindAll(Iterable<? extends Serializable> ids) {
+		return delegate.invokeFindAll(ids);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeFindAll(org.springframework.data.domain.Pageable)
+	 */
+	@Override
+	public Iterable<Object> invokeFindAll(Pageable pageable) {
+		return delegate.invokeFindAll(pageable);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeFindAll(org.springframework.data.domain.Sort)
+	 */
+	@Override
+	public Iterable<Object> invokeFindAll(Sort sort) {
+		return delegate.invokeFindAll(sort);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeFindAllSliced(org.springframework.data.domain.Pageable)
+	 */
+	@Override
+	public Slice<Object> invokeFindAllSliced(Pageable pageable) {
+		return delegate.invokeFindAllSliced(pageable);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeCount()
+	 */
+	@Override
+	public long invokeCount() {
+		return delegate.invokeCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeDelete(java.io.Serializable)
+	 */
+	@Override
+	public void invokeDelete(Serializable serializable) {
+		delegate.invokeDelete(serializable);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeDeleteAll(java.lang.Iterable)
+	 */
+	@Override
+	public void invokeDeleteAll(Iterable<?> entities) {
+		delegate.invokeDeleteAll(entities);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeQueryMethod(java.lang.reflect.Method, java.util.Map, org.springframework.data.domain.Pageable, org.springframework.data.domain.Sort)
+	 */
+	@Override
+	public Object invokeQueryMethod(Method method, Map<String, String[]> parameters, Pageable pageable, Sort sort) {
+		return delegate.invokeQueryMethod(method, parameters, pageable, sort);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeQueryMethodSliced(java.lang.reflect.Method, java.util.Map, org.springframework.data.domain.Pageable, org.springframework.data.domain.Sort)
+	 */
+	@Override
+	public Object invokeQueryMethodSliced(Method method, Map<String, String[]> parameters, Pageable pageable, Sort sort) {
+		return delegate.invokeQueryMethodSliced(method, parameters, pageable, sort);
+	}
+}
@@ -16,8 +16,8 @@
 package org.springframework.data.rest.core.invoke;
 
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.repository.CrudRepository;
@@ -40,6 +40,12 @@ public class DefaultRepositoryInvokerFactory implements RepositoryInvokerFactory
 	private final ConversionService conversionService;
 	private final Map<Class<?>, RepositoryInvoker> invokers;
 
+	private int maxUnpagedResults = CrudRepositoryInvoker.UNLIMITED_RESULTS;
+	private int maxPageSize = CrudRepositoryInvoker.UNLIMITED_RESULTS;
+	private InvocationCoalescer coalescer;
+	private EntityCache entityCache;
+	private SliceQueryExecutor sliceQueryExecutor;
+
 	/**
 	 * Creates a new {@link DefaultRepositoryInvokerFactory} for the given {@link Repositories} and
 	 * {@link ConversionService}.
@@ -54,19 +60,95 @@ public class DefaultRepositoryInvokerFactory implements RepositoryInvokerFactory
 
 		this.repositories = repositories;
 		this.conversionService = conversionService;
-		this.invokers = new HashMap<Class<?>, RepositoryInvoker>();
+		this.invokers = new ConcurrentHashMap<Class<?>, RepositoryInvoker>();
+	}
+
+	/**
+	 * Configures the maximum number of results an unpaged request to a repository not implementing
+	 * {@link PagingAndSortingRepository} may materialize. Defaults to no limit.
+	 * 
+	 * @param maxUnpagedResults must be greater than 0.
+	 */
+	public void setMaxUnpagedResults(int maxUnpagedResults) {
+
+		Assert.isTrue(maxUnpagedResults > 0, "Maximum number of unpaged results must be greater than 0!");
+		this.maxUnpagedResults = maxUnpagedResults;
+	}
+
+	/**
+	 * Configures the size of the first page returned instead of all results if an unpaged request to a repository not
+	 * implementing {@link PagingAndSortingRepository} exceeds the maximum number of unpaged results. Should be the
+	 * maximum page size clients may request so that the rendered page links stay valid. Defaults to the maximum number of
+	 * unpaged results.
+	 * 
+	 * @param maxPageSize must be greater than 0.
+	 */
+	public void setMaxPageSize(int maxPageSize) {
+
+		Assert.isTrue(maxPageSize > 0, "Maximum page size must be greater than 0!");
+		this.maxPageSize = maxPageSize;
+	}
+
+	/**
+	 * Configures the {@link InvocationCoalescer} to share lookups by identifier and query method invocations between
+	 * concurrent identical calls. Defaults to no coalescing.
+	 * 
+	 * @param coalescer can be {@literal null}.
+	 */
+	public void setInvocationCoalescer(InvocationCoalescer coalescer) {
+		this.coalescer = coalescer;
+	}
+
+	/**
+	 * Configures the {@link EntityCache} to answer lookups by identifier for the domain types it caches. Defaults to no
+	 * caching.
+	 * 
+	 * @param entityCache can be {@literal null}.
+	 */
+	public void setEntityCache(EntityCache entityCache) {
+		this.entityCache = entityCache;
+	}
 
+	/**
+	 * Configures the {@link SliceQueryExecutor} to look up slices of all entities of the domain types it supports without
+	 * a count query. Defaults to none, i.e. slices are derived from the repository's {@code findAll(…)} methods.
+	 * 
+	 * @param sliceQueryExecutor can be {@literal null}.
+	 */
+	public void setSliceQueryExecutor(SliceQueryExecutor sliceQueryExecutor) {
+		this.sliceQueryExecutor = sliceQueryExecutor;
 	}
 
 	/**
-	 * Creates a {@link RepositoryInvoker} for the repository managing the given domain type.
+	 * Creates a {@link RepositoryInvoker} for the repository managing the given domain type, looking up slices with the
+	 * {@link SliceQueryExecutor}, coalescing concurrent identical invocations and caching entities if configured.
 	 * 
 	 * @param domainType
 	 * @return
 	 */
-	@SuppressWarnings("unchecked")
 	private RepositoryInvoker prepareInvokers(Class<?> domainType) {
 
+		RepositoryInvoker invoker = createInvoker(domainType);
+
+		if (sliceQueryExecutor != null && sliceQueryExecutor.supports(domainType)) {
+			invoker = new SlicingRepositoryInvoker(invoker, domainType, sliceQueryExecutor);
+		}
+
+		if (coalescer != null) {
+			invoker = new CoalescingRepositoryInvoker(invoker, domainType, coalescer);
+		}
+
+		if (entityCache != null && entityCache.isCached(domainType)) {
+			invoker = new CachingRepositoryInvoker(invoker, entityCache.getRegion(domainType), repositories
+					.getRepositoryInformationFor(domainType).getIdType(), conversionService);
+		}
+
+		return invoker;
+	}
+
+	@SuppressWarnings("unchecked")
+	private RepositoryInvoker createInvoker(Class<?> domainType) {
+
 		Object repository = repositories.getRepositoryFor(domainType);
 		RepositoryInformation information = repositories.getRepositoryInformationFor(domainType);
 
@@ -75,7 +157,7 @@ public class DefaultRepositoryInvokerFactory implements RepositoryInvokerFactory
 					information, conversionService);
 		} else if (repository instanceof CrudRepository) {
 			return new CrudRepositoryInvoker((CrudRepository<Object, Serializable>) repository, information,
-					conversionService);
+					conversionService, maxUnpagedResults, maxPageSize);
 		} else {
 			return new ReflectionRepositoryInvoker(repository, information, conversionService);
 		}
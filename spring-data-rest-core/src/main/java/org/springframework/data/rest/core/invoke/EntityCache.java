@@ -0,0 +1,398 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.core.config.EntityCacheConfiguration;
+import org.springframework.data.rest.core.config.EntityCacheConfiguration.Mode;
+import org.springframework.data.rest.core.event.BulkDeleteEvent;
+import org.springframework.data.rest.core.event.RepositoryEvent;
+import org.springframework.util.Assert;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * Cache for entities looked up by identifier, independent of the underlying store. Keeps a bounded, least recently
+ * used region per domain type configured in the {@link EntityCacheConfiguration}. Entries are evicted on every
+ * {@link RepositoryEvent} published for the entity, i.e. before and after it is saved, linked or deleted through the
+ * exporter. Events for entities without an identifier, e.g. the ones published before an entity is created, only drop
+ * the region if misses are cached, as other entries can't be affected by them. Changes made by other means become
+ * visible after the configured time to live.
+ * <p>
+ * Only read-only lookups are answered from the cache. As hits don't invoke the repository, they bypass security checks
+ * applied to it and cached entities are shared between all principals. Thus only cache domain types readable by
+ * everyone allowed to access the exporter.
+ * 
+ * @author Oliver Gierke
+ */
+public class EntityCache implements ApplicationListener<RepositoryEvent> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(EntityCache.class);
+	private static final Object MISSING = new Object();
+
+	private final Repositories repositories;
+	private final EntityCacheConfiguration configuration;
+	private final ConcurrentMap<Class<?>, Region> regions;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Creates a new {@link EntityCache} for the given {@link Repositories} and {@link EntityCacheConfiguration}.
+	 * 
+	 * @param repositories must not be {@literal null}.
+	 * @param configuration must not be {@literal null}.
+	 */
+	public EntityCache(Repositories repositories, EntityCacheConfiguration configuration) {
+
+		Assert.notNull(repositories, "Repositories must not be null!");
+		Assert.notNull(configuration, "EntityCacheConfiguration must not be null!");
+
+		this.repositories = repositories;
+		this.configuration = configuration;
+		this.regions = new ConcurrentHashMap<Class<?>, Region>();
+	}
+
+	/**
+	 * Returns whether entities of the given domain type are cached.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @return
+	 */
+	public boolean isCached(Class<?> domainType) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+		return configuration.isCached(domainType);
+	}
+
+	/**
+	 * Evicts the entity with the given identifier.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 */
+	public void evict(Class<?> domainType, Serializable id) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+		Assert.notNull(id, "Id must not be null!");
+
+		Region region = regions.get(domainType);
+
+		if (region != null) {
+			region.evict(id);
+		}
+	}
+
+	/**
+	 * Evicts all entities of the given domain type.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 */
+	public void evictAll(Class<?> domainType) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+
+		Region region = regions.get(domainType);
+
+		if (region != null) {
+			region.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of lookups answered from the cache.
+	 * 
+	 * @return
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of lookups that had to go to the repository.
+	 * 
+	 * @return
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.ApplicationListener#onApplicationEvent(org.springframework.context.ApplicationEvent)
+	 */
+	@Override
+	public void onApplicationEvent(RepositoryEvent event) {
+
+		if (regions.isEmpty()) {
+			return;
+		}
+
+		if (event instanceof BulkDeleteEvent) {
+
+			for (Object entity : ((BulkDeleteEvent) event).getEntities()) {
+				evictEntity(entity);
+			}
+
+			return;
+		}
+
+		evictEntity(event.getSource());
+	}
+
+	/**
+	 * Returns the {@link Region} for the given domain type.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @return
+	 */
+	Region getRegion(Class<?> domainType) {
+
+		Region region = regions.get(domainType);
+
+		if (region != null) {
+			return region;
+		}
+
+		region = new Region(domainType, configuration);
+		Region existing = regions.putIfAbsent(domainType, region);
+
+		return existing == null ? region : existing;
+	}
+
+	private void evictEntity(Object entity) {
+
+		if (entity == null) {
+			return;
+		}
+
+		for (Region region : regions.values()) {
+
+			if (!region.domainType.isInstance(entity)) {
+				continue;
+			}
+
+			EntityInformation<Object, Serializable> information = repositories.getEntityInformationFor(region.domainType);
+			Serializable id = information == null ? null : information.getId(entity);
+
+			if (id != null) {
+				region.evict(id);
+			} else if (region.cacheMisses) {
+				region.clear();
+			}
+		}
+	}
+
+	/**
+	 * A bounded, least recently used cache of the entities of a single domain type.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	class Region {
+
+		private final Class<?> domainType;
+		private final Map<Serializable, Entry> entries;
+		private final long timeToLive;
+		private final boolean cacheMisses;
+		private final Mode mode;
+
+		private long evictions = 0;
+		private boolean warnedNotSerializable = false;
+
+		@SuppressWarnings("serial")
+		private Region(Class<?> domainType, EntityCacheConfiguration configuration) {
+
+			final int maxEntries = configuration.getMaxEntries();
+
+			this.domainType = domainType;
+			this.timeToLive = configuration.getTimeToLive();
+			this.cacheMisses = configuration.isCacheMisses();
+			this.mode = configuration.getMode();
+			this.entries = new LinkedHashMap<Serializable, Entry>(16, 0.75f, true) {
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Serializable, Entry> eldest) {
+					return size() > maxEntries;
+				}
+			};
+		}
+
+		/**
+		 * Looks up the entity with the given identifier.
+		 * 
+		 * @param id must not be {@literal null}.
+		 * @return the {@link Lookup}, never {@literal null}.
+		 */
+		public Lookup lookup(Serializable id) {
+
+			Object value;
+
+			synchronized (entries) {
+
+				Entry entry = entries.get(id);
+
+				if (entry == null || entry.isExpired()) {
+					misses.incrementAndGet();
+					return new Lookup(id, null, false, evictions);
+				}
+
+				value = entry.value;
+			}
+
+			hits.incrementAndGet();
+
+			if (value == MISSING) {
+				return new Lookup(id, null, true, 0);
+			}
+
+			return new Lookup(id, value instanceof byte[] ? SerializationUtils.deserialize((byte[]) value) : value, true, 0);
+		}
+
+		public void evict(Serializable id) {
+
+			synchronized (entries) {
+				entries.remove(id);
+				evictions++;
+			}
+		}
+
+		public void clear() {
+
+			synchronized (entries) {
+				entries.clear();
+				evictions++;
+			}
+		}
+
+		private void store(Serializable id, Object entity, long evictionsAtLookup) {
+
+			if (entity == null && !cacheMisses) {
+				return;
+			}
+
+			Object value = entity == null ? MISSING : entity;
+
+			if (entity != null && mode == Mode.COPY) {
+
+				if (!(entity instanceof Serializable)) {
+					warnNotSerializable();
+					return;
+				}
+
+				try {
+					value = SerializationUtils.serialize(entity);
+				} catch (RuntimeException o_O) {
+					// e.g. non-serializable state or lazy associations failing to load
+					LOGGER.debug("Could not serialize entity of type {}!", domainType.getName(), o_O);
+					warnNotSerializable();
+					return;
+				}
+			}
+
+			Entry entry = new Entry(value, System.currentTimeMillis() + timeToLive);
+
+			synchronized (entries) {
+
+				// skip results that might have been loaded before a concurrent eviction
+				if (evictions == evictionsAtLookup) {
+					entries.put(id, entry);
+				}
+			}
+		}
+
+		private synchronized void warnNotSerializable() {
+
+			if (!warnedNotSerializable) {
+				LOGGER.warn("Not caching entities of type {} as they are not Serializable!", domainType.getName());
+				warnedNotSerializable = true;
+			}
+		}
+
+		/**
+		 * The result of a lookup in a {@link Region}.
+		 * 
+		 * @author Oliver Gierke
+		 */
+		class Lookup {
+
+			private final Serializable id;
+			private final Object entity;
+			private final boolean hit;
+			private final long evictions;
+
+			private Lookup(Serializable id, Object entity, boolean hit, long evictions) {
+				this.id = id;
+				this.entity = entity;
+				this.hit = hit;
+				this.evictions = evictions;
+			}
+
+			/**
+			 * Returns whether the entity or its absence was found in the cache.
+			 * 
+			 * @return
+			 */
+			public boolean isHit() {
+				return hit;
+			}
+
+			/**
+			 * Returns the cached entity, {@literal null} if its absence was cached.
+			 * 
+			 * @return
+			 */
+			public Object getEntity() {
+				return entity;
+			}
+
+			/**
+			 * Stores the given entity, {@literal null} if none was found, as the result of the lookup. Nothing is stored if
+			 * the region saw an eviction since the lookup. In {@link Mode#COPY} the given instance itself is never handed
+			 * out to other callers.
+			 * 
+			 * @param entity can be {@literal null}.
+			 */
+			public void store(Object entity) {
+				Region.this.store(id, entity, evictions);
+			}
+		}
+	}
+
+	private static class Entry {
+
+		private final Object value;
+		private final long expiresAt;
+
+		public Entry(Object value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		public boolean isExpired() {
+			return System.currentTimeMillis() > expiresAt;
+		}
+	}
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import java.io.Serializable;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * Coalesces concurrent invocations with equal keys into a single one: the first caller executes the invocation while
+ * callers of the same principal arriving before it completes wait for its result or exception. As results usually are
+ * entities attached to the first caller's persistence context, the waiting callers get detached copies of them, created
+ * by serializing the result on the thread of the first caller. Results that are not {@link Serializable} are not
+ * shared, the waiting callers execute the invocation themselves then. Keeps track of the number of invocations that
+ * joined an in-flight one (hits) and the ones actually executed (misses).
+ * 
+ * @author Oliver Gierke
+ */
+public class InvocationCoalescer {
+
+	private static final PrincipalResolver NO_PRINCIPAL = new PrincipalResolver() {
+
+		@Override
+		public String getPrincipalName() {
+			return null;
+		}
+	};
+
+	private final PrincipalResolver principalResolver;
+	private final ConcurrentMap<Object, Invocation> inFlight;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Creates a new {@link InvocationCoalescer} not distinguishing principals.
+	 */
+	public InvocationCoalescer() {
+		this(NO_PRINCIPAL);
+	}
+
+	/**
+	 * Creates a new {@link InvocationCoalescer} only coalescing invocations of the same principal as determined by the
+	 * given {@link PrincipalResolver}.
+	 * 
+	 * @param principalResolver must not be {@literal null}.
+	 */
+	public InvocationCoalescer(PrincipalResolver principalResolver) {
+
+		Assert.notNull(principalResolver, "PrincipalResolver must not be null!");
+
+		this.principalResolver = principalResolver;
+		this.inFlight = new ConcurrentHashMap<Object, Invocation>();
+	}
+
+	/**
+	 * Executes the given {@link Callable} unless an invocation with an equal key is in flight for the current principal,
+	 * in which case a copy of its result is returned.
+	 * 
+	 * @param key must not be {@literal null}.
+	 * @param callable must not be {@literal null}.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T execute(Object key, Callable<T> callable) {
+
+		Assert.notNull(key, "Key must not be null!");
+		Assert.notNull(callable, "Callable must not be null!");
+
+		Object scopedKey = Arrays.asList(principalResolver.getPrincipalName(), key);
+
+		while (true) {
+
+			Invocation invocation = new Invocation();
+			Invocation existing = inFlight.putIfAbsent(scopedKey, invocation);
+
+			if (existing == null) {
+				misses.incrementAndGet();
+				return (T) lead(scopedKey, invocation, callable);
+			}
+
+			// the invocation completed in the meantime, try again
+			if (!existing.join()) {
+				continue;
+			}
+
+			Invocation.Outcome outcome = existing.awaitOutcome();
+
+			if (outcome.isShared()) {
+				hits.incrementAndGet();
+				return (T) outcome.get();
+			}
+
+			misses.incrementAndGet();
+			return (T) call(callable);
+		}
+	}
+
+	/**
+	 * Returns the number of invocations that shared the result of an in-flight one.
+	 * 
+	 * @return
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of invocations actually executed.
+	 * 
+	 * @return
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	private Object lead(Object key, Invocation invocation, Callable<?> callable) {
+
+		Object result = null;
+		Throwable failure = null;
+
+		try {
+			result = callable.call();
+		} catch (Throwable o_O) {
+			failure = o_O;
+		} finally {
+			inFlight.remove(key, invocation);
+		}
+
+		if (!invocation.close()) {
+			return failure == null ? result : rethrow(failure);
+		}
+
+		if (failure != null) {
+			invocation.complete(new Invocation.Outcome(null, failure, true));
+			return rethrow(failure);
+		}
+
+		Invocation.Outcome outcome = Invocation.Outcome.NOT_SHARED;
+
+		try {
+			outcome = result == null ? new Invocation.Outcome(null, null, true) : copyOf(result);
+		} finally {
+			invocation.complete(outcome);
+		}
+
+		return result;
+	}
+
+	private static Invocation.Outcome copyOf(Object result) {
+
+		if (!(result instanceof Serializable)) {
+			return Invocation.Outcome.NOT_SHARED;
+		}
+
+		try {
+			return new Invocation.Outcome(SerializationUtils.serialize(result), null, true);
+		} catch (RuntimeException o_O) {
+			return Invocation.Outcome.NOT_SHARED;
+		}
+	}
+
+	private static Object call(Callable<?> callable) {
+
+		try {
+			return callable.call();
+		} catch (Throwable o_O) {
+			return rethrow(o_O);
+		}
+	}
+
+	private static Object rethrow(Throwable failure) {
+
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+
+		throw new UndeclaredThrowableException(failure);
+	}
+
+	/**
+	 * An in-flight invocation callers can join as long as it hasn't completed.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class Invocation {
+
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private int followers = 0;
+		private boolean closed = false;
+		private volatile Outcome outcome;
+
+		/**
+		 * Registers the current caller as waiting for the outcome of the invocation.
+		 * 
+		 * @return {@literal false} if the invocation already completed.
+		 */
+		public synchronized boolean join() {
+
+			if (closed) {
+				return false;
+			}
+
+			followers++;
+			return true;
+		}
+
+		/**
+		 * Prevents further callers from joining.
+		 * 
+		 * @return whether any callers joined the invocation.
+		 */
+		public synchronized boolean close() {
+			closed = true;
+			return followers > 0;
+		}
+
+		public void complete(Outcome outcome) {
+			this.outcome = outcome;
+			this.completed.countDown();
+		}
+
+		public Outcome awaitOutcome() {
+
+			try {
+				completed.await();
+			} catch (InterruptedException o_O) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for coalesced invocation!", o_O);
+			}
+
+			return outcome;
+		}
+
+		/**
+		 * The outcome of an invocation as handed to the callers that joined it.
+		 * 
+		 * @author Oliver Gierke
+		 */
+		static class Outcome {
+
+			static final Outcome NOT_SHARED = new Outcome(null, null, false);
+
+			private final byte[] result;
+			private final Throwable failure;
+			private final boolean shared;
+
+			public Outcome(byte[] result, Throwable failure, boolean shared) {
+				this.result = result;
+				this.failure = failure;
+				this.shared = shared;
+			}
+
+			public boolean isShared() {
+				return shared;
+			}
+
+			/**
+			 * Returns a fresh copy of the result or rethrows the failure of the invocation.
+			 * 
+			 * @return
+			 */
+			public Object get() {
+
+				if (failure != null) {
+					return rethrow(failure);
+				}
+
+				return result == null ? null : SerializationUtils.deserialize(result);
+			}
+		}
+	}
+}
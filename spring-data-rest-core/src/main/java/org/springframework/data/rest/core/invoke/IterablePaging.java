@@ -0,0 +1,188 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.util.Assert;
+
+/**
+ * Helper methods to page the plain {@link Iterable}s returned by {@link CrudRepository#findAll()}. Elements are
+ * consumed lazily and iteration stops as soon as the requested window is filled, so that stores returning streaming
+ * {@link Iterable}s don't have to materialize all rows.
+ *
+ * @author Oliver Gierke
+ */
+abstract class IterablePaging {
+
+	private IterablePaging() {}
+
+	/**
+	 * Returns the {@link Page} described by the given {@link Pageable} from the given source. The total number of
+	 * elements is obtained from the source if it is a {@link Collection} or the iteration reached its end, and from
+	 * {@link CrudRepository#count()} otherwise.
+	 *
+	 * @param source must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @param repository must not be {@literal null}.
+	 * @return
+	 */
+	public static Page<Object> getPage(Iterable<Object> source, Pageable pageable,
+			CrudRepository<Object, Serializable> repository) {
+
+		Assert.notNull(source, "Source must not be null!");
+		Assert.notNull(pageable, "Pageable must not be null!");
+		Assert.notNull(repository, "Repository must not be null!");
+
+		int offset = pageable.getOffset();
+		int size = pageable.getPageSize();
+
+		if (source instanceof List) {
+			return getPage((List<Object>) source, pageable);
+		}
+
+		Iterator<Object> iterator = source.iterator();
+		List<Object> content = new ArrayList<Object>(size);
+		int position = 0;
+
+		while (iterator.hasNext() && position < offset + size) {
+
+			Object element = iterator.next();
+
+			if (position++ >= offset) {
+				content.add(element);
+			}
+		}
+
+		long total = iterator.hasNext() ? getTotal(source, repository) : position;
+
+		return new PageImpl<Object>(content, pageable, total);
+	}
+
+	/**
+	 * Returns the {@link Slice} described by the given {@link Pageable} from the given source. Consumes at most one
+	 * element more than requested to find out about the presence of a next slice and never counts. Already
+	 * materialized {@link List}s result in a {@link Page} as their size is known anyway.
+	 *
+	 * @param source must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	public static Slice<Object> getSlice(Iterable<Object> source, Pageable pageable) {
+
+		Assert.notNull(source, "Source must not be null!");
+		Assert.notNull(pageable, "Pageable must not be null!");
+
+		if (source instanceof List) {
+			return getPage((List<Object>) source, pageable);
+		}
+
+		int offset = pageable.getOffset();
+		int size = pageable.getPageSize();
+
+		Iterator<Object> iterator = source.iterator();
+		List<Object> content = new ArrayList<Object>(size);
+		int position = 0;
+
+		while (iterator.hasNext() && position < offset + size) {
+
+			Object element = iterator.next();
+
+			if (position++ >= offset) {
+				content.add(element);
+			}
+		}
+
+		return new SliceImpl<Object>(content, pageable, iterator.hasNext());
+	}
+
+	/**
+	 * Returns the given source if it contains at most the given number of elements. Otherwise the first page of the
+	 * given page size is returned, so that clients can navigate the remaining elements using page links that stay within
+	 * the configured maximum page size.
+	 *
+	 * @param source must not be {@literal null}.
+	 * @param maxResults the maximum number of elements to materialize.
+	 * @param pageSize the size of the page to return if the source contains more elements, will be capped to
+	 *          {@code maxResults}.
+	 * @param repository must not be {@literal null}.
+	 * @return
+	 */
+	public static Iterable<Object> limit(Iterable<Object> source, int maxResults, int pageSize,
+			CrudRepository<Object, Serializable> repository) {
+
+		Assert.notNull(source, "Source must not be null!");
+		Assert.isTrue(maxResults > 0, "Maximum number of results must be greater than 0!");
+		Assert.isTrue(pageSize > 0, "Page size must be greater than 0!");
+
+		Pageable firstPage = new PageRequest(0, Math.min(pageSize, maxResults));
+
+		if (source instanceof Collection) {
+			return ((Collection<?>) source).size() <= maxResults ? source : getPage(source, firstPage, repository);
+		}
+
+		Iterator<Object> iterator = source.iterator();
+		List<Object> content = new ArrayList<Object>();
+
+		while (iterator.hasNext() && content.size() < maxResults) {
+			content.add(iterator.next());
+		}
+
+		return iterator.hasNext() ? truncate(content, firstPage, repository.count()) : content;
+	}
+
+	/**
+	 * Returns the first page of the given {@link Pageable}'s size from the given already loaded elements.
+	 *
+	 * @param content must not be {@literal null}.
+	 * @param firstPage must not be {@literal null}.
+	 * @param total the total number of elements available.
+	 * @return
+	 */
+	public static Page<Object> truncate(List<Object> content, Pageable firstPage, long total) {
+
+		Assert.notNull(content, "Content must not be null!");
+		Assert.notNull(firstPage, "Pageable must not be null!");
+
+		int size = Math.min(firstPage.getPageSize(), content.size());
+		return new PageImpl<Object>(new ArrayList<Object>(content.subList(0, size)), firstPage, total);
+	}
+
+	private static Page<Object> getPage(List<Object> source, Pageable pageable) {
+
+		int offset = pageable.getOffset();
+		int total = source.size();
+		List<Object> content = offset >= total ? new ArrayList<Object>() : new ArrayList<Object>(source.subList(offset,
+				Math.min(offset + pageable.getPageSize(), total)));
+
+		return new PageImpl<Object>(content, pageable, total);
+	}
+
+	private static long getTotal(Iterable<Object> source, CrudRepository<Object, Serializable> repository) {
+		return source instanceof Collection ? ((Collection<?>) source).size() : repository.count();
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Pageable} requesting one element more than the given one at the same offset. Used to find out whether there
+ * is a next page without issuing a count query.
+ * 
+ * @author Oliver Gierke
+ */
+class LookaheadPageable implements Pageable {
+
+	private final Pageable delegate;
+
+	/**
+	 * Creates a new {@link LookaheadPageable} for the given {@link Pageable}.
+	 * 
+	 * @param delegate must not be {@literal null}.
+	 */
+	public LookaheadPageable(Pageable delegate) {
+
+		Assert.notNull(delegate, "Pageable must not be null!");
+		this.delegate = delegate;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#getPageNumber()
+	 */
+	@Override
+	public int getPageNumber() {
+		return delegate.getPageNumber();
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#getPageSize()
+	 */
+	@Override
+	public int getPageSize() {
+		return delegate.getPageSize() + 1;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#getOffset()
+	 */
+	@Override
+	public int getOffset() {
+		return delegate.getOffset();
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#getSort()
+	 */
+	@Override
+	public Sort getSort() {
+		return delegate.getSort();
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#next()
+	 */
+	@Override
+	public Pageable next() {
+		return new LookaheadPageable(delegate.next());
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#previousOrFirst()
+	 */
+	@Override
+	public Pageable previousOrFirst() {
+		return new LookaheadPageable(delegate.previousOrFirst());
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#first()
+	 */
+	@Override
+	public Pageable first() {
+		return new LookaheadPageable(delegate.first());
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#hasPrevious()
+	 */
+	@Override
+	public boolean hasPrevious() {
+		return delegate.hasPrevious();
+	}
+}
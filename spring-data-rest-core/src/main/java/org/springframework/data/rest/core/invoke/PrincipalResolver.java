@@ -0,0 +1,32 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+/**
+ * Strategy to determine the principal repository invocations are executed for, so that the results of an invocation
+ * are only shared with invocations of the same principal.
+ * 
+ * @author Oliver Gierke
+ */
+public interface PrincipalResolver {
+
+	/**
+	 * Returns the name of the principal the current invocation is executed for.
+	 * 
+	 * @return the name of the principal or {@literal null} if the invocation is executed anonymously.
+	 */
+	String getPrincipalName();
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.Param;
+import org.springframework.hateoas.core.AnnotationAttribute;
+import org.springframework.hateoas.core.MethodParameters;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Immutable description of how to bind request parameters to the arguments of a query method. Captures the parameter
+ * names, the target {@link TypeDescriptor}s and the positions of {@link Pageable} and {@link Sort} parameters once so
+ * that invocations only have to look up and convert the raw values.
+ * 
+ * @author Oliver Gierke
+ */
+public final class QueryMethodBindingPlan {
+
+	private static final AnnotationAttribute PARAM_ANNOTATION = new AnnotationAttribute(Param.class);
+	private static final TypeDescriptor STRING = TypeDescriptor.valueOf(String.class);
+	private static final TypeDescriptor STRING_ARRAY = TypeDescriptor.valueOf(String[].class);
+
+	private final Method method;
+	private final List<String> parameterNames;
+	private final TypeDescriptor[] targetTypes;
+	private final int pageableIndex;
+	private final int sortIndex;
+
+	/**
+	 * Creates a new {@link QueryMethodBindingPlan} for the given query method.
+	 * 
+	 * @param method must not be {@literal null}.
+	 */
+	public QueryMethodBindingPlan(Method method) {
+
+		Assert.notNull(method, "Method must not be null!");
+
+		List<MethodParameter> parameters = new MethodParameters(method, PARAM_ANNOTATION).getParameters();
+		List<String> names = new ArrayList<String>(parameters.size());
+		TypeDescriptor[] types = new TypeDescriptor[parameters.size()];
+		int pageableIndex = -1;
+		int sortIndex = -1;
+
+		for (int i = 0; i < types.length; i++) {
+
+			MethodParameter parameter = parameters.get(i);
+			Class<?> type = parameter.getParameterType();
+
+			if (Pageable.class.isAssignableFrom(type)) {
+				pageableIndex = i;
+				names.add(null);
+			} else if (Sort.class.isAssignableFrom(type)) {
+				sortIndex = i;
+				names.add(null);
+			} else {
+				names.add(parameter.getParameterName());
+				types[i] = new TypeDescriptor(parameter);
+			}
+		}
+
+		this.method = method;
+		this.parameterNames = Collections.unmodifiableList(names);
+		this.targetTypes = types;
+		this.pageableIndex = pageableIndex;
+		this.sortIndex = sortIndex;
+	}
+
+	/**
+	 * Returns the query method the plan was created for.
+	 * 
+	 * @return
+	 */
+	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * Returns the names of the parameters bound from the request. Contains {@literal null} for {@link Pageable} and
+	 * {@link Sort} parameters as well as for parameters whose name cannot be discovered.
+	 * 
+	 * @return
+	 */
+	public List<String> getParameterNames() {
+		return parameterNames;
+	}
+
+	/**
+	 * Returns whether the query method takes a {@link Pageable}.
+	 * 
+	 * @return
+	 */
+	public boolean hasPageableParameter() {
+		return pageableIndex != -1;
+	}
+
+	/**
+	 * Returns whether the query method takes a {@link Sort}.
+	 * 
+	 * @return
+	 */
+	public boolean hasSortParameter() {
+		return sortIndex != -1;
+	}
+
+	/**
+	 * Creates the arguments to invoke the query method with.
+	 * 
+	 * @param rawParameters must not be {@literal null}.
+	 * @param pageable can be {@literal null}.
+	 * @param sort can be {@literal null}, ignored if a {@link Pageable} is given.
+	 * @param conversionService must not be {@literal null}.
+	 * @return
+	 * @throws IllegalArgumentException in case a parameter name cannot be discovered.
+	 */
+	public Object[] bind(Map<String, String[]> rawParameters, Pageable pageable, Sort sort,
+			ConversionService conversionService) {
+
+		Object[] result = new Object[targetTypes.length];
+
+		for (int i = 0; i < result.length; i++) {
+
+			if (i == pageableIndex) {
+				result[i] = pageable;
+				continue;
+			}
+
+			if (i == sortIndex) {
+				result[i] = pageable == null ? sort : pageable.getSort();
+				continue;
+			}
+
+			String parameterName = parameterNames.get(i);
+
+			if (!StringUtils.hasText(parameterName)) {
+				throw new IllegalArgumentException("No @Param annotation found on query method " + method.getName()
+						+ " for parameter " + parameterName);
+			}
+
+			String[] parameterValue = rawParameters.get(parameterName);
+
+			if (parameterValue == null) {
+				result[i] = conversionService.convert(null, STRING, targetTypes[i]);
+			} else if (parameterValue.length == 1) {
+				result[i] = conversionService.convert(parameterValue[0], STRING, targetTypes[i]);
+			} else {
+				result[i] = conversionService.convert(parameterValue, STRING_ARRAY, targetTypes[i]);
+			}
+		}
+
+		return result;
+	}
+}
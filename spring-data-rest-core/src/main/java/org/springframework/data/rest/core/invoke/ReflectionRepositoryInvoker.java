@@ -17,25 +17,27 @@ package org.springframework.data.rest.core.invoke;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
-import org.springframework.core.MethodParameter;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.convert.ConversionService;
-import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.core.CrudMethods;
 import org.springframework.data.repository.core.RepositoryInformation;
-import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RestResource;
-import org.springframework.hateoas.core.AnnotationAttribute;
-import org.springframework.hateoas.core.MethodParameters;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
-import org.springframework.util.StringUtils;
 
 /**
  * Base {@link RepositoryInvoker} using reflection to invoke methods on Spring Data Repositories.
@@ -44,12 +46,22 @@ import org.springframework.util.StringUtils;
  */
 class ReflectionRepositoryInvoker implements RepositoryInvoker {
 
-	private static final AnnotationAttribute PARAM_ANNOTATION = new AnnotationAttribute(Param.class);
+	private static final Pattern QUERY_METHOD_NAME = Pattern.compile("^(find|read|get|query)(\\p{Lu}.*)$");
 
 	private final Object repository;
 	private final CrudMethods methods;
 	private final RepositoryInformation information;
 	private final ConversionService conversionService;
+	private final Method slicedFindAllMethod;
+	private final Method countMethod;
+	private final Method entityDeleteMethod;
+	private final Map<Method, QueryMethodBindingPlan> plans;
+	private final Map<Method, Method> slicedQueryMethods;
+
+	private final boolean exposesFindAll;
+	private final boolean exposesFindOne;
+	private final boolean exposesSave;
+	private final boolean exposesDelete;
 
 	/**
 	 * Creates a new {@link ReflectionRepositoryInvoker} for the given repository, {@link RepositoryInformation} and
@@ -70,6 +82,16 @@ class ReflectionRepositoryInvoker implements RepositoryInvoker {
 		this.methods = information.getCrudMethods();
 		this.information = information;
 		this.conversionService = conversionService;
+		this.slicedFindAllMethod = findSlicedFindAllMethod(information);
+		this.countMethod = findCountMethod(information);
+		this.entityDeleteMethod = findEntityDeleteMethod(information);
+		this.plans = createBindingPlans(information);
+		this.slicedQueryMethods = findSlicedQueryMethods(information);
+
+		this.exposesFindAll = methods.hasFindAllMethod() && exposes(methods.getFindAllMethod());
+		this.exposesFindOne = methods.hasFindOneMethod() && exposes(methods.getFindOneMethod());
+		this.exposesSave = methods.hasSaveMethod() && exposes(methods.getSaveMethod());
+		this.exposesDelete = methods.hasDelete() && exposes(methods.getDeleteMethod());
 	}
 
 	/* 
@@ -87,7 +109,7 @@ class ReflectionRepositoryInvoker implements RepositoryInvoker {
 	 */
 	@Override
 	public boolean exposesFindAll() {
-		return methods.hasFindAllMethod() && exposes(methods.getFindAllMethod());
+		return exposesFindAll;
 	}
 
 	/* (non-Javadoc)
@@ -124,6 +146,29 @@ class ReflectionRepositoryInvoker implements RepositoryInvoker {
 		return invoke(method, pageable);
 	}
 
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeFindAllSliced(org.springframework.data.domain.Pageable)
+	 */
+	@Override
+	public Slice<Object> invokeFindAllSliced(Pageable pageable) {
+
+		if (slicedFindAllMethod != null && pageable != null && exposesFindAll()) {
+			return invoke(slicedFindAllMethod, pageable);
+		}
+
+		return toSlice(invokeFindAll(pageable), null);
+	}
+
+	/**
+	 * Returns whether the repository declares a query method returning a {@link Slice} of all entities.
+	 * 
+	 * @return
+	 */
+	protected boolean hasSlicedFindAllMethod() {
+		return slicedFindAllMethod != null;
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#hasSaveMethod()
@@ -139,7 +184,7 @@ class ReflectionRepositoryInvoker implements RepositoryInvoker {
 	 */
 	@Override
 	public boolean exposesSave() {
-		return methods.hasSaveMethod() && exposes(methods.getSaveMethod());
+		return exposesSave;
 	}
 
 	/* (non-Javadoc)
@@ -150,6 +195,22 @@ class ReflectionRepositoryInvoker implements RepositoryInvoker {
 		return invoke(methods.getSaveMethod(), object);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeSaveAll(java.lang.Iterable)
+	 */
+	@Override
+	public <T> Iterable<T> invokeSaveAll(Iterable<T> objects) {
+
+		List<T> result = new ArrayList<T>();
+
+		for (T object : objects) {
+			result.add(invokeSave(object));
+		}
+
+		return result;
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#hasFindOneMethod()
@@ -165,7 +226,32 @@ class ReflectionRepositoryInvoker implements RepositoryInvoker {
 	 */
 	@Override
 	public boolean exposesFindOne() {
-		return methods.hasFindOneMethod() && exposes(methods.getFindOneMethod());
+		return exposesFindOne;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#hasCountMethod()
+	 */
+	@Override
+	public boolean hasCountMethod() {
+		return countMethod != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeCount()
+	 */
+	@Override
+	public long invokeCount() {
+
+		if (countMethod == null) {
+			throw new IllegalStateException(String.format("Repository %s does not declare a count method!",
+					information.getRepositoryInterface().getName()));
+		}
+
+		Number result = invoke(countMethod);
+		return result == null ? 0 : result.longValue();
 	}
 
 	/* 
@@ -177,6 +263,38 @@ class ReflectionRepositoryInvoker implements RepositoryInvoker {
 		return invoke(methods.getFindOneMethod(), convertId(id));
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeFindOneReadOnly(java.io.Serializable)
+	 */
+	@Override
+	public <T> T invokeFindOneReadOnly(Serializable id) {
+		return invokeFindOne(id);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeFindAll(java.lang.Iterable)
+	 */
+	@Override
+	public Iterable<Object> invokeFindAll(Iterable<? extends Serializable> ids) {
+
+		Assert.notNull(ids, "Ids must not be null!");
+
+		List<Object> result = new ArrayList<Object>();
+
+		for (Serializable id : ids) {
+
+			Object element = invokeFindOne(id);
+
+			if (element != null) {
+				result.add(element);
+			}
+		}
+
+		return result;
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.springframework.data.rest.core.invoke.RepositoryInvocationInformation#hasDeleteMethod()
@@ -192,7 +310,7 @@ class ReflectionRepositoryInvoker implements RepositoryInvoker {
 	 */
 	@Override
 	public boolean exposesDelete() {
-		return methods.hasDelete() && exposes(methods.getDeleteMethod());
+		return exposesDelete;
 	}
 
 	/* 
@@ -211,7 +329,26 @@ class ReflectionRepositoryInvoker implements RepositoryInvoker {
 		}
 	}
 
-	private boolean exposes(Method method) {
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeDeleteAll(java.lang.Iterable)
+	 */
+	@Override
+	public void invokeDeleteAll(Iterable<?> entities) {
+
+		Assert.notNull(entities, "Entities must not be null!");
+
+		if (entityDeleteMethod == null) {
+			throw new IllegalStateException(String.format("Repository %s does not declare a delete method taking an entity!",
+					information.getRepositoryInterface().getName()));
+		}
+
+		for (Object entity : entities) {
+			invoke(entityDeleteMethod, entity);
+		}
+	}
+
+	private static boolean exposes(Method method) {
 
 		RestResource annotation = AnnotationUtils.findAnnotation(method, RestResource.class);
 		return annotation == null ? true : annotation.exported();
@@ -226,43 +363,212 @@ class ReflectionRepositoryInvoker implements RepositoryInvoker {
 		return invoke(method, prepareParameters(method, parameters, pageable, sort));
 	}
 
-	private Object[] prepareParameters(Method method, Map<String, String[]> rawParameters, Pageable pageable, Sort sort) {
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.RepositoryInvoker#invokeQueryMethodSliced(java.lang.reflect.Method, java.util.Map, org.springframework.data.domain.Pageable, org.springframework.data.domain.Sort)
+	 */
+	@Override
+	public Object invokeQueryMethodSliced(Method method, Map<String, String[]> parameters, Pageable pageable, Sort sort) {
 
-		List<MethodParameter> parameters = new MethodParameters(method, PARAM_ANNOTATION).getParameters();
+		Method slicedMethod = slicedQueryMethods.get(method);
 
-		if (parameters.isEmpty()) {
-			return new Object[0];
+		if (pageable != null && slicedMethod != null) {
+			method = slicedMethod;
 		}
 
-		Object[] result = new Object[parameters.size()];
-		Sort sortToUse = pageable == null ? sort : pageable.getSort();
+		Class<?> returnType = method.getReturnType();
 
-		for (int i = 0; i < result.length; i++) {
+		// Slice and Page return types are handled by the store, Page ones always trigger a count
+		if (pageable == null || !Iterable.class.isAssignableFrom(returnType) || !returnType.isAssignableFrom(List.class)
+				|| !hasParameterOfType(method, Pageable.class)) {
+			return invokeQueryMethod(method, parameters, pageable, sort);
+		}
 
-			MethodParameter param = parameters.get(i);
-			Class<?> targetType = param.getParameterType();
+		Object result = invokeQueryMethod(method, parameters, new LookaheadPageable(pageable), sort);
+		return result == null ? null : toSlice((Iterable<?>) result, pageable);
+	}
 
-			if (Pageable.class.isAssignableFrom(targetType)) {
-				result[i] = pageable;
-			} else if (Sort.class.isAssignableFrom(targetType)) {
-				result[i] = sortToUse;
-			} else {
+	/**
+	 * Turns the given {@link Iterable} into a {@link Slice}. In case it contains more elements than requested by the
+	 * given {@link Pageable} it is considered to have been looked up using a {@link LookaheadPageable}, i.e. the
+	 * additional element only indicates the presence of a next slice.
+	 * 
+	 * @param source must not be {@literal null}.
+	 * @param pageable can be {@literal null}.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private static Slice<Object> toSlice(Iterable<?> source, Pageable pageable) {
 
-				String parameterName = param.getParameterName();
+		if (source instanceof Slice) {
+			return (Slice<Object>) source;
+		}
 
-				if (!StringUtils.hasText(parameterName)) {
-					throw new IllegalArgumentException("No @Param annotation found on query method " + method.getName()
-							+ " for parameter " + parameterName);
-				}
+		List<Object> content = new ArrayList<Object>();
+
+		for (Object element : source) {
+			content.add(element);
+		}
 
-				String[] parameterValue = rawParameters.get(parameterName);
-				Object value = parameterValue == null ? null : parameterValue.length == 1 ? parameterValue[0] : parameterValue;
+		if (pageable == null) {
+			return new SliceImpl<Object>(content);
+		}
 
-				result[i] = conversionService.convert(value, TypeDescriptor.forObject(value), new TypeDescriptor(param));
+		boolean hasNext = content.size() > pageable.getPageSize();
+		return new SliceImpl<Object>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+	}
+
+	private static boolean hasParameterOfType(Method method, Class<?> type) {
+
+		for (Class<?> parameterType : method.getParameterTypes()) {
+			if (type.isAssignableFrom(parameterType)) {
+				return true;
 			}
 		}
 
-		return result;
+		return false;
+	}
+
+	/**
+	 * Returns the query method taking a {@link Pageable} and returning a {@link Slice} of all entities, e.g.
+	 * {@code Slice<T> findAllBy(Pageable pageable)}, that a store can execute without a count query.
+	 * 
+	 * @param information must not be {@literal null}.
+	 * @return the method or {@literal null} if the repository doesn't declare one.
+	 */
+	private static Method findSlicedFindAllMethod(RepositoryInformation information) {
+
+		for (Method method : information.getQueryMethods()) {
+
+			Class<?>[] types = method.getParameterTypes();
+
+			if (Slice.class.equals(method.getReturnType()) && types.length == 1 && Pageable.class.equals(types[0])
+					&& method.getName().startsWith("findAll")) {
+				return method;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the query methods returning a {@link Slice} or {@link List} declared as equivalent of query methods
+	 * returning a {@link Page}, i.e. taking the same parameters and only differing in the prefix of their names, e.g.
+	 * {@code Slice<Person> readByLastname(@Param("lastname") String lastname, Pageable pageable)} for
+	 * {@code Page<Person> findByLastname(@Param("lastname") String lastname, Pageable pageable)}. Invoking those instead
+	 * avoids the count query the store issues for the latter.
+	 * 
+	 * @param information must not be {@literal null}.
+	 * @return
+	 */
+	private static Map<Method, Method> findSlicedQueryMethods(RepositoryInformation information) {
+
+		Map<Method, Method> result = new HashMap<Method, Method>();
+
+		for (Method method : information.getQueryMethods()) {
+
+			String query = getQueryName(method);
+
+			if (query == null || !Page.class.isAssignableFrom(method.getReturnType())
+					|| !hasParameterOfType(method, Pageable.class)) {
+				continue;
+			}
+
+			for (Method candidate : information.getQueryMethods()) {
+
+				Class<?> returnType = candidate.getReturnType();
+				boolean sliced = Slice.class.equals(returnType) || Iterable.class.isAssignableFrom(returnType)
+						&& returnType.isAssignableFrom(List.class);
+
+				if (sliced && query.equals(getQueryName(candidate))
+						&& Arrays.equals(method.getParameterTypes(), candidate.getParameterTypes())
+						&& Arrays.deepEquals(method.getParameterAnnotations(), candidate.getParameterAnnotations())) {
+					result.put(method, candidate);
+					break;
+				}
+			}
+		}
+
+		return Collections.unmodifiableMap(result);
+	}
+
+	/**
+	 * Returns the part of the given query method's name following the subject prefix.
+	 * 
+	 * @param method must not be {@literal null}.
+	 * @return the name without prefix or {@literal null} if it doesn't start with one.
+	 */
+	private static String getQueryName(Method method) {
+
+		Matcher matcher = QUERY_METHOD_NAME.matcher(method.getName());
+		return matcher.matches() ? matcher.group(2) : null;
+	}
+
+	/**
+	 * Returns the method equivalent to {@link org.springframework.data.repository.CrudRepository#count()}.
+	 * 
+	 * @param information must not be {@literal null}.
+	 * @return the method or {@literal null} if the repository doesn't declare one.
+	 */
+	private static Method findCountMethod(RepositoryInformation information) {
+
+		Method method = ReflectionUtils.findMethod(information.getRepositoryInterface(), "count");
+
+		if (method == null) {
+			return null;
+		}
+
+		Class<?> returnType = method.getReturnType();
+		return long.class.equals(returnType) || Long.class.equals(returnType) ? method : null;
+	}
+
+	/**
+	 * Returns the delete method taking an entity, i.e. either the detected CRUD delete method if it does not take an id
+	 * or the {@code delete(…)} method taking the domain type otherwise.
+	 * 
+	 * @param information must not be {@literal null}.
+	 * @return the method or {@literal null} if the repository does not declare one.
+	 */
+	private static Method findEntityDeleteMethod(RepositoryInformation information) {
+
+		CrudMethods methods = information.getCrudMethods();
+
+		if (methods.hasDelete() && !methods.getDeleteMethod().getParameterTypes()[0].equals(Serializable.class)) {
+			return methods.getDeleteMethod();
+		}
+
+		Class<?> repositoryInterface = information.getRepositoryInterface();
+		Method method = ReflectionUtils.findMethod(repositoryInterface, "delete", information.getDomainType());
+
+		return method != null ? method : ReflectionUtils.findMethod(repositoryInterface, "delete", Object.class);
+	}
+
+	/**
+	 * Creates {@link QueryMethodBindingPlan}s for all query methods of the given repository.
+	 * 
+	 * @param information must not be {@literal null}.
+	 * @return
+	 */
+	private static Map<Method, QueryMethodBindingPlan> createBindingPlans(RepositoryInformation information) {
+
+		Map<Method, QueryMethodBindingPlan> plans = new HashMap<Method, QueryMethodBindingPlan>();
+
+		for (Method method : information.getQueryMethods()) {
+			plans.put(method, new QueryMethodBindingPlan(method));
+		}
+
+		return Collections.unmodifiableMap(plans);
+	}
+
+	private Object[] prepareParameters(Method method, Map<String, String[]> rawParameters, Pageable pageable, Sort sort) {
+
+		QueryMethodBindingPlan plan = plans.get(method);
+
+		if (plan == null) {
+			plan = new QueryMethodBindingPlan(method);
+		}
+
+		return plan.bind(rawParameters, pageable, sort, conversionService);
 	}
 
 	/**
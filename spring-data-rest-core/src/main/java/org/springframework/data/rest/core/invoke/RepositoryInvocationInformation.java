@@ -77,4 +77,11 @@ public interface RepositoryInvocationInformation {
 	 * @return
 	 */
 	boolean exposesFindAll();
+
+	/**
+	 * Returns whether the repository has a method to count all objects.
+	 * 
+	 * @return
+	 */
+	boolean hasCountMethod();
 }
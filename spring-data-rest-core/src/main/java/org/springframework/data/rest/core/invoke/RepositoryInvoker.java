@@ -20,6 +20,7 @@ import java.lang.reflect.Method;
 import java.util.Map;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 /**
@@ -29,13 +30,35 @@ public interface RepositoryInvoker extends RepositoryInvocationInformation {
 
 	<T> T invokeSave(T object);
 
+	<T> Iterable<T> invokeSaveAll(Iterable<T> objects);
+
 	<T> T invokeFindOne(Serializable id);
 
+	/**
+	 * Looks up the entity with the given id for read access only, i.e. the caller neither modifies the returned entity
+	 * nor hands it to a save or delete operation. Implementations may thus share the returned instance with concurrent
+	 * callers.
+	 * 
+	 * @param id can be {@literal null}.
+	 * @return
+	 */
+	<T> T invokeFindOneReadOnly(Serializable id);
+
+	Iterable<Object> invokeFindAll(Iterable<? extends Serializable> ids);
+
 	Iterable<Object> invokeFindAll(Pageable pageable);
 
 	Iterable<Object> invokeFindAll(Sort sort);
 
+	Slice<Object> invokeFindAllSliced(Pageable pageable);
+
+	long invokeCount();
+
 	void invokeDelete(Serializable serializable);
 
+	void invokeDeleteAll(Iterable<?> entities);
+
 	Object invokeQueryMethod(Method method, Map<String, String[]> parameters, Pageable pageable, Sort sort);
+
+	Object invokeQueryMethodSliced(Method method, Map<String, String[]> parameters, Pageable pageable, Sort sort);
 }
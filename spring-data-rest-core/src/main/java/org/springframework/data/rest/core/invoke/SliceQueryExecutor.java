@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * SPI to look up slices of all entities of a domain type with a store specific query that requests one element more
+ * than the page size instead of counting all elements. Used for repositories whose {@code findAll(Pageable)} always
+ * calculates a total, i.e. the ones implementing {@code PagingAndSortingRepository}.
+ * 
+ * @author Oliver Gierke
+ */
+public interface SliceQueryExecutor {
+
+	/**
+	 * Returns whether the given domain type can be looked up by the executor, i.e. whether the store query it issues is
+	 * equivalent to the {@code findAll(…)} method of the repository managing the domain type.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @return
+	 */
+	boolean supports(Class<?> domainType);
+
+	/**
+	 * Returns the {@link Slice} of all entities of the given domain type described by the given {@link Pageable}.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	Slice<Object> findAll(Class<?> domainType, Pageable pageable);
+
+	/**
+	 * {@link SliceQueryExecutor} supporting no domain type at all, for stores not providing one.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	public enum NoOpSliceQueryExecutor implements SliceQueryExecutor {
+
+		INSTANCE;
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.rest.core.invoke.SliceQueryExecutor#supports(java.lang.Class)
+		 */
+		@Override
+		public boolean supports(Class<?> domainType) {
+			return false;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.rest.core.invoke.SliceQueryExecutor#findAll(java.lang.Class, org.springframework.data.domain.Pageable)
+		 */
+		@Override
+		public Slice<Object> findAll(Class<?> domainType, Pageable pageable) {
+			throw new UnsupportedOperationException(String.format("Domain type %s is not supported!", domainType));
+		}
+	}
+}
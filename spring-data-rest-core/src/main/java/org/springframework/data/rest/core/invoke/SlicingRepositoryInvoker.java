@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.Assert;
+
+/**
+ * {@link RepositoryInvoker} that looks up slices of all entities using a {@link SliceQueryExecutor} so that no count
+ * query is issued.
+ * 
+ * @author Oliver Gierke
+ */
+class SlicingRepositoryInvoker extends DecoratingRepositoryInvoker {
+
+	private final Class<?> domainType;
+	private final SliceQueryExecutor executor;
+
+	/**
+	 * Creates a new {@link SlicingRepositoryInvoker} for the given delegate.
+	 * 
+	 * @param delegate must not be {@literal null}.
+	 * @param domainType must not be {@literal null}.
+	 * @param executor must not be {@literal null}.
+	 */
+	public SlicingRepositoryInvoker(RepositoryInvoker delegate, Class<?> domainType, SliceQueryExecutor executor) {
+
+		super(delegate);
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+		Assert.notNull(executor, "SliceQueryExecutor must not be null!");
+
+		this.domainType = domainType;
+		this.executor = executor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.DecoratingRepositoryInvoker#invokeFindAllSliced(org.springframework.data.domain.Pageable)
+	 */
+	@Override
+	public Slice<Object> invokeFindAllSliced(Pageable pageable) {
+
+		if (pageable == null || !exposesFindAll()) {
+			return super.invokeFindAllSliced(pageable);
+		}
+
+		return executor.findAll(domainType, pageable);
+	}
+}
@@ -55,6 +55,15 @@ public class MappingResourceMetadata extends TypeBasedCollectionResourceMapping
 		return entity.getType();
 	}
 
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.mapping.ResourceMetadata#getRepositoryInterface()
+	 */
+	@Override
+	public Class<?> getRepositoryInterface() {
+		return null;
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.springframework.data.rest.core.mapping.ResourceMetadata#isManagedResource(org.springframework.data.mapping.PersistentProperty)
@@ -77,6 +77,15 @@ class RepositoryAwareResourceInformation implements ResourceMetadata {
 		return repositoryInterface.getDomainType();
 	}
 
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.mapping.ResourceMetadata#getRepositoryInterface()
+	 */
+	@Override
+	public Class<?> getRepositoryInterface() {
+		return repositoryInterface.getRepositoryInterface();
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.springframework.data.rest.core.mapping.DelegatingResourceInformation#isManaged(org.springframework.data.mapping.PersistentProperty)
@@ -49,6 +49,7 @@ public class RepositoryResourceMappings implements ResourceMappings {
 	private final Map<Class<?>, ResourceMetadata> cache = new HashMap<Class<?>, ResourceMetadata>();
 	private final Map<Class<?>, SearchResourceMappings> searchCache = new HashMap<Class<?>, SearchResourceMappings>();
 	private final Map<PersistentProperty<?>, ResourceMapping> propertyCache = new HashMap<PersistentProperty<?>, ResourceMapping>();
+	private final Map<String, ResourceMetadata> pathIndex = new HashMap<String, ResourceMetadata>();
 
 	/**
 	 * Creates a new {@link RepositoryResourceMappings} using the given {@link RepositoryRestConfiguration} and
@@ -110,6 +111,37 @@ public class RepositoryResourceMappings implements ResourceMappings {
 				cache.put(type, information);
 			}
 		}
+
+		for (Class<?> type : repositories) {
+			indexPath(cache.get(type));
+		}
+	}
+
+	/**
+	 * Registers the given {@link ResourceMetadata} in the path index. Exported resources win over hidden ones in case
+	 * multiple resources are mapped to the same path.
+	 * 
+	 * @param metadata must not be {@literal null}.
+	 */
+	private void indexPath(ResourceMetadata metadata) {
+
+		String key = toIndexKey(metadata.getPath().toString());
+		ResourceMetadata existing = pathIndex.get(key);
+
+		if (existing == null || !existing.isExported() && metadata.isExported()) {
+			pathIndex.put(key, metadata);
+		}
+	}
+
+	/**
+	 * Normalizes the given path into the key used for the path index, i.e. strips a single leading slash to resemble the
+	 * semantics of {@link Path#matches(String)}.
+	 * 
+	 * @param path must not be {@literal null}.
+	 * @return
+	 */
+	private static String toIndexKey(String path) {
+		return path.startsWith("/") ? path.substring(1) : path;
 	}
 
 	/* 
@@ -175,13 +207,21 @@ public class RepositoryResourceMappings implements ResourceMappings {
 
 		Assert.hasText(path);
 
-		for (ResourceMetadata metadata : cache.values()) {
-			if (metadata.getPath().matches(path)) {
-				return metadata.isExported();
-			}
-		}
+		ResourceMetadata metadata = pathIndex.get(toIndexKey(path));
+		return metadata == null ? false : metadata.isExported();
+	}
 
-		return false;
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.mapping.ResourceMappings#getExportedMappingForPath(java.lang.String)
+	 */
+	@Override
+	public ResourceMetadata getExportedMappingForPath(String path) {
+
+		Assert.hasText(path, "Path must not be null or empty!");
+
+		ResourceMetadata metadata = pathIndex.get(toIndexKey(path));
+		return metadata != null && metadata.isExported() ? metadata : null;
 	}
 
 	/* 
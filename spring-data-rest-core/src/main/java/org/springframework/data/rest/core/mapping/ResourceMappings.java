@@ -53,6 +53,15 @@ public interface ResourceMappings extends Iterable<ResourceMetadata> {
 	 */
 	boolean exportsTopLevelResourceFor(String path);
 
+	/**
+	 * Returns the exported {@link ResourceMetadata} for the given top-level path segment. Leading slashes are ignored, so
+	 * both {@code people} and {@code /people} resolve the same resource.
+	 * 
+	 * @param path must not be {@literal null} or empty.
+	 * @return the {@link ResourceMetadata} exported under the given path or {@literal null} if none is exported.
+	 */
+	ResourceMetadata getExportedMappingForPath(String path);
+
 	/**
 	 * Returns whether we have a {@link ResourceMapping} for the given type.
 	 * 
@@ -31,6 +31,13 @@ public interface ResourceMetadata extends CollectionResourceMapping {
 	 */
 	Class<?> getDomainType();
 
+	/**
+	 * Returns the repository interface backing the resource.
+	 * 
+	 * @return the repository interface or {@literal null} if the resource is not backed by a repository.
+	 */
+	Class<?> getRepositoryInterface();
+
 	/**
 	 * Returns whether the type of the given {@link PersistentProperty} is exposed as resource itself.
 	 * 
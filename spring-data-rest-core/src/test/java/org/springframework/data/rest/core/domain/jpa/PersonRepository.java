@@ -19,6 +19,7 @@ import java.util.Date;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
@@ -39,6 +40,9 @@ public interface PersonRepository extends PagingAndSortingRepository<Person, Lon
 	@RestResource(rel = "firstname", path = "firstname")
 	Page<Person> findByFirstName(@Param("firstName") String firstName, Pageable pageable);
 
+	@RestResource(exported = false)
+	Slice<Person> readByFirstName(@Param("firstName") String firstName, Pageable pageable);
+
 	Page<Person> findByCreatedGreaterThan(@Param("date") Date date, Pageable pageable);
 
 	@Query("select p from Person p where p.created > :date")
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.Serializable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.core.config.EntityCacheConfiguration;
+import org.springframework.data.rest.core.config.EntityCacheConfiguration.Mode;
+import org.springframework.data.rest.core.event.AfterSaveEvent;
+import org.springframework.data.rest.core.event.BeforeCreateEvent;
+
+/**
+ * Unit tests for {@link CachingRepositoryInvoker} and {@link EntityCache}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CachingRepositoryInvokerUnitTests {
+
+	@Mock RepositoryInvoker delegate;
+	@Mock Repositories repositories;
+	@Mock EntityInformation<Object, Serializable> information;
+
+	EntityCacheConfiguration configuration;
+	EntityCache cache;
+
+	@Before
+	public void setUp() {
+
+		configuration = new EntityCacheConfiguration().cache(Person.class);
+		cache = new EntityCache(repositories, configuration);
+
+		when(repositories.getEntityInformationFor(Person.class)).thenReturn(information);
+	}
+
+	@Test
+	public void answersRepeatedLookupsFromCache() {
+
+		when(delegate.invokeFindOneReadOnly(1L)).thenReturn(new Person(1L, "Dave"));
+
+		RepositoryInvoker invoker = createInvoker();
+		invoker.invokeFindOneReadOnly(1L);
+		Person person = invoker.invokeFindOneReadOnly(1L);
+
+		assertThat(person.name, is("Dave"));
+		verify(delegate, times(1)).invokeFindOneReadOnly(1L);
+		assertThat(cache.getHits(), is(1L));
+		assertThat(cache.getMisses(), is(1L));
+	}
+
+	@Test
+	public void convertsIdentifiersToIdTypeBeforeLookup() {
+
+		when(delegate.invokeFindOneReadOnly(1L)).thenReturn(new Person(1L, "Dave"));
+
+		RepositoryInvoker invoker = createInvoker();
+		invoker.invokeFindOneReadOnly("1");
+		invoker.invokeFindOneReadOnly(1L);
+
+		verify(delegate, times(1)).invokeFindOneReadOnly(1L);
+	}
+
+	@Test
+	public void handsOutDetachedCopiesByDefault() {
+
+		when(delegate.invokeFindOneReadOnly(1L)).thenReturn(new Person(1L, "Dave"));
+
+		RepositoryInvoker invoker = createInvoker();
+		Person first = invoker.invokeFindOneReadOnly(1L);
+		first.name = "Carter";
+
+		Person second = invoker.invokeFindOneReadOnly(1L);
+
+		assertThat(second, is(not(sameInstance(first))));
+		assertThat(second.name, is("Dave"));
+	}
+
+	@Test
+	public void sharesInstancesInReadOnlyMode() {
+
+		configuration.setMode(Mode.READ_ONLY);
+		when(delegate.invokeFindOneReadOnly(1L)).thenReturn(new Person(1L, "Dave"));
+
+		RepositoryInvoker invoker = createInvoker();
+
+		assertThat(invoker.invokeFindOneReadOnly(1L), is(sameInstance(invoker.invokeFindOneReadOnly(1L))));
+	}
+
+	@Test
+	public void cachesMissesOnlyIfConfigured() {
+
+		RepositoryInvoker invoker = createInvoker();
+		invoker.invokeFindOneReadOnly(1L);
+		invoker.invokeFindOneReadOnly(1L);
+
+		verify(delegate, times(2)).invokeFindOneReadOnly(1L);
+
+		configuration.setCacheMisses(true);
+		cache = new EntityCache(repositories, configuration);
+
+		invoker = createInvoker();
+		invoker.invokeFindOneReadOnly(1L);
+
+		assertThat(invoker.invokeFindOneReadOnly(1L), is(nullValue()));
+		verify(delegate, times(3)).invokeFindOneReadOnly(1L);
+	}
+
+	@Test
+	public void evictsEntityOnRepositoryEvent() {
+
+		Person person = new Person(1L, "Dave");
+		when(delegate.invokeFindOneReadOnly(1L)).thenReturn(person);
+		when(information.getId(person)).thenReturn(1L);
+
+		RepositoryInvoker invoker = createInvoker();
+		invoker.invokeFindOneReadOnly(1L);
+
+		cache.onApplicationEvent(new AfterSaveEvent(person));
+		invoker.invokeFindOneReadOnly(1L);
+
+		verify(delegate, times(2)).invokeFindOneReadOnly(1L);
+	}
+
+	@Test
+	public void alwaysLooksUpEntitiesToBeModifiedFromRepository() {
+
+		when(delegate.invokeFindOneReadOnly(1L)).thenReturn(new Person(1L, "Dave"));
+		when(delegate.invokeFindOne(1L)).thenReturn(new Person(1L, "Carter"));
+
+		RepositoryInvoker invoker = createInvoker();
+		invoker.invokeFindOneReadOnly(1L);
+
+		Person person = invoker.invokeFindOne(1L);
+		invoker.invokeFindOne(1L);
+
+		assertThat(person.name, is("Carter"));
+		verify(delegate, times(2)).invokeFindOne(1L);
+	}
+
+	@Test
+	public void ignoresEventsForEntitiesWithoutIdentifier() {
+
+		when(delegate.invokeFindOneReadOnly(1L)).thenReturn(new Person(1L, "Dave"));
+
+		RepositoryInvoker invoker = createInvoker();
+		invoker.invokeFindOneReadOnly(1L);
+
+		cache.onApplicationEvent(new BeforeCreateEvent(new Person(null, "Carter")));
+		invoker.invokeFindOneReadOnly(1L);
+
+		verify(delegate, times(1)).invokeFindOneReadOnly(1L);
+	}
+
+	@Test
+	public void dropsRegionOnEventsForEntitiesWithoutIdentifierIfMissesAreCached() {
+
+		configuration.setCacheMisses(true);
+		cache = new EntityCache(repositories, configuration);
+
+		RepositoryInvoker invoker = createInvoker();
+		invoker.invokeFindOneReadOnly(1L);
+
+		cache.onApplicationEvent(new BeforeCreateEvent(new Person(null, "Carter")));
+		invoker.invokeFindOneReadOnly(1L);
+
+		verify(delegate, times(2)).invokeFindOneReadOnly(1L);
+	}
+
+	private RepositoryInvoker createInvoker() {
+		return new CachingRepositoryInvoker(delegate, cache.getRegion(Person.class), Long.class,
+				new DefaultConversionService());
+	}
+
+	@SuppressWarnings("serial")
+	static class Person implements Serializable {
+
+		Long id;
+		String name;
+
+		public Person(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.Callable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link CoalescingRepositoryInvoker}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CoalescingRepositoryInvokerUnitTests {
+
+	@Mock RepositoryInvoker delegate;
+
+	InvocationCoalescer coalescer;
+	RepositoryInvoker invoker;
+
+	@Before
+	public void setUp() {
+
+		coalescer = spy(new InvocationCoalescer());
+		invoker = new CoalescingRepositoryInvoker(delegate, Object.class, coalescer);
+	}
+
+	@Test
+	public void coalescesReadOnlyLookups() {
+
+		Object entity = new Object();
+		when(delegate.invokeFindOneReadOnly(1L)).thenReturn(entity);
+
+		assertThat(invoker.invokeFindOneReadOnly(1L), is(entity));
+		verify(coalescer).execute(any(), any(Callable.class));
+	}
+
+	@Test
+	public void neverCoalescesLookupsForModification() {
+
+		Object entity = new Object();
+		when(delegate.invokeFindOne(1L)).thenReturn(entity);
+
+		assertThat(invoker.invokeFindOne(1L), is(entity));
+		verify(delegate).invokeFindOne(1L);
+		verifyZeroInteractions(coalescer);
+	}
+}
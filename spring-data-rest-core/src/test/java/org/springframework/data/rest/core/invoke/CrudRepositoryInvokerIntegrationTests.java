@@ -18,6 +18,9 @@ package org.springframework.data.rest.core.invoke;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
+import java.util.Iterator;
+
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.Test;
@@ -25,6 +28,8 @@ import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.support.Repositories;
 import org.springframework.data.rest.core.AbstractIntegrationTests;
@@ -83,6 +88,41 @@ public class CrudRepositoryInvokerIntegrationTests extends AbstractIntegrationTe
 		invoker.invokeDelete(order.getId());
 	}
 
+	@Test
+	public void invokesRedeclaredFindOneForLookupByIds() {
+
+		Person person = personRepository.findOne(1L);
+		Order order = orderRepository.save(new Order(person));
+
+		RepositoryInvoker invoker = getInvokerFor(orderRepository, OrderRepository.class);
+		Iterator<Object> result = invoker.invokeFindAll(Arrays.asList(order.getId().toString(), "4711")).iterator();
+
+		assertThat(result.next(), is((Object) order));
+		assertThat(result.hasNext(), is(false));
+	}
+
+	@Test
+	public void invokesDeleteAllOnCrudRepository() {
+
+		Person person = personRepository.findOne(1L);
+		Order order = orderRepository.save(new Order(person));
+
+		RepositoryInvoker invoker = getInvokerFor(orderRepository, CrudRepository.class);
+		invoker.invokeDeleteAll(Arrays.asList(order));
+
+		assertThat(orderRepository.exists(order.getId()), is(false));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsSortIfRepositoryCannotSort() {
+		getInvokerFor(orderRepository, CrudRepository.class).invokeFindAll(new Sort("id"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsSortedPageRequestIfRepositoryCannotSort() {
+		getInvokerFor(orderRepository, CrudRepository.class).invokeFindAll(new PageRequest(0, 10, new Sort("id")));
+	}
+
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private RepositoryInvoker getInvokerFor(Object repository, Class<?> expectedType) {
 
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link InvocationCoalescer}.
+ *
+ * @author Oliver Gierke
+ */
+public class InvocationCoalescerUnitTests {
+
+	static final ThreadLocal<String> PRINCIPAL = new ThreadLocal<String>();
+
+	InvocationCoalescer coalescer = new InvocationCoalescer();
+
+	@Test
+	public void sharesResultOfInFlightInvocation() throws Exception {
+
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger invocations = new AtomicInteger();
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		try {
+
+			Future<Object> first = executor.submit(new Callable<Object>() {
+
+				@Override
+				public Object call() throws Exception {
+					return coalescer.execute("key", new Callable<Object>() {
+
+						@Override
+						public Object call() throws Exception {
+							started.countDown();
+							release.await(5, TimeUnit.SECONDS);
+							return invocations.incrementAndGet();
+						}
+					});
+				}
+			});
+
+			started.await(5, TimeUnit.SECONDS);
+
+			Thread joining = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					assertThat(coalescer.execute("key", new Callable<Object>() {
+
+						@Override
+						public Object call() throws Exception {
+							return invocations.incrementAndGet();
+						}
+					}), is((Object) 1));
+				}
+			});
+
+			joining.start();
+
+			while (coalescer.getHits() == 0) {
+				Thread.sleep(1);
+			}
+
+			release.countDown();
+			joining.join();
+
+			assertThat(first.get(), is((Object) 1));
+			assertThat(invocations.get(), is(1));
+			assertThat(coalescer.getHits(), is(1L));
+			assertThat(coalescer.getMisses(), is(1L));
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void executesSequentialInvocationsIndividually() {
+
+		final AtomicInteger invocations = new AtomicInteger();
+		Callable<Integer> callable = new Callable<Integer>() {
+
+			@Override
+			public Integer call() throws Exception {
+				return invocations.incrementAndGet();
+			}
+		};
+
+		assertThat(coalescer.execute("key", callable), is(1));
+		assertThat(coalescer.execute("key", callable), is(2));
+		assertThat(coalescer.getMisses(), is(2L));
+		assertThat(coalescer.getHits(), is(0L));
+	}
+
+	@Test
+	public void handsDetachedCopiesOfResultToJoiningInvocations() throws Exception {
+
+		final List<String> result = new ArrayList<String>(Arrays.asList("Dave"));
+		Object[] results = executeConcurrently(coalescer, "dave", "dave", result);
+
+		assertThat(results[0], is((Object) result));
+		assertThat(results[1], is((Object) result));
+		assertThat(results[1], is(not(sameInstance((Object) result))));
+		assertThat(coalescer.getHits(), is(1L));
+	}
+
+	@Test
+	public void doesNotShareResultsNotSerializable() throws Exception {
+
+		Object[] results = executeConcurrently(coalescer, "dave", "dave", new Object());
+
+		assertThat(results[1], is(not(sameInstance(results[0]))));
+		assertThat(coalescer.getHits(), is(0L));
+		assertThat(coalescer.getMisses(), is(2L));
+	}
+
+	@Test
+	public void doesNotCoalesceInvocationsOfDifferentPrincipals() throws Exception {
+
+		InvocationCoalescer coalescer = new InvocationCoalescer(new PrincipalResolver() {
+
+			@Override
+			public String getPrincipalName() {
+				return PRINCIPAL.get();
+			}
+		});
+
+		executeConcurrently(coalescer, "dave", "carter", "result");
+
+		assertThat(coalescer.getHits(), is(0L));
+		assertThat(coalescer.getMisses(), is(2L));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void propagatesRuntimeExceptions() {
+
+		coalescer.execute("key", new Callable<Object>() {
+
+			@Override
+			public Object call() throws Exception {
+				throw new IllegalStateException();
+			}
+		});
+	}
+
+	/**
+	 * Executes an invocation returning the given result for the first principal and, while it's in flight, one for the
+	 * second principal, both using the key {@code key}.
+	 * 
+	 * @return the results of both invocations.
+	 */
+	private static Object[] executeConcurrently(final InvocationCoalescer coalescer, final String first,
+			final String second, final Object result) throws Exception {
+
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final Callable<Object> callable = new Callable<Object>() {
+
+			@Override
+			public Object call() throws Exception {
+				started.countDown();
+				release.await(5, TimeUnit.SECONDS);
+				return result;
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try {
+
+			Future<Object> leading = executor.submit(new Callable<Object>() {
+
+				@Override
+				public Object call() throws Exception {
+					PRINCIPAL.set(first);
+					return coalescer.execute("key", callable);
+				}
+			});
+
+			started.await(5, TimeUnit.SECONDS);
+
+			Future<Object> joining = executor.submit(new Callable<Object>() {
+
+				@Override
+				public Object call() throws Exception {
+					PRINCIPAL.set(second);
+					return coalescer.execute("key", callable);
+				}
+			});
+
+			// give the second invocation the chance to join the first one
+			Thread.sleep(100);
+			release.countDown();
+
+			return new Object[] { leading.get(5, TimeUnit.SECONDS), joining.get(5, TimeUnit.SECONDS) };
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
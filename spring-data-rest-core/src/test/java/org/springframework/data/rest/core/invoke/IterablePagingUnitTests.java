@@ -0,0 +1,175 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.CrudRepository;
+
+/**
+ * Unit tests for {@link IterablePaging}.
+ *
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class IterablePagingUnitTests {
+
+	static final List<Object> ELEMENTS = Arrays.<Object> asList(1, 2, 3, 4, 5);
+
+	@Mock CrudRepository<Object, Serializable> repository;
+
+	@Test
+	public void cutsPageOutOfList() {
+
+		Page<Object> page = IterablePaging.getPage(ELEMENTS, new PageRequest(1, 2), repository);
+
+		assertThat(page.getContent(), is(Arrays.<Object> asList(3, 4)));
+		assertThat(page.getTotalElements(), is(5L));
+		verify(repository, never()).count();
+	}
+
+	@Test
+	public void stopsIteratingOnceThePageIsFilled() {
+
+		CountingIterable source = new CountingIterable(ELEMENTS);
+		when(repository.count()).thenReturn(5L);
+
+		Page<Object> page = IterablePaging.getPage(source, new PageRequest(0, 2), repository);
+
+		assertThat(page.getContent(), is(Arrays.<Object> asList(1, 2)));
+		assertThat(page.getTotalElements(), is(5L));
+		assertThat(source.consumed, is(2));
+	}
+
+	@Test
+	public void usesNumberOfElementsSeenAsTotalForLastPage() {
+
+		Page<Object> page = IterablePaging.getPage(new CountingIterable(ELEMENTS), new PageRequest(2, 2), repository);
+
+		assertThat(page.getContent(), is(Arrays.<Object> asList(5)));
+		assertThat(page.getTotalElements(), is(5L));
+		verify(repository, never()).count();
+	}
+
+	@Test
+	public void slicesWithoutCounting() {
+
+		CountingIterable source = new CountingIterable(ELEMENTS);
+
+		Slice<Object> slice = IterablePaging.getSlice(source, new PageRequest(0, 2));
+
+		assertThat(slice.getContent(), is(Arrays.<Object> asList(1, 2)));
+		assertThat(slice.hasNext(), is(true));
+		assertThat(source.consumed, is(2));
+		verify(repository, never()).count();
+	}
+
+	@Test
+	public void detectsLastSlice() {
+
+		Slice<Object> slice = IterablePaging.getSlice(new CountingIterable(ELEMENTS), new PageRequest(2, 2));
+
+		assertThat(slice.getContent(), is(Arrays.<Object> asList(5)));
+		assertThat(slice.hasNext(), is(false));
+	}
+
+	@Test
+	public void returnsSourceIfWithinLimit() {
+		assertThat(IterablePaging.limit(ELEMENTS, 5, 2, repository), is((Iterable<Object>) ELEMENTS));
+	}
+
+	@Test
+	public void returnsFirstPageOfMaxPageSizeIfLimitIsExceeded() {
+
+		CountingIterable source = new CountingIterable(ELEMENTS);
+		when(repository.count()).thenReturn(5L);
+
+		Iterable<Object> result = IterablePaging.limit(source, 3, 2, repository);
+
+		assertThat(result, is(instanceOf(Page.class)));
+		assertThat(((Page<Object>) result).getContent(), is(Arrays.<Object> asList(1, 2)));
+		assertThat(((Page<Object>) result).getSize(), is(2));
+		assertThat(((Page<Object>) result).getTotalElements(), is(5L));
+	}
+
+	@Test
+	public void capsPageSizeOfTruncatedListToLimit() {
+
+		Iterable<Object> result = IterablePaging.limit(ELEMENTS, 3, 10, repository);
+
+		assertThat(((Page<Object>) result).getContent(), is(Arrays.<Object> asList(1, 2, 3)));
+		assertThat(((Page<Object>) result).getSize(), is(3));
+		assertThat(((Page<Object>) result).getTotalElements(), is(5L));
+	}
+
+	/**
+	 * {@link Iterable} that is not a {@link java.util.Collection} and keeps track of the number of consumed elements.
+	 *
+	 * @author Oliver Gierke
+	 */
+	static class CountingIterable implements Iterable<Object> {
+
+		private final List<Object> elements;
+		int consumed = 0;
+
+		public CountingIterable(List<Object> elements) {
+			this.elements = elements;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Iterable#iterator()
+		 */
+		@Override
+		public Iterator<Object> iterator() {
+
+			final Iterator<Object> delegate = elements.iterator();
+
+			return new Iterator<Object>() {
+
+				@Override
+				public boolean hasNext() {
+					return delegate.hasNext();
+				}
+
+				@Override
+				public Object next() {
+					consumed++;
+					return delegate.next();
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.Param;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Unit tests for {@link QueryMethodBindingPlan}.
+ * 
+ * @author Oliver Gierke
+ */
+public class QueryMethodBindingPlanUnitTests {
+
+	ConversionService conversionService = new DefaultConversionService();
+
+	@Test
+	public void bindsAndConvertsNamedParameters() {
+
+		QueryMethodBindingPlan plan = planFor("findByAge", Integer.class, Pageable.class);
+		Map<String, String[]> parameters = Collections.singletonMap("age", new String[] { "42" });
+		Pageable pageable = new PageRequest(0, 10);
+
+		Object[] arguments = plan.bind(parameters, pageable, null, conversionService);
+
+		assertThat(arguments[0], is((Object) 42));
+		assertThat(arguments[1], is((Object) pageable));
+		assertThat(plan.hasPageableParameter(), is(true));
+		assertThat(plan.hasSortParameter(), is(false));
+	}
+
+	@Test
+	public void bindsMultipleValuesToCollection() {
+
+		QueryMethodBindingPlan plan = planFor("findByNameIn", List.class, Sort.class);
+		Map<String, String[]> parameters = new HashMap<String, String[]>();
+		parameters.put("names", new String[] { "Dave", "Carter" });
+		Sort sort = new Sort("name");
+
+		Object[] arguments = plan.bind(parameters, null, sort, conversionService);
+
+		assertThat(arguments[0], is((Object) Arrays.asList("Dave", "Carter")));
+		assertThat(arguments[1], is((Object) sort));
+	}
+
+	@Test
+	public void usesSortOfPageableIfGiven() {
+
+		QueryMethodBindingPlan plan = planFor("findByNameIn", List.class, Sort.class);
+		Pageable pageable = new PageRequest(0, 10, new Sort("age"));
+
+		Object[] arguments = plan.bind(new HashMap<String, String[]>(), pageable, new Sort("name"), conversionService);
+
+		assertThat(arguments[0], is(nullValue()));
+		assertThat(arguments[1], is((Object) pageable.getSort()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsUnnamedParameterOnBinding() {
+
+		QueryMethodBindingPlan plan = planFor("findByUnnamed", String.class);
+		plan.bind(new HashMap<String, String[]>(), null, null, conversionService);
+	}
+
+	private static QueryMethodBindingPlan planFor(String name, Class<?>... parameterTypes) {
+		return new QueryMethodBindingPlan(ReflectionUtils.findMethod(Sample.class, name, parameterTypes));
+	}
+
+	interface Sample {
+
+		List<Object> findByAge(@Param("age") Integer age, Pageable pageable);
+
+		List<Object> findByNameIn(@Param("names") List<String> names, Sort sort);
+
+		List<Object> findByUnnamed(String name);
+	}
+}
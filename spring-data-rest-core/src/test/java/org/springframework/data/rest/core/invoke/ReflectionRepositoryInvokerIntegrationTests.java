@@ -30,6 +30,7 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.repository.core.RepositoryInformation;
 import org.springframework.data.repository.support.Repositories;
 import org.springframework.data.rest.core.AbstractIntegrationTests;
@@ -106,6 +107,31 @@ public class ReflectionRepositoryInvokerIntegrationTests extends AbstractIntegra
 		assertThat(result, is(instanceOf(Page.class)));
 	}
 
+	@Test
+	public void invokesSlicedQueryMethodDeclaredForPagedOne() throws Exception {
+
+		HashMap<String, String[]> parameters = new HashMap<String, String[]>();
+		parameters.put("firstName", new String[] { "John" });
+
+		Method method = PersonRepository.class.getMethod("findByFirstName", String.class, Pageable.class);
+		Object result = invoker.invokeQueryMethodSliced(method, parameters, new PageRequest(0, 10), null);
+
+		assertThat(result, is(instanceOf(Slice.class)));
+		assertThat(result, is(not(instanceOf(Page.class))));
+	}
+
+	@Test
+	public void invokesPagedQueryMethodIfNoSlicedOneIsDeclared() throws Exception {
+
+		HashMap<String, String[]> parameters = new HashMap<String, String[]>();
+		parameters.put("date", new String[] { "2013-07-18T10:49:00.000+02:00" });
+
+		Method method = PersonRepository.class.getMethod("findByCreatedGreaterThan", Date.class, Pageable.class);
+		Object result = invoker.invokeQueryMethodSliced(method, parameters, new PageRequest(0, 10), null);
+
+		assertThat(result, is(instanceOf(Page.class)));
+	}
+
 	@Test
 	public void considersFormattingAnnotationsOnQueryMethodParameters() throws Exception {
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.core.invoke;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * Unit tests for {@link SlicingRepositoryInvoker}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SlicingRepositoryInvokerUnitTests {
+
+	@Mock RepositoryInvoker delegate;
+	@Mock SliceQueryExecutor executor;
+
+	RepositoryInvoker invoker;
+
+	@Before
+	public void setUp() {
+		invoker = new SlicingRepositoryInvoker(delegate, Object.class, executor);
+	}
+
+	@Test
+	public void looksUpSlicesUsingExecutor() {
+
+		Pageable pageable = new PageRequest(0, 10);
+		Slice<Object> slice = new SliceImpl<Object>(Collections.<Object> emptyList());
+
+		when(delegate.exposesFindAll()).thenReturn(true);
+		when(executor.findAll(Object.class, pageable)).thenReturn(slice);
+
+		assertThat(invoker.invokeFindAllSliced(pageable), is(slice));
+		verify(delegate, never()).invokeFindAllSliced(pageable);
+		verify(delegate, never()).invokeFindAll(pageable);
+	}
+
+	@Test
+	public void delegatesUnpagedLookups() {
+
+		when(delegate.exposesFindAll()).thenReturn(true);
+
+		invoker.invokeFindAllSliced(null);
+
+		verify(delegate).invokeFindAllSliced(null);
+		verifyZeroInteractions(executor);
+	}
+
+	@Test
+	public void delegatesIfFindAllIsNotExposed() {
+
+		Pageable pageable = new PageRequest(0, 10);
+
+		invoker.invokeFindAllSliced(pageable);
+
+		verify(delegate).invokeFindAllSliced(pageable);
+		verifyZeroInteractions(executor);
+	}
+}
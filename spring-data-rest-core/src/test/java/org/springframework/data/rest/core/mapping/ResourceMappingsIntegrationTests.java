@@ -118,6 +118,17 @@ public class ResourceMappingsIntegrationTests {
 		assertThat(mappings.exportsTopLevelResourceFor("creditCards"), is(false));
 	}
 
+	@Test
+	public void looksUpExportedResourceByPath() {
+
+		ResourceMetadata personMetadata = mappings.getMappingFor(Person.class);
+
+		assertThat(mappings.getExportedMappingForPath("people"), is(personMetadata));
+		assertThat(mappings.getExportedMappingForPath("/people"), is(personMetadata));
+		assertThat(mappings.getExportedMappingForPath("creditCards"), is(nullValue()));
+		assertThat(mappings.getExportedMappingForPath("favicon.ico"), is(nullValue()));
+	}
+
 	/**
 	 * @see DATAREST-107
 	 */
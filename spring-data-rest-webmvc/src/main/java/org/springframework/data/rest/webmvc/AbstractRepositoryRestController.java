@@ -30,17 +30,25 @@ import org.springframework.context.MessageSource;
 import org.springframework.context.MessageSourceAware;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.rest.core.RepositoryConstraintViolationException;
 import org.springframework.data.rest.core.mapping.ResourceMetadata;
+import org.springframework.data.rest.webmvc.support.BulkheadFullException;
+import org.springframework.data.rest.webmvc.support.ETagDoesntMatchException;
 import org.springframework.data.rest.webmvc.support.ExceptionMessage;
 import org.springframework.data.rest.webmvc.support.RepositoryConstraintViolationExceptionMessage;
+import org.springframework.data.rest.webmvc.support.TotalCountSupport.CountedPage;
+import org.springframework.data.rest.webmvc.support.TotalCountSupport.EstimatedPageMetadata;
 import org.springframework.data.rest.webmvc.support.ValidationExceptionHandler;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.PagedResources.PageMetadata;
 import org.springframework.hateoas.Resource;
+import org.springframework.hateoas.ResourceAssembler;
 import org.springframework.hateoas.Resources;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -135,6 +143,67 @@ public class AbstractRepositoryRestController implements MessageSourceAware {
 		return errorResponse(null, ex, HttpStatus.CONFLICT);
 	}
 
+	/**
+	 * Send {@code 412 Precondition Failed} including the current {@code ETag} if known if the {@code If-Match} header of
+	 * a write request doesn't match.
+	 * 
+	 * @param o_O
+	 * @return
+	 */
+	@ExceptionHandler
+	@ResponseBody
+	public ResponseEntity<ExceptionMessage> handle(ETagDoesntMatchException o_O) {
+
+		HttpHeaders headers = new HttpHeaders();
+
+		if (o_O.getCurrentETag() != null) {
+			o_O.getCurrentETag().addTo(headers);
+		}
+
+		return response(headers, new ExceptionMessage(o_O), HttpStatus.PRECONDITION_FAILED);
+	}
+
+	/**
+	 * Send {@code 503 Service Unavailable} if the executor for asynchronous repository invocations is saturated.
+	 * 
+	 * @param o_O
+	 * @return
+	 */
+	@ExceptionHandler
+	@ResponseBody
+	public ResponseEntity<ExceptionMessage> handle(TaskRejectedException o_O) {
+		return errorResponse(o_O, HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	/**
+	 * Send {@code 503 Service Unavailable} including a {@code Retry-After} header if the bulkhead of the repository is
+	 * saturated.
+	 * 
+	 * @param o_O
+	 * @return
+	 */
+	@ExceptionHandler
+	@ResponseBody
+	public ResponseEntity<ExceptionMessage> handle(BulkheadFullException o_O) {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Retry-After", String.valueOf(o_O.getRetryAfter()));
+
+		return response(headers, new ExceptionMessage(o_O), HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	/**
+	 * Send {@code 504 Gateway Timeout} if an asynchronous repository invocation didn't complete in time.
+	 * 
+	 * @param o_O
+	 * @return
+	 */
+	@ExceptionHandler
+	@ResponseBody
+	public ResponseEntity<ExceptionMessage> handle(RepositoryInvocationTimeoutException o_O) {
+		return errorResponse(o_O, HttpStatus.GATEWAY_TIMEOUT);
+	}
+
 	/**
 	 * Send {@code 405 Method Not Allowed} and include the supported {@link HttpMethod}s in the {@code Allow} header.
 	 * 
@@ -217,7 +286,15 @@ public class AbstractRepositoryRestController implements MessageSourceAware {
 
 	protected Resources<? extends Resource<Object>> entitiesToResources(Page<Object> page,
 			PersistentEntityResourceAssembler assembler) {
-		return pagedResourcesAssembler.toResource(page, assembler);
+
+		PagedResources<Resource<Object>> resources = pagedResourcesAssembler.toResource(page, assembler);
+
+		if (page instanceof CountedPage && ((CountedPage) page).isEstimated()) {
+			return new PagedResources<Resource<Object>>(resources.getContent(), new EstimatedPageMetadata(
+					resources.getMetadata()), resources.getLinks());
+		}
+
+		return resources;
 	}
 
 	protected Resources<Resource<Object>> entitiesToResources(Iterable<Object> entities,
@@ -231,4 +308,58 @@ public class AbstractRepositoryRestController implements MessageSourceAware {
 
 		return new Resources<Resource<Object>>(resources);
 	}
+
+	/**
+	 * Turns the given result into {@link StreamingResources} that create the individual item resources while they're
+	 * rendered and embed them under the given rel. Results that are not {@link Iterable} are handled like in
+	 * {@link #resultToResources(Object, PersistentEntityResourceAssembler)}.
+	 * 
+	 * @param result can be {@literal null}.
+	 * @param assembler must not be {@literal null}.
+	 * @param rel must not be {@literal null} or empty.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	protected Resources streamingResultToResources(Object result, PersistentEntityResourceAssembler assembler, String rel) {
+
+		if (result instanceof Page) {
+
+			Page<Object> page = (Page<Object>) result;
+			PagedResources<Resource<Object>> resources = pagedResourcesAssembler.toResource(page,
+					PlaceholderResourceAssembler.INSTANCE);
+
+			PageMetadata metadata = page instanceof CountedPage && ((CountedPage) page).isEstimated() ? new EstimatedPageMetadata(
+					resources.getMetadata()) : resources.getMetadata();
+
+			return new StreamingResources(page, assembler, rel, metadata, resources.getLinks());
+		}
+
+		if (result instanceof Iterable) {
+			return new StreamingResources((Iterable<Object>) result, assembler, rel, null, Collections.<Link> emptyList());
+		}
+
+		return resultToResources(result, assembler);
+	}
+
+	/**
+	 * {@link ResourceAssembler} handing out the same placeholder for every element as only the links and metadata
+	 * created by the {@link PagedResourcesAssembler} are of interest for {@link StreamingResources}.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static enum PlaceholderResourceAssembler implements ResourceAssembler<Object, Resource<Object>> {
+
+		INSTANCE;
+
+		private static final Resource<Object> PLACEHOLDER = new Resource<Object>(new Object());
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.ResourceAssembler#toResource(java.lang.Object)
+		 */
+		@Override
+		public Resource<Object> toResource(Object entity) {
+			return PLACEHOLDER;
+		}
+	}
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.webmvc.BatchRequestDispatcher.DetachedHttpServletRequest;
+import org.springframework.data.rest.webmvc.support.BatchRequest;
+import org.springframework.data.rest.webmvc.support.BatchRequest.Operation;
+import org.springframework.data.rest.webmvc.support.BatchResponse;
+import org.springframework.data.rest.webmvc.support.BatchResponse.Result;
+import org.springframework.data.rest.webmvc.support.ContextPropagatingCallable;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Controller to execute multiple REST operations submitted with a single request. The operations are dispatched
+ * in-process through the {@link BatchRequestDispatcher} and their responses are returned in a single JSON envelope.
+ * As the operations bypass the servlet filter chain, the resource is only exposed if enabled through
+ * {@link RepositoryRestConfiguration#setBatchEnabled(boolean)} and every operation has to be authorized by a
+ * {@link BatchOperationAuthorizer}. Operations executed in parallel see the locale and security context of the batch
+ * request. Batches must not contain batch operations themselves.
+ * 
+ * @author Oliver Gierke
+ */
+@RepositoryRestController
+public class BatchController extends AbstractRepositoryRestController {
+
+	public static final String BATCH_MAPPING = "/$batch";
+
+	private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+	private final RepositoryRestConfiguration config;
+	private final BatchRequestDispatcher dispatcher;
+	private final AsyncTaskExecutor executor;
+
+	@Autowired(required = false) private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	public BatchController(PagedResourcesAssembler<Object> assembler, RepositoryRestConfiguration config,
+			BatchRequestDispatcher dispatcher, @Qualifier("batchTaskExecutor") AsyncTaskExecutor executor) {
+
+		super(assembler);
+
+		this.config = config;
+		this.dispatcher = dispatcher;
+		this.executor = executor;
+	}
+
+	/**
+	 * <code>POST /$batch</code> - Executes the given {@link BatchRequest}. Read-only batches flagged as parallel are
+	 * executed concurrently, atomic ones within a single transaction that is rolled back as soon as one operation fails.
+	 * All other batches are executed sequentially.
+	 * 
+	 * @param batch
+	 * @param request
+	 * @return
+	 * @throws Exception
+	 */
+	@ResponseBody
+	@RequestMapping(value = BATCH_MAPPING, method = RequestMethod.POST, consumes = "application/json")
+	public ResponseEntity<BatchResponse> executeBatch(@RequestBody BatchRequest batch, HttpServletRequest request)
+			throws Exception {
+
+		List<Operation> operations = batch.getOperations();
+
+		if (operations.size() > config.getMaxBatchOperations()) {
+			throw new IllegalArgumentException(String.format("Batch contains %s operations, only %s are allowed!",
+					operations.size(), config.getMaxBatchOperations()));
+		}
+
+		String pathPrefix = getPathPrefix(request);
+		BatchResponse response;
+
+		if (batch.isAtomic()) {
+			response = executeAtomically(operations, request, pathPrefix);
+		} else if (batch.isParallel() && batch.isReadOnly()) {
+			response = new BatchResponse(executeInParallel(operations, request, pathPrefix), null);
+		} else {
+			response = new BatchResponse(execute(operations, request, pathPrefix), null);
+		}
+
+		return new ResponseEntity<BatchResponse>(response, HttpStatus.OK);
+	}
+
+	private List<Result> execute(List<Operation> operations, HttpServletRequest request, String pathPrefix) {
+
+		List<Result> results = new ArrayList<Result>(operations.size());
+
+		for (Operation operation : operations) {
+			results.add(dispatcher.dispatch(operation, request, pathPrefix));
+		}
+
+		return results;
+	}
+
+	private List<Result> executeInParallel(List<Operation> operations, HttpServletRequest request,
+			final String pathPrefix) throws InterruptedException {
+
+		final HttpServletRequest detached = new DetachedHttpServletRequest(request);
+		List<Future<Result>> futures = new ArrayList<Future<Result>>(operations.size());
+
+		for (final Operation operation : operations) {
+			futures.add(executor.submit(new ContextPropagatingCallable<Result>(new Callable<Result>() {
+
+				@Override
+				public Result call() {
+					return dispatcher.dispatch(operation, detached, pathPrefix);
+				}
+			})));
+		}
+
+		List<Result> results = new ArrayList<Result>(operations.size());
+
+		for (int i = 0; i < futures.size(); i++) {
+
+			try {
+				results.add(futures.get(i).get());
+			} catch (ExecutionException o_O) {
+				results.add(Result.notExecuted(operations.get(i).getId(), HttpStatus.INTERNAL_SERVER_ERROR));
+			}
+		}
+
+		return results;
+	}
+
+	private BatchResponse executeAtomically(final List<Operation> operations, final HttpServletRequest request,
+			final String pathPrefix) {
+
+		if (transactionManager == null) {
+			throw new IllegalArgumentException("Atomic batches require a PlatformTransactionManager to be configured!");
+		}
+
+		final List<Result> results = new ArrayList<Result>(operations.size());
+		boolean committed;
+
+		try {
+
+			committed = new TransactionTemplate(transactionManager).execute(new TransactionCallback<Boolean>() {
+
+				@Override
+				public Boolean doInTransaction(TransactionStatus status) {
+
+					for (Operation operation : operations) {
+
+						if (status.isRollbackOnly()) {
+							results.add(Result.notExecuted(operation.getId(), HttpStatus.FAILED_DEPENDENCY));
+							continue;
+						}
+
+						Result result = dispatcher.dispatch(operation, request, pathPrefix);
+						results.add(result);
+
+						if (!result.isSuccessful()) {
+							status.setRollbackOnly();
+						}
+					}
+
+					return !status.isRollbackOnly();
+				}
+			});
+
+		} catch (TransactionException o_O) {
+			committed = false;
+		}
+
+		return new BatchResponse(results, committed);
+	}
+
+	/**
+	 * Returns the path within the servlet mapping the URIs of the operations are relative to, i.e. the path the batch
+	 * was submitted to without the batch mapping itself.
+	 * 
+	 * @param request must not be {@literal null}.
+	 * @return
+	 */
+	private static String getPathPrefix(HttpServletRequest request) {
+
+		String lookupPath = URL_PATH_HELPER.getLookupPathForRequest(request);
+		int index = lookupPath.lastIndexOf(BATCH_MAPPING);
+
+		return index == -1 ? "" : lookupPath.substring(0, index);
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Strategy to authorize the operations of a batch request. As the {@link BatchRequestDispatcher} dispatches operations
+ * in-process, they don't pass the servlet filter chain and thus none of the URL based access rules configured there.
+ * Implementations have to apply these rules to every single operation. Without a {@link BatchOperationAuthorizer}
+ * registered as Spring bean, all batch operations are rejected with {@code 403 Forbidden}.
+ * 
+ * @author Oliver Gierke
+ */
+public interface BatchOperationAuthorizer {
+
+	/**
+	 * Returns whether the operation represented by the given request may be executed. The request exposes method, URI,
+	 * parameters and headers of the operation as well as the principal of the batch request.
+	 * 
+	 * @param request will never be {@literal null}.
+	 * @return
+	 */
+	boolean isAuthorized(HttpServletRequest request);
+}
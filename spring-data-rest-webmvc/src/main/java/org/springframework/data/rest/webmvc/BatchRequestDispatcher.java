@@ -0,0 +1,1162 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.rest.webmvc.support.BatchRequest.Operation;
+import org.springframework.data.rest.webmvc.support.BatchResponse.Result;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerAdapter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Dispatches the {@link Operation}s of a batch request to the REST resources in-process. Every operation is handed to
+ * the {@link HandlerMapping} and {@link HandlerAdapter} of the exporter (including their interceptors and exception
+ * handling) using a request derived from the original one and a response buffering status, headers and body. As
+ * operations don't pass the servlet filter chain, every one of them has to be authorized by the configured
+ * {@link BatchOperationAuthorizer} first.
+ * 
+ * @author Oliver Gierke
+ */
+public class BatchRequestDispatcher {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BatchRequestDispatcher.class);
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final String NESTED_BATCH = "Batch requests must not contain batch operations!";
+	private static final String NOT_AUTHORIZED = "Batch operation not authorized!";
+
+	private final HandlerMapping handlerMapping;
+	private final HandlerAdapter handlerAdapter;
+	private final HandlerExceptionResolver exceptionResolver;
+	private final BatchOperationAuthorizer authorizer;
+
+	/**
+	 * Creates a new {@link BatchRequestDispatcher} using the given {@link HandlerMapping}, {@link HandlerAdapter},
+	 * {@link HandlerExceptionResolver} and {@link BatchOperationAuthorizer}.
+	 * 
+	 * @param handlerMapping must not be {@literal null}.
+	 * @param handlerAdapter must not be {@literal null}.
+	 * @param exceptionResolver must not be {@literal null}.
+	 * @param authorizer can be {@literal null}, in which case all operations are rejected.
+	 */
+	public BatchRequestDispatcher(HandlerMapping handlerMapping, HandlerAdapter handlerAdapter,
+			HandlerExceptionResolver exceptionResolver, BatchOperationAuthorizer authorizer) {
+
+		Assert.notNull(handlerMapping, "HandlerMapping must not be null!");
+		Assert.notNull(handlerAdapter, "HandlerAdapter must not be null!");
+		Assert.notNull(exceptionResolver, "HandlerExceptionResolver must not be null!");
+
+		this.handlerMapping = handlerMapping;
+		this.handlerAdapter = handlerAdapter;
+		this.exceptionResolver = exceptionResolver;
+		this.authorizer = authorizer;
+	}
+
+	/**
+	 * Dispatches the given {@link Operation} and returns the captured response. Never throws an exception, failures are
+	 * reported through the status of the returned {@link Result}.
+	 * 
+	 * @param operation must not be {@literal null}.
+	 * @param batchRequest the request the batch was submitted with, must not be {@literal null}.
+	 * @param pathPrefix the path within the servlet mapping the operation URIs are relative to, must not be
+	 *          {@literal null}.
+	 * @return
+	 */
+	public Result dispatch(Operation operation, HttpServletRequest batchRequest, String pathPrefix) {
+
+		Assert.notNull(operation, "Operation must not be null!");
+		Assert.notNull(batchRequest, "Batch request must not be null!");
+		Assert.notNull(pathPrefix, "Path prefix must not be null!");
+
+		BatchOperationHttpServletRequest request;
+
+		try {
+			request = new BatchOperationHttpServletRequest(batchRequest, operation, pathPrefix);
+		} catch (IllegalArgumentException o_O) {
+			return new Result(operation.getId(), HttpStatus.BAD_REQUEST.value(), Collections.<String, String> emptyMap(),
+					o_O.getMessage(), false);
+		}
+
+		BatchOperationHttpServletResponse response = new BatchOperationHttpServletResponse();
+
+		RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+		ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+		RequestContextHolder.setRequestAttributes(attributes);
+
+		try {
+
+			if (authorizer == null || !authorizer.isAuthorized(request)) {
+				response.setStatus(HttpStatus.FORBIDDEN.value());
+				response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+				response.getWriter().write(NOT_AUTHORIZED);
+				return response.toResult(operation.getId());
+			}
+
+			HandlerExecutionChain chain = handlerMapping.getHandler(request);
+
+			if (chain == null) {
+				response.setStatus(HttpStatus.NOT_FOUND.value());
+			} else if (isBatchHandler(chain.getHandler())) {
+				response.setStatus(HttpStatus.BAD_REQUEST.value());
+				response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+				response.getWriter().write(NESTED_BATCH);
+			} else {
+				handle(chain, request, response);
+			}
+
+		} catch (Exception o_O) {
+
+			LOG.debug(String.format("Could not dispatch batch operation %s %s!", operation.getMethod(), operation.getUri()),
+					o_O);
+			response.resetBuffer();
+			response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+
+		} finally {
+
+			attributes.requestCompleted();
+
+			if (previous == null) {
+				RequestContextHolder.resetRequestAttributes();
+			} else {
+				RequestContextHolder.setRequestAttributes(previous);
+			}
+		}
+
+		return response.toResult(operation.getId());
+	}
+
+	/**
+	 * Returns whether the given handler is the one handling batch requests. Nested batches are rejected as the limit of
+	 * operations is only verified per batch and would thus multiply.
+	 * 
+	 * @param handler can be {@literal null}.
+	 * @return
+	 */
+	private static boolean isBatchHandler(Object handler) {
+		return handler instanceof HandlerMethod
+				&& BatchController.class.isAssignableFrom(((HandlerMethod) handler).getBeanType());
+	}
+
+	private void handle(HandlerExecutionChain chain, HttpServletRequest request, HttpServletResponse response)
+			throws Exception {
+
+		Object handler = chain.getHandler();
+		HandlerInterceptor[] interceptors = chain.getInterceptors();
+		interceptors = interceptors == null ? new HandlerInterceptor[0] : interceptors;
+
+		int applied = -1;
+		Exception failure = null;
+
+		try {
+
+			for (int i = 0; i < interceptors.length; i++) {
+
+				if (!interceptors[i].preHandle(request, response, handler)) {
+					return;
+				}
+
+				applied = i;
+			}
+
+			ModelAndView modelAndView = handlerAdapter.handle(request, response, handler);
+
+			for (int i = applied; i >= 0; i--) {
+				interceptors[i].postHandle(request, response, handler, modelAndView);
+			}
+
+		} catch (Exception o_O) {
+
+			failure = o_O;
+
+			if (exceptionResolver.resolveException(request, response, handler, o_O) == null) {
+				throw o_O;
+			}
+
+		} finally {
+
+			for (int i = applied; i >= 0; i--) {
+				try {
+					interceptors[i].afterCompletion(request, response, handler, failure);
+				} catch (Exception o_O) {
+					LOG.error("HandlerInterceptor.afterCompletion threw exception", o_O);
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@link HttpServletRequest} representing a single {@link Operation} of a batch request. Method, URI, query
+	 * parameters, body and content related headers are taken from the operation, attributes are kept separately. All
+	 * other headers and everything else is inherited from the batch request.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	static class BatchOperationHttpServletRequest extends HttpServletRequestWrapper {
+
+		private static final Set<String> OPERATION_HEADERS = new HashSet<String>(Arrays.asList("accept", "content-type",
+				"content-length", "if-match", "if-none-match", "if-modified-since", "if-unmodified-since", "prefer"));
+
+		private final Operation operation;
+		private final String servletPath;
+		private final String pathInfo;
+		private final String requestUri;
+		private final String queryString;
+		private final Map<String, String[]> parameters;
+		private final Map<String, String> headers;
+		private final Map<String, Object> attributes = new HashMap<String, Object>();
+		private final byte[] body;
+		private final String contentType;
+
+		public BatchOperationHttpServletRequest(HttpServletRequest request, Operation operation, String pathPrefix) {
+
+			super(request);
+
+			String uri = operation.getUri();
+
+			if (!StringUtils.hasText(uri)) {
+				throw new IllegalArgumentException("Batch operations must define a URI!");
+			}
+
+			UriComponents components = UriComponentsBuilder.fromUriString(uri).build();
+
+			if (StringUtils.hasText(components.getScheme()) || StringUtils.hasText(components.getHost())) {
+				throw new IllegalArgumentException(String.format("Batch operation URI %s must be relative!", uri));
+			}
+
+			String path = components.getPath() == null ? "" : components.getPath();
+			path = pathPrefix.concat(path.startsWith("/") ? path : "/".concat(path));
+
+			this.operation = operation;
+			this.pathInfo = request.getPathInfo() == null ? null : path;
+			this.servletPath = pathInfo == null ? path : request.getServletPath();
+			this.requestUri = request.getContextPath().concat(servletPath).concat(pathInfo == null ? "" : pathInfo);
+			this.queryString = components.getQuery();
+			this.parameters = decode(components.getQueryParams());
+			this.headers = new LinkedCaseInsensitiveMap<String>(operation.getHeaders().size());
+			this.headers.putAll(operation.getHeaders());
+
+			JsonNode node = operation.getBody();
+
+			if (node == null || node.isNull()) {
+				this.body = new byte[0];
+				this.contentType = headers.get(HttpHeaders.CONTENT_TYPE);
+			} else if (node.isTextual()) {
+				this.body = node.textValue().getBytes(UTF_8);
+				this.contentType = headers.containsKey(HttpHeaders.CONTENT_TYPE) ? headers.get(HttpHeaders.CONTENT_TYPE)
+						: MediaType.TEXT_PLAIN_VALUE;
+			} else {
+				this.body = node.toString().getBytes(UTF_8);
+				this.contentType = headers.containsKey(HttpHeaders.CONTENT_TYPE) ? headers.get(HttpHeaders.CONTENT_TYPE)
+						: MediaType.APPLICATION_JSON_VALUE;
+			}
+
+			if (contentType != null) {
+				headers.put(HttpHeaders.CONTENT_TYPE, contentType);
+			}
+		}
+
+		@Override
+		public String getMethod() {
+			return operation.getMethod().name();
+		}
+
+		/**
+		 * Operations are always executed synchronously as their responses are collected into the batch response.
+		 */
+		@Override
+		public boolean isAsyncSupported() {
+			return false;
+		}
+
+		@Override
+		public String getRequestURI() {
+			return requestUri;
+		}
+
+		@Override
+		public StringBuffer getRequestURL() {
+
+			StringBuffer url = new StringBuffer();
+			url.append(getScheme()).append("://").append(getServerName());
+
+			int port = getServerPort();
+
+			if (!("http".equals(getScheme()) && port == 80) && !("https".equals(getScheme()) && port == 443)) {
+				url.append(':').append(port);
+			}
+
+			return url.append(requestUri);
+		}
+
+		@Override
+		public String getServletPath() {
+			return servletPath;
+		}
+
+		@Override
+		public String getPathInfo() {
+			return pathInfo;
+		}
+
+		@Override
+		public String getQueryString() {
+			return queryString;
+		}
+
+		@Override
+		public String getParameter(String name) {
+
+			String[] values = parameters.get(name);
+			return values == null || values.length == 0 ? null : values[0];
+		}
+
+		@Override
+		public Map<String, String[]> getParameterMap() {
+			return Collections.unmodifiableMap(parameters);
+		}
+
+		@Override
+		public Enumeration<String> getParameterNames() {
+			return Collections.enumeration(parameters.keySet());
+		}
+
+		@Override
+		public String[] getParameterValues(String name) {
+			return parameters.get(name);
+		}
+
+		@Override
+		public String getHeader(String name) {
+
+			if (headers.containsKey(name)) {
+				return headers.get(name);
+			}
+
+			return isOperationHeader(name) ? null : super.getHeader(name);
+		}
+
+		@Override
+		public Enumeration<String> getHeaders(String name) {
+
+			if (headers.containsKey(name)) {
+				return Collections.enumeration(Collections.singleton(headers.get(name)));
+			}
+
+			return isOperationHeader(name) ? Collections.enumeration(Collections.<String> emptySet()) : super
+					.getHeaders(name);
+		}
+
+		@Override
+		public Enumeration<String> getHeaderNames() {
+
+			Set<String> names = new LinkedHashSet<String>(headers.keySet());
+			Enumeration<String> inherited = super.getHeaderNames();
+
+			while (inherited != null && inherited.hasMoreElements()) {
+
+				String name = inherited.nextElement();
+
+				if (!isOperationHeader(name)) {
+					names.add(name);
+				}
+			}
+
+			return Collections.enumeration(names);
+		}
+
+		@Override
+		public int getIntHeader(String name) {
+
+			String value = getHeader(name);
+			return value == null ? -1 : Integer.parseInt(value);
+		}
+
+		@Override
+		public long getDateHeader(String name) {
+
+			if (!headers.containsKey(name)) {
+				return isOperationHeader(name) ? -1 : super.getDateHeader(name);
+			}
+
+			HttpHeaders httpHeaders = new HttpHeaders();
+			httpHeaders.set(name, headers.get(name));
+
+			return httpHeaders.getFirstDate(name);
+		}
+
+		@Override
+		public String getContentType() {
+			return contentType;
+		}
+
+		@Override
+		public int getContentLength() {
+			return body.length;
+		}
+
+		@Override
+		public String getCharacterEncoding() {
+
+			if (contentType == null) {
+				return null;
+			}
+
+			Charset charset = MediaType.parseMediaType(contentType).getCharSet();
+			return charset == null ? null : charset.name();
+		}
+
+		@Override
+		public ServletInputStream getInputStream() throws IOException {
+
+			final ByteArrayInputStream stream = new ByteArrayInputStream(body);
+
+			return new ServletInputStream() {
+
+				@Override
+				public int read() throws IOException {
+					return stream.read();
+				}
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() throws IOException {
+
+			String encoding = getCharacterEncoding();
+			return new BufferedReader(new InputStreamReader(getInputStream(), encoding == null ? UTF_8
+					: Charset.forName(encoding)));
+		}
+
+		@Override
+		public Object getAttribute(String name) {
+			return attributes.get(name);
+		}
+
+		@Override
+		public Enumeration<String> getAttributeNames() {
+			return Collections.enumeration(new ArrayList<String>(attributes.keySet()));
+		}
+
+		@Override
+		public void setAttribute(String name, Object value) {
+
+			if (value == null) {
+				attributes.remove(name);
+			} else {
+				attributes.put(name, value);
+			}
+		}
+
+		@Override
+		public void removeAttribute(String name) {
+			attributes.remove(name);
+		}
+
+		private boolean isOperationHeader(String name) {
+			return OPERATION_HEADERS.contains(name.toLowerCase(Locale.US));
+		}
+
+		private static Map<String, String[]> decode(MultiValueMap<String, String> source) {
+
+			Map<String, String[]> result = new LinkedHashMap<String, String[]>(source.size());
+
+			for (Entry<String, List<String>> entry : source.entrySet()) {
+
+				List<String> values = new ArrayList<String>(entry.getValue().size());
+
+				for (String value : entry.getValue()) {
+					values.add(value == null ? "" : decode(value));
+				}
+
+				result.put(decode(entry.getKey()), values.toArray(new String[values.size()]));
+			}
+
+			return result;
+		}
+
+		private static String decode(String value) {
+
+			try {
+				return UriUtils.decode(value.replace("+", "%20"), UTF_8.name());
+			} catch (UnsupportedEncodingException o_O) {
+				throw new IllegalStateException(o_O);
+			}
+		}
+	}
+
+	/**
+	 * Snapshot of the state of a batch request so that its operations can be executed on other threads than the one the
+	 * servlet container handed the request to. The container's request objects are not thread-safe and might even be
+	 * recycled once the batch request completes. Headers, attributes, parameters, the session and security related
+	 * information are copied eagerly, role checks are serialized on the original request. The body of the batch request
+	 * has already been consumed and is thus not available.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	static class DetachedHttpServletRequest extends HttpServletRequestWrapper {
+
+		private final String method, scheme, serverName, protocol, remoteAddr, remoteHost, localName, localAddr;
+		private final int serverPort, remotePort, localPort;
+		private final boolean secure;
+		private final String contextPath, servletPath, pathInfo, requestUri, requestUrl, queryString;
+		private final String characterEncoding, contentType, authType, remoteUser, requestedSessionId;
+		private final Principal userPrincipal;
+		private final HttpSession session;
+		private final Locale locale;
+		private final List<Locale> locales;
+		private final Cookie[] cookies;
+		private final Map<String, List<String>> headers;
+		private final Map<String, String[]> parameters;
+		private final Map<String, Object> attributes;
+
+		public DetachedHttpServletRequest(HttpServletRequest request) {
+
+			super(request);
+
+			this.method = request.getMethod();
+			this.scheme = request.getScheme();
+			this.serverName = request.getServerName();
+			this.serverPort = request.getServerPort();
+			this.protocol = request.getProtocol();
+			this.secure = request.isSecure();
+			this.remoteAddr = request.getRemoteAddr();
+			this.remoteHost = request.getRemoteHost();
+			this.remotePort = request.getRemotePort();
+			this.localName = request.getLocalName();
+			this.localAddr = request.getLocalAddr();
+			this.localPort = request.getLocalPort();
+			this.contextPath = request.getContextPath();
+			this.servletPath = request.getServletPath();
+			this.pathInfo = request.getPathInfo();
+			this.requestUri = request.getRequestURI();
+			this.requestUrl = request.getRequestURL().toString();
+			this.queryString = request.getQueryString();
+			this.characterEncoding = request.getCharacterEncoding();
+			this.contentType = request.getContentType();
+			this.authType = request.getAuthType();
+			this.remoteUser = request.getRemoteUser();
+			this.userPrincipal = request.getUserPrincipal();
+			this.requestedSessionId = request.getRequestedSessionId();
+			this.session = request.getSession(false);
+			this.locale = request.getLocale();
+			this.locales = Collections.list(request.getLocales());
+			this.cookies = request.getCookies() == null ? null : request.getCookies().clone();
+			this.headers = new LinkedCaseInsensitiveMap<List<String>>();
+			this.parameters = new LinkedHashMap<String, String[]>(request.getParameterMap());
+			this.attributes = new ConcurrentHashMap<String, Object>();
+
+			Enumeration<String> headerNames = request.getHeaderNames();
+
+			while (headerNames != null && headerNames.hasMoreElements()) {
+				String name = headerNames.nextElement();
+				headers.put(name, Collections.list(request.getHeaders(name)));
+			}
+
+			Enumeration<String> attributeNames = request.getAttributeNames();
+
+			while (attributeNames.hasMoreElements()) {
+
+				String name = attributeNames.nextElement();
+				Object value = request.getAttribute(name);
+
+				if (value != null) {
+					attributes.put(name, value);
+				}
+			}
+		}
+
+		@Override
+		public String getMethod() {
+			return method;
+		}
+
+		@Override
+		public String getScheme() {
+			return scheme;
+		}
+
+		@Override
+		public String getServerName() {
+			return serverName;
+		}
+
+		@Override
+		public int getServerPort() {
+			return serverPort;
+		}
+
+		@Override
+		public String getProtocol() {
+			return protocol;
+		}
+
+		@Override
+		public boolean isSecure() {
+			return secure;
+		}
+
+		@Override
+		public String getRemoteAddr() {
+			return remoteAddr;
+		}
+
+		@Override
+		public String getRemoteHost() {
+			return remoteHost;
+		}
+
+		@Override
+		public int getRemotePort() {
+			return remotePort;
+		}
+
+		@Override
+		public String getLocalName() {
+			return localName;
+		}
+
+		@Override
+		public String getLocalAddr() {
+			return localAddr;
+		}
+
+		@Override
+		public int getLocalPort() {
+			return localPort;
+		}
+
+		@Override
+		public String getContextPath() {
+			return contextPath;
+		}
+
+		@Override
+		public String getServletPath() {
+			return servletPath;
+		}
+
+		@Override
+		public String getPathInfo() {
+			return pathInfo;
+		}
+
+		@Override
+		public String getRequestURI() {
+			return requestUri;
+		}
+
+		@Override
+		public StringBuffer getRequestURL() {
+			return new StringBuffer(requestUrl);
+		}
+
+		@Override
+		public String getQueryString() {
+			return queryString;
+		}
+
+		@Override
+		public String getCharacterEncoding() {
+			return characterEncoding;
+		}
+
+		@Override
+		public String getContentType() {
+			return contentType;
+		}
+
+		@Override
+		public int getContentLength() {
+			return -1;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() throws IOException {
+			throw new IllegalStateException("The body of a detached request is not available!");
+		}
+
+		@Override
+		public BufferedReader getReader() throws IOException {
+			throw new IllegalStateException("The body of a detached request is not available!");
+		}
+
+		@Override
+		public String getAuthType() {
+			return authType;
+		}
+
+		@Override
+		public String getRemoteUser() {
+			return remoteUser;
+		}
+
+		@Override
+		public Principal getUserPrincipal() {
+			return userPrincipal;
+		}
+
+		@Override
+		public boolean isUserInRole(String role) {
+
+			synchronized (getRequest()) {
+				return super.isUserInRole(role);
+			}
+		}
+
+		@Override
+		public String getRequestedSessionId() {
+			return requestedSessionId;
+		}
+
+		@Override
+		public HttpSession getSession() {
+			return getSession(true);
+		}
+
+		@Override
+		public HttpSession getSession(boolean create) {
+
+			if (session == null && create) {
+				throw new IllegalStateException("Cannot create a session for a detached request!");
+			}
+
+			return session;
+		}
+
+		@Override
+		public Locale getLocale() {
+			return locale;
+		}
+
+		@Override
+		public Enumeration<Locale> getLocales() {
+			return Collections.enumeration(locales);
+		}
+
+		@Override
+		public Cookie[] getCookies() {
+			return cookies == null ? null : cookies.clone();
+		}
+
+		@Override
+		public String getHeader(String name) {
+
+			List<String> values = headers.get(name);
+			return values == null || values.isEmpty() ? null : values.get(0);
+		}
+
+		@Override
+		public Enumeration<String> getHeaders(String name) {
+
+			List<String> values = headers.get(name);
+			return Collections.enumeration(values == null ? Collections.<String> emptyList() : values);
+		}
+
+		@Override
+		public Enumeration<String> getHeaderNames() {
+			return Collections.enumeration(headers.keySet());
+		}
+
+		@Override
+		public int getIntHeader(String name) {
+
+			String value = getHeader(name);
+			return value == null ? -1 : Integer.parseInt(value);
+		}
+
+		@Override
+		public long getDateHeader(String name) {
+
+			List<String> values = headers.get(name);
+
+			if (values == null || values.isEmpty()) {
+				return -1;
+			}
+
+			HttpHeaders httpHeaders = new HttpHeaders();
+			httpHeaders.put(name, values);
+
+			return httpHeaders.getFirstDate(name);
+		}
+
+		@Override
+		public String getParameter(String name) {
+
+			String[] values = parameters.get(name);
+			return values == null || values.length == 0 ? null : values[0];
+		}
+
+		@Override
+		public Map<String, String[]> getParameterMap() {
+			return Collections.unmodifiableMap(parameters);
+		}
+
+		@Override
+		public Enumeration<String> getParameterNames() {
+			return Collections.enumeration(parameters.keySet());
+		}
+
+		@Override
+		public String[] getParameterValues(String name) {
+			return parameters.get(name);
+		}
+
+		@Override
+		public Object getAttribute(String name) {
+			return attributes.get(name);
+		}
+
+		@Override
+		public Enumeration<String> getAttributeNames() {
+			return Collections.enumeration(new ArrayList<String>(attributes.keySet()));
+		}
+
+		@Override
+		public void setAttribute(String name, Object value) {
+
+			if (value == null) {
+				attributes.remove(name);
+			} else {
+				attributes.put(name, value);
+			}
+		}
+
+		@Override
+		public void removeAttribute(String name) {
+			attributes.remove(name);
+		}
+
+		@Override
+		public boolean isAsyncSupported() {
+			return false;
+		}
+	}
+
+	/**
+	 * {@link HttpServletResponse} buffering status, headers and body of a single {@link Operation} of a batch request.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	static class BatchOperationHttpServletResponse implements HttpServletResponse {
+
+		private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+		private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<List<String>>();
+
+		private int status = HttpStatus.OK.value();
+		private String contentType;
+		private String characterEncoding;
+		private Locale locale = Locale.getDefault();
+		private PrintWriter writer;
+
+		/**
+		 * Returns the {@link Result} representing the buffered response.
+		 * 
+		 * @param id the identifier of the {@link Operation}, can be {@literal null}.
+		 * @return
+		 */
+		public Result toResult(String id) {
+
+			if (writer != null) {
+				writer.flush();
+			}
+
+			Map<String, String> result = new LinkedHashMap<String, String>();
+
+			for (Entry<String, List<String>> entry : headers.entrySet()) {
+				result.put(entry.getKey(), StringUtils.collectionToCommaDelimitedString(entry.getValue()));
+			}
+
+			MediaType mediaType = contentType == null ? null : MediaType.parseMediaType(contentType);
+			Charset charset = mediaType == null || mediaType.getCharSet() == null ? UTF_8 : mediaType.getCharSet();
+			boolean json = mediaType != null
+					&& (mediaType.getSubtype().equals("json") || mediaType.getSubtype().endsWith("+json"));
+
+			return new Result(id, status, result, new String(content.toByteArray(), charset), json);
+		}
+
+		@Override
+		public String getCharacterEncoding() {
+			return characterEncoding == null ? UTF_8.name() : characterEncoding;
+		}
+
+		@Override
+		public String getContentType() {
+			return contentType;
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+
+			return new ServletOutputStream() {
+
+				@Override
+				public void write(int b) throws IOException {
+					content.write(b);
+				}
+			};
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+
+			if (writer == null) {
+				writer = new PrintWriter(new OutputStreamWriter(content, getCharacterEncoding()));
+			}
+
+			return writer;
+		}
+
+		@Override
+		public void setCharacterEncoding(String charset) {
+			this.characterEncoding = charset;
+		}
+
+		@Override
+		public void setContentLength(int len) {}
+
+		public void setContentLengthLong(long len) {}
+
+		@Override
+		public void setContentType(String type) {
+
+			this.contentType = type;
+
+			if (type != null) {
+				setHeader(HttpHeaders.CONTENT_TYPE, type);
+			}
+		}
+
+		@Override
+		public void setBufferSize(int size) {}
+
+		@Override
+		public int getBufferSize() {
+			return content.size();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {}
+
+		@Override
+		public void resetBuffer() {
+			content.reset();
+		}
+
+		@Override
+		public boolean isCommitted() {
+			return false;
+		}
+
+		@Override
+		public void reset() {
+
+			resetBuffer();
+			headers.clear();
+			status = HttpStatus.OK.value();
+			contentType = null;
+		}
+
+		@Override
+		public void setLocale(Locale locale) {
+			this.locale = locale;
+		}
+
+		@Override
+		public Locale getLocale() {
+			return locale;
+		}
+
+		@Override
+		public void addCookie(Cookie cookie) {}
+
+		@Override
+		public boolean containsHeader(String name) {
+			return headers.containsKey(name);
+		}
+
+		@Override
+		public String encodeURL(String url) {
+			return url;
+		}
+
+		@Override
+		public String encodeRedirectURL(String url) {
+			return url;
+		}
+
+		@Override
+		@Deprecated
+		public String encodeUrl(String url) {
+			return url;
+		}
+
+		@Override
+		@Deprecated
+		public String encodeRedirectUrl(String url) {
+			return url;
+		}
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			this.status = sc;
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			this.status = sc;
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			setHeader(HttpHeaders.LOCATION, location);
+			this.status = HttpStatus.FOUND.value();
+		}
+
+		@Override
+		public void setDateHeader(String name, long date) {
+
+			HttpHeaders httpHeaders = new HttpHeaders();
+			httpHeaders.setDate(name, date);
+			setHeader(name, httpHeaders.getFirst(name));
+		}
+
+		@Override
+		public void addDateHeader(String name, long date) {
+
+			HttpHeaders httpHeaders = new HttpHeaders();
+			httpHeaders.setDate(name, date);
+			addHeader(name, httpHeaders.getFirst(name));
+		}
+
+		@Override
+		public void setHeader(String name, String value) {
+			headers.remove(name);
+			addHeader(name, value);
+		}
+
+		@Override
+		public void addHeader(String name, String value) {
+
+			List<String> values = headers.get(name);
+
+			if (values == null) {
+				values = new ArrayList<String>(1);
+				headers.put(name, values);
+			}
+
+			values.add(value);
+		}
+
+		@Override
+		public void setIntHeader(String name, int value) {
+			setHeader(name, String.valueOf(value));
+		}
+
+		@Override
+		public void addIntHeader(String name, int value) {
+			addHeader(name, String.valueOf(value));
+		}
+
+		@Override
+		public void setStatus(int sc) {
+			this.status = sc;
+		}
+
+		@Override
+		@Deprecated
+		public void setStatus(int sc, String sm) {
+			this.status = sc;
+		}
+
+		@Override
+		public int getStatus() {
+			return status;
+		}
+
+		@Override
+		public String getHeader(String name) {
+
+			List<String> values = headers.get(name);
+			return values == null || values.isEmpty() ? null : values.get(0);
+		}
+
+		@Override
+		public Collection<String> getHeaders(String name) {
+
+			List<String> values = headers.get(name);
+			return values == null ? Collections.<String> emptyList() : Collections.unmodifiableList(values);
+		}
+
+		@Override
+		public Collection<String> getHeaderNames() {
+			return Collections.unmodifiableSet(headers.keySet());
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.data.rest.core.config.BulkheadConfiguration;
+import org.springframework.data.rest.core.config.BulkheadConfiguration.InvocationType;
+import org.springframework.data.rest.core.config.BulkheadConfiguration.Priority;
+import org.springframework.data.rest.core.mapping.ResourceMappings;
+import org.springframework.data.rest.core.mapping.ResourceMetadata;
+import org.springframework.data.rest.webmvc.support.Bulkhead;
+import org.springframework.data.rest.webmvc.support.BulkheadFullException;
+import org.springframework.data.rest.webmvc.support.RepositoryBulkheads;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+/**
+ * Interceptor to admit requests to repository resources through the {@link Bulkhead} of the targeted repository.
+ * Rejects requests with a {@link BulkheadFullException} if the bulkhead is saturated. The admission is held until the
+ * request completes, i.e. across asynchronous re-dispatches as well.
+ * 
+ * @author Oliver Gierke
+ */
+public class BulkheadHandlerInterceptor extends HandlerInterceptorAdapter {
+
+	private static final String ADMISSION_ATTRIBUTE = BulkheadHandlerInterceptor.class.getName() + ".ADMISSION";
+
+	private final RepositoryBulkheads bulkheads;
+	private final ResourceMappings mappings;
+	private final BulkheadConfiguration configuration;
+
+	/**
+	 * Creates a new {@link BulkheadHandlerInterceptor} for the given {@link RepositoryBulkheads}, {@link ResourceMappings}
+	 * and {@link BulkheadConfiguration}.
+	 * 
+	 * @param bulkheads must not be {@literal null}.
+	 * @param mappings must not be {@literal null}.
+	 * @param configuration must not be {@literal null}.
+	 */
+	public BulkheadHandlerInterceptor(RepositoryBulkheads bulkheads, ResourceMappings mappings,
+			BulkheadConfiguration configuration) {
+
+		Assert.notNull(bulkheads, "RepositoryBulkheads must not be null!");
+		Assert.notNull(mappings, "ResourceMappings must not be null!");
+		Assert.notNull(configuration, "BulkheadConfiguration must not be null!");
+
+		this.bulkheads = bulkheads;
+		this.mappings = mappings;
+		this.configuration = configuration;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.web.servlet.handler.HandlerInterceptorAdapter#preHandle(javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse, java.lang.Object)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+		// Disabled or already admitted before an asynchronous re-dispatch
+		if (!configuration.isEnabled() || !(handler instanceof HandlerMethod)
+				|| request.getAttribute(ADMISSION_ATTRIBUTE) != null) {
+			return true;
+		}
+
+		Map<String, String> variables = (Map<String, String>) request
+				.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+
+		if (variables == null || !StringUtils.hasText(variables.get("repository"))) {
+			return true;
+		}
+
+		InvocationType type = getInvocationType((HandlerMethod) handler, variables);
+		ResourceMetadata metadata = mappings.getExportedMappingForPath(variables.get("repository"));
+
+		if (type == null || metadata == null) {
+			return true;
+		}
+
+		Bulkhead bulkhead = bulkheads.getBulkhead(metadata.getDomainType());
+		Priority priority = configuration.getPriority(type);
+
+		if (!bulkhead.tryAcquire(priority)) {
+			throw new BulkheadFullException(metadata.getDomainType(), configuration.getRetryAfter());
+		}
+
+		request.setAttribute(ADMISSION_ATTRIBUTE, new Admission(bulkhead, priority));
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.web.servlet.handler.HandlerInterceptorAdapter#afterCompletion(javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse, java.lang.Object, java.lang.Exception)
+	 */
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+		Object admission = request.getAttribute(ADMISSION_ATTRIBUTE);
+
+		if (admission instanceof Admission) {
+			request.removeAttribute(ADMISSION_ATTRIBUTE);
+			((Admission) admission).release();
+		}
+	}
+
+	private static InvocationType getInvocationType(HandlerMethod handler, Map<String, String> variables) {
+
+		Class<?> controllerType = handler.getBeanType();
+
+		if (RepositorySearchController.class.isAssignableFrom(controllerType)) {
+			return InvocationType.SEARCH;
+		}
+
+		if (RepositoryPropertyReferenceController.class.isAssignableFrom(controllerType)) {
+			return InvocationType.ASSOCIATION;
+		}
+
+		if (JsonRepositoryEntityController.class.isAssignableFrom(controllerType)) {
+			return variables.containsKey("id") ? InvocationType.ITEM : InvocationType.COLLECTION;
+		}
+
+		return null;
+	}
+
+	/**
+	 * An admitted request to be released on completion.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class Admission {
+
+		private final Bulkhead bulkhead;
+		private final Priority priority;
+
+		public Admission(Bulkhead bulkhead, Priority priority) {
+			this.bulkhead = bulkhead;
+			this.priority = priority;
+		}
+
+		public void release() {
+			bulkhead.release(priority);
+		}
+	}
+}
@@ -5,93 +5,62 @@
  */
 package org.springframework.data.rest.webmvc;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.introspect.Annotated;
-import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
-import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
-import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
-import java.lang.reflect.Field;
-import org.springframework.data.repository.core.RepositoryMetadata;
+import javax.servlet.http.HttpServletResponse;
 import org.springframework.data.rest.core.invoke.RepositoryInvoker;
 import org.springframework.data.rest.core.mapping.ResourceMetadata;
 import static org.springframework.data.rest.webmvc.RepositoryEntityController.BASE_MAPPING;
-import org.springframework.data.rest.webmvc.jsonfilterannotations.SerializeOnePropertiesFilter;
-import org.springframework.data.rest.webmvc.jsonfilterannotations.SerializeOnePropertiesFilters;
+import org.springframework.data.rest.webmvc.json.FilteredJsonWriter;
 import org.springframework.data.rest.webmvc.support.BackendId;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
 /**
+ * Renders plain {@code application/json} representations of entities applying the
+ * {@link org.springframework.data.rest.webmvc.jsonfilterannotations.SerializeOnePropertiesFilters} declared on their
+ * repository interface.
  *
  * @author luis
+ * @see FilteredJsonWriter
  */
 public class JsonRepositoryEntityController extends AbstractRepositoryRestController {
 
-    public JsonRepositoryEntityController(PagedResourcesAssembler<Object> pagedResourcesAssembler) {
+    private final FilteredJsonWriter jsonWriter;
+
+    public JsonRepositoryEntityController(PagedResourcesAssembler<Object> pagedResourcesAssembler,
+            FilteredJsonWriter jsonWriter) {
+
         super(pagedResourcesAssembler);
-    }
 
-    public class CustomIntrospector extends JacksonAnnotationIntrospector {
-
-        @Override
-        public Object findFilterId(Annotated a) {
-            // Let's default to current behavior if annotation is found:
-            Object id = super.findFilterId(a);
-            // but use simple class name if not
-            if (id == null) {
-                int beginIndex = a.getName().lastIndexOf('.') + 1;
-                id = a.getName().substring(beginIndex);
-            }
-            return id;
-        }
+        Assert.notNull(jsonWriter, "FilteredJsonWriter must not be null!");
+
+        this.jsonWriter = jsonWriter;
     }
 
-    public void processOutput(
-            ResourceMetadata resourceMetadata, Object domainObj, OutputStream outputStream
-    ) throws IOException, NoSuchFieldException, IllegalArgumentException, IllegalAccessException {
-
-        Class resourceMetaDataClass = resourceMetadata.getClass();
-        Field field = resourceMetaDataClass.getDeclaredField("repositoryInterface");
-        field.setAccessible(true);
-        RepositoryMetadata repositoryMetadata = (RepositoryMetadata) field.get(resourceMetadata);
-        field.setAccessible(false);
-
-        SerializeOnePropertiesFilters ann = repositoryMetadata.getRepositoryInterface().getAnnotation(SerializeOnePropertiesFilters.class);
-
-        SimpleFilterProvider filterProvider = new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.filterOutAllExcept(""));
-        if (ann != null) {
-            for (SerializeOnePropertiesFilter serializeOnePropertiesFilter : ann.value()) {
-                String className = serializeOnePropertiesFilter.className();
-                String[] exclude = serializeOnePropertiesFilter.exclude();
-                String[] include = serializeOnePropertiesFilter.include();
-                if (exclude.length > 0) {
-                    filterProvider.addFilter(className,
-                            SimpleBeanPropertyFilter.serializeAllExcept(exclude));
-                } else if (include.length > 0) {
-                    filterProvider.addFilter(className,
-                            SimpleBeanPropertyFilter.filterOutAllExcept(include));
-                } else {
-                    filterProvider.addFilter(className,
-                            SimpleBeanPropertyFilter.serializeAllExcept(""));
-                }
-            }
-        }
+    public void processOutput(ResourceMetadata resourceMetadata, Object domainObj, OutputStream outputStream)
+            throws IOException {
+        jsonWriter.write(resourceMetadata, domainObj, outputStream);
+    }
 
-        new ObjectMapper()
-                .setAnnotationIntrospector(new CustomIntrospector())
-                .writerWithDefaultPrettyPrinter()
-                .with(filterProvider)
-                .writeValue(outputStream, domainObj);
+    /**
+     * Writes the given value as filtered {@code application/json} representation of the given resource.
+     *
+     * @param resourceInformation must not be {@literal null}.
+     * @param value can be {@literal null}.
+     * @param response must not be {@literal null}.
+     * @throws IOException
+     */
+    protected void writeJson(RootResourceInformation resourceInformation, Object value, HttpServletResponse response)
+            throws IOException {
+        jsonWriter.write(resourceInformation.getDomainType(), value, response);
     }
 
     /**
@@ -102,22 +71,20 @@ public class JsonRepositoryEntityController extends AbstractRepositoryRestContro
      * @param output
      * @return
      * @throws HttpRequestMethodNotSupportedException
-     * @throws com.fasterxml.jackson.core.JsonProcessingException
-     * @throws java.lang.NoSuchFieldException
-     * @throws java.lang.IllegalAccessException
+     * @throws java.io.IOException
      */
     @RequestMapping(value = BASE_MAPPING + "/{id}", method = RequestMethod.GET, produces = "application/json")
     public ResponseEntity getItemResourceJson(
             RootResourceInformation resourceInformation,
             @BackendId Serializable id,
             OutputStream output
-    ) throws HttpRequestMethodNotSupportedException, JsonProcessingException, IOException, NoSuchFieldException, IllegalArgumentException, IllegalAccessException {
+    ) throws HttpRequestMethodNotSupportedException, IOException {
 
         resourceInformation.verifySupportedMethod(HttpMethod.GET, ResourceType.ITEM);
 
         RepositoryInvoker repoMethodInvoker = resourceInformation.getInvoker();
 
-        Object domainObj = repoMethodInvoker.invokeFindOne(id);
+        Object domainObj = repoMethodInvoker.invokeFindOneReadOnly(id);
 
         if (domainObj == null) {
             return new ResponseEntity(HttpStatus.NOT_FOUND);
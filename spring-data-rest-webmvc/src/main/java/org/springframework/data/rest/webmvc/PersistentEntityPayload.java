@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import java.util.Iterator;
+
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.util.Assert;
+
+/**
+ * The payload of a request to a collection resource. Either a single {@link PersistentEntityResource} or, for JSON
+ * arrays and newline delimited JSON, an {@link Iterator} deserializing the contained entities one by one.
+ * 
+ * @author Oliver Gierke
+ */
+public class PersistentEntityPayload {
+
+	private final PersistentEntity<?, ?> entity;
+	private final PersistentEntityResource<?> resource;
+	private final Iterator<Object> contents;
+
+	private PersistentEntityPayload(PersistentEntity<?, ?> entity, PersistentEntityResource<?> resource,
+			Iterator<Object> contents) {
+
+		Assert.notNull(entity, "PersistentEntity must not be null!");
+
+		this.entity = entity;
+		this.resource = resource;
+		this.contents = contents;
+	}
+
+	/**
+	 * Creates a {@link PersistentEntityPayload} for a single entity.
+	 * 
+	 * @param resource must not be {@literal null}.
+	 * @return
+	 */
+	public static PersistentEntityPayload single(PersistentEntityResource<?> resource) {
+
+		Assert.notNull(resource, "PersistentEntityResource must not be null!");
+		return new PersistentEntityPayload(resource.getPersistentEntity(), resource, null);
+	}
+
+	/**
+	 * Creates a {@link PersistentEntityPayload} for multiple entities read lazily from the given {@link Iterator}.
+	 * 
+	 * @param entity must not be {@literal null}.
+	 * @param contents must not be {@literal null}.
+	 * @return
+	 */
+	public static PersistentEntityPayload multiple(PersistentEntity<?, ?> entity, Iterator<Object> contents) {
+
+		Assert.notNull(contents, "Contents must not be null!");
+		return new PersistentEntityPayload(entity, null, contents);
+	}
+
+	/**
+	 * Returns whether the payload contains multiple entities.
+	 * 
+	 * @return
+	 */
+	public boolean isMultiple() {
+		return contents != null;
+	}
+
+	/**
+	 * Returns the {@link PersistentEntity} of the contained entities.
+	 * 
+	 * @return
+	 */
+	public PersistentEntity<?, ?> getPersistentEntity() {
+		return entity;
+	}
+
+	/**
+	 * Returns the single {@link PersistentEntityResource} contained.
+	 * 
+	 * @return
+	 * @throws IllegalStateException in case the payload contains multiple entities.
+	 */
+	public PersistentEntityResource<?> getResource() {
+
+		Assert.state(!isMultiple(), "Payload contains multiple entities!");
+		return resource;
+	}
+
+	/**
+	 * Returns an {@link Iterator} over the contained entities. Deserialization failures surface as
+	 * {@link org.springframework.http.converter.HttpMessageNotReadableException} when the affected entity is requested.
+	 * 
+	 * @return
+	 * @throws IllegalStateException in case the payload contains a single entity only.
+	 */
+	public Iterator<Object> getContents() {
+
+		Assert.state(isMultiple(), "Payload contains a single entity only!");
+		return contents;
+	}
+}
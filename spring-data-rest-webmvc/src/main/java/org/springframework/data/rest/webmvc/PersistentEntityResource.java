@@ -19,6 +19,7 @@ import java.util.Arrays;
 
 import org.springframework.data.mapping.PersistentEntity;
 import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.rest.webmvc.json.FieldSet;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.Resource;
 
@@ -33,22 +34,39 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 public class PersistentEntityResource<T> extends Resource<T> {
 
 	private final PersistentEntity<?, ?> entity;
+	private final FieldSet fieldSet;
 
 	public static <T> PersistentEntityResource<T> wrap(PersistentEntity<?, ?> entity, T obj, Link selfLink) {
-		return new PersistentEntityResource<T>(entity, obj, selfLink);
+		return wrap(entity, obj, null, selfLink);
+	}
+
+	public static <T> PersistentEntityResource<T> wrap(PersistentEntity<?, ?> entity, T obj, FieldSet fieldSet,
+			Link selfLink) {
+		return new PersistentEntityResource<T>(entity, obj, fieldSet, Arrays.asList(selfLink));
 	}
 
 	public PersistentEntityResource(PersistentEntity<?, ?> entity, T content, Link... links) {
-		this(entity, content, Arrays.asList(links));
+		this(entity, content, null, Arrays.asList(links));
 	}
 
-	private PersistentEntityResource(PersistentEntity<?, ?> entity, T content, Iterable<Link> links) {
+	private PersistentEntityResource(PersistentEntity<?, ?> entity, T content, FieldSet fieldSet, Iterable<Link> links) {
 		super(content, links);
 		this.entity = entity;
+		this.fieldSet = fieldSet;
 	}
 
 	@JsonIgnore
 	public PersistentEntity<?, ? extends PersistentProperty<?>> getPersistentEntity() {
 		return entity;
 	}
+
+	/**
+	 * Returns the {@link FieldSet} restricting the properties of the content to render.
+	 * 
+	 * @return the {@link FieldSet} or {@literal null} if all properties shall be rendered.
+	 */
+	@JsonIgnore
+	public FieldSet getFieldSet() {
+		return fieldSet;
+	}
 }
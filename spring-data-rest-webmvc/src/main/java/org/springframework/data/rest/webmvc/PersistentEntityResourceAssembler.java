@@ -18,11 +18,14 @@ package org.springframework.data.rest.webmvc;
 import org.springframework.data.mapping.PersistentEntity;
 import org.springframework.data.mapping.model.BeanWrapper;
 import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.webmvc.json.FieldSet;
+import org.springframework.data.rest.webmvc.json.FieldSets;
 import org.springframework.data.rest.webmvc.support.Projector;
 import org.springframework.hateoas.EntityLinks;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.ResourceAssembler;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 /**
  * {@link ResourceAssembler} to create {@link PersistentEntityResource}s for arbitrary domain objects.
@@ -34,6 +37,8 @@ public class PersistentEntityResourceAssembler implements ResourceAssembler<Obje
 	private final Repositories repositories;
 	private final EntityLinks entityLinks;
 	private final Projector projector;
+	private final FieldSets fieldSets;
+	private final String fields;
 
 	/**
 	 * Creates a new {@link PersistentEntityResourceAssembler}.
@@ -43,14 +48,32 @@ public class PersistentEntityResourceAssembler implements ResourceAssembler<Obje
 	 * @param projections must not be {@literal null}.
 	 */
 	public PersistentEntityResourceAssembler(Repositories repositories, EntityLinks entityLinks, Projector projector) {
+		this(repositories, entityLinks, projector, null, null);
+	}
+
+	/**
+	 * Creates a new {@link PersistentEntityResourceAssembler} restricting the rendered properties of the entities to the
+	 * given comma separated list of property paths.
+	 * 
+	 * @param repositories must not be {@literal null}.
+	 * @param entityLinks must not be {@literal null}.
+	 * @param projections must not be {@literal null}.
+	 * @param fieldSets must not be {@literal null} if fields are given.
+	 * @param fields can be {@literal null} or empty.
+	 */
+	public PersistentEntityResourceAssembler(Repositories repositories, EntityLinks entityLinks, Projector projector,
+			FieldSets fieldSets, String fields) {
 
 		Assert.notNull(repositories, "Repositories must not be null!");
 		Assert.notNull(entityLinks, "EntityLinks must not be null!");
 		Assert.notNull(projector, "PersistentEntityProjector must not be be null!");
+		Assert.isTrue(fieldSets != null || !StringUtils.hasText(fields), "FieldSets must not be null if fields are given!");
 
 		this.repositories = repositories;
 		this.entityLinks = entityLinks;
 		this.projector = projector;
+		this.fieldSets = fieldSets;
+		this.fields = fields;
 	}
 
 	/* 
@@ -61,7 +84,9 @@ public class PersistentEntityResourceAssembler implements ResourceAssembler<Obje
 	public PersistentEntityResource<Object> toResource(Object instance) {
 
 		PersistentEntity<?, ?> entity = repositories.getPersistentEntity(instance.getClass());
-		return PersistentEntityResource.wrap(entity, projector.project(instance), getSelfLinkFor(instance));
+		FieldSet fieldSet = StringUtils.hasText(fields) ? fieldSets.getFieldSet(entity, fields) : null;
+
+		return PersistentEntityResource.wrap(entity, projector.project(instance), fieldSet, getSelfLinkFor(instance));
 	}
 
 	/**
@@ -29,22 +29,42 @@ import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentProperty;
 import org.springframework.data.mapping.model.BeanWrapper;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.core.RepositoryConstraintViolationException;
 import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.core.event.AfterBulkDeleteEvent;
 import org.springframework.data.rest.core.event.AfterCreateEvent;
 import org.springframework.data.rest.core.event.AfterDeleteEvent;
 import org.springframework.data.rest.core.event.AfterSaveEvent;
+import org.springframework.data.rest.core.event.BeforeBulkDeleteEvent;
 import org.springframework.data.rest.core.event.BeforeCreateEvent;
 import org.springframework.data.rest.core.event.BeforeDeleteEvent;
 import org.springframework.data.rest.core.event.BeforeSaveEvent;
@@ -53,8 +73,22 @@ import org.springframework.data.rest.core.mapping.ResourceMetadata;
 import org.springframework.data.rest.core.mapping.SearchResourceMappings;
 import org.springframework.data.rest.core.support.DomainObjectMerger;
 import org.springframework.data.rest.core.support.DomainObjectMerger.NullHandlingPolicy;
+import org.springframework.data.rest.webmvc.json.FilteredJsonWriter;
 import org.springframework.data.rest.webmvc.jsonfilterannotations.SerializeOnePropertiesFilters;
+import org.springframework.data.rest.webmvc.spi.BackendIdConverter;
+import org.springframework.data.rest.webmvc.spi.BackendIdConverter.DefaultIdConverter;
 import org.springframework.data.rest.webmvc.support.BackendId;
+import org.springframework.data.rest.webmvc.support.BulkOperationResult;
+import org.springframework.data.rest.webmvc.support.ConditionalRequestSupport;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.data.rest.webmvc.support.ETagDoesntMatchException;
+import org.springframework.data.rest.webmvc.support.KeysetCursor;
+import org.springframework.data.rest.webmvc.support.KeysetPagingSupport;
+import org.springframework.data.rest.webmvc.support.KeysetPagingSupport.KeysetPage;
+import org.springframework.data.rest.webmvc.support.MissingEntityResource;
+import org.springframework.data.rest.webmvc.support.RepresentationCache;
+import org.springframework.data.rest.webmvc.support.SlicedPagingSupport;
+import org.springframework.data.rest.webmvc.support.TotalCountSupport;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityLinks;
 import org.springframework.hateoas.Link;
@@ -63,14 +97,26 @@ import org.springframework.hateoas.Resource;
 import org.springframework.hateoas.ResourceSupport;
 import org.springframework.hateoas.Resources;
 import org.springframework.hateoas.UriTemplate;
+import org.springframework.plugin.core.PluginRegistry;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * @author Jon Brisbin
@@ -81,25 +127,44 @@ import org.springframework.web.bind.annotation.ResponseBody;
 public class RepositoryEntityController extends JsonRepositoryEntityController implements ApplicationEventPublisherAware {
 
     protected static final String BASE_MAPPING = "/{repository}";
+    private static final Logger LOG = LoggerFactory.getLogger(RepositoryEntityController.class);
+    private static final String BULK_FAILURE_MESSAGE = "The item could not be processed due to an internal error!";
 
     private final EntityLinks entityLinks;
     private final RepositoryRestConfiguration config;
     private final ConversionService conversionService;
     private final DomainObjectMerger domainObjectMerger;
+    private final KeysetPagingSupport keysetPaging;
+    private final SlicedPagingSupport slicedPaging;
+    private final TotalCountSupport totalCounts;
+    private final PluginRegistry<BackendIdConverter, Class<?>> idConverters;
+    private final RepresentationCache representations;
+    private final ConditionalRequestSupport conditionalRequests;
 
     private ApplicationEventPublisher publisher;
 
+    @Autowired(required = false) private PlatformTransactionManager transactionManager;
+
     @Autowired
     public RepositoryEntityController(Repositories repositories, RepositoryRestConfiguration config,
             EntityLinks entityLinks, PagedResourcesAssembler<Object> assembler,
-            @Qualifier("defaultConversionService") ConversionService conversionService, DomainObjectMerger domainObjectMerger) {
+            @Qualifier("defaultConversionService") ConversionService conversionService, DomainObjectMerger domainObjectMerger,
+            KeysetPagingSupport keysetPaging, SlicedPagingSupport slicedPaging, TotalCountSupport totalCounts,
+            PluginRegistry<BackendIdConverter, Class<?>> idConverters, RepresentationCache representations,
+            ConditionalRequestSupport conditionalRequests, FilteredJsonWriter jsonWriter) {
 
-        super(assembler);
+        super(assembler, jsonWriter);
 
         this.entityLinks = entityLinks;
         this.config = config;
         this.conversionService = conversionService;
         this.domainObjectMerger = domainObjectMerger;
+        this.keysetPaging = keysetPaging;
+        this.slicedPaging = slicedPaging;
+        this.totalCounts = totalCounts;
+        this.idConverters = idConverters;
+        this.representations = representations;
+        this.conditionalRequests = conditionalRequests;
     }
 
     /*
@@ -114,24 +179,20 @@ public class RepositoryEntityController extends JsonRepositoryEntityController i
     @ResponseBody
     @RequestMapping(value = BASE_MAPPING, method = RequestMethod.GET)
     public Resources<?> getCollectionResource(final RootResourceInformation resourceInformation, Pageable pageable,
-            Sort sort, PersistentEntityResourceAssembler assembler) throws ResourceNotFoundException,
-            HttpRequestMethodNotSupportedException {
-
-        resourceInformation.verifySupportedMethod(HttpMethod.GET, ResourceType.COLLECTION);
-
-        RepositoryInvoker invoker = resourceInformation.getInvoker();
+            Sort sort, KeysetCursor cursor, WebRequest request, PersistentEntityResourceAssembler assembler)
+            throws ResourceNotFoundException, HttpRequestMethodNotSupportedException {
 
-        if (null == invoker) {
-            throw new ResourceNotFoundException();
-        }
+        return getCollectionResource(resourceInformation, pageable, sort, cursor, request, assembler,
+                config.isStreamingCollections());
+    }
 
-        Iterable<?> results;
+    private Resources<?> getCollectionResource(RootResourceInformation resourceInformation, Pageable pageable,
+            Sort sort, KeysetCursor cursor, WebRequest request, PersistentEntityResourceAssembler assembler,
+            boolean streaming) throws ResourceNotFoundException, HttpRequestMethodNotSupportedException {
 
-        if (pageable != null) {
-            results = invoker.invokeFindAll(pageable);
-        } else {
-            results = invoker.invokeFindAll(sort);
-        }
+        Object found = findAll(resourceInformation, pageable, sort, cursor, request);
+        KeysetPage keysetPage = found instanceof KeysetPage ? (KeysetPage) found : null;
+        Iterable<?> results = keysetPage != null ? keysetPage.getContent() : (Iterable<?>) found;
 
         ResourceMetadata metadata = resourceInformation.getResourceMetadata();
         SearchResourceMappings searchMappings = metadata.getSearchResourceMappings();
@@ -142,20 +203,82 @@ public class RepositoryEntityController extends JsonRepositoryEntityController i
                     .withRel(searchMappings.getRel()));
         }
 
-        Resources<?> resources = resultToResources(results, assembler);
+        Resources<?> resources = streaming ? streamingResultToResources(results, assembler, metadata.getRel())
+                : resultToResources(results, assembler);
         resources.add(links);
+
+        if (keysetPage != null) {
+            keysetPaging.addCursorLinks(resources, keysetPage);
+        } else if (results instanceof Slice && !(results instanceof Page)) {
+            slicedPaging.addSliceLinks(resources, (Slice<?>) results);
+        }
+
         return resources;
     }
 
+    /**
+     * <code>GET /{repository}</code> - Returns the entities as plain JSON applying the
+     * {@link SerializeOnePropertiesFilters} of the repository. Entities are written one by one while the result is
+     * consumed.
+     *
+     * @param resourceInformation
+     * @param pageable
+     * @param sort
+     * @param cursor
+     * @param request
+     * @param response
+     * @throws ResourceNotFoundException
+     * @throws HttpRequestMethodNotSupportedException
+     * @throws IOException
+     */
+    @RequestMapping(value = BASE_MAPPING, method = RequestMethod.GET, produces = "application/json")
+    public void getCollectionResourceJson(RootResourceInformation resourceInformation, Pageable pageable, Sort sort,
+            KeysetCursor cursor, WebRequest request, HttpServletResponse response) throws ResourceNotFoundException,
+            HttpRequestMethodNotSupportedException, IOException {
+
+        Object found = findAll(resourceInformation, pageable, sort, cursor, request);
+        writeJson(resourceInformation, found instanceof KeysetPage ? ((KeysetPage) found).getContent() : found, response);
+    }
+
+    /**
+     * Looks up the entities of the given collection resource honoring the configured paging strategy.
+     *
+     * @return the {@link KeysetPage} if keyset paging is enabled for the domain type, the {@link Iterable} returned by
+     * the repository otherwise.
+     */
+    private Object findAll(RootResourceInformation resourceInformation, Pageable pageable, Sort sort,
+            KeysetCursor cursor, WebRequest request) throws ResourceNotFoundException,
+            HttpRequestMethodNotSupportedException {
+
+        resourceInformation.verifySupportedMethod(HttpMethod.GET, ResourceType.COLLECTION);
+
+        RepositoryInvoker invoker = resourceInformation.getInvoker();
+
+        if (null == invoker) {
+            throw new ResourceNotFoundException();
+        }
+
+        if (pageable != null && keysetPaging.isEnabledFor(resourceInformation.getDomainType())) {
+            return keysetPaging.findAll(resourceInformation, pageable, cursor);
+        } else if (pageable != null && slicedPaging.isSliced(resourceInformation.getDomainType(), request)) {
+            return invoker.invokeFindAllSliced(keysetPaging.getPageable(pageable, cursor));
+        } else if (pageable != null) {
+            return totalCounts.findAll(invoker, resourceInformation.getDomainType(),
+                    keysetPaging.getPageable(pageable, cursor), request);
+        } else {
+            return invoker.invokeFindAll(sort);
+        }
+    }
+
     @ResponseBody
     @SuppressWarnings({"unchecked"})
     @RequestMapping(value = BASE_MAPPING, method = RequestMethod.GET, produces = {
         "application/x-spring-data-compact+json", "text/uri-list"})
     public Resources<?> getCollectionResourceCompact(RootResourceInformation repoRequest, Pageable pageable, Sort sort,
-            PersistentEntityResourceAssembler assembler) throws ResourceNotFoundException,
-            HttpRequestMethodNotSupportedException {
+            KeysetCursor cursor, WebRequest request, PersistentEntityResourceAssembler assembler)
+            throws ResourceNotFoundException, HttpRequestMethodNotSupportedException {
 
-        Resources<?> resources = getCollectionResource(repoRequest, pageable, sort, assembler);
+        Resources<?> resources = getCollectionResource(repoRequest, pageable, sort, cursor, request, assembler, false);
         List<Link> links = new ArrayList<Link>(resources.getLinks());
 
         for (Resource<?> resource : ((Resources<Resource<?>>) resources).getContent()) {
@@ -169,9 +292,171 @@ public class RepositoryEntityController extends JsonRepositoryEntityController i
         }
     }
 
+    /**
+     * <code>GET /{repository}?id=…&id=…</code> - Returns the entities with the
+     * given ids in the order requested.
+     *
+     * @param resourceInformation
+     * @param ids
+     * @param assembler
+     * @return
+     * @throws HttpRequestMethodNotSupportedException
+     */
+    @ResponseBody
+    @RequestMapping(value = BASE_MAPPING, method = RequestMethod.GET, params = "id")
+    public Resources<?> getCollectionResourceByIds(RootResourceInformation resourceInformation,
+            @RequestParam("id") List<String> ids, PersistentEntityResourceAssembler assembler)
+            throws HttpRequestMethodNotSupportedException {
+        return findAllByIds(resourceInformation, ids, assembler);
+    }
+
+    /**
+     * <code>POST /{repository}/batch-get</code> - Returns the entities
+     * referred to by the given item resource URIs in the order requested.
+     *
+     * @param resourceInformation
+     * @param incoming
+     * @param assembler
+     * @return
+     * @throws HttpRequestMethodNotSupportedException
+     */
+    @ResponseBody
+    @RequestMapping(value = BASE_MAPPING + "/batch-get", method = RequestMethod.POST, consumes = "text/uri-list")
+    public Resources<?> postBatchGet(RootResourceInformation resourceInformation,
+            @RequestBody Resources<Object> incoming, PersistentEntityResourceAssembler assembler)
+            throws HttpRequestMethodNotSupportedException {
+        return findAllByIds(resourceInformation, getIds(incoming), assembler);
+    }
+
+    /**
+     * Renders the entities with the given request ids in the order
+     * requested. Ids without an entity are rendered as
+     * {@link MissingEntityResource}s.
+     *
+     * @param resourceInformation must not be {@literal null}.
+     * @param ids must not be {@literal null}.
+     * @param assembler must not be {@literal null}.
+     * @return
+     * @throws HttpRequestMethodNotSupportedException
+     */
+    private Resources<?> findAllByIds(RootResourceInformation resourceInformation, List<String> ids,
+            PersistentEntityResourceAssembler assembler) throws HttpRequestMethodNotSupportedException {
+
+        resourceInformation.verifySupportedMethod(HttpMethod.GET, ResourceType.ITEM);
+
+        Class<?> domainType = resourceInformation.getDomainType();
+        List<Object> entities = loadByIds(resourceInformation, ids);
+        List<Object> content = new ArrayList<Object>(ids.size());
+
+        for (int i = 0; i < ids.size(); i++) {
+
+            Object element = entities.get(i);
+            String id = ids.get(i);
+
+            content.add(element == null ? new MissingEntityResource(id, entityLinks.linkFor(domainType).slash(id)
+                    .withRel(resourceInformation.getResourceMetadata().getItemResourceRel())) : assembler
+                    .toResource(element));
+        }
+
+        return new Resources<Object>(content);
+    }
+
+    /**
+     * Looks up all entities with the given request ids using one
+     * {@link RepositoryInvoker#invokeFindAll(Iterable)} call per
+     * {@link RepositoryRestConfiguration#getBulkChunkSize()} distinct ids.
+     * Rejects more than {@link RepositoryRestConfiguration#getMaxPageSize()}
+     * ids.
+     *
+     * @param resourceInformation must not be {@literal null}.
+     * @param ids must not be {@literal null}.
+     * @return the entities in the order of the given ids, {@literal null} for
+     * ids without an entity.
+     */
+    private List<Object> loadByIds(RootResourceInformation resourceInformation, List<String> ids) {
+
+        RepositoryInvoker invoker = resourceInformation.getInvoker();
+
+        if (!invoker.exposesFindOne()) {
+            throw new ResourceNotFoundException();
+        }
+
+        if (ids.size() > config.getMaxPageSize()) {
+            throw new IllegalArgumentException(String.format("At most %s ids can be requested at once but got %s!",
+                    config.getMaxPageSize(), ids.size()));
+        }
+
+        Class<?> domainType = resourceInformation.getDomainType();
+        PersistentProperty<?> idProperty = resourceInformation.getPersistentEntity().getIdProperty();
+        BackendIdConverter idConverter = idConverters.getPluginFor(domainType, DefaultIdConverter.INSTANCE);
+
+        List<Object> backendIds = new ArrayList<Object>(ids.size());
+        Set<Serializable> lookups = new LinkedHashSet<Serializable>(ids.size());
+
+        for (String id : ids) {
+
+            Serializable backendId = idConverter.fromRequestId(id, domainType);
+            backendIds.add(conversionService.convert(backendId, idProperty.getType()));
+            lookups.add(backendId);
+        }
+
+        Map<Object, Object> found = new HashMap<Object, Object>(lookups.size());
+        List<Serializable> chunk = new ArrayList<Serializable>(config.getBulkChunkSize());
+        Iterator<Serializable> iterator = lookups.iterator();
+
+        while (iterator.hasNext()) {
+
+            chunk.add(iterator.next());
+
+            if (chunk.size() < config.getBulkChunkSize() && iterator.hasNext()) {
+                continue;
+            }
+
+            for (Object element : invoker.invokeFindAll(chunk)) {
+                found.put(BeanWrapper.create(element, null).getProperty(idProperty), element);
+            }
+
+            chunk = new ArrayList<Serializable>(config.getBulkChunkSize());
+        }
+
+        List<Object> result = new ArrayList<Object>(ids.size());
+
+        for (Object backendId : backendIds) {
+            result.add(found.get(backendId));
+        }
+
+        return result;
+    }
+
+    /**
+     * Extracts the request ids from the item resource URIs contained in the
+     * given {@link Resources}, i.e. their last path segments.
+     *
+     * @param incoming must not be {@literal null}.
+     * @return
+     */
+    private static List<String> getIds(Resources<Object> incoming) {
+
+        List<String> ids = new ArrayList<String>(incoming.getLinks().size());
+
+        for (Link link : incoming.getLinks()) {
+
+            List<String> segments = UriComponentsBuilder.fromUriString(link.getHref()).build().getPathSegments();
+
+            if (segments.isEmpty()) {
+                throw new IllegalArgumentException(String.format("No id found in URI %s!", link.getHref()));
+            }
+
+            ids.add(segments.get(segments.size() - 1));
+        }
+
+        return ids;
+    }
+
     /**
      * <code>POST /{repository}</code> - Creates a new entity instances from the
-     * collection resource.
+     * collection resource. JSON arrays and newline delimited JSON create
+     * multiple entities at once.
      *
      * @param resourceInformation
      * @param payload
@@ -180,27 +465,40 @@ public class RepositoryEntityController extends JsonRepositoryEntityController i
      */
     @ResponseBody
     @RequestMapping(value = BASE_MAPPING, method = RequestMethod.POST)
-    public ResponseEntity<ResourceSupport> postCollectionResource(RootResourceInformation resourceInformation,
-            PersistentEntityResource<?> payload, PersistentEntityResourceAssembler assembler)
+    public ResponseEntity<?> postCollectionResource(RootResourceInformation resourceInformation,
+            PersistentEntityPayload payload, PersistentEntityResourceAssembler assembler)
             throws HttpRequestMethodNotSupportedException {
 
         resourceInformation.verifySupportedMethod(HttpMethod.POST, ResourceType.COLLECTION);
 
-        return createAndReturn(payload.getContent(), resourceInformation.getInvoker(), assembler);
+        RepositoryInvoker invoker = resourceInformation.getInvoker();
+
+        if (payload.isMultiple()) {
+            return createAllAndReturn(payload.getContents(), invoker, assembler);
+        }
+
+        return createAndReturn(payload.getResource().getContent(), invoker, assembler);
     }
 
     /**
-     * <code>GET /{repository}/{id}</code> - Returns a single entity.
+     * <code>GET /{repository}/{id}</code> - Returns a single entity. Writes
+     * the representation from the {@link RepresentationCache} directly if
+     * enabled for the domain type. Adds an {@link ETag} derived from the
+     * entity's version property or, if configured, its representation and
+     * answers a matching <code>If-None-Match</code> header with
+     * <code>304 Not Modified</code>. The version is checked without loading
+     * the entity where the store allows it.
      *
      * @param resourceInformation
      * @param id
      * @return
      * @throws HttpRequestMethodNotSupportedException
+     * @throws IOException
      */
     @RequestMapping(value = BASE_MAPPING + "/{id}", method = RequestMethod.GET, produces = "application/hal+json")
     public ResponseEntity<Resource<?>> getItemResource(RootResourceInformation resourceInformation,
-            @BackendId Serializable id, PersistentEntityResourceAssembler assembler)
-            throws HttpRequestMethodNotSupportedException {
+            @BackendId Serializable id, PersistentEntityResourceAssembler assembler, HttpServletRequest request,
+            HttpServletResponse response) throws HttpRequestMethodNotSupportedException, IOException {
 
         resourceInformation.verifySupportedMethod(HttpMethod.GET, ResourceType.ITEM);
 
@@ -210,13 +508,48 @@ public class RepositoryEntityController extends JsonRepositoryEntityController i
             return new ResponseEntity<Resource<?>>(HttpStatus.NOT_FOUND);
         }
 
-        Object domainObj = repoMethodInvoker.invokeFindOne(id);
+        Class<?> domainType = resourceInformation.getDomainType();
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        List<ETag> etags = ETag.parse(ifNoneMatch);
+
+        if (etags.size() == 1 && conditionalRequests.supportsVersionLookup(domainType)
+                && conditionalRequests.hasVersion(domainType, id, etags)) {
+            return new ResponseEntity<Resource<?>>(etags.get(0).addTo(new HttpHeaders()), HttpStatus.NOT_MODIFIED);
+        }
+
+        RepresentationCache.Lookup lookup = representations.lookup(domainType, id, request);
+
+        if (lookup != null && lookup.isHit()) {
+            lookup.writeTo(request, response);
+            return null;
+        }
+
+        Object domainObj = repoMethodInvoker.invokeFindOneReadOnly(id);
 
         if (domainObj == null) {
             return new ResponseEntity<Resource<?>>(HttpStatus.NOT_FOUND);
         }
 
-        return new ResponseEntity<Resource<?>>(assembler.toResource(domainObj), HttpStatus.OK);
+        HttpHeaders headers = new HttpHeaders();
+        ETag etag = conditionalRequests.getETag(domainObj);
+
+        if (etag != null) {
+
+            etag.addTo(headers);
+
+            if (etag.matches(ifNoneMatch)) {
+                return new ResponseEntity<Resource<?>>(headers, HttpStatus.NOT_MODIFIED);
+            }
+
+        } else if (config.isRepresentationETags()) {
+            request.setAttribute(RepresentationCapturingHandlerMethodReturnValueHandler.HASH_ATTRIBUTE, Boolean.TRUE);
+        }
+
+        if (lookup != null) {
+            request.setAttribute(RepresentationCache.LOOKUP_ATTRIBUTE, lookup);
+        }
+
+        return new ResponseEntity<Resource<?>>(assembler.toResource(domainObj), headers, HttpStatus.OK);
     }
 
     /**
@@ -226,17 +559,19 @@ public class RepositoryEntityController extends JsonRepositoryEntityController i
      * @param resourceInformation
      * @param payload
      * @param id
+     * @param ifMatch
      * @return
      * @throws HttpRequestMethodNotSupportedException
      */
     @RequestMapping(value = BASE_MAPPING + "/{id}", method = RequestMethod.PUT)
     public ResponseEntity<? extends ResourceSupport> putItemResource(RootResourceInformation resourceInformation,
-            PersistentEntityResource<Object> payload, @BackendId Serializable id, PersistentEntityResourceAssembler assembler)
+            PersistentEntityResource<Object> payload, @BackendId Serializable id, PersistentEntityResourceAssembler assembler,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch)
             throws HttpRequestMethodNotSupportedException {
 
         resourceInformation.verifySupportedMethod(HttpMethod.PUT, ResourceType.ITEM);
 
-        Object domainObject = conversionService.convert(id, resourceInformation.getDomainType());
+        Object domainObject = loadAndVerifyIfMatch(resourceInformation, id, ifMatch);
         RepositoryInvoker invoker = resourceInformation.getInvoker();
 
         if (domainObject == null) {
@@ -257,18 +592,20 @@ public class RepositoryEntityController extends JsonRepositoryEntityController i
      * @param resourceInformation
      * @param payload
      * @param id
+     * @param ifMatch
      * @return
      * @throws HttpRequestMethodNotSupportedException
      * @throws ResourceNotFoundException
      */
     @RequestMapping(value = BASE_MAPPING + "/{id}", method = RequestMethod.PATCH)
     public ResponseEntity<ResourceSupport> patchItemResource(RootResourceInformation resourceInformation,
-            PersistentEntityResource<Object> payload, @BackendId Serializable id, PersistentEntityResourceAssembler assembler)
+            PersistentEntityResource<Object> payload, @BackendId Serializable id, PersistentEntityResourceAssembler assembler,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch)
             throws HttpRequestMethodNotSupportedException, ResourceNotFoundException {
 
         resourceInformation.verifySupportedMethod(HttpMethod.PATCH, ResourceType.ITEM);
 
-        Object domainObject = conversionService.convert(id, resourceInformation.getDomainType());
+        Object domainObject = loadAndVerifyIfMatch(resourceInformation, id, ifMatch);
 
         if (domainObject == null) {
             throw new ResourceNotFoundException();
@@ -283,17 +620,20 @@ public class RepositoryEntityController extends JsonRepositoryEntityController i
      *
      * @param resourceInformation
      * @param id
+     * @param ifMatch
      * @return
      * @throws ResourceNotFoundException
      * @throws HttpRequestMethodNotSupportedException
      */
     @RequestMapping(value = BASE_MAPPING + "/{id}", method = RequestMethod.DELETE)
-    public ResponseEntity<?> deleteItemResource(RootResourceInformation resourceInformation, @BackendId Serializable id)
+    public ResponseEntity<?> deleteItemResource(RootResourceInformation resourceInformation, @BackendId Serializable id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch)
             throws ResourceNotFoundException, HttpRequestMethodNotSupportedException {
 
         resourceInformation.verifySupportedMethod(HttpMethod.DELETE, ResourceType.ITEM);
 
         RepositoryInvoker invoker = resourceInformation.getInvoker();
+        conditionalRequests.preverifyIfMatch(resourceInformation.getDomainType(), id, ifMatch);
 
         // TODO: re-enable not exposing delete method if hidden
         // ResourceMapping methodMapping = repoRequest.getRepositoryResourceMapping().getResourceMappingFor("delete");
@@ -301,6 +641,7 @@ public class RepositoryEntityController extends JsonRepositoryEntityController i
         // throw new HttpRequestMethodNotSupportedException("DELETE");
         // }
         Object domainObj = invoker.invokeFindOne(id);
+        conditionalRequests.verifyIfMatch(domainObj, ifMatch);
 
         publisher.publishEvent(new BeforeDeleteEvent(domainObj));
         invoker.invokeDelete(id);
@@ -309,6 +650,161 @@ public class RepositoryEntityController extends JsonRepositoryEntityController i
         return new ResponseEntity<Object>(HttpStatus.NO_CONTENT);
     }
 
+    /**
+     * <code>DELETE /{repository}</code> - Deletes the entities referred to by
+     * the given item resource URIs.
+     *
+     * @param resourceInformation
+     * @param incoming
+     * @return
+     * @throws HttpRequestMethodNotSupportedException
+     */
+    @ResponseBody
+    @RequestMapping(value = BASE_MAPPING, method = RequestMethod.DELETE, consumes = "text/uri-list")
+    public ResponseEntity<BulkOperationResult> deleteCollectionResource(RootResourceInformation resourceInformation,
+            @RequestBody Resources<Object> incoming) throws HttpRequestMethodNotSupportedException {
+        return deleteAllAndReturn(resourceInformation, getIds(incoming));
+    }
+
+    /**
+     * <code>DELETE /{repository}</code> - Deletes the entities with the ids
+     * given as JSON array.
+     *
+     * @param resourceInformation
+     * @param ids
+     * @return
+     * @throws HttpRequestMethodNotSupportedException
+     */
+    @ResponseBody
+    @RequestMapping(value = BASE_MAPPING, method = RequestMethod.DELETE, consumes = "application/json")
+    public ResponseEntity<BulkOperationResult> deleteCollectionResourceByIds(
+            RootResourceInformation resourceInformation, @RequestBody List<String> ids)
+            throws HttpRequestMethodNotSupportedException {
+        return deleteAllAndReturn(resourceInformation, ids);
+    }
+
+    /**
+     * Deletes all entities with the given request ids. The entities are
+     * loaded using a single batched lookup and deleted in chunks of
+     * {@link RepositoryRestConfiguration#getBulkChunkSize()}. Publishes the
+     * per-entity {@link BeforeDeleteEvent}s and {@link AfterDeleteEvent}s as
+     * well as a {@link BeforeBulkDeleteEvent} and {@link AfterBulkDeleteEvent}
+     * per chunk.
+     *
+     * @param resourceInformation must not be {@literal null}.
+     * @param ids must not be {@literal null}.
+     * @return
+     * @throws HttpRequestMethodNotSupportedException
+     */
+    private ResponseEntity<BulkOperationResult> deleteAllAndReturn(RootResourceInformation resourceInformation,
+            List<String> ids) throws HttpRequestMethodNotSupportedException {
+
+        resourceInformation.verifySupportedMethod(HttpMethod.DELETE, ResourceType.ITEM);
+
+        RepositoryInvoker invoker = resourceInformation.getInvoker();
+        List<Object> entities = loadByIds(resourceInformation, ids);
+
+        BulkOperationResult result = new BulkOperationResult();
+        List<Object> chunk = new ArrayList<Object>(config.getBulkChunkSize());
+        List<Integer> indexes = new ArrayList<Integer>(config.getBulkChunkSize());
+
+        for (int i = 0; i < entities.size(); i++) {
+
+            Object entity = entities.get(i);
+
+            if (entity == null) {
+                result.failure(i, HttpStatus.NOT_FOUND, String.format("No entity found for id %s!", ids.get(i)));
+                continue;
+            }
+
+            try {
+                publisher.publishEvent(new BeforeDeleteEvent(entity));
+                chunk.add(entity);
+                indexes.add(i);
+            } catch (RepositoryConstraintViolationException o_O) {
+                result.failure(i, HttpStatus.BAD_REQUEST, o_O.getMessage());
+            }
+
+            if (chunk.size() == config.getBulkChunkSize()) {
+                deleteChunk(chunk, indexes, resourceInformation.getDomainType(), invoker, result);
+            }
+        }
+
+        deleteChunk(chunk, indexes, resourceInformation.getDomainType(), invoker, result);
+
+        return new ResponseEntity<BulkOperationResult>(result, result.getStatus(HttpStatus.OK));
+    }
+
+    private void deleteChunk(List<Object> chunk, List<Integer> indexes, Class<?> domainType,
+            RepositoryInvoker invoker, BulkOperationResult result) {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<Object> entities = new ArrayList<Object>(chunk);
+        List<Integer> entityIndexes = new ArrayList<Integer>(indexes);
+
+        chunk.clear();
+        indexes.clear();
+
+        try {
+
+            publisher.publishEvent(new BeforeBulkDeleteEvent(entities, domainType));
+            invoker.invokeDeleteAll(entities);
+
+        } catch (DataAccessException o_O) {
+
+            recordFailures(entityIndexes, o_O, result);
+            return;
+        }
+
+        for (int i = 0; i < entities.size(); i++) {
+            publisher.publishEvent(new AfterDeleteEvent(entities.get(i)));
+            result.success(entityIndexes.get(i), HttpStatus.NO_CONTENT, null);
+        }
+
+        publisher.publishEvent(new AfterBulkDeleteEvent(entities, domainType));
+    }
+
+    /**
+     * Loads the entity with the given id and verifies the given
+     * <code>If-Match</code> header against it. Mismatching headers are
+     * rejected before loading the entity where the store allows it.
+     *
+     * @param resourceInformation
+     * @param id
+     * @param ifMatch can be {@literal null}.
+     * @return the entity or {@literal null} if none exists.
+     * @throws ETagDoesntMatchException if the header doesn't match.
+     */
+    private Object loadAndVerifyIfMatch(RootResourceInformation resourceInformation, Serializable id, String ifMatch) {
+
+        Class<?> domainType = resourceInformation.getDomainType();
+        conditionalRequests.preverifyIfMatch(domainType, id, ifMatch);
+
+        Object domainObject = conversionService.convert(id, domainType);
+        conditionalRequests.verifyIfMatch(domainObject, ifMatch);
+
+        return domainObject;
+    }
+
+    /**
+     * Adds the {@link ETag} of the given entity to the given headers if it
+     * has one, so that clients can chain conditional updates.
+     *
+     * @param headers
+     * @param entity
+     */
+    private void addETagHeader(HttpHeaders headers, Object entity) {
+
+        ETag etag = conditionalRequests.getETag(entity);
+
+        if (etag != null) {
+            etag.addTo(headers);
+        }
+    }
+
     /**
      * Merges the given incoming object into the given domain object.
      *
@@ -329,6 +825,7 @@ public class RepositoryEntityController extends JsonRepositoryEntityController i
         publisher.publishEvent(new AfterSaveEvent(domainObject));
 
         HttpHeaders headers = new HttpHeaders();
+        addETagHeader(headers, obj);
 
         if (PUT.equals(httpMethod)) {
             addLocationHeader(headers, assembler, obj);
@@ -358,12 +855,185 @@ public class RepositoryEntityController extends JsonRepositoryEntityController i
 
         HttpHeaders headers = new HttpHeaders();
         addLocationHeader(headers, assembler, savedObject);
+        addETagHeader(headers, savedObject);
 
         PersistentEntityResource<Object> resource = config.isReturnBodyOnCreate() ? assembler.toResource(savedObject)
                 : null;
         return ControllerUtils.toResponseEntity(HttpStatus.CREATED, headers, resource);
     }
 
+    /**
+     * Creates all entities read from the given {@link Iterator}. Every entity
+     * runs through the {@link BeforeCreateEvent} (and thus validation)
+     * individually, valid ones are saved in chunks of
+     * {@link RepositoryRestConfiguration#getBulkChunkSize()}. Every chunk is
+     * saved independently so that a failing chunk doesn't roll back the ones
+     * already saved. If a {@link PlatformTransactionManager} is configured a
+     * chunk is saved in a single transaction so that it either fails or
+     * succeeds as a whole. Otherwise its entities are saved one by one and
+     * failures are reported for the failing ones only. Returns a {@link BulkOperationResult} with the location
+     * or error per entity instead of the created representations.
+     *
+     * @param contents must not be {@literal null}.
+     * @param invoker must not be {@literal null}.
+     * @param assembler must not be {@literal null}.
+     * @return
+     */
+    private ResponseEntity<BulkOperationResult> createAllAndReturn(Iterator<Object> contents,
+            RepositoryInvoker invoker, PersistentEntityResourceAssembler assembler) {
+
+        BulkOperationResult result = new BulkOperationResult();
+        List<Object> chunk = new ArrayList<Object>(config.getBulkChunkSize());
+        List<Integer> indexes = new ArrayList<Integer>(config.getBulkChunkSize());
+        int index = 0;
+
+        try {
+
+            while (contents.hasNext()) {
+
+                Object domainObject = contents.next();
+
+                try {
+                    publisher.publishEvent(new BeforeCreateEvent(domainObject));
+                    chunk.add(domainObject);
+                    indexes.add(index);
+                } catch (RepositoryConstraintViolationException o_O) {
+                    result.failure(index, HttpStatus.BAD_REQUEST, o_O.getMessage());
+                }
+
+                index++;
+
+                if (chunk.size() == config.getBulkChunkSize()) {
+                    saveChunk(chunk, indexes, invoker, assembler, result);
+                }
+            }
+
+        } catch (HttpMessageNotReadableException o_O) {
+            result.failure(index, HttpStatus.BAD_REQUEST, o_O.getMessage());
+        }
+
+        saveChunk(chunk, indexes, invoker, assembler, result);
+
+        return new ResponseEntity<BulkOperationResult>(result, result.getStatus(HttpStatus.CREATED));
+    }
+
+    private void saveChunk(List<Object> chunk, List<Integer> indexes, RepositoryInvoker invoker,
+            PersistentEntityResourceAssembler assembler, BulkOperationResult result) {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+
+            if (transactionManager == null) {
+                saveOneByOne(chunk, indexes, invoker, assembler, result);
+            } else {
+                saveInTransaction(chunk, indexes, invoker, assembler, result);
+            }
+
+        } finally {
+            chunk.clear();
+            indexes.clear();
+        }
+    }
+
+    /**
+     * Saves the given chunk in a single transaction, reporting all of its
+     * entities as failed if the transaction is rolled back.
+     */
+    private void saveInTransaction(final List<Object> chunk, List<Integer> indexes, final RepositoryInvoker invoker,
+            PersistentEntityResourceAssembler assembler, BulkOperationResult result) {
+
+        Iterable<Object> savedObjects;
+
+        try {
+
+            savedObjects = new TransactionTemplate(transactionManager).execute(
+                    new TransactionCallback<Iterable<Object>>() {
+
+                        @Override
+                        public Iterable<Object> doInTransaction(TransactionStatus status) {
+                            return invoker.invokeSaveAll(chunk);
+                        }
+                    });
+
+        } catch (DataAccessException o_O) {
+            recordFailures(indexes, o_O, result);
+            return;
+        } catch (TransactionException o_O) {
+            recordFailures(indexes, o_O, result);
+            return;
+        }
+
+        Iterator<Integer> chunkIndexes = indexes.iterator();
+
+        for (Object savedObject : savedObjects) {
+            recordCreation(chunkIndexes.next(), savedObject, assembler, result);
+        }
+    }
+
+    /**
+     * Saves the entities of the given chunk one by one as there's no
+     * transaction to roll back already saved ones if a later one fails.
+     */
+    private void saveOneByOne(List<Object> chunk, List<Integer> indexes, RepositoryInvoker invoker,
+            PersistentEntityResourceAssembler assembler, BulkOperationResult result) {
+
+        for (int i = 0; i < chunk.size(); i++) {
+
+            Object savedObject;
+
+            try {
+                savedObject = invoker.invokeSave(chunk.get(i));
+            } catch (DataAccessException o_O) {
+                recordFailures(indexes.subList(i, i + 1), o_O, result);
+                continue;
+            }
+
+            recordCreation(indexes.get(i), savedObject, assembler, result);
+        }
+    }
+
+    private void recordCreation(Integer index, Object savedObject, PersistentEntityResourceAssembler assembler,
+            BulkOperationResult result) {
+
+        publisher.publishEvent(new AfterCreateEvent(savedObject));
+
+        String selfLink = assembler.getSelfLinkFor(savedObject).getHref();
+        result.success(index, HttpStatus.CREATED, new UriTemplate(selfLink).expand());
+    }
+
+    /**
+     * Records the failure of the items with the given indexes of a bulk
+     * operation. Integrity violations and optimistic locking failures are
+     * reported as {@code 409 Conflict} with the exception message, just like
+     * for single item requests. Every other exception is logged and reported
+     * as {@code 500 Internal Server Error} with a generic message so that no
+     * store internals leak to the client.
+     *
+     * @param indexes must not be {@literal null}.
+     * @param exception must not be {@literal null}.
+     * @param result must not be {@literal null}.
+     */
+    private static void recordFailures(List<Integer> indexes, RuntimeException exception,
+            BulkOperationResult result) {
+
+        boolean conflict = exception instanceof DataIntegrityViolationException
+                || exception instanceof OptimisticLockingFailureException;
+
+        if (conflict) {
+            LOG.debug("Conflict processing bulk items {}!", indexes, exception);
+        } else {
+            LOG.error(String.format("Failed to process bulk items %s!", indexes), exception);
+        }
+
+        for (Integer index : indexes) {
+            result.failure(index, conflict ? HttpStatus.CONFLICT : HttpStatus.INTERNAL_SERVER_ERROR,
+                    conflict ? exception.getMessage() : BULK_FAILURE_MESSAGE);
+        }
+    }
+
     /**
      * Sets the location header pointing to the resource representing the given
      * instance. Will make sure we properly expand the URI template potentially
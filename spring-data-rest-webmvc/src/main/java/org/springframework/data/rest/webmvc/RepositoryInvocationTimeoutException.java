@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indicates an asynchronously executed repository invocation didn't complete within the configured timeout.
+ * 
+ * @author Oliver Gierke
+ * @see org.springframework.data.rest.core.config.RepositoryRestConfiguration#setAsyncTimeout(long)
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class RepositoryInvocationTimeoutException extends RuntimeException {
+
+	private static final long serialVersionUID = -2361738206591745519L;
+
+	public RepositoryInvocationTimeoutException(String message) {
+		super(message);
+	}
+}
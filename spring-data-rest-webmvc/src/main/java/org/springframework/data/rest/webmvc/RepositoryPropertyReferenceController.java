@@ -27,6 +27,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
@@ -45,6 +47,7 @@ import org.springframework.data.rest.core.invoke.RepositoryInvoker;
 import org.springframework.data.rest.core.mapping.ResourceMapping;
 import org.springframework.data.rest.core.mapping.ResourceMetadata;
 import org.springframework.data.rest.core.util.Function;
+import org.springframework.data.rest.webmvc.json.FilteredJsonWriter;
 import org.springframework.data.rest.webmvc.support.BackendId;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.Link;
@@ -56,6 +59,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -77,18 +81,22 @@ class RepositoryPropertyReferenceController extends AbstractRepositoryRestContro
 
 	private final Repositories repositories;
 	private final ConversionService conversionService;
+	private final FilteredJsonWriter jsonWriter;
 
 	private ApplicationEventPublisher publisher;
 
 	@Autowired
 	public RepositoryPropertyReferenceController(Repositories repositories,
 			@Qualifier("defaultConversionService") ConversionService conversionService,
-			PagedResourcesAssembler<Object> assembler) {
+			PagedResourcesAssembler<Object> assembler, FilteredJsonWriter jsonWriter) {
 
 		super(assembler);
 
+		Assert.notNull(jsonWriter, "FilteredJsonWriter must not be null!");
+
 		this.repositories = repositories;
 		this.conversionService = conversionService;
+		this.jsonWriter = jsonWriter;
 	}
 
 	/* 
@@ -149,6 +157,38 @@ class RepositoryPropertyReferenceController extends AbstractRepositoryRestContro
 		return ControllerUtils.toResponseEntity(HttpStatus.OK, headers, responseResource);
 	}
 
+	/**
+	 * Renders the value of the referenced property as plain JSON applying the
+	 * {@link org.springframework.data.rest.webmvc.jsonfilterannotations.SerializeOnePropertiesFilters} of the
+	 * repository exporting the property type.
+	 * 
+	 * @param repoRequest
+	 * @param id
+	 * @param property
+	 * @param response
+	 * @throws Exception
+	 */
+	@RequestMapping(value = BASE_MAPPING, method = RequestMethod.GET, produces = "application/json")
+	public void followPropertyReferenceJson(RootResourceInformation repoRequest, @BackendId Serializable id,
+			@PathVariable String property, final HttpServletResponse response) throws Exception {
+
+		Function<ReferencedProperty, ResourceSupport> handler = new Function<ReferencedProperty, ResourceSupport>() {
+
+			@Override
+			public ResourceSupport apply(ReferencedProperty prop) throws Exception {
+
+				if (null == prop.propertyValue) {
+					throw new ResourceNotFoundException();
+				}
+
+				jsonWriter.write(prop.propertyType, prop.propertyValue, response);
+				return null;
+			}
+		};
+
+		doWithReferencedProperty(repoRequest, id, property, handler, HttpMethod.GET);
+	}
+
 	@RequestMapping(value = BASE_MAPPING, method = RequestMethod.DELETE)
 	public ResponseEntity<? extends ResourceSupport> deletePropertyReference(final RootResourceInformation repoRequest,
 			@BackendId Serializable id, @PathVariable String property) throws Exception {
@@ -446,7 +486,8 @@ class RepositoryPropertyReferenceController extends AbstractRepositoryRestContro
 			throw new HttpRequestMethodNotSupportedException(method.name());
 		}
 
-		Object domainObj = invoker.invokeFindOne(id);
+		// Only reads may share the entity with concurrent lookups
+		Object domainObj = HttpMethod.GET.equals(method) ? invoker.invokeFindOneReadOnly(id) : invoker.invokeFindOne(id);
 
 		if (null == domainObj) {
 			throw new ResourceNotFoundException();
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.rest.core.invoke.RepositoryInvoker;
+import org.springframework.data.rest.core.mapping.ResourceMetadata;
+import org.springframework.data.rest.webmvc.spi.BackendIdConverter;
+import org.springframework.util.Assert;
+
+/**
+ * Everything the REST argument resolvers need to know about the repository a request targets. Calculated once per
+ * request and kept as request attribute so that the individual resolvers don't have to re-parse the lookup path or
+ * look up the repository over and over again.
+ *
+ * @author Oliver Gierke
+ */
+public class RepositoryRequestContext {
+
+	/**
+	 * The name of the request attribute the {@link RepositoryRequestContext} is stored under.
+	 */
+	public static final String ATTRIBUTE_NAME = RepositoryRequestContext.class.getName();
+
+	private final String lookupPath;
+	private final Map<String, String> pathVariables;
+	private final ResourceMetadata resourceMetadata;
+	private final RepositoryInvoker invoker;
+	private final PersistentEntity<?, ?> persistentEntity;
+	private final BackendIdConverter idConverter;
+
+	private Serializable backendId;
+	private boolean backendIdResolved;
+
+	/**
+	 * Creates a new {@link RepositoryRequestContext}.
+	 *
+	 * @param lookupPath the repository lookup path of the request, must not be {@literal null}.
+	 * @param pathVariables the variables of the handler mapping matched against the lookup path, must not be
+	 *          {@literal null}.
+	 * @param resourceMetadata the {@link ResourceMetadata} of the repository exported under the path, can be
+	 *          {@literal null}.
+	 * @param invoker the {@link RepositoryInvoker} for the repository, can be {@literal null}.
+	 * @param persistentEntity the {@link PersistentEntity} managed by the repository, can be {@literal null}.
+	 * @param idConverter the {@link BackendIdConverter} to convert the {@code id} path variable with on first access,
+	 *          can be {@literal null}.
+	 */
+	public RepositoryRequestContext(String lookupPath, Map<String, String> pathVariables,
+			ResourceMetadata resourceMetadata, RepositoryInvoker invoker, PersistentEntity<?, ?> persistentEntity,
+			BackendIdConverter idConverter) {
+
+		Assert.notNull(lookupPath, "Lookup path must not be null!");
+		Assert.notNull(pathVariables, "Path variables must not be null!");
+
+		this.lookupPath = lookupPath;
+		this.pathVariables = Collections.unmodifiableMap(pathVariables);
+		this.resourceMetadata = resourceMetadata;
+		this.invoker = invoker;
+		this.persistentEntity = persistentEntity;
+		this.idConverter = idConverter;
+	}
+
+	/**
+	 * Returns the repository lookup path, i.e. the request path with the base URI stripped.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public String getLookupPath() {
+		return lookupPath;
+	}
+
+	/**
+	 * Returns the variables of the handler mapping matched against the lookup path.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public Map<String, String> getPathVariables() {
+		return pathVariables;
+	}
+
+	/**
+	 * Returns the value of the path variable with the given name.
+	 *
+	 * @param name must not be {@literal null}.
+	 * @return
+	 */
+	public String getPathVariable(String name) {
+		return pathVariables.get(name);
+	}
+
+	/**
+	 * Returns the key the repository was requested by, i.e. the value of the {@code repository} path variable.
+	 *
+	 * @return
+	 */
+	public String getRepositoryKey() {
+		return pathVariables.get("repository");
+	}
+
+	/**
+	 * Returns the {@link ResourceMetadata} of the repository exported under the requested path.
+	 *
+	 * @return the {@link ResourceMetadata} or {@literal null} if no exported repository could be found.
+	 */
+	public ResourceMetadata getResourceMetadata() {
+		return resourceMetadata;
+	}
+
+	/**
+	 * Returns the {@link RepositoryInvoker} for the requested repository.
+	 *
+	 * @return the {@link RepositoryInvoker} or {@literal null} if no exported repository could be found.
+	 */
+	public RepositoryInvoker getInvoker() {
+		return invoker;
+	}
+
+	/**
+	 * Returns the {@link PersistentEntity} managed by the requested repository.
+	 *
+	 * @return the {@link PersistentEntity} or {@literal null} if no exported repository could be found.
+	 */
+	public PersistentEntity<?, ?> getPersistentEntity() {
+		return persistentEntity;
+	}
+
+	/**
+	 * Returns the backend identifier the {@code id} path variable is converted into. The conversion happens on first
+	 * access so that requests not asking for the identifier never see conversion failures.
+	 *
+	 * @return the backend identifier or {@literal null} if the request does not point to an item resource.
+	 */
+	public Serializable getBackendId() {
+
+		if (!backendIdResolved) {
+
+			String id = pathVariables.get("id");
+
+			this.backendId = id == null || idConverter == null || resourceMetadata == null ? null : idConverter
+					.fromRequestId(id, resourceMetadata.getDomainType());
+			this.backendIdResolved = true;
+		}
+
+		return backendId;
+	}
+}
@@ -1,25 +1,87 @@
 package org.springframework.data.rest.webmvc;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.core.mapping.ResourceMappings;
+import org.springframework.data.rest.core.mapping.ResourceMetadata;
+import org.springframework.data.rest.webmvc.support.ContextPropagatingCallable;
+import org.springframework.data.rest.webmvc.support.JpaHelper;
+import org.springframework.data.rest.webmvc.support.RepositoryTaskExecutorProvider;
 import org.springframework.hateoas.ResourceProcessor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolverComposite;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
 
 /**
  * {@link RequestMappingHandlerAdapter} implementation that adds a couple argument resolvers for controller method
  * parameters used in the REST exporter controller. Also only looks for handler methods in the Spring Data REST provided
  * controller classes to help isolate this handler adapter from other handler adapters the user might have configured in
  * their Spring MVC context.
+ * <p/>
+ * If asynchronous execution is enabled, handler methods of repository resources are invoked on the executor provided
+ * by the {@link RepositoryTaskExecutorProvider} for the repository's domain type. The invocation is handed to the
+ * container as {@link WebAsyncTask}, so that registered {@link CallableProcessingInterceptor}s (e.g. the one of Spring
+ * Security exposing the {@code SecurityContext}) are applied, and its result is rendered on the re-dispatch as usual.
+ * Saturated executors result in a {@link TaskRejectedException}, invocations not completing in time in a
+ * {@link RepositoryInvocationTimeoutException} being rendered.
  * 
  * @author Jon Brisbin
+ * @author Oliver Gierke
  */
 public class RepositoryRestHandlerAdapter extends ResourceProcessorInvokingHandlerAdapter {
 
+	private static final Method ARGUMENT_RESOLVERS_METHOD = ReflectionUtils.findMethod(
+			RepositoryRestHandlerAdapter.class, "getArgumentResolvers");
+	private static final Method RETURN_VALUE_HANDLERS_METHOD = ReflectionUtils.findMethod(
+			RepositoryRestHandlerAdapter.class, "getReturnValueHandlers");
+	private static final Method DATA_BINDER_FACTORY_METHOD = ReflectionUtils.findMethod(
+			RequestMappingHandlerAdapter.class, "getDataBinderFactory", HandlerMethod.class);
+	private static final boolean IS_JPA_AVAILABLE = ClassUtils.isPresent("javax.persistence.EntityManager",
+			RepositoryRestHandlerAdapter.class.getClassLoader());
+
+	static {
+		ReflectionUtils.makeAccessible(DATA_BINDER_FACTORY_METHOD);
+	}
+
 	private final List<HandlerMethodArgumentResolver> argumentResolvers;
+	private final RepositoryRestConfiguration config;
+	private final ResourceMappings mappings;
+	private final RepositoryTaskExecutorProvider executors;
 
 	/**
 	 * Creates a new {@link RepositoryRestHandlerAdapter} using the given {@link HandlerMethodArgumentResolver} and
@@ -32,7 +94,38 @@ public class RepositoryRestHandlerAdapter extends ResourceProcessorInvokingHandl
 			List<ResourceProcessor<?>> resourceProcessors) {
 
 		super(resourceProcessors);
+
+		this.argumentResolvers = argumentResolvers;
+		this.config = null;
+		this.mappings = null;
+		this.executors = null;
+	}
+
+	/**
+	 * Creates a new {@link RepositoryRestHandlerAdapter} using the given {@link HandlerMethodArgumentResolver} and
+	 * {@link ResourceProcessor}s that invokes repository resources asynchronously if configured in the given
+	 * {@link RepositoryRestConfiguration}.
+	 * 
+	 * @param argumentResolvers must not be {@literal null}.
+	 * @param resourceProcessors must not be {@literal null}.
+	 * @param config must not be {@literal null}.
+	 * @param mappings must not be {@literal null}.
+	 * @param executors must not be {@literal null}.
+	 */
+	public RepositoryRestHandlerAdapter(List<HandlerMethodArgumentResolver> argumentResolvers,
+			List<ResourceProcessor<?>> resourceProcessors, RepositoryRestConfiguration config, ResourceMappings mappings,
+			RepositoryTaskExecutorProvider executors) {
+
+		super(resourceProcessors);
+
+		Assert.notNull(config, "RepositoryRestConfiguration must not be null!");
+		Assert.notNull(mappings, "ResourceMappings must not be null!");
+		Assert.notNull(executors, "RepositoryTaskExecutorProvider must not be null!");
+
 		this.argumentResolvers = argumentResolvers;
+		this.config = config;
+		this.mappings = mappings;
+		this.executors = executors;
 	}
 
 	/*
@@ -41,8 +134,15 @@ public class RepositoryRestHandlerAdapter extends ResourceProcessorInvokingHandl
 	 */
 	@Override
 	public void afterPropertiesSet() {
+
 		setCustomArgumentResolvers(argumentResolvers);
 		super.afterPropertiesSet();
+
+		// Capture rendered representations requested to be cached
+		List<HandlerMethodReturnValueHandler> handlers = new ArrayList<HandlerMethodReturnValueHandler>();
+		handlers.add(new RepresentationCapturingHandlerMethodReturnValueHandler(getReturnValueHandlersComposite()));
+
+		setReturnValueHandlers(handlers);
 	}
 
 	/*
@@ -65,4 +165,304 @@ public class RepositoryRestHandlerAdapter extends ResourceProcessorInvokingHandl
 
 		return AnnotationUtils.findAnnotation(controllerType, RepositoryRestController.class) != null;
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter#handleInternal(javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse, org.springframework.web.method.HandlerMethod)
+	 */
+	@Override
+	protected ModelAndView handleInternal(HttpServletRequest request, HttpServletResponse response,
+			HandlerMethod handlerMethod) throws Exception {
+
+		AsyncTaskExecutor executor = getTaskExecutor(request);
+		WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+
+		// Synchronous execution or re-dispatch to render the result of the asynchronous invocation
+		if (executor == null || asyncManager.hasConcurrentResult()) {
+			return super.handleInternal(request, response, handlerMethod);
+		}
+
+		// Same preparation as for synchronous execution (supported methods, cache headers)
+		checkAndPrepare(request, response, true);
+
+		ServletWebRequest webRequest = new ServletWebRequest(request, response);
+		ModelAndViewContainer mavContainer = new ModelAndViewContainer();
+
+		final HandlerMethodInvocation invocation = new HandlerMethodInvocation(createInvocableMethod(handlerMethod),
+				webRequest, mavContainer);
+		final String message = String.format("Invocation for %s did not complete within %s ms!",
+				request.getRequestURI(), config.getAsyncTimeout());
+
+		WebAsyncTask<Object> task = new WebAsyncTask<Object>(config.getAsyncTimeout(), new RejectionHandlingTaskExecutor(
+				executor, invocation), new ContextPropagatingCallable<Object>(invocation));
+
+		task.onTimeout(new Callable<Object>() {
+
+			@Override
+			public Object call() throws Exception {
+
+				invocation.cancel();
+				return new RepositoryInvocationTimeoutException(message);
+			}
+		});
+
+		asyncManager.setAsyncWebRequest(WebAsyncUtils.createAsyncWebRequest(request, response));
+		asyncManager.startCallableProcessing(task, mavContainer);
+
+		return null;
+	}
+
+	/**
+	 * Returns the {@link AsyncTaskExecutor} to invoke the handler for the given request on or {@literal null} if the
+	 * request is to be handled synchronously.
+	 * 
+	 * @param request must not be {@literal null}.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private AsyncTaskExecutor getTaskExecutor(HttpServletRequest request) {
+
+		if (executors == null || !config.isAsyncExecution() || !request.isAsyncSupported()) {
+			return null;
+		}
+
+		Map<String, String> variables = (Map<String, String>) request
+				.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		String repository = variables == null ? null : variables.get("repository");
+
+		if (!StringUtils.hasText(repository)) {
+			return null;
+		}
+
+		ResourceMetadata metadata = mappings.getExportedMappingForPath(repository);
+		return metadata == null ? null : executors.getTaskExecutor(metadata.getDomainType());
+	}
+
+	/**
+	 * Creates the {@link ServletInvocableHandlerMethod} to invoke asynchronously. Uses the {@link WebDataBinderFactory}
+	 * synchronous invocations use so that {@code @InitBinder} methods are applied, too.
+	 * 
+	 * @param handlerMethod must not be {@literal null}.
+	 * @return
+	 */
+	private ServletInvocableHandlerMethod createInvocableMethod(HandlerMethod handlerMethod) {
+
+		ServletInvocableHandlerMethod method = new ServletInvocableHandlerMethod(handlerMethod);
+		method.setHandlerMethodArgumentResolvers(getArgumentResolversComposite());
+		method.setDataBinderFactory((WebDataBinderFactory) ReflectionUtils.invokeMethod(DATA_BINDER_FACTORY_METHOD,
+				this, handlerMethod));
+		method.setParameterNameDiscoverer(new DefaultParameterNameDiscoverer());
+
+		return method;
+	}
+
+	/**
+	 * Gets a {@link HandlerMethodArgumentResolverComposite} for the argument resolvers, dealing with API changes
+	 * introduced in Spring 4.0.
+	 * 
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private HandlerMethodArgumentResolverComposite getArgumentResolversComposite() {
+
+		Object resolvers = ReflectionUtils.invokeMethod(ARGUMENT_RESOLVERS_METHOD, this);
+
+		if (resolvers instanceof HandlerMethodArgumentResolverComposite) {
+			return (HandlerMethodArgumentResolverComposite) resolvers;
+		}
+
+		return new HandlerMethodArgumentResolverComposite()
+				.addResolvers((List<? extends HandlerMethodArgumentResolver>) resolvers);
+	}
+
+	/**
+	 * Gets a {@link HandlerMethodReturnValueHandlerComposite} for the return value handlers, dealing with API changes
+	 * introduced in Spring 4.0.
+	 * 
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private HandlerMethodReturnValueHandlerComposite getReturnValueHandlersComposite() {
+
+		Object handlers = ReflectionUtils.invokeMethod(RETURN_VALUE_HANDLERS_METHOD, this);
+
+		if (handlers instanceof HandlerMethodReturnValueHandlerComposite) {
+			return (HandlerMethodReturnValueHandlerComposite) handlers;
+		}
+
+		return new HandlerMethodReturnValueHandlerComposite()
+				.addHandlers((List<? extends HandlerMethodReturnValueHandler>) handlers);
+	}
+
+	/**
+	 * Invokes a handler method on a worker thread and returns its return value. Exposes the request to the worker while
+	 * it runs. Of the resources bound to the request
+	 * thread only {@code EntityManager}s opened in view are handed over. They're not used by the request thread until
+	 * the re-dispatch, which rebinds them to render the result. Everything else, especially resources participating in a
+	 * transaction of the request thread, is not shared, so that the worker uses resources of its own.
+	 *
+	 * @author Oliver Gierke
+	 */
+	private static class HandlerMethodInvocation implements Callable<Object> {
+
+		private final ServletInvocableHandlerMethod method;
+		private final ServletWebRequest webRequest;
+		private final ModelAndViewContainer mavContainer;
+		private final Map<Object, Object> resources;
+
+		private volatile TaskRejectedException rejection;
+		private volatile Thread worker;
+		private volatile boolean cancelled;
+
+		public HandlerMethodInvocation(ServletInvocableHandlerMethod method, ServletWebRequest webRequest,
+				ModelAndViewContainer mavContainer) {
+
+			this.method = method;
+			this.webRequest = webRequest;
+			this.mavContainer = mavContainer;
+			this.resources = IS_JPA_AVAILABLE ? JpaHelper.getEntityManagersOpenedInView() : Collections
+					.<Object, Object> emptyMap();
+		}
+
+		/**
+		 * Marks the invocation as rejected by the executor, so that it fails with the given exception instead of invoking
+		 * the handler method.
+		 * 
+		 * @param rejection must not be {@literal null}.
+		 */
+		public void reject(TaskRejectedException rejection) {
+			this.rejection = rejection;
+		}
+
+		/**
+		 * Cancels the invocation, interrupting the worker if it's already running.
+		 */
+		public void cancel() {
+
+			this.cancelled = true;
+			Thread worker = this.worker;
+
+			if (worker != null) {
+				worker.interrupt();
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		@Override
+		public Object call() throws Exception {
+
+			if (rejection != null) {
+				throw rejection;
+			}
+
+			if (cancelled) {
+				return null;
+			}
+
+			List<Object> bound = bindResources();
+			RequestContextHolder.setRequestAttributes(webRequest);
+			this.worker = Thread.currentThread();
+
+			try {
+				return method.invokeForRequest(webRequest, mavContainer);
+			} finally {
+				this.worker = null;
+				Thread.interrupted();
+				RequestContextHolder.resetRequestAttributes();
+				unbindResources(bound);
+			}
+		}
+
+		private List<Object> bindResources() {
+
+			List<Object> bound = new ArrayList<Object>(resources.size());
+
+			for (Map.Entry<Object, Object> entry : resources.entrySet()) {
+
+				if (!TransactionSynchronizationManager.hasResource(entry.getKey())) {
+					TransactionSynchronizationManager.bindResource(entry.getKey(), entry.getValue());
+					bound.add(entry.getKey());
+				}
+			}
+
+			return bound;
+		}
+
+		private static void unbindResources(List<Object> keys) {
+
+			for (Object key : keys) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(key);
+			}
+		}
+	}
+
+	/**
+	 * {@link AsyncTaskExecutor} that, if the target executor is saturated, runs the task on the calling thread with the
+	 * {@link HandlerMethodInvocation} marked as rejected. Thus the {@link TaskRejectedException} becomes the result of the
+	 * asynchronous processing already started rather than escaping it.
+	 *
+	 * @author Oliver Gierke
+	 */
+	private static class RejectionHandlingTaskExecutor implements AsyncTaskExecutor {
+
+		private final AsyncTaskExecutor delegate;
+		private final HandlerMethodInvocation invocation;
+
+		public RejectionHandlingTaskExecutor(AsyncTaskExecutor delegate, HandlerMethodInvocation invocation) {
+
+			this.delegate = delegate;
+			this.invocation = invocation;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.core.task.TaskExecutor#execute(java.lang.Runnable)
+		 */
+		@Override
+		public void execute(Runnable task) {
+			submit(task);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.core.task.AsyncTaskExecutor#execute(java.lang.Runnable, long)
+		 */
+		@Override
+		public void execute(Runnable task, long startTimeout) {
+			submit(task);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.core.task.AsyncTaskExecutor#submit(java.lang.Runnable)
+		 */
+		@Override
+		public Future<?> submit(Runnable task) {
+			return executeOrReject(new FutureTask<Object>(task, null));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.core.task.AsyncTaskExecutor#submit(java.util.concurrent.Callable)
+		 */
+		@Override
+		public <T> Future<T> submit(Callable<T> task) {
+			return executeOrReject(new FutureTask<T>(task));
+		}
+
+		private <T> Future<T> executeOrReject(FutureTask<T> future) {
+
+			try {
+				delegate.execute(future);
+			} catch (TaskRejectedException o_O) {
+				invocation.reject(o_O);
+				future.run();
+			}
+
+			return future;
+		}
+	}
 }
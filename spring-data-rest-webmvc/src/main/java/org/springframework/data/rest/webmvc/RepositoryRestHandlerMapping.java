@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2013 the original author or authors.
+ * Copyright 2012-2014 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -83,10 +83,46 @@ public class RepositoryRestHandlerMapping extends RequestMappingHandlerMapping {
 	@Override
 	protected HandlerMethod lookupHandlerMethod(String lookupPath, HttpServletRequest origRequest) throws Exception {
 
-		String acceptType = origRequest.getHeader("Accept");
+		String uri = new BaseUri(config.getBaseUri()).getRepositoryLookupPath(lookupPath);
+
+		if (uri == null) {
+			return null;
+		}
+
+		uri = StringUtils.hasText(uri) ? uri : "/";
+
+		if (uri.equals(BatchController.BATCH_MAPPING) && !config.isBatchEnabled()) {
+			return null;
+		}
+
+		// Reject requests not pointing to an exported repository (e.g. static resources) before doing any further work
+		if (!uri.equals("/") && !uri.equals(BatchController.BATCH_MAPPING)) {
+
+			String repositorySegment = getFirstSegment(uri);
+
+			if (!StringUtils.hasText(repositorySegment) || !mappings.exportsTopLevelResourceFor(repositorySegment)) {
+				return null;
+			}
+		}
+
+		HttpServletRequest request = new DefaultAcceptTypeHttpServletRequest(origRequest, getAcceptType(origRequest), uri);
+
+		return super.lookupHandlerMethod(uri, request);
+	}
+
+	/**
+	 * Returns the Accept header to be used for the given request, i.e. replaces wildcard media types with the configured
+	 * default media type.
+	 * 
+	 * @param request must not be {@literal null}.
+	 * @return
+	 */
+	private String getAcceptType(HttpServletRequest request) {
+
+		String acceptType = request.getHeader("Accept");
 
 		if (null == acceptType) {
-			acceptType = config.getDefaultMediaType().toString();
+			return config.getDefaultMediaType().toString();
 		}
 
 		List<MediaType> acceptHeaderTypes = MediaType.parseMediaTypes(acceptType);
@@ -103,35 +139,26 @@ public class RepositoryRestHandlerMapping extends RequestMappingHandlerMapping {
 		}
 
 		if (acceptableTypes.size() > 1) {
-			acceptType = collectionToDelimitedString(acceptableTypes, ",");
+			return collectionToDelimitedString(acceptableTypes, ",");
 		} else if (acceptableTypes.size() == 1) {
-			acceptType = acceptableTypes.get(0).toString();
+			return acceptableTypes.get(0).toString();
 		} else {
-			acceptType = config.getDefaultMediaType().toString();
-		}
-
-		String uri = new BaseUri(config.getBaseUri()).getRepositoryLookupPath(lookupPath);
-
-		if (uri == null) {
-			return null;
-		}
-
-		uri = StringUtils.hasText(uri) ? uri : "/";
-
-		HttpServletRequest request = new DefaultAcceptTypeHttpServletRequest(origRequest, acceptType, uri);
-
-		// Root request
-		if (uri.equals("/")) {
-			return super.lookupHandlerMethod("/", request);
+			return config.getDefaultMediaType().toString();
 		}
+	}
 
-		String[] parts = uri.split("/");
+	/**
+	 * Returns the first segment of the given repository lookup path without allocating intermediate arrays.
+	 * 
+	 * @param uri must not be {@literal null}.
+	 * @return
+	 */
+	private static String getFirstSegment(String uri) {
 
-		if (mappings.exportsTopLevelResourceFor(parts[uri.startsWith("/") ? 1 : 0])) {
-			return super.lookupHandlerMethod(uri, request);
-		}
+		int start = uri.startsWith("/") ? 1 : 0;
+		int end = uri.indexOf('/', start);
 
-		return null;
+		return end == -1 ? uri.substring(start) : uri.substring(start, end);
 	}
 
 	/*
@@ -17,19 +17,32 @@ package org.springframework.data.rest.webmvc;
 
 import static org.springframework.data.rest.webmvc.ControllerUtils.*;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
 import org.springframework.data.rest.core.invoke.RepositoryInvoker;
 import org.springframework.data.rest.core.mapping.MethodResourceMapping;
 import org.springframework.data.rest.core.mapping.ResourceMappings;
 import org.springframework.data.rest.core.mapping.ResourceMetadata;
 import org.springframework.data.rest.core.mapping.SearchResourceMappings;
+import org.springframework.data.rest.webmvc.json.FilteredJsonWriter;
+import org.springframework.data.rest.webmvc.support.KeysetCursor;
+import org.springframework.data.rest.webmvc.support.KeysetPagingSupport;
+import org.springframework.data.rest.webmvc.support.QueryMethodResultCache;
+import org.springframework.data.rest.webmvc.support.QueryMethodResultCache.Lookup;
+import org.springframework.data.rest.webmvc.support.SlicedPagingSupport;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityLinks;
 import org.springframework.hateoas.Link;
@@ -48,6 +61,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
  * Controller to lookup and execute searches on a given repository.
@@ -65,27 +79,50 @@ class RepositorySearchController extends AbstractRepositoryRestController {
 	private final EntityLinks entityLinks;
 	private final ResourceMappings mappings;
 	private final PagedResourcesAssembler<Object> assembler;
+	private final KeysetPagingSupport keysetPaging;
+	private final SlicedPagingSupport slicedPaging;
+	private final QueryMethodResultCache resultCache;
+	private final RepositoryRestConfiguration config;
+	private final FilteredJsonWriter jsonWriter;
+	private final Map<Class<?>, List<Link>> searchLinks = new ConcurrentHashMap<Class<?>, List<Link>>();
 
 	/**
 	 * Creates a new {@link RepositorySearchController} using the given {@link PagedResourcesAssembler},
-	 * {@link EntityLinks} and {@link ResourceMappings}.
+	 * {@link EntityLinks}, {@link ResourceMappings}, {@link KeysetPagingSupport}, {@link SlicedPagingSupport},
+	 * {@link QueryMethodResultCache}, {@link RepositoryRestConfiguration} and {@link FilteredJsonWriter}.
 	 * 
 	 * @param assembler must not be {@literal null}.
 	 * @param entityLinks must not be {@literal null}.
 	 * @param mappings must not be {@literal null}.
+	 * @param keysetPaging must not be {@literal null}.
+	 * @param slicedPaging must not be {@literal null}.
+	 * @param resultCache must not be {@literal null}.
+	 * @param config must not be {@literal null}.
+	 * @param jsonWriter must not be {@literal null}.
 	 */
 	@Autowired
 	public RepositorySearchController(PagedResourcesAssembler<Object> assembler, EntityLinks entityLinks,
-			ResourceMappings mappings) {
+			ResourceMappings mappings, KeysetPagingSupport keysetPaging, SlicedPagingSupport slicedPaging,
+			QueryMethodResultCache resultCache, RepositoryRestConfiguration config, FilteredJsonWriter jsonWriter) {
 
 		super(assembler);
 
 		Assert.notNull(entityLinks, "EntityLinks must not be null!");
 		Assert.notNull(mappings, "ResourceMappings must not be null!");
+		Assert.notNull(keysetPaging, "KeysetPagingSupport must not be null!");
+		Assert.notNull(slicedPaging, "SlicedPagingSupport must not be null!");
+		Assert.notNull(resultCache, "QueryMethodResultCache must not be null!");
+		Assert.notNull(config, "RepositoryRestConfiguration must not be null!");
+		Assert.notNull(jsonWriter, "FilteredJsonWriter must not be null!");
 
 		this.entityLinks = entityLinks;
 		this.mappings = mappings;
 		this.assembler = assembler;
+		this.keysetPaging = keysetPaging;
+		this.slicedPaging = slicedPaging;
+		this.resultCache = resultCache;
+		this.config = config;
+		this.jsonWriter = jsonWriter;
 	}
 
 	/**
@@ -123,20 +160,46 @@ class RepositorySearchController extends AbstractRepositoryRestController {
 	 * @param repository
 	 * @param search
 	 * @param pageable
+	 * @param cursor
 	 * @return
 	 * @throws ResourceNotFoundException
 	 */
 	@ResponseBody
 	@RequestMapping(value = BASE_MAPPING + "/{search}", method = RequestMethod.GET)
 	public ResponseEntity<Object> executeSearch(RootResourceInformation resourceInformation, WebRequest request,
-			@PathVariable String search, Pageable pageable, PersistentEntityResourceAssembler assembler) {
+			@PathVariable String search, Pageable pageable, KeysetCursor cursor, PersistentEntityResourceAssembler assembler) {
 
 		Method method = checkExecutability(resourceInformation, search);
-		Object resources = executeQueryMethod(resourceInformation.getInvoker(), request, method, pageable, assembler);
+		Object resources = executeQueryMethod(resourceInformation, request, method,
+				keysetPaging.getPageable(pageable, cursor), assembler, config.isStreamingCollections());
 
 		return new ResponseEntity<Object>(resources, HttpStatus.OK);
 	}
 
+	/**
+	 * Executes the search with the given name and renders its result as plain JSON applying the
+	 * {@link org.springframework.data.rest.webmvc.jsonfilterannotations.SerializeOnePropertiesFilters} of the
+	 * repository.
+	 * 
+	 * @param resourceInformation
+	 * @param request
+	 * @param search
+	 * @param pageable
+	 * @param cursor
+	 * @param response
+	 * @throws IOException
+	 */
+	@RequestMapping(value = BASE_MAPPING + "/{search}", method = RequestMethod.GET, produces = "application/json")
+	public void executeSearchJson(RootResourceInformation resourceInformation, WebRequest request,
+			@PathVariable String search, Pageable pageable, KeysetCursor cursor, HttpServletResponse response)
+			throws IOException {
+
+		Method method = checkExecutability(resourceInformation, search);
+		Object result = invokeQueryMethod(resourceInformation, request, method, keysetPaging.getPageable(pageable, cursor));
+
+		jsonWriter.write(resourceInformation.getDomainType(), result, response);
+	}
+
 	/**
 	 * Executes a query method and exposes the results in compact form.
 	 * 
@@ -144,17 +207,19 @@ class RepositorySearchController extends AbstractRepositoryRestController {
 	 * @param repository
 	 * @param method
 	 * @param pageable
+	 * @param cursor
 	 * @return
 	 */
 	@ResponseBody
 	@RequestMapping(value = BASE_MAPPING + "/{method}", method = RequestMethod.GET, //
 			produces = { "application/x-spring-data-compact+json" })
 	public ResourceSupport executeSearchCompact(RootResourceInformation resourceInformation, WebRequest request,
-			@PathVariable String repository, @PathVariable String search, Pageable pageable,
+			@PathVariable String repository, @PathVariable String search, Pageable pageable, KeysetCursor cursor,
 			PersistentEntityResourceAssembler assembler) {
 
 		Method method = checkExecutability(resourceInformation, search);
-		Object resource = executeQueryMethod(resourceInformation.getInvoker(), request, method, pageable, assembler);
+		Object resource = executeQueryMethod(resourceInformation, request, method,
+				keysetPaging.getPageable(pageable, cursor), assembler, false);
 
 		List<Link> links = new ArrayList<Link>();
 
@@ -203,33 +268,124 @@ class RepositorySearchController extends AbstractRepositoryRestController {
 	}
 
 	/**
-	 * @param invoker
+	 * Executes the given query method and turns its result into {@link Resources}. Paged results of domain types using
+	 * keyset paging get cursor links instead of page number based ones. If the request asks for a slice, the query
+	 * method is executed without calculating a total where possible. Results of query methods annotated with
+	 * {@link org.springframework.data.rest.core.annotation.CacheableSearch} are taken from the
+	 * {@link QueryMethodResultCache} if available.
+	 * 
+	 * @param resourceInformation
 	 * @param request
 	 * @param method
 	 * @param pageable
+	 * @param streaming whether to create {@link StreamingResources}.
 	 * @return
 	 */
-	private Object executeQueryMethod(final RepositoryInvoker invoker, WebRequest request, Method method,
-			Pageable pageable, PersistentEntityResourceAssembler assembler) {
+	@SuppressWarnings("unchecked")
+	private Object executeQueryMethod(RootResourceInformation resourceInformation, WebRequest request, Method method,
+			Pageable pageable, PersistentEntityResourceAssembler assembler, boolean streaming) {
 
-		Map<String, String[]> parameters = request.getParameterMap();
-		Object result = invoker.invokeQueryMethod(method, parameters, pageable, null);
+		Object result = invokeQueryMethod(resourceInformation, request, method, pageable);
 
 		if (ClassUtils.isPrimitiveOrWrapper(method.getReturnType())) {
 			return result;
 		}
 
-		return resultToResources(result, assembler);
+		Resources<?> resources = streaming ? streamingResultToResources(result, assembler, resourceInformation
+				.getResourceMetadata().getRel()) : resultToResources(result, assembler);
+
+		if (result instanceof Page && keysetPaging.isEnabledFor(resourceInformation.getDomainType())) {
+			keysetPaging.addCursorLinks(resources, keysetPaging.getOffsetPage((Page<Object>) result));
+		} else if (result instanceof Slice && !(result instanceof Page)) {
+			slicedPaging.addSliceLinks(resources, (Slice<?>) result);
+		}
+
+		return resources;
+	}
+
+	/**
+	 * Invokes the given query method, executing it without calculating a total if the request asks for a slice and
+	 * consulting the {@link QueryMethodResultCache} first.
+	 * 
+	 * @param resourceInformation
+	 * @param request
+	 * @param method
+	 * @param pageable
+	 * @return the raw result of the query method.
+	 */
+	private Object invokeQueryMethod(RootResourceInformation resourceInformation, WebRequest request, Method method,
+			Pageable pageable) {
+
+		Map<String, String[]> parameters = request.getParameterMap();
+		RepositoryInvoker invoker = resourceInformation.getInvoker();
+		boolean sliced = pageable != null && slicedPaging.isSliced(resourceInformation.getDomainType(), request);
+
+		Lookup lookup = resultCache.lookup(resourceInformation.getDomainType(), method, parameters, pageable, sliced,
+				request.getUserPrincipal());
+
+		if (lookup.isHit()) {
+			return lookup.getResult();
+		}
+
+		Object result = sliced ? invoker.invokeQueryMethodSliced(method, parameters, pageable, null) : invoker
+				.invokeQueryMethod(method, parameters, pageable, null);
+		lookup.store(result);
+
+		return result;
 	}
 
 	/**
-	 * Returns {@link Links} to the individual searches exposed.
+	 * Returns {@link Links} to the individual searches exposed. The links are cached per domain type relative to the
+	 * base URI of the request they were created for, which is replaced by the one of the current request. Thus the cache
+	 * doesn't grow with the host names clients use.
 	 * 
 	 * @param domainType the domain type we want to obtain the search links for.
 	 * @return
 	 */
 	private Links getSearchLinks(Class<?> domainType) {
 
+		String baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+		List<Link> relativeLinks = searchLinks.get(domainType);
+
+		if (relativeLinks == null) {
+			relativeLinks = toRelativeLinks(createSearchLinks(domainType), baseUri);
+			searchLinks.put(domainType, relativeLinks);
+		}
+
+		List<Link> links = new ArrayList<Link>(relativeLinks.size());
+
+		for (Link link : relativeLinks) {
+			links.add(link.getHref().startsWith("/") ? new Link(baseUri.concat(link.getHref()), link.getRel()) : link);
+		}
+
+		return new Links(links);
+	}
+
+	/**
+	 * Strips the given base URI from the given links. Links not starting with it, e.g. as they're pointing to an
+	 * absolute base URI configured, are kept as is.
+	 * 
+	 * @param links must not be {@literal null}.
+	 * @param baseUri must not be {@literal null}.
+	 * @return
+	 */
+	private static List<Link> toRelativeLinks(List<Link> links, String baseUri) {
+
+		List<Link> result = new ArrayList<Link>(links.size());
+
+		for (Link link : links) {
+
+			String href = link.getHref();
+			boolean relative = href.startsWith(baseUri) && href.substring(baseUri.length()).startsWith("/");
+
+			result.add(relative ? new Link(href.substring(baseUri.length()), link.getRel()) : link);
+		}
+
+		return result;
+	}
+
+	private List<Link> createSearchLinks(Class<?> domainType) {
+
 		List<Link> links = new ArrayList<Link>();
 
 		SearchResourceMappings searchMappings = mappings.getSearchResourceMappings(domainType);
@@ -253,7 +409,7 @@ class RepositorySearchController extends AbstractRepositoryRestController {
 			links.add(link);
 		}
 
-		return new Links(links);
+		return links;
 	}
 
 	private static String getParameterTemplateVariable(Collection<String> parameters) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.data.rest.webmvc.support.CapturingResponse;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.data.rest.webmvc.support.RepresentationCache;
+import org.springframework.data.rest.webmvc.support.RepresentationCache.Lookup;
+import org.springframework.util.Assert;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * {@link HandlerMethodReturnValueHandler} to capture the representation rendered by the delegate. Adds it to the
+ * {@link RepresentationCache} if the handler method registered a cache {@link Lookup} under
+ * {@link RepresentationCache#LOOKUP_ATTRIBUTE}. Buffers it to add an {@link ETag} calculated from its hash and answer
+ * a matching {@code If-None-Match} header with {@code 304 Not Modified} if the handler method set
+ * {@link #HASH_ATTRIBUTE}.
+ * 
+ * @author Oliver Gierke
+ */
+class RepresentationCapturingHandlerMethodReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+	/**
+	 * Name of the request attribute to request an {@link ETag} calculated from the hash of the representation.
+	 */
+	static final String HASH_ATTRIBUTE = RepresentationCapturingHandlerMethodReturnValueHandler.class.getName()
+			+ ".HASH";
+
+	private final HandlerMethodReturnValueHandler delegate;
+
+	/**
+	 * Creates a new {@link RepresentationCapturingHandlerMethodReturnValueHandler} for the given delegate.
+	 * 
+	 * @param delegate must not be {@literal null}.
+	 */
+	public RepresentationCapturingHandlerMethodReturnValueHandler(HandlerMethodReturnValueHandler delegate) {
+
+		Assert.notNull(delegate, "Delegate must not be null!");
+		this.delegate = delegate;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.web.method.support.HandlerMethodReturnValueHandler#supportsReturnType(org.springframework.core.MethodParameter)
+	 */
+	@Override
+	public boolean supportsReturnType(MethodParameter returnType) {
+		return delegate.supportsReturnType(returnType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.web.method.support.HandlerMethodReturnValueHandler#handleReturnValue(java.lang.Object, org.springframework.core.MethodParameter, org.springframework.web.method.support.ModelAndViewContainer, org.springframework.web.context.request.NativeWebRequest)
+	 */
+	@Override
+	public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelAndViewContainer mavContainer,
+			NativeWebRequest webRequest) throws Exception {
+
+		Lookup lookup = (Lookup) webRequest.getAttribute(RepresentationCache.LOOKUP_ATTRIBUTE,
+				RequestAttributes.SCOPE_REQUEST);
+		boolean hash = Boolean.TRUE.equals(webRequest.getAttribute(HASH_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+
+		if (lookup == null && !hash) {
+			delegate.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+			return;
+		}
+
+		webRequest.removeAttribute(RepresentationCache.LOOKUP_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		webRequest.removeAttribute(HASH_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+		HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+		CapturingResponse response = new CapturingResponse(webRequest.getNativeResponse(HttpServletResponse.class), hash);
+
+		delegate.handleReturnValue(returnValue, returnType, mavContainer, new ServletWebRequest(request, response));
+
+		boolean notModified = false;
+
+		if (hash && response.getStatus() == HttpServletResponse.SC_OK) {
+
+			ETag etag = ETag.fromRepresentation(response.getCapturedBody());
+			response.setHeader("ETag", etag.toString());
+			notModified = etag.matches(request.getHeader("If-None-Match"));
+		}
+
+		if (lookup != null) {
+			lookup.store(response);
+		}
+
+		if (notModified) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+		} else if (hash) {
+			response.writeCapturedBody();
+		}
+	}
+}
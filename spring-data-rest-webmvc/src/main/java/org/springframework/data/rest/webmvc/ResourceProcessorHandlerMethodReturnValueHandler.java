@@ -148,9 +148,20 @@ public class ResourceProcessorHandlerMethodReturnValueHandler implements Handler
 			targetType = returnValueTypeInformation;
 		}
 
-		// For Resources implementations, process elements first
-		if (RESOURCES_TYPE.isAssignableFrom(targetType)) {
+		// For StreamingResources, process elements when they're rendered
+		if (value instanceof StreamingResources) {
 
+			((StreamingResources) value).setElementProcessor(new StreamingResources.ElementProcessor() {
+
+				@Override
+				public Object process(Resource<?> resource) {
+					return invokeProcessorsFor(resource, from(resource.getClass()));
+				}
+			});
+
+		} else if (RESOURCES_TYPE.isAssignableFrom(targetType)) {
+
+			// For Resources implementations, process elements first
 			Resources<?> resources = (Resources<?>) value;
 			TypeInformation<?> elementTargetType = targetType.getSuperTypeInformation(Resources.class).getComponentType();
 			List<Object> result = new ArrayList<Object>(resources.getContent().size());
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources.PageMetadata;
+import org.springframework.hateoas.Resource;
+import org.springframework.hateoas.ResourceProcessor;
+import org.springframework.hateoas.Resources;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Resources} that turn the elements of a repository result into {@link PersistentEntityResource}s lazily, i.e.
+ * while they're iterated during rendering. Thus only the item currently written exists as resource. The content
+ * exposed via {@link #getContent()} is always empty, use {@link #iterator()} to access the items.
+ * 
+ * @author Oliver Gierke
+ */
+public class StreamingResources extends Resources<Object> {
+
+	private final Iterable<?> source;
+	private final PersistentEntityResourceAssembler assembler;
+	private final String rel;
+	private final PageMetadata metadata;
+	private ElementProcessor processor;
+
+	/**
+	 * Creates a new {@link StreamingResources} for the given source, {@link PersistentEntityResourceAssembler}, rel,
+	 * optional {@link PageMetadata} and {@link Link}s.
+	 * 
+	 * @param source must not be {@literal null}.
+	 * @param assembler must not be {@literal null}.
+	 * @param rel the rel to embed the items under, must not be {@literal null} or empty.
+	 * @param metadata can be {@literal null}.
+	 * @param links must not be {@literal null}.
+	 */
+	public StreamingResources(Iterable<?> source, PersistentEntityResourceAssembler assembler, String rel,
+			PageMetadata metadata, Iterable<Link> links) {
+
+		super(Collections.emptyList(), links);
+
+		Assert.notNull(source, "Source must not be null!");
+		Assert.notNull(assembler, "PersistentEntityResourceAssembler must not be null!");
+		Assert.hasText(rel, "Rel must not be null or empty!");
+
+		this.source = source;
+		this.assembler = assembler;
+		this.rel = rel;
+		this.metadata = metadata;
+	}
+
+	/**
+	 * Returns the rel to embed the items under.
+	 * 
+	 * @return
+	 */
+	public String getRel() {
+		return rel;
+	}
+
+	/**
+	 * Returns the {@link PageMetadata} if the underlying result is a page.
+	 * 
+	 * @return can be {@literal null}.
+	 */
+	public PageMetadata getMetadata() {
+		return metadata;
+	}
+
+	/**
+	 * Registers an {@link ElementProcessor} to be applied to each item right after it has been turned into a resource.
+	 * 
+	 * @param processor can be {@literal null}.
+	 */
+	public void setElementProcessor(ElementProcessor processor) {
+		this.processor = processor;
+	}
+
+	/**
+	 * Returns an {@link Iterator} creating the item resources on the fly. {@literal null} elements of the source are
+	 * handed out as is.
+	 * 
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<Object> iterator() {
+
+		final Iterator<?> iterator = source.iterator();
+
+		return new Iterator<Object>() {
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Object next() {
+
+				Object element = iterator.next();
+
+				if (element == null) {
+					return null;
+				}
+
+				Resource<Object> resource = assembler.toResource(element);
+				return processor == null ? resource : processor.process(resource);
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Callback to post-process the individual items, usually by invoking the {@link ResourceProcessor}s registered for
+	 * them.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	public interface ElementProcessor {
+
+		/**
+		 * Processes the given item resource.
+		 * 
+		 * @param resource will never be {@literal null}.
+		 * @return the resource to render.
+		 */
+		Object process(Resource<?> resource);
+	}
+}
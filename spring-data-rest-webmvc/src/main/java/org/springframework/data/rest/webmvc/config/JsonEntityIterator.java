@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * {@link Iterator} deserializing the elements of a top level JSON array or a sequence of newline delimited JSON
+ * documents one at a time, so that the request body never has to be materialized as a whole.
+ * 
+ * @author Oliver Gierke
+ */
+class JsonEntityIterator implements Iterator<Object> {
+
+	private final JsonParser parser;
+	private final ObjectReader reader;
+	private final boolean array;
+
+	private JsonToken current;
+
+	/**
+	 * Creates a new {@link JsonEntityIterator} reading instances of the given type from the given {@link InputStream}.
+	 * 
+	 * @param mapper must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @param body must not be {@literal null}.
+	 * @throws IOException
+	 */
+	public JsonEntityIterator(ObjectMapper mapper, Class<?> type, InputStream body) throws IOException {
+
+		this.parser = mapper.getFactory().createParser(body);
+		this.reader = mapper.reader(type);
+
+		JsonToken first = parser.nextToken();
+
+		this.array = first == JsonToken.START_ARRAY;
+		this.current = array ? parser.nextToken() : first;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		return current != null && !(array && current == JsonToken.END_ARRAY);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public Object next() {
+
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		try {
+
+			Object result = reader.readValue(parser);
+			current = parser.nextToken();
+
+			return result;
+
+		} catch (IOException o_O) {
+			current = null;
+			throw new HttpMessageNotReadableException("Could not read entity from request body!", o_O);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#remove()
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -20,6 +20,7 @@ import org.springframework.data.repository.support.Repositories;
 import org.springframework.data.rest.core.projection.ProjectionDefinitions;
 import org.springframework.data.rest.core.projection.ProjectionFactory;
 import org.springframework.data.rest.webmvc.PersistentEntityResourceAssembler;
+import org.springframework.data.rest.webmvc.json.FieldSets;
 import org.springframework.data.rest.webmvc.support.PersistentEntityProjector;
 import org.springframework.hateoas.EntityLinks;
 import org.springframework.util.Assert;
@@ -39,28 +40,32 @@ public class PersistentEntityResourceAssemblerArgumentResolver implements Handle
 	private final EntityLinks entityLinks;
 	private final ProjectionDefinitions projectionDefinitions;
 	private final ProjectionFactory projectionFactory;
+	private final FieldSets fieldSets;
 
 	/**
 	 * Creates a new {@link PersistentEntityResourceAssemblerArgumentResolver} for the given {@link Repositories},
-	 * {@link EntityLinks}, {@link ProjectionDefinitions} and {@link ProjectionFactory}.
+	 * {@link EntityLinks}, {@link ProjectionDefinitions}, {@link ProjectionFactory} and {@link FieldSets}.
 	 * 
 	 * @param repositories must not be {@literal null}.
 	 * @param entityLinks must not be {@literal null}.
 	 * @param projectionDefinitions must not be {@literal null}.
 	 * @param projectionFactory must not be {@literal null}.
+	 * @param fieldSets must not be {@literal null}.
 	 */
 	public PersistentEntityResourceAssemblerArgumentResolver(Repositories repositories, EntityLinks entityLinks,
-			ProjectionDefinitions projectionDefinitions, ProjectionFactory projectionFactory) {
+			ProjectionDefinitions projectionDefinitions, ProjectionFactory projectionFactory, FieldSets fieldSets) {
 
 		Assert.notNull(repositories, "Repositories must not be null!");
 		Assert.notNull(entityLinks, "EntityLinks must not be null!");
 		Assert.notNull(projectionDefinitions, "ProjectionDefinitions must not be null!");
 		Assert.notNull(projectionFactory, "ProjectionFactory must not be null!");
+		Assert.notNull(fieldSets, "FieldSets must not be null!");
 
 		this.repositories = repositories;
 		this.entityLinks = entityLinks;
 		this.projectionDefinitions = projectionDefinitions;
 		this.projectionFactory = projectionFactory;
+		this.fieldSets = fieldSets;
 	}
 
 	/* 
@@ -84,6 +89,8 @@ public class PersistentEntityResourceAssemblerArgumentResolver implements Handle
 		PersistentEntityProjector projector = new PersistentEntityProjector(projectionDefinitions, projectionFactory,
 				projectionParameter);
 
-		return new PersistentEntityResourceAssembler(repositories, entityLinks, projector);
+		String fields = webRequest.getParameter(fieldSets.getParameterName());
+
+		return new PersistentEntityResourceAssembler(repositories, entityLinks, projector, fieldSets, fields);
 	}
 }
@@ -15,16 +15,24 @@
  */
 package org.springframework.data.rest.webmvc.config;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.core.MethodParameter;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.rest.webmvc.PersistentEntityPayload;
 import org.springframework.data.rest.webmvc.PersistentEntityResource;
 import org.springframework.data.rest.webmvc.RootResourceInformation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.support.WebDataBinderFactory;
@@ -33,7 +41,9 @@ import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
 /**
- * Custom {@link HandlerMethodArgumentResolver} to create {@link PersistentEntityResource} instances.
+ * Custom {@link HandlerMethodArgumentResolver} to create {@link PersistentEntityResource} instances. Also resolves
+ * {@link PersistentEntityPayload}s, which additionally accept JSON arrays and newline delimited JSON
+ * ({@value #NDJSON_VALUE}) to be deserialized lazily, one entity at a time.
  * 
  * @author Jon Brisbin
  * @author Oliver Gierke
@@ -43,6 +53,11 @@ public class PersistentEntityResourceHandlerMethodArgumentResolver implements Ha
 	private static final String ERROR_MESSAGE = "Could not read an object of type %s from the request! Converter %s returned null!";
 	private static final String NO_CONVERTER_FOUND = "No suitable HttpMessageConverter found to read request body into object of type %s from request with content type of %s!";
 
+	private static final String NO_JSON_CONVERTER_FOUND = "No Jackson based HttpMessageConverter found to read multiple objects of type %s from the request!";
+
+	public static final String NDJSON_VALUE = "application/x-ndjson";
+	public static final MediaType NDJSON = MediaType.valueOf(NDJSON_VALUE);
+
 	private final RootResourceInformationHandlerMethodArgumentResolver repoRequestResolver;
 	private final List<HttpMessageConverter<?>> messageConverters;
 
@@ -70,7 +85,8 @@ public class PersistentEntityResourceHandlerMethodArgumentResolver implements Ha
 	 */
 	@Override
 	public boolean supportsParameter(MethodParameter parameter) {
-		return PersistentEntityResource.class.isAssignableFrom(parameter.getParameterType());
+		Class<?> type = parameter.getParameterType();
+		return PersistentEntityResource.class.isAssignableFrom(type) || PersistentEntityPayload.class.equals(type);
 	}
 
 	/*
@@ -78,7 +94,6 @@ public class PersistentEntityResourceHandlerMethodArgumentResolver implements Ha
 	 * @see org.springframework.web.method.support.HandlerMethodArgumentResolver#resolveArgument(org.springframework.core.MethodParameter, org.springframework.web.method.support.ModelAndViewContainer, org.springframework.web.context.request.NativeWebRequest, org.springframework.web.bind.support.WebDataBinderFactory)
 	 */
 	@Override
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
 			NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
 
@@ -88,7 +103,32 @@ public class PersistentEntityResourceHandlerMethodArgumentResolver implements Ha
 		HttpServletRequest nativeRequest = webRequest.getNativeRequest(HttpServletRequest.class);
 		ServletServerHttpRequest request = new ServletServerHttpRequest(nativeRequest);
 
-		Class<?> domainType = resourceInformation.getPersistentEntity().getType();
+		PersistentEntity<?, ?> entity = resourceInformation.getPersistentEntity();
+
+		if (!PersistentEntityPayload.class.equals(parameter.getParameterType())) {
+			return read(entity, request);
+		}
+
+		MediaType contentType = request.getHeaders().getContentType();
+
+		if (NDJSON.includes(contentType)) {
+			return PersistentEntityPayload.multiple(entity, readMultiple(entity, request.getBody()));
+		}
+
+		PushbackInputStream body = new PushbackInputStream(request.getBody(), 1);
+
+		if (startsWithArray(body)) {
+			return PersistentEntityPayload.multiple(entity, readMultiple(entity, body));
+		}
+
+		return PersistentEntityPayload.single(read(entity, new PushedBackHttpInputMessage(request.getHeaders(), body)));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private PersistentEntityResource<Object> read(PersistentEntity<?, ?> entity, HttpInputMessage request)
+			throws IOException {
+
+		Class<?> domainType = entity.getType();
 		MediaType contentType = request.getHeaders().getContentType();
 
 		for (HttpMessageConverter converter : messageConverters) {
@@ -103,9 +143,83 @@ public class PersistentEntityResourceHandlerMethodArgumentResolver implements Ha
 				throw new HttpMessageNotReadableException(String.format(ERROR_MESSAGE, domainType, converter));
 			}
 
-			return new PersistentEntityResource<Object>(resourceInformation.getPersistentEntity(), obj);
+			return new PersistentEntityResource<Object>(entity, obj);
 		}
 
 		throw new HttpMessageNotReadableException(String.format(NO_CONVERTER_FOUND, domainType, contentType));
 	}
+
+	private JsonEntityIterator readMultiple(PersistentEntity<?, ?> entity, InputStream body) throws IOException {
+
+		Class<?> domainType = entity.getType();
+
+		for (HttpMessageConverter<?> converter : messageConverters) {
+
+			if (converter instanceof MappingJackson2HttpMessageConverter
+					&& converter.canRead(domainType, MediaType.APPLICATION_JSON)) {
+				return new JsonEntityIterator(((MappingJackson2HttpMessageConverter) converter).getObjectMapper(),
+						domainType, body);
+			}
+		}
+
+		throw new HttpMessageNotReadableException(String.format(NO_JSON_CONVERTER_FOUND, domainType));
+	}
+
+	/**
+	 * Returns whether the first non-whitespace character of the given {@link PushbackInputStream} opens a JSON array.
+	 * The inspected character is pushed back so that the stream can be read from the start.
+	 * 
+	 * @param body must not be {@literal null}.
+	 * @return
+	 * @throws IOException
+	 */
+	private static boolean startsWithArray(PushbackInputStream body) throws IOException {
+
+		int next = body.read();
+
+		while (next != -1 && Character.isWhitespace(next)) {
+			next = body.read();
+		}
+
+		if (next == -1) {
+			return false;
+		}
+
+		body.unread(next);
+		return next == '[';
+	}
+
+	/**
+	 * {@link HttpInputMessage} exposing the original request headers and an already partially inspected body.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class PushedBackHttpInputMessage implements HttpInputMessage {
+
+		private final HttpHeaders headers;
+		private final InputStream body;
+
+		public PushedBackHttpInputMessage(HttpHeaders headers, InputStream body) {
+			this.headers = headers;
+			this.body = body;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.http.HttpMessage#getHeaders()
+		 */
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.http.HttpInputMessage#getBody()
+		 */
+		@Override
+		public InputStream getBody() throws IOException {
+			return body;
+		}
+	}
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.config;
+
+import static org.springframework.util.StringUtils.*;
+import static org.springframework.web.context.request.RequestAttributes.*;
+
+import java.util.Map;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.core.invoke.RepositoryInvoker;
+import org.springframework.data.rest.core.invoke.RepositoryInvokerFactory;
+import org.springframework.data.rest.core.mapping.ResourceMappings;
+import org.springframework.data.rest.core.mapping.ResourceMetadata;
+import org.springframework.data.rest.webmvc.BaseUri;
+import org.springframework.data.rest.webmvc.RepositoryRequestContext;
+import org.springframework.data.rest.webmvc.spi.BackendIdConverter;
+import org.springframework.data.rest.webmvc.spi.BackendIdConverter.DefaultIdConverter;
+import org.springframework.data.rest.webmvc.util.UriUtils;
+import org.springframework.plugin.core.PluginRegistry;
+import org.springframework.util.Assert;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * {@link HandlerMethodArgumentResolver} to obtain the {@link RepositoryRequestContext} for the current request. The
+ * context is calculated on first access and cached as request attribute so that all other REST argument resolvers
+ * share a single lookup of the repository, its {@link PersistentEntity} and the {@link BackendIdConverter}. The
+ * backend identifier itself is only converted when asked for.
+ *
+ * @author Oliver Gierke
+ */
+public class RepositoryRequestContextResolver implements HandlerMethodArgumentResolver {
+
+	private final BaseUri baseUri;
+	private final ResourceMappings mappings;
+	private final Repositories repositories;
+	private final RepositoryInvokerFactory invokerFactory;
+	private final PluginRegistry<BackendIdConverter, Class<?>> idConverters;
+
+	/**
+	 * Creates a new {@link RepositoryRequestContextResolver} from the given {@link BaseUri}, {@link ResourceMappings},
+	 * {@link Repositories}, {@link RepositoryInvokerFactory} and {@link BackendIdConverter}s.
+	 *
+	 * @param baseUri must not be {@literal null}.
+	 * @param mappings must not be {@literal null}.
+	 * @param repositories must not be {@literal null}.
+	 * @param invokerFactory must not be {@literal null}.
+	 * @param idConverters must not be {@literal null}.
+	 */
+	public RepositoryRequestContextResolver(BaseUri baseUri, ResourceMappings mappings, Repositories repositories,
+			RepositoryInvokerFactory invokerFactory, PluginRegistry<BackendIdConverter, Class<?>> idConverters) {
+
+		Assert.notNull(baseUri, "BaseUri must not be null!");
+		Assert.notNull(mappings, "ResourceMappings must not be null!");
+		Assert.notNull(repositories, "Repositories must not be null!");
+		Assert.notNull(invokerFactory, "RepositoryInvokerFactory must not be null!");
+		Assert.notNull(idConverters, "Id converters must not be null!");
+
+		this.baseUri = baseUri;
+		this.mappings = mappings;
+		this.repositories = repositories;
+		this.invokerFactory = invokerFactory;
+		this.idConverters = idConverters;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.web.method.support.HandlerMethodArgumentResolver#supportsParameter(org.springframework.core.MethodParameter)
+	 */
+	@Override
+	public boolean supportsParameter(MethodParameter parameter) {
+		return RepositoryRequestContext.class.equals(parameter.getParameterType());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.web.method.support.HandlerMethodArgumentResolver#resolveArgument(org.springframework.core.MethodParameter, org.springframework.web.method.support.ModelAndViewContainer, org.springframework.web.context.request.NativeWebRequest, org.springframework.web.bind.support.WebDataBinderFactory)
+	 */
+	@Override
+	public RepositoryRequestContext resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+			NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+		return getContext(parameter, webRequest);
+	}
+
+	/**
+	 * Returns the {@link RepositoryRequestContext} for the given request, calculating and caching it as request attribute
+	 * on first access.
+	 *
+	 * @param parameter the {@link MethodParameter} of the handler method currently invoked, must not be {@literal null}.
+	 * @param webRequest must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public RepositoryRequestContext getContext(MethodParameter parameter, NativeWebRequest webRequest) {
+
+		Assert.notNull(parameter, "Method parameter must not be null!");
+		Assert.notNull(webRequest, "Request must not be null!");
+
+		Object cached = webRequest.getAttribute(RepositoryRequestContext.ATTRIBUTE_NAME, SCOPE_REQUEST);
+
+		if (cached instanceof RepositoryRequestContext) {
+			return (RepositoryRequestContext) cached;
+		}
+
+		RepositoryRequestContext context = createContext(parameter, webRequest);
+		webRequest.setAttribute(RepositoryRequestContext.ATTRIBUTE_NAME, context, SCOPE_REQUEST);
+
+		return context;
+	}
+
+	private RepositoryRequestContext createContext(MethodParameter parameter, NativeWebRequest webRequest) {
+
+		String lookupPath = baseUri.getRepositoryLookupPath(webRequest);
+		Map<String, String> variables = UriUtils.findMappingVariables(parameter, lookupPath);
+		String repositoryKey = variables.get("repository");
+
+		ResourceMetadata metadata = hasText(repositoryKey) ? mappings.getExportedMappingForPath(repositoryKey) : null;
+
+		if (metadata == null) {
+			return new RepositoryRequestContext(lookupPath, variables, null, null, null, null);
+		}
+
+		Class<?> domainType = metadata.getDomainType();
+		RepositoryInvoker invoker = invokerFactory.getInvokerFor(domainType);
+		PersistentEntity<?, ?> entity = repositories.getPersistentEntity(domainType);
+
+		BackendIdConverter converter = idConverters.getPluginFor(domainType, DefaultIdConverter.INSTANCE);
+
+		return new RepositoryRequestContext(lookupPath, variables, metadata, invoker, entity, converter);
+	}
+}
@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.ListableBeanFactory;
@@ -53,7 +54,11 @@ import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
 import org.springframework.data.rest.core.event.AnnotatedHandlerBeanPostProcessor;
 import org.springframework.data.rest.core.event.ValidatingRepositoryEventListener;
 import org.springframework.data.rest.core.invoke.DefaultRepositoryInvokerFactory;
+import org.springframework.data.rest.core.invoke.EntityCache;
+import org.springframework.data.rest.core.invoke.InvocationCoalescer;
 import org.springframework.data.rest.core.invoke.RepositoryInvokerFactory;
+import org.springframework.data.rest.core.invoke.SliceQueryExecutor;
+import org.springframework.data.rest.core.invoke.SliceQueryExecutor.NoOpSliceQueryExecutor;
 import org.springframework.data.rest.core.mapping.RepositoryResourceMappings;
 import org.springframework.data.rest.core.mapping.ResourceDescription;
 import org.springframework.data.rest.core.mapping.ResourceMappings;
@@ -62,6 +67,9 @@ import org.springframework.data.rest.core.support.DomainObjectMerger;
 import org.springframework.data.rest.core.support.RepositoryRelProvider;
 import org.springframework.data.rest.core.util.UUIDConverter;
 import org.springframework.data.rest.webmvc.BaseUri;
+import org.springframework.data.rest.webmvc.BatchOperationAuthorizer;
+import org.springframework.data.rest.webmvc.BatchRequestDispatcher;
+import org.springframework.data.rest.webmvc.BulkheadHandlerInterceptor;
 import org.springframework.data.rest.webmvc.RepositoryRestController;
 import org.springframework.data.rest.webmvc.RepositoryRestHandlerAdapter;
 import org.springframework.data.rest.webmvc.RepositoryRestHandlerMapping;
@@ -69,15 +77,34 @@ import org.springframework.data.rest.webmvc.ServerHttpRequestMethodArgumentResol
 import org.springframework.data.rest.webmvc.convert.StringToDistanceConverter;
 import org.springframework.data.rest.webmvc.convert.StringToPointConverter;
 import org.springframework.data.rest.webmvc.convert.UriListHttpMessageConverter;
+import org.springframework.data.rest.webmvc.json.FieldSets;
+import org.springframework.data.rest.webmvc.json.FilteredJsonWriter;
 import org.springframework.data.rest.webmvc.json.Jackson2DatatypeHelper;
 import org.springframework.data.rest.webmvc.json.PersistentEntityJackson2Module;
 import org.springframework.data.rest.webmvc.json.PersistentEntityToJsonSchemaConverter;
 import org.springframework.data.rest.webmvc.spi.BackendIdConverter;
 import org.springframework.data.rest.webmvc.spi.BackendIdConverter.DefaultIdConverter;
 import org.springframework.data.rest.webmvc.support.BackendIdHandlerMethodArgumentResolver;
+import org.springframework.data.rest.webmvc.support.CachingTotalCountStrategy;
+import org.springframework.data.rest.webmvc.support.ConditionalRequestSupport;
+import org.springframework.data.rest.webmvc.support.EstimatingTotalCountStrategy;
+import org.springframework.data.rest.webmvc.support.ExactTotalCountStrategy;
 import org.springframework.data.rest.webmvc.support.HttpMethodHandlerMethodArgumentResolver;
 import org.springframework.data.rest.webmvc.support.JpaHelper;
+import org.springframework.data.rest.webmvc.support.JpaSliceQueries;
+import org.springframework.data.rest.webmvc.support.KeysetCursorHandlerMethodArgumentResolver;
+import org.springframework.data.rest.webmvc.support.KeysetPagingSupport;
+import org.springframework.data.rest.webmvc.support.QueryMethodResultCache;
+import org.springframework.data.rest.webmvc.support.RepositoryBulkheads;
 import org.springframework.data.rest.webmvc.support.RepositoryEntityLinks;
+import org.springframework.data.rest.webmvc.support.RepositoryTaskExecutorProvider;
+import org.springframework.data.rest.webmvc.support.RepresentationCache;
+import org.springframework.data.rest.webmvc.support.RequestPrincipalResolver;
+import org.springframework.data.rest.webmvc.support.SlicedPagingSupport;
+import org.springframework.data.rest.webmvc.support.ThreadPoolRepositoryTaskExecutorProvider;
+import org.springframework.data.rest.webmvc.support.TotalCountEstimator;
+import org.springframework.data.rest.webmvc.support.TotalCountStrategy;
+import org.springframework.data.rest.webmvc.support.TotalCountSupport;
 import org.springframework.data.rest.webmvc.support.ValidationExceptionHandler;
 import org.springframework.data.util.AnnotatedTypeScanner;
 import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
@@ -100,6 +127,7 @@ import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.plugin.core.OrderAwarePluginRegistry;
 import org.springframework.plugin.core.PluginRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.util.ClassUtils;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
@@ -139,6 +167,9 @@ public class RepositoryRestMvcConfiguration extends HateoasAwareSpringDataWebCon
             "javax.validation.ConstraintViolationException", RepositoryRestMvcConfiguration.class.getClassLoader());
     private static final boolean IS_JPA_AVAILABLE = ClassUtils.isPresent("javax.persistence.EntityManager",
             RepositoryRestMvcConfiguration.class.getClassLoader());
+    private static final boolean IS_SPRING_DATA_JPA_AVAILABLE = ClassUtils.isPresent(
+            "org.springframework.data.jpa.repository.JpaSpecificationExecutor",
+            RepositoryRestMvcConfiguration.class.getClassLoader());
 
     @Autowired
     ListableBeanFactory beanFactory;
@@ -152,6 +183,10 @@ public class RepositoryRestMvcConfiguration extends HateoasAwareSpringDataWebCon
     RelProvider relProvider;
     @Autowired(required = false)
     CurieProvider curieProvider;
+    @Autowired(required = false)
+    TotalCountEstimator totalCountEstimator;
+    @Autowired(required = false)
+    BatchOperationAuthorizer batchOperationAuthorizer;
 
     @Bean
     public Repositories repositories() {
@@ -301,19 +336,167 @@ public class RepositoryRestMvcConfiguration extends HateoasAwareSpringDataWebCon
      */
     @Bean
     public RootResourceInformationHandlerMethodArgumentResolver repoRequestArgumentResolver() {
-        return new RootResourceInformationHandlerMethodArgumentResolver(repositories(), repositoryInvokerFactory(),
+        return new RootResourceInformationHandlerMethodArgumentResolver(repositoryRequestContextResolver(),
                 resourceMetadataHandlerMethodArgumentResolver());
     }
 
+    /**
+     * Resolves the {@link org.springframework.data.rest.webmvc.RepositoryRequestContext} shared by all other REST
+     * argument resolvers of a request.
+     *
+     * @return
+     */
+    @Bean
+    public RepositoryRequestContextResolver repositoryRequestContextResolver() {
+        return new RepositoryRequestContextResolver(baseUri(), resourceMappings(), repositories(),
+                repositoryInvokerFactory(), backendIdConverterRegistry());
+    }
+
     @Bean
     public ResourceMetadataHandlerMethodArgumentResolver resourceMetadataHandlerMethodArgumentResolver() {
-        return new ResourceMetadataHandlerMethodArgumentResolver(repositories(), resourceMappings(), baseUri());
+        return new ResourceMetadataHandlerMethodArgumentResolver(repositoryRequestContextResolver());
     }
 
     @Bean
     public BackendIdHandlerMethodArgumentResolver backendIdHandlerMethodArgumentResolver() {
-        return new BackendIdHandlerMethodArgumentResolver(backendIdConverterRegistry(),
-                resourceMetadataHandlerMethodArgumentResolver(), baseUri());
+        return new BackendIdHandlerMethodArgumentResolver(repositoryRequestContextResolver());
+    }
+
+    @Bean
+    public KeysetCursorHandlerMethodArgumentResolver keysetCursorHandlerMethodArgumentResolver() {
+        return new KeysetCursorHandlerMethodArgumentResolver(config());
+    }
+
+    /**
+     * Cursor based paging for collection resources of the domain types configured to use it.
+     *
+     * @return
+     */
+    @Bean
+    public KeysetPagingSupport keysetPagingSupport() {
+        return new KeysetPagingSupport(repositories(), config(), defaultConversionService(), sliceQueryExecutor());
+    }
+
+    /**
+     * Renders paged resources without a total for the domain types and requests asking for it.
+     *
+     * @return
+     */
+    @Bean
+    public SlicedPagingSupport slicedPagingSupport() {
+        return new SlicedPagingSupport(repositories(), config(), pageableResolver());
+    }
+
+    /**
+     * The {@link TotalCountStrategy} to calculate the totals of paged collection resources. Uses the
+     * {@link TotalCountEstimator} registered in the application context if available and caches exact totals if
+     * {@link RepositoryRestConfiguration#getTotalCountCacheTtl()} is configured.
+     *
+     * @return
+     */
+    @Bean
+    public TotalCountStrategy totalCountStrategy() {
+
+        long ttl = config().getTotalCountCacheTtl();
+        TotalCountStrategy strategy = new ExactTotalCountStrategy();
+
+        if (ttl > 0) {
+            strategy = new CachingTotalCountStrategy(strategy, ttl);
+        }
+
+        return totalCountEstimator == null ? strategy : new EstimatingTotalCountStrategy(totalCountEstimator, strategy);
+    }
+
+    @Bean
+    public TotalCountSupport totalCountSupport() {
+        return new TotalCountSupport(config(), totalCountStrategy());
+    }
+
+    /**
+     * Dispatches the operations of batch requests through the exporter's
+     * {@link org.springframework.web.servlet.HandlerMapping} and
+     * {@link org.springframework.web.servlet.HandlerAdapter} after
+     * authorizing them with the {@link BatchOperationAuthorizer} registered
+     * in the application context, if any.
+     *
+     * @return
+     */
+    @Bean
+    public BatchRequestDispatcher batchRequestDispatcher() {
+        return new BatchRequestDispatcher(repositoryExporterHandlerMapping(), repositoryExporterHandlerAdapter(),
+                exceptionHandlerExceptionResolver(), batchOperationAuthorizer);
+    }
+
+    /**
+     * The bounded executor read-only batch operations are executed on in
+     * parallel. Runs operations in the calling thread if saturated.
+     *
+     * @return
+     */
+    @Bean
+    public ThreadPoolTaskExecutor batchTaskExecutor() {
+
+        RepositoryRestConfiguration config = config();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.getBatchParallelism());
+        executor.setMaxPoolSize(config.getBatchParallelism());
+        executor.setQueueCapacity(config.getMaxBatchOperations());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("spring-data-rest-batch-");
+
+        return executor;
+    }
+
+    /**
+     * Provides the executors repository invocations are executed on if
+     * asynchronous execution is enabled. Override to plug in custom executors.
+     *
+     * @return
+     */
+    @Bean
+    public RepositoryTaskExecutorProvider repositoryTaskExecutorProvider() {
+        return new ThreadPoolRepositoryTaskExecutorProvider(config());
+    }
+
+    /**
+     * Caches the results of query methods annotated with
+     * {@link org.springframework.data.rest.core.annotation.CacheableSearch}.
+     *
+     * @return
+     */
+    @Bean
+    public QueryMethodResultCache queryMethodResultCache() {
+        return new QueryMethodResultCache();
+    }
+
+    /**
+     * Caches the rendered representations of item resources for the domain
+     * types configured in
+     * {@link RepositoryRestConfiguration#representationCacheConfiguration()}.
+     *
+     * @return
+     */
+    @Bean
+    public RepresentationCache representationCache() {
+        return new RepresentationCache(repositories(), defaultConversionService(), config(),
+                defaultMessageConverters());
+    }
+
+    @Bean
+    public ConditionalRequestSupport conditionalRequestSupport() {
+        return new ConditionalRequestSupport(repositories(), defaultConversionService());
+    }
+
+    /**
+     * The bulkheads bounding concurrent invocations per repository. Exposes
+     * their metrics.
+     *
+     * @return
+     */
+    @Bean
+    public RepositoryBulkheads repositoryBulkheads() {
+        return new RepositoryBulkheads(config().bulkheadConfiguration());
     }
 
     /**
@@ -467,7 +650,7 @@ public class RepositoryRestMvcConfiguration extends HateoasAwareSpringDataWebCon
         configureHttpMessageConverters(messageConverters);
 
         RepositoryRestHandlerAdapter handlerAdapter = new RepositoryRestHandlerAdapter(defaultMethodArgumentResolvers(),
-                resourceProcessors);
+                resourceProcessors, config(), resourceMappings(), repositoryTaskExecutorProvider());
         handlerAdapter.setMessageConverters(messageConverters);
 
         return handlerAdapter;
@@ -483,6 +666,8 @@ public class RepositoryRestMvcConfiguration extends HateoasAwareSpringDataWebCon
     public RequestMappingHandlerMapping repositoryExporterHandlerMapping() {
 
         RepositoryRestHandlerMapping mapping = new RepositoryRestHandlerMapping(resourceMappings(), config());
+        mapping.setInterceptors(new Object[] { new BulkheadHandlerInterceptor(repositoryBulkheads(), resourceMappings(),
+                config().bulkheadConfiguration()) });
         mapping.setJpaHelper(jpaHelper());
 
         return mapping;
@@ -497,6 +682,28 @@ public class RepositoryRestMvcConfiguration extends HateoasAwareSpringDataWebCon
         return new RepositoryResourceMappings(config, repositories);
     }
 
+    /**
+     * Writer rendering plain {@code application/json} representations applying
+     * the JSON filters declared on the repositories.
+     *
+     * @return
+     */
+    @Bean
+    public FilteredJsonWriter filteredJsonWriter() {
+        return new FilteredJsonWriter(resourceMappings(), config());
+    }
+
+    /**
+     * Parses and caches the properties clients select to be rendered for
+     * entities.
+     *
+     * @return
+     */
+    @Bean
+    public FieldSets fieldSets() {
+        return new FieldSets(persistentEntities(), config());
+    }
+
     /**
      * Jackson module responsible for intelligently serializing and
      * deserializing JSON that corresponds to an entity.
@@ -531,7 +738,54 @@ public class RepositoryRestMvcConfiguration extends HateoasAwareSpringDataWebCon
 
     @Bean
     public RepositoryInvokerFactory repositoryInvokerFactory() {
-        return new DefaultRepositoryInvokerFactory(repositories(), defaultConversionService());
+
+        DefaultRepositoryInvokerFactory factory = new DefaultRepositoryInvokerFactory(repositories(),
+                defaultConversionService());
+        factory.setMaxUnpagedResults(config().getMaxUnpagedResults());
+        factory.setMaxPageSize(config().getMaxPageSize());
+
+        if (config().isCoalesceInvocations()) {
+            factory.setInvocationCoalescer(invocationCoalescer());
+        }
+
+        factory.setEntityCache(entityCache());
+        factory.setSliceQueryExecutor(sliceQueryExecutor());
+
+        return factory;
+    }
+
+    /**
+     * Looks up slices of the domain types managed by Spring Data JPA without
+     * issuing a count query if Spring Data JPA is on the classpath.
+     *
+     * @return
+     */
+    @Bean
+    public SliceQueryExecutor sliceQueryExecutor() {
+        return IS_SPRING_DATA_JPA_AVAILABLE ? new JpaSliceQueries(repositories(), beanFactory)
+                : NoOpSliceQueryExecutor.INSTANCE;
+    }
+
+    /**
+     * Caches entities looked up by identifier for the domain types configured
+     * in {@link RepositoryRestConfiguration#entityCacheConfiguration()}.
+     *
+     * @return
+     */
+    @Bean
+    public EntityCache entityCache() {
+        return new EntityCache(repositories(), config().entityCacheConfiguration());
+    }
+
+    /**
+     * Shares concurrent identical repository invocations of the same
+     * principal if enabled and exposes the number of shared and executed invocations.
+     *
+     * @return
+     */
+    @Bean
+    public InvocationCoalescer invocationCoalescer() {
+        return new InvocationCoalescer(new RequestPrincipalResolver());
     }
 
     @Bean
@@ -595,12 +849,14 @@ public class RepositoryRestMvcConfiguration extends HateoasAwareSpringDataWebCon
     private List<HandlerMethodArgumentResolver> defaultMethodArgumentResolvers() {
 
         PersistentEntityResourceAssemblerArgumentResolver peraResolver = new PersistentEntityResourceAssemblerArgumentResolver(
-                repositories(), entityLinks(), config().projectionConfiguration(), new ProxyProjectionFactory(beanFactory));
+                repositories(), entityLinks(), config().projectionConfiguration(), new ProxyProjectionFactory(beanFactory),
+                fieldSets());
 
         return Arrays.asList(pageableResolver(), sortResolver(), serverHttpRequestMethodArgumentResolver(),
                 repoRequestArgumentResolver(), persistentEntityArgumentResolver(),
                 resourceMetadataHandlerMethodArgumentResolver(), HttpMethodHandlerMethodArgumentResolver.INSTANCE,
-                peraResolver, backendIdHandlerMethodArgumentResolver());
+                peraResolver, backendIdHandlerMethodArgumentResolver(), repositoryRequestContextResolver(),
+                keysetCursorHandlerMethodArgumentResolver());
     }
 
     @Autowired
@@ -20,11 +20,8 @@ import static org.springframework.util.StringUtils.*;
 
 import org.springframework.core.MethodParameter;
 import org.springframework.data.repository.core.RepositoryInformation;
-import org.springframework.data.repository.support.Repositories;
-import org.springframework.data.rest.core.mapping.ResourceMappings;
 import org.springframework.data.rest.core.mapping.ResourceMetadata;
-import org.springframework.data.rest.webmvc.BaseUri;
-import org.springframework.data.rest.webmvc.util.UriUtils;
+import org.springframework.data.rest.webmvc.RepositoryRequestContext;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
@@ -39,28 +36,19 @@ import org.springframework.web.method.support.ModelAndViewContainer;
  */
 public class ResourceMetadataHandlerMethodArgumentResolver implements HandlerMethodArgumentResolver {
 
-	private final Repositories repositories;
-	private final ResourceMappings mappings;
-	private final BaseUri baseUri;
+	private final RepositoryRequestContextResolver contextResolver;
 
 	/**
-	 * Creates a new {@link ResourceMetadataHandlerMethodArgumentResolver} for the given {@link Repositories} and
-	 * {@link ResourceMappings}.
+	 * Creates a new {@link ResourceMetadataHandlerMethodArgumentResolver} using the given
+	 * {@link RepositoryRequestContextResolver}.
 	 * 
-	 * @param repositories must not be {@literal null}.
-	 * @param mappings must not be {@literal null}.
-	 * @param baseUri must not be {@literal null}.
+	 * @param contextResolver must not be {@literal null}.
 	 */
-	public ResourceMetadataHandlerMethodArgumentResolver(Repositories repositories, ResourceMappings mappings,
-			BaseUri baseUri) {
+	public ResourceMetadataHandlerMethodArgumentResolver(RepositoryRequestContextResolver contextResolver) {
 
-		Assert.notNull(repositories, "Repositories must not be null!");
-		Assert.notNull(mappings, "ResourceMappings must not be null!");
-		Assert.notNull(baseUri, "BaseUri must not be null!");
+		Assert.notNull(contextResolver, "RepositoryRequestContextResolver must not be null!");
 
-		this.repositories = repositories;
-		this.mappings = mappings;
-		this.baseUri = baseUri;
+		this.contextResolver = contextResolver;
 	}
 
 	/*
@@ -80,18 +68,17 @@ public class ResourceMetadataHandlerMethodArgumentResolver implements HandlerMet
 	public ResourceMetadata resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
 			NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
 
-		String lookupPath = baseUri.getRepositoryLookupPath(webRequest);
-		String repositoryKey = UriUtils.findMappingVariable("repository", parameter, lookupPath);
+		RepositoryRequestContext context = contextResolver.getContext(parameter, webRequest);
+		String repositoryKey = context.getRepositoryKey();
 
 		if (!hasText(repositoryKey)) {
 			return null;
 		}
 
-		for (Class<?> domainType : repositories) {
-			ResourceMetadata mapping = mappings.getMappingFor(domainType);
-			if (mapping.getPath().matches(repositoryKey) && mapping.isExported()) {
-				return mapping;
-			}
+		ResourceMetadata mapping = context.getResourceMetadata();
+
+		if (mapping != null) {
+			return mapping;
 		}
 
 		throw new IllegalArgumentException(String.format("Could not resolve repository metadata for %s.", repositoryKey));
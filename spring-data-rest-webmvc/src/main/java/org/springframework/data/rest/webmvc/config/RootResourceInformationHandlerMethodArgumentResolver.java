@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2013 the original author or authors.
+ * Copyright 2012-2014 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,8 @@
 package org.springframework.data.rest.webmvc.config;
 
 import org.springframework.core.MethodParameter;
-import org.springframework.data.mapping.PersistentEntity;
-import org.springframework.data.repository.support.Repositories;
-import org.springframework.data.rest.core.invoke.RepositoryInvoker;
-import org.springframework.data.rest.core.invoke.RepositoryInvokerFactory;
 import org.springframework.data.rest.core.mapping.ResourceMetadata;
+import org.springframework.data.rest.webmvc.RepositoryRequestContext;
 import org.springframework.data.rest.webmvc.RootResourceInformation;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.support.WebDataBinderFactory;
@@ -37,27 +34,23 @@ import org.springframework.web.method.support.ModelAndViewContainer;
  */
 public class RootResourceInformationHandlerMethodArgumentResolver implements HandlerMethodArgumentResolver {
 
-	private final Repositories repositories;
-	private final RepositoryInvokerFactory invokerFactory;
+	private final RepositoryRequestContextResolver contextResolver;
 	private final ResourceMetadataHandlerMethodArgumentResolver resourceMetadataResolver;
 
 	/**
-	 * Creates a new {@link RootResourceInformationHandlerMethodArgumentResolver} using the given {@link Repositories},
-	 * {@link RepositoryInvokerFactory} and {@link ResourceMetadataHandlerMethodArgumentResolver}.
+	 * Creates a new {@link RootResourceInformationHandlerMethodArgumentResolver} using the given
+	 * {@link RepositoryRequestContextResolver} and {@link ResourceMetadataHandlerMethodArgumentResolver}.
 	 * 
-	 * @param repositories must not be {@literal null}.
-	 * @param invokerFactory must not be {@literal null}.
+	 * @param contextResolver must not be {@literal null}.
 	 * @param resourceMetadataResolver must not be {@literal null}.
 	 */
-	public RootResourceInformationHandlerMethodArgumentResolver(Repositories repositories,
-			RepositoryInvokerFactory invokerFactory, ResourceMetadataHandlerMethodArgumentResolver resourceMetadataResolver) {
+	public RootResourceInformationHandlerMethodArgumentResolver(RepositoryRequestContextResolver contextResolver,
+			ResourceMetadataHandlerMethodArgumentResolver resourceMetadataResolver) {
 
-		Assert.notNull(repositories, "Repositories must not be null!");
-		Assert.notNull(invokerFactory, "invokerFactory must not be null!");
+		Assert.notNull(contextResolver, "RepositoryRequestContextResolver must not be null!");
 		Assert.notNull(resourceMetadataResolver, "ResourceMetadataHandlerMethodArgumentResolver must not be null!");
 
-		this.repositories = repositories;
-		this.invokerFactory = invokerFactory;
+		this.contextResolver = contextResolver;
 		this.resourceMetadataResolver = resourceMetadataResolver;
 	}
 
@@ -81,11 +74,9 @@ public class RootResourceInformationHandlerMethodArgumentResolver implements Han
 		ResourceMetadata resourceMetadata = resourceMetadataResolver.resolveArgument(parameter, mavContainer, webRequest,
 				binderFactory);
 
-		Class<?> domainType = resourceMetadata.getDomainType();
-		RepositoryInvoker repositoryInvoker = invokerFactory.getInvokerFor(domainType);
-		PersistentEntity<?, ?> persistentEntity = repositories.getPersistentEntity(domainType);
+		RepositoryRequestContext context = contextResolver.getContext(parameter, webRequest);
 
 		// TODO reject if ResourceMetadata cannot be resolved
-		return new RootResourceInformation(resourceMetadata, persistentEntity, repositoryInvoker);
+		return new RootResourceInformation(resourceMetadata, context.getPersistentEntity(), context.getInvoker());
 	}
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.json;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * The properties of an entity a client selected to be rendered, e.g. by handing in {@code ?fields=name,address.city}.
+ * Properties without a nested {@link FieldSet} are rendered completely.
+ * 
+ * @author Oliver Gierke
+ * @see FieldSets
+ */
+public final class FieldSet {
+
+	private final Map<String, FieldSet> fields;
+
+	/**
+	 * Creates a new {@link FieldSet} from the given property names and the {@link FieldSet}s to apply to their values.
+	 * 
+	 * @param fields must not be {@literal null}.
+	 */
+	FieldSet(Map<String, FieldSet> fields) {
+
+		Assert.notNull(fields, "Fields must not be null!");
+
+		this.fields = Collections.unmodifiableMap(fields);
+	}
+
+	/**
+	 * Returns whether the property with the given name shall be rendered.
+	 * 
+	 * @param property the name of the property.
+	 * @return
+	 */
+	public boolean includes(String property) {
+		return fields.containsKey(property);
+	}
+
+	/**
+	 * Returns the {@link FieldSet} to apply to the value of the property with the given name.
+	 * 
+	 * @param property the name of the property.
+	 * @return the nested {@link FieldSet} or {@literal null} if the property value shall be rendered completely.
+	 */
+	public FieldSet getNested(String property) {
+		return fields.get(property);
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return fields.toString();
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.json;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.context.PersistentEntities;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Parses the sparse fieldset selections handed in by clients into {@link FieldSet}s. Every property path is validated
+ * against the {@link PersistentEntity} it's applied to. Parsed {@link FieldSet}s are cached per domain type and
+ * selection so that repeated requests don't have to parse them again.
+ * 
+ * @author Oliver Gierke
+ */
+public class FieldSets {
+
+	static final int MAX_CACHED_SELECTIONS = 1000;
+
+	private final PersistentEntities entities;
+	private final RepositoryRestConfiguration config;
+	private final Map<CacheKey, FieldSet> cache = new ConcurrentHashMap<CacheKey, FieldSet>();
+
+	/**
+	 * Creates a new {@link FieldSets} instance for the given {@link PersistentEntities} and
+	 * {@link RepositoryRestConfiguration}.
+	 * 
+	 * @param entities must not be {@literal null}.
+	 * @param config must not be {@literal null}.
+	 */
+	public FieldSets(PersistentEntities entities, RepositoryRestConfiguration config) {
+
+		Assert.notNull(entities, "PersistentEntities must not be null!");
+		Assert.notNull(config, "RepositoryRestConfiguration must not be null!");
+
+		this.entities = entities;
+		this.config = config;
+	}
+
+	/**
+	 * Returns the name of the request parameter clients use to select the properties to render.
+	 * 
+	 * @return
+	 */
+	public String getParameterName() {
+		return config.getFieldsParamName();
+	}
+
+	/**
+	 * Returns the {@link FieldSet} for the given {@link PersistentEntity} and comma separated list of property paths.
+	 * 
+	 * @param entity must not be {@literal null}.
+	 * @param fields can be {@literal null} or empty.
+	 * @return the {@link FieldSet} or {@literal null} if no properties were selected.
+	 * @throws IllegalArgumentException in case one of the property paths can't be resolved against the entity.
+	 */
+	public FieldSet getFieldSet(PersistentEntity<?, ?> entity, String fields) {
+
+		Assert.notNull(entity, "PersistentEntity must not be null!");
+
+		if (!StringUtils.hasText(fields)) {
+			return null;
+		}
+
+		CacheKey key = new CacheKey(entity.getType(), fields);
+		FieldSet fieldSet = cache.get(key);
+
+		if (fieldSet != null) {
+			return fieldSet;
+		}
+
+		String[] paths = StringUtils.tokenizeToStringArray(fields, ",");
+
+		if (paths.length == 0) {
+			return null;
+		}
+
+		fieldSet = createFieldSet(entity, paths);
+
+		// Selections are client controlled, so stop caching new ones once we've seen enough of them
+		if (cache.size() < MAX_CACHED_SELECTIONS) {
+			cache.put(key, fieldSet);
+		}
+
+		return fieldSet;
+	}
+
+	private FieldSet createFieldSet(PersistentEntity<?, ?> entity, String[] paths) {
+
+		Map<String, List<String>> nestedPaths = new LinkedHashMap<String, List<String>>();
+
+		for (String path : paths) {
+
+			int separator = path.indexOf('.');
+			String name = separator == -1 ? path : path.substring(0, separator);
+
+			if (entity.getPersistentProperty(name) == null) {
+				throw new IllegalArgumentException(String.format("No property %s found on %s!", name, entity.getType()
+						.getName()));
+			}
+
+			if (separator == -1) {
+				nestedPaths.put(name, null);
+				continue;
+			}
+
+			// The property was already selected completely
+			if (nestedPaths.containsKey(name) && nestedPaths.get(name) == null) {
+				continue;
+			}
+
+			List<String> nested = nestedPaths.get(name);
+
+			if (nested == null) {
+				nested = new ArrayList<String>();
+				nestedPaths.put(name, nested);
+			}
+
+			nested.add(path.substring(separator + 1));
+		}
+
+		Map<String, FieldSet> fields = new LinkedHashMap<String, FieldSet>(nestedPaths.size());
+
+		for (Entry<String, List<String>> entry : nestedPaths.entrySet()) {
+
+			String name = entry.getKey();
+			List<String> nested = entry.getValue();
+
+			if (nested == null) {
+				fields.put(name, null);
+				continue;
+			}
+
+			PersistentProperty<?> property = entity.getPersistentProperty(name);
+			PersistentEntity<?, ?> nestedEntity = entities.getPersistentEntity(property.getActualType());
+
+			if (nestedEntity == null) {
+				throw new IllegalArgumentException(String.format("Property %s of %s doesn't have nested properties!", name,
+						entity.getType().getName()));
+			}
+
+			fields.put(name, createFieldSet(nestedEntity, nested.toArray(new String[nested.size()])));
+		}
+
+		return new FieldSet(fields);
+	}
+
+	/**
+	 * Cache key for the {@link FieldSet} of a domain type and a particular selection.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class CacheKey {
+
+		private final Class<?> type;
+		private final String fields;
+
+		public CacheKey(Class<?> type, String fields) {
+
+			this.type = type;
+			this.fields = fields;
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+
+			CacheKey that = (CacheKey) obj;
+			return this.type.equals(that.type) && this.fields.equals(that.fields);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return type.hashCode() * 31 + fields.hashCode();
+		}
+	}
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.core.mapping.ResourceMappings;
+import org.springframework.data.rest.core.mapping.ResourceMetadata;
+import org.springframework.data.rest.webmvc.jsonfilterannotations.SerializeOnePropertiesFilter;
+import org.springframework.data.rest.webmvc.jsonfilterannotations.SerializeOnePropertiesFilters;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Writes plain {@code application/json} representations of domain objects applying the
+ * {@link SerializeOnePropertiesFilters} declared on the repository interface exporting them. Every class is filtered
+ * by its simple name, classes without a filter declared are rendered without any properties. The
+ * {@link ObjectWriter}s carrying the filters are created once per exported repository and share a single
+ * {@link ObjectMapper}, so that Jackson's serializer cache survives across requests. Collections are written element
+ * by element as they're iterated.
+ * 
+ * @author Oliver Gierke
+ */
+public class FilteredJsonWriter {
+
+	private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+	private final ResourceMappings mappings;
+	private final boolean prettyPrint;
+	private final ObjectMapper mapper;
+	private final ObjectWriter defaultWriter;
+	private final Map<Class<?>, ObjectWriter> writers;
+
+	/**
+	 * Creates a new {@link FilteredJsonWriter} for the given {@link ResourceMappings} and
+	 * {@link RepositoryRestConfiguration}.
+	 * 
+	 * @param mappings must not be {@literal null}.
+	 * @param config must not be {@literal null}.
+	 */
+	public FilteredJsonWriter(ResourceMappings mappings, RepositoryRestConfiguration config) {
+
+		Assert.notNull(mappings, "ResourceMappings must not be null!");
+		Assert.notNull(config, "RepositoryRestConfiguration must not be null!");
+
+		this.mappings = mappings;
+		this.prettyPrint = config.isPrettyPrintJson();
+		this.mapper = new ObjectMapper().setAnnotationIntrospector(new SimpleNameFilterIdIntrospector());
+		this.defaultWriter = createWriter(null);
+		this.writers = new ConcurrentHashMap<Class<?>, ObjectWriter>();
+
+		for (ResourceMetadata metadata : mappings) {
+
+			Class<?> repositoryInterface = metadata.getRepositoryInterface();
+
+			if (metadata.isExported() && repositoryInterface != null) {
+				writers.put(repositoryInterface, createWriter(repositoryInterface));
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link ObjectWriter} applying the {@link SerializeOnePropertiesFilters} of the repository backing the
+	 * given {@link ResourceMetadata}.
+	 * 
+	 * @param metadata can be {@literal null}.
+	 * @return
+	 */
+	public ObjectWriter getWriterFor(ResourceMetadata metadata) {
+
+		Class<?> repositoryInterface = metadata == null ? null : metadata.getRepositoryInterface();
+
+		if (repositoryInterface == null) {
+			return defaultWriter;
+		}
+
+		ObjectWriter writer = writers.get(repositoryInterface);
+
+		if (writer == null) {
+			writer = createWriter(repositoryInterface);
+			writers.put(repositoryInterface, writer);
+		}
+
+		return writer;
+	}
+
+	/**
+	 * Writes the given value to the given {@link HttpServletResponse} using the filters of the repository exporting the
+	 * given domain type.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @param value can be {@literal null}.
+	 * @param response must not be {@literal null}.
+	 * @throws IOException
+	 * @see #write(ResourceMetadata, Object, OutputStream)
+	 */
+	public void write(Class<?> domainType, Object value, HttpServletResponse response) throws IOException {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+		Assert.notNull(response, "HttpServletResponse must not be null!");
+
+		response.setContentType(CONTENT_TYPE);
+		write(mappings.getMappingFor(domainType), value, response.getOutputStream());
+	}
+
+	/**
+	 * Writes the given value to the given {@link OutputStream} using the filters of the repository backing the given
+	 * {@link ResourceMetadata}. {@link Iterable}s are written element by element into an array, {@link Page}s into an
+	 * object exposing the elements as {@code content} and the paging information as {@code page}.
+	 * 
+	 * @param metadata can be {@literal null}.
+	 * @param value can be {@literal null}.
+	 * @param output must not be {@literal null}.
+	 * @throws IOException
+	 */
+	public void write(ResourceMetadata metadata, Object value, OutputStream output) throws IOException {
+
+		Assert.notNull(output, "OutputStream must not be null!");
+
+		ObjectWriter writer = getWriterFor(metadata);
+		JsonGenerator generator = writer.getFactory().createGenerator(output, JsonEncoding.UTF8);
+
+		if (prettyPrint) {
+			generator.useDefaultPrettyPrinter();
+		}
+
+		try {
+
+			if (value instanceof Page) {
+
+				Page<?> page = (Page<?>) value;
+
+				generator.writeStartObject();
+				generator.writeFieldName("content");
+				writeElements(page, writer, generator);
+
+				generator.writeObjectFieldStart("page");
+				generator.writeNumberField("size", page.getSize());
+				generator.writeNumberField("totalElements", page.getTotalElements());
+				generator.writeNumberField("totalPages", page.getTotalPages());
+				generator.writeNumberField("number", page.getNumber());
+				generator.writeEndObject();
+
+				generator.writeEndObject();
+
+			} else if (value instanceof Iterable) {
+				writeElements((Iterable<?>) value, writer, generator);
+			} else {
+				writer.writeValue(generator, value);
+			}
+
+		} finally {
+			generator.close();
+		}
+	}
+
+	private static void writeElements(Iterable<?> elements, ObjectWriter writer, JsonGenerator generator)
+			throws IOException {
+
+		generator.writeStartArray();
+
+		for (Object element : elements) {
+			writer.writeValue(generator, element);
+		}
+
+		generator.writeEndArray();
+	}
+
+	private ObjectWriter createWriter(Class<?> repositoryInterface) {
+
+		SerializeOnePropertiesFilters filters = repositoryInterface == null ? null : repositoryInterface
+				.getAnnotation(SerializeOnePropertiesFilters.class);
+
+		SimpleFilterProvider filterProvider = new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter
+				.filterOutAllExcept(""));
+
+		if (filters != null) {
+			for (SerializeOnePropertiesFilter filter : filters.value()) {
+
+				String className = filter.className();
+				String[] exclude = filter.exclude();
+				String[] include = filter.include();
+
+				if (exclude.length > 0) {
+					filterProvider.addFilter(className, SimpleBeanPropertyFilter.serializeAllExcept(exclude));
+				} else if (include.length > 0) {
+					filterProvider.addFilter(className, SimpleBeanPropertyFilter.filterOutAllExcept(include));
+				} else {
+					filterProvider.addFilter(className, SimpleBeanPropertyFilter.serializeAllExcept(""));
+				}
+			}
+		}
+
+		return mapper.writer(filterProvider).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+	}
+
+	/**
+	 * {@link JacksonAnnotationIntrospector} falling back to the simple class name as filter id, so that every class can
+	 * be filtered by a {@link SerializeOnePropertiesFilter}.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	static class SimpleNameFilterIdIntrospector extends JacksonAnnotationIntrospector {
+
+		private static final long serialVersionUID = -1954931788155012232L;
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector#findFilterId(com.fasterxml.jackson.databind.introspect.Annotated)
+		 */
+		@Override
+		public Object findFilterId(Annotated a) {
+
+			Object id = super.findFilterId(a);
+
+			if (id != null) {
+				return id;
+			}
+
+			String name = a.getName();
+			return name.substring(name.lastIndexOf('.') + 1);
+		}
+	}
+}
@@ -29,15 +29,17 @@ import org.springframework.data.mapping.PersistentEntity;
 import org.springframework.data.mapping.PersistentProperty;
 import org.springframework.data.mapping.context.PersistentEntities;
 import org.springframework.data.repository.support.Repositories;
-import org.springframework.data.rest.core.Path;
 import org.springframework.data.rest.core.UriToEntityConverter;
 import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
 import org.springframework.data.rest.core.mapping.ResourceMappings;
 import org.springframework.data.rest.webmvc.PersistentEntityResource;
+import org.springframework.data.rest.webmvc.StreamingResources;
+import org.springframework.data.rest.webmvc.mapping.AssociationLinkTemplates;
 import org.springframework.data.rest.webmvc.mapping.AssociationLinks;
-import org.springframework.data.rest.webmvc.mapping.LinkCollectingAssociationHandler;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.Resource;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.Resources;
 import org.springframework.util.Assert;
 
 import com.fasterxml.jackson.core.JsonGenerationException;
@@ -64,9 +66,11 @@ import com.fasterxml.jackson.databind.ser.BeanSerializerBuilder;
 import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.fasterxml.jackson.databind.type.CollectionLikeType;
+import com.fasterxml.jackson.databind.util.NameTransformer;
 
 /**
- * Jackson 2 module to serialize and deserialize {@link PersistentEntityResource}s.
+ * Jackson 2 module to serialize and deserialize {@link PersistentEntityResource}s and to serialize
+ * {@link StreamingResources}.
  * 
  * @author Jon Brisbin
  * @author Oliver Gierke
@@ -99,7 +103,8 @@ public class PersistentEntityJackson2Module extends SimpleModule {
 
 		AssociationLinks associationLinks = new AssociationLinks(mappings);
 
-		addSerializer(new PersistentEntityResourceSerializer(entities, associationLinks));
+		addSerializer(new PersistentEntityResourceSerializer(new AssociationLinkTemplates(entities, associationLinks)));
+		addSerializer(new StreamingResourcesSerializer());
 		setSerializerModifier(new AssociationOmittingSerializerModifier(entities, associationLinks, config));
 		setDeserializerModifier(new AssociationUriResolvingDeserializerModifier(entities, converter, associationLinks));
 	}
@@ -112,26 +117,21 @@ public class PersistentEntityJackson2Module extends SimpleModule {
 	 */
 	private static class PersistentEntityResourceSerializer extends StdSerializer<PersistentEntityResource<?>> {
 
-		private final PersistentEntities entities;
-		private final AssociationLinks associationLinks;
+		private final AssociationLinkTemplates templates;
 
 		/**
-		 * Creates a new {@link PersistentEntityResourceSerializer} using the given {@link PersistentEntities} and
-		 * {@link AssociationLinks}.
+		 * Creates a new {@link PersistentEntityResourceSerializer} using the given {@link AssociationLinkTemplates}.
 		 * 
-		 * @param entities must not be {@literal null}.
-		 * @param links must not be {@literal null}.
+		 * @param templates must not be {@literal null}.
 		 */
 		@SuppressWarnings({ "unchecked", "rawtypes" })
-		private PersistentEntityResourceSerializer(PersistentEntities entities, AssociationLinks links) {
+		private PersistentEntityResourceSerializer(AssociationLinkTemplates templates) {
 
 			super((Class) PersistentEntityResource.class);
 
-			Assert.notNull(entities, "PersistentEntities must not be null!");
-			Assert.notNull(links, "AssociationLinks must not be null!");
+			Assert.notNull(templates, "AssociationLinkTemplates must not be null!");
 
-			this.associationLinks = links;
-			this.entities = entities;
+			this.templates = templates;
 		}
 
 		/*
@@ -152,22 +152,94 @@ public class PersistentEntityJackson2Module extends SimpleModule {
 				throw new JsonGenerationException(String.format("No self link found resource %s!", resource));
 			}
 
-			Path basePath = new Path(id.expand().getHref());
-			LinkCollectingAssociationHandler associationHandler = new LinkCollectingAssociationHandler(entities, basePath,
-					associationLinks);
-			resource.getPersistentEntity().doWithAssociations(associationHandler);
+			List<Link> associationLinks = templates.getLinksFor(resource.getPersistentEntity(), id.expand().getHref());
 
-			List<Link> links = new ArrayList<Link>();
+			List<Link> links = new ArrayList<Link>(resource.getLinks().size() + associationLinks.size());
 			links.addAll(resource.getLinks());
-			links.addAll(associationHandler.getLinks());
+			links.addAll(associationLinks);
 
 			Resource<Object> resourceToRender = new Resource<Object>(resource.getContent(), links);
-			provider.defaultSerializeValue(resourceToRender, jgen);
+
+			// Expose the selected properties to the FieldSetAwarePropertyWriters rendering the content
+			Object previous = provider.getAttribute(FieldSet.class);
+			provider.setAttribute(FieldSet.class, resource.getFieldSet());
+
+			try {
+				provider.defaultSerializeValue(resourceToRender, jgen);
+			} finally {
+				provider.setAttribute(FieldSet.class, previous);
+			}
+		}
+	}
+
+	/**
+	 * Custom {@link JsonSerializer} for {@link StreamingResources} to write the item resources one by one while they're
+	 * created. Renders them into {@code _embedded} if the HAL module is registered with the current mapper and uses the
+	 * plain {@link Resources} format otherwise.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class StreamingResourcesSerializer extends StdSerializer<StreamingResources> {
+
+		/**
+		 * Creates a new {@link StreamingResourcesSerializer}.
+		 */
+		private StreamingResourcesSerializer() {
+			super(StreamingResources.class);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.ser.std.StdSerializer#serialize(java.lang.Object, com.fasterxml.jackson.core.JsonGenerator, com.fasterxml.jackson.databind.SerializerProvider)
+		 */
+		@Override
+		public void serialize(StreamingResources resources, JsonGenerator jgen, SerializerProvider provider)
+				throws IOException, JsonGenerationException {
+
+			boolean hal = provider.getConfig().findMixInClassFor(ResourceSupport.class) != null;
+
+			jgen.writeStartObject();
+
+			// Links are rendered the way the mapper renders them for any other ResourceSupport
+			provider.findValueSerializer(ResourceSupport.class, null).unwrappingSerializer(NameTransformer.NOP)
+					.serialize(resources, jgen, provider);
+
+			Iterator<Object> items = resources.iterator();
+
+			if (!hal) {
+
+				jgen.writeArrayFieldStart("content");
+				writeItems(items, jgen, provider);
+				jgen.writeEndArray();
+
+			} else if (items.hasNext()) {
+
+				jgen.writeObjectFieldStart("_embedded");
+				jgen.writeArrayFieldStart(resources.getRel());
+				writeItems(items, jgen, provider);
+				jgen.writeEndArray();
+				jgen.writeEndObject();
+			}
+
+			if (resources.getMetadata() != null) {
+				provider.defaultSerializeField("page", resources.getMetadata(), jgen);
+			}
+
+			jgen.writeEndObject();
+		}
+
+		private static void writeItems(Iterator<Object> items, JsonGenerator jgen, SerializerProvider provider)
+				throws IOException {
+
+			while (items.hasNext()) {
+				provider.defaultSerializeValue(items.next(), jgen);
+			}
 		}
 	}
 
 	/**
-	 * {@link BeanSerializerModifier} to drop the property descriptors for associations.
+	 * {@link BeanSerializerModifier} to drop the property descriptors for associations and to make the remaining ones
+	 * honor the {@link FieldSet} of the {@link PersistentEntityResource} currently rendered.
 	 * 
 	 * @author Oliver Gierke
 	 */
@@ -231,7 +303,7 @@ public class PersistentEntityJackson2Module extends SimpleModule {
 					continue;
 				}
 
-				result.add(writer);
+				result.add(new FieldSetAwarePropertyWriter(writer));
 			}
 
 			builder.setProperties(result);
@@ -240,6 +312,52 @@ public class PersistentEntityJackson2Module extends SimpleModule {
 		}
 	}
 
+	/**
+	 * {@link BeanPropertyWriter} skipping the property if the {@link FieldSet} registered with the current
+	 * {@link SerializerProvider} doesn't include it. Skipped properties are not even read, so that unselected lazy
+	 * associations are not initialized. Selected properties are rendered applying their nested {@link FieldSet}.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class FieldSetAwarePropertyWriter extends BeanPropertyWriter {
+
+		/**
+		 * Creates a new {@link FieldSetAwarePropertyWriter} for the given {@link BeanPropertyWriter}.
+		 * 
+		 * @param writer must not be {@literal null}.
+		 */
+		private FieldSetAwarePropertyWriter(BeanPropertyWriter writer) {
+			super(writer);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.ser.BeanPropertyWriter#serializeAsField(java.lang.Object, com.fasterxml.jackson.core.JsonGenerator, com.fasterxml.jackson.databind.SerializerProvider)
+		 */
+		@Override
+		public void serializeAsField(Object bean, JsonGenerator jgen, SerializerProvider prov) throws Exception {
+
+			FieldSet fieldSet = (FieldSet) prov.getAttribute(FieldSet.class);
+
+			if (fieldSet == null) {
+				super.serializeAsField(bean, jgen, prov);
+				return;
+			}
+
+			if (!fieldSet.includes(getName())) {
+				return;
+			}
+
+			prov.setAttribute(FieldSet.class, fieldSet.getNested(getName()));
+
+			try {
+				super.serializeAsField(bean, jgen, prov);
+			} finally {
+				prov.setAttribute(FieldSet.class, fieldSet);
+			}
+		}
+	}
+
 	/**
 	 * A {@link BeanDeserializerModifier} that registers a custom {@link UriStringDeserializer} for association properties
 	 * of {@link PersistentEntity}s. This allows to submit URIs for those properties in request payloads, so that
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.mapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.context.PersistentEntities;
+import org.springframework.data.rest.core.Path;
+import org.springframework.hateoas.Link;
+import org.springframework.util.Assert;
+
+/**
+ * Pre-computed templates for the association {@link Link}s of {@link PersistentEntity}s. The associations of an entity
+ * are traversed and checked for ambiguous relation types only once, rendering the links of an individual instance
+ * then boils down to appending the template's path to the instance's URI.
+ * 
+ * @author Oliver Gierke
+ */
+public class AssociationLinkTemplates {
+
+	private static final Path ROOT = new Path("");
+
+	private final PersistentEntities entities;
+	private final AssociationLinks associationLinks;
+	private final Map<PersistentEntity<?, ?>, List<Template>> templates;
+
+	/**
+	 * Creates a new {@link AssociationLinkTemplates} for the given {@link PersistentEntities} and
+	 * {@link AssociationLinks}.
+	 * 
+	 * @param entities must not be {@literal null}.
+	 * @param associationLinks must not be {@literal null}.
+	 */
+	public AssociationLinkTemplates(PersistentEntities entities, AssociationLinks associationLinks) {
+
+		Assert.notNull(entities, "PersistentEntities must not be null!");
+		Assert.notNull(associationLinks, "AssociationLinks must not be null!");
+
+		this.entities = entities;
+		this.associationLinks = associationLinks;
+		this.templates = new ConcurrentHashMap<PersistentEntity<?, ?>, List<Template>>();
+	}
+
+	/**
+	 * Returns the association link {@link Template}s for the given {@link PersistentEntity}.
+	 * 
+	 * @param entity must not be {@literal null}.
+	 * @return
+	 * @throws org.springframework.data.mapping.model.MappingException in case the entity exposes multiple associations
+	 *           with the same relation type.
+	 */
+	public List<Template> getTemplatesFor(PersistentEntity<?, ?> entity) {
+
+		Assert.notNull(entity, "PersistentEntity must not be null!");
+
+		List<Template> result = templates.get(entity);
+
+		if (result == null) {
+			result = createTemplatesFor(entity);
+			templates.put(entity, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the association {@link Link}s for the instance of the given {@link PersistentEntity} exposed under the
+	 * given URI.
+	 * 
+	 * @param entity must not be {@literal null}.
+	 * @param href must not be {@literal null}.
+	 * @return
+	 */
+	public List<Link> getLinksFor(PersistentEntity<?, ?> entity, String href) {
+
+		Assert.notNull(href, "Href must not be null!");
+
+		List<Template> templates = getTemplatesFor(entity);
+
+		if (templates.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		String base = new Path(href).toString();
+		List<Link> links = new ArrayList<Link>(templates.size());
+
+		for (Template template : templates) {
+			links.add(template.toLink(base));
+		}
+
+		return links;
+	}
+
+	private List<Template> createTemplatesFor(PersistentEntity<?, ?> entity) {
+
+		LinkCollectingAssociationHandler handler = new LinkCollectingAssociationHandler(entities, ROOT, associationLinks);
+		entity.doWithAssociations(handler);
+
+		List<Template> result = new ArrayList<Template>(handler.getLinks().size());
+
+		for (Link link : handler.getLinks()) {
+			result.add(new Template(link.getRel(), link.getHref()));
+		}
+
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * A relation type and the path to append to an instance's URI to point to the association resource.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	public static final class Template {
+
+		private final String rel;
+		private final String path;
+
+		private Template(String rel, String path) {
+			this.rel = rel;
+			this.path = path;
+		}
+
+		/**
+		 * Returns the relation type of the association link.
+		 * 
+		 * @return
+		 */
+		public String getRel() {
+			return rel;
+		}
+
+		/**
+		 * Returns the path relative to the instance's URI.
+		 * 
+		 * @return
+		 */
+		public String getPath() {
+			return path;
+		}
+
+		/**
+		 * Creates the association {@link Link} for the instance exposed under the given URI.
+		 * 
+		 * @param base must not be {@literal null}.
+		 * @return
+		 */
+		public Link toLink(String base) {
+			return new Link(base.concat(path), rel);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return String.format("%s -> %s", rel, path);
+		}
+	}
+}
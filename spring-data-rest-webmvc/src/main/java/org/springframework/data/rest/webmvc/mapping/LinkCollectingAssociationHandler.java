@@ -16,7 +16,9 @@
 package org.springframework.data.rest.webmvc.mapping;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.data.mapping.Association;
 import org.springframework.data.mapping.PersistentEntity;
@@ -26,11 +28,12 @@ import org.springframework.data.mapping.context.PersistentEntities;
 import org.springframework.data.mapping.model.MappingException;
 import org.springframework.data.rest.core.Path;
 import org.springframework.hateoas.Link;
-import org.springframework.hateoas.Links;
 import org.springframework.util.Assert;
 
 /**
- * {@link SimpleAssociationHandler} that will collect {@link Link}s for all linkable associations.
+ * {@link SimpleAssociationHandler} that will collect {@link Link}s for all linkable associations. Associations that
+ * are not linkable are traversed to collect the links of the associated entity, skipping entities already on the
+ * current traversal path and stopping at a nesting depth of {@value #MAX_DEPTH}.
  * 
  * @author Oliver Gierke
  * @since 2.1
@@ -38,12 +41,15 @@ import org.springframework.util.Assert;
 public class LinkCollectingAssociationHandler implements SimpleAssociationHandler {
 
 	private static final String AMBIGUOUS_ASSOCIATIONS = "Detected multiple association links with same relation type! Disambiguate association %s using @RestResource!";
+	static final int MAX_DEPTH = 10;
 
 	private final PersistentEntities entities;
 	private final AssociationLinks associationLinks;
 	private final Path basePath;
 
 	private final List<Link> links;
+	private final Set<String> rels;
+	private final Set<PersistentEntity<?, ?>> traversed;
 
 	/**
 	 * Creates a new {@link LinkCollectingAssociationHandler} for the given {@link PersistentEntities}, {@link Path} and
@@ -64,6 +70,8 @@ public class LinkCollectingAssociationHandler implements SimpleAssociationHandle
 		this.basePath = path;
 
 		this.links = new ArrayList<Link>();
+		this.rels = new HashSet<String>();
+		this.traversed = new HashSet<PersistentEntity<?, ?>>();
 	}
 
 	/**
@@ -86,19 +94,32 @@ public class LinkCollectingAssociationHandler implements SimpleAssociationHandle
 
 		if (associationLinks.isLinkableAssociation(property)) {
 
-			Links existingLinks = new Links(links);
-
 			for (Link link : associationLinks.getLinksFor(association, basePath)) {
-				if (existingLinks.hasLink(link.getRel())) {
+				if (!rels.add(link.getRel())) {
 					throw new MappingException(String.format(AMBIGUOUS_ASSOCIATIONS, property.toString()));
 				} else {
 					links.add(link);
 				}
 			}
 
-		} else {
-			PersistentEntity<?, ?> associationEntity = entities.getPersistentEntity(property.getActualType());
+			return;
+		}
+
+		PersistentEntity<?, ?> associationEntity = entities.getPersistentEntity(property.getActualType());
+
+		// The owner of the top level associations is the root of the traversal
+		traversed.add(property.getOwner());
+
+		if (associationEntity == null || traversed.contains(associationEntity) || traversed.size() > MAX_DEPTH) {
+			return;
+		}
+
+		traversed.add(associationEntity);
+
+		try {
 			associationEntity.doWithAssociations(this);
+		} finally {
+			traversed.remove(associationEntity);
 		}
 	}
 }
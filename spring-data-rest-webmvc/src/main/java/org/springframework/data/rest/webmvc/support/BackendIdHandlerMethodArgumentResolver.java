@@ -18,13 +18,9 @@ package org.springframework.data.rest.webmvc.support;
 import java.io.Serializable;
 
 import org.springframework.core.MethodParameter;
-import org.springframework.data.rest.core.mapping.ResourceMetadata;
-import org.springframework.data.rest.webmvc.BaseUri;
-import org.springframework.data.rest.webmvc.config.ResourceMetadataHandlerMethodArgumentResolver;
+import org.springframework.data.rest.webmvc.RepositoryRequestContext;
+import org.springframework.data.rest.webmvc.config.RepositoryRequestContextResolver;
 import org.springframework.data.rest.webmvc.spi.BackendIdConverter;
-import org.springframework.data.rest.webmvc.spi.BackendIdConverter.DefaultIdConverter;
-import org.springframework.data.rest.webmvc.util.UriUtils;
-import org.springframework.plugin.core.PluginRegistry;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
@@ -39,28 +35,21 @@ import org.springframework.web.method.support.ModelAndViewContainer;
  */
 public class BackendIdHandlerMethodArgumentResolver implements HandlerMethodArgumentResolver {
 
-	private final PluginRegistry<BackendIdConverter, Class<?>> idConverters;
-	private final ResourceMetadataHandlerMethodArgumentResolver resourceMetadataResolver;
-	private final BaseUri baseUri;
+	private final RepositoryRequestContextResolver contextResolver;
 
 	/**
-	 * Creates a new {@link BackendIdHandlerMethodArgumentResolver} for the given {@link BackendIdConverter}s and
-	 * {@link ResourceMetadataHandlerMethodArgumentResolver}.
+	 * Creates a new {@link BackendIdHandlerMethodArgumentResolver} using the given
+	 * {@link RepositoryRequestContextResolver}. The actual conversion of the identifier is done by the
+	 * {@link BackendIdConverter} registered for the domain type when the {@link RepositoryRequestContext} is created.
 	 * 
-	 * @param idConverters the {@link BackendIdConverter}s registered in the system, must not be {@literal null}..
-	 * @param resourceMetadataResolver the resolver to obtain {@link ResourceMetadata} from, must not be {@literal null}.
-	 * @param baseUri must not be {@literal null}.
+	 * @param contextResolver the resolver to obtain the {@link RepositoryRequestContext} from, must not be
+	 *          {@literal null}.
 	 */
-	public BackendIdHandlerMethodArgumentResolver(PluginRegistry<BackendIdConverter, Class<?>> idConverters,
-			ResourceMetadataHandlerMethodArgumentResolver resourceMetadataResolver, BaseUri baseUri) {
+	public BackendIdHandlerMethodArgumentResolver(RepositoryRequestContextResolver contextResolver) {
 
-		Assert.notNull(idConverters, "Id converters must not be null!");
-		Assert.notNull(resourceMetadataResolver, "ResourceMetadata resolver must not be null!");
-		Assert.notNull(baseUri, "BaseUri must not be null!");
+		Assert.notNull(contextResolver, "RepositoryRequestContextResolver must not be null!");
 
-		this.idConverters = idConverters;
-		this.resourceMetadataResolver = resourceMetadataResolver;
-		this.baseUri = baseUri;
+		this.contextResolver = contextResolver;
 	}
 
 	/* 
@@ -88,15 +77,12 @@ public class BackendIdHandlerMethodArgumentResolver implements HandlerMethodArgu
 					Serializable.class.getSimpleName(), parameterType.getSimpleName(), parameter.getMethod()));
 		}
 
-		ResourceMetadata metadata = resourceMetadataResolver.resolveArgument(parameter, mavContainer, request,
-				binderFactory);
+		RepositoryRequestContext context = contextResolver.getContext(parameter, request);
 
-		if (metadata == null) {
+		if (context.getResourceMetadata() == null) {
 			throw new IllegalArgumentException("Could not obtain ResourceMetadata for request " + request);
 		}
 
-		BackendIdConverter pluginFor = idConverters.getPluginFor(metadata.getDomainType(), DefaultIdConverter.INSTANCE);
-		String lookupPath = baseUri.getRepositoryLookupPath(request);
-		return pluginFor.fromRequestId(UriUtils.findMappingVariable("id", parameter, lookupPath), metadata.getDomainType());
+		return context.getBackendId();
 	}
 }
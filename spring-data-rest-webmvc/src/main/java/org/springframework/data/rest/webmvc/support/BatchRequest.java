@@ -0,0 +1,197 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpMethod;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * The body of a batch request, i.e. an ordered list of {@link Operation}s to be dispatched to the REST resources
+ * internally as well as flags controlling how they are executed.
+ * 
+ * @author Oliver Gierke
+ */
+public class BatchRequest {
+
+	private boolean atomic;
+	private boolean parallel;
+	private List<Operation> operations = new ArrayList<Operation>();
+
+	/**
+	 * Returns whether all operations shall be executed in a single transaction that is rolled back as soon as one of
+	 * them fails.
+	 * 
+	 * @return
+	 */
+	@JsonProperty("atomic")
+	public boolean isAtomic() {
+		return atomic;
+	}
+
+	public void setAtomic(boolean atomic) {
+		this.atomic = atomic;
+	}
+
+	/**
+	 * Returns whether the operations may be executed in parallel. Only considered if all operations are read-only.
+	 * 
+	 * @return
+	 */
+	@JsonProperty("parallel")
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Returns the {@link Operation}s in the order they shall be executed.
+	 * 
+	 * @return will never be {@literal null}.
+	 */
+	@JsonProperty("operations")
+	public List<Operation> getOperations() {
+		return operations;
+	}
+
+	public void setOperations(List<Operation> operations) {
+		this.operations = operations == null ? new ArrayList<Operation>() : operations;
+	}
+
+	/**
+	 * Returns whether none of the {@link Operation}s modifies any state.
+	 * 
+	 * @return
+	 */
+	@JsonIgnore
+	public boolean isReadOnly() {
+
+		for (Operation operation : operations) {
+			if (!operation.isReadOnly()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * A single request to be dispatched as part of a {@link BatchRequest}.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	public static class Operation {
+
+		private String id;
+		private HttpMethod method = HttpMethod.GET;
+		private String uri;
+		private Map<String, String> headers = new LinkedHashMap<String, String>();
+		private JsonNode body;
+
+		/**
+		 * Returns the client provided identifier to correlate the result with the operation.
+		 * 
+		 * @return can be {@literal null}.
+		 */
+		@JsonProperty("id")
+		public String getId() {
+			return id;
+		}
+
+		public void setId(String id) {
+			this.id = id;
+		}
+
+		/**
+		 * Returns the {@link HttpMethod} of the operation, {@link HttpMethod#GET} by default.
+		 * 
+		 * @return
+		 */
+		@JsonProperty("method")
+		public HttpMethod getMethod() {
+			return method;
+		}
+
+		public void setMethod(HttpMethod method) {
+			this.method = method == null ? HttpMethod.GET : method;
+		}
+
+		/**
+		 * Returns the URI of the resource the operation targets, relative to the base URI of the REST resources and
+		 * including an optional query string.
+		 * 
+		 * @return
+		 */
+		@JsonProperty("uri")
+		public String getUri() {
+			return uri;
+		}
+
+		public void setUri(String uri) {
+			this.uri = uri;
+		}
+
+		/**
+		 * Returns the request headers of the operation.
+		 * 
+		 * @return will never be {@literal null}.
+		 */
+		@JsonProperty("headers")
+		public Map<String, String> getHeaders() {
+			return Collections.unmodifiableMap(headers);
+		}
+
+		public void setHeaders(Map<String, String> headers) {
+			this.headers = headers == null ? new LinkedHashMap<String, String>() : headers;
+		}
+
+		/**
+		 * Returns the request body of the operation. Textual nodes are handed to the resource as is, everything else as
+		 * JSON.
+		 * 
+		 * @return can be {@literal null}.
+		 */
+		@JsonProperty("body")
+		public JsonNode getBody() {
+			return body;
+		}
+
+		public void setBody(JsonNode body) {
+			this.body = body;
+		}
+
+		/**
+		 * Returns whether the operation does not modify any state.
+		 * 
+		 * @return
+		 */
+		@JsonIgnore
+		public boolean isReadOnly() {
+			return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method);
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * JSON envelope for the responses to the operations of a {@link BatchRequest}, in the order the operations were
+ * submitted.
+ * 
+ * @author Oliver Gierke
+ */
+@JsonInclude(Include.NON_NULL)
+public class BatchResponse {
+
+	private final List<Result> results;
+	private final Boolean committed;
+
+	/**
+	 * Creates a new {@link BatchResponse} for the given {@link Result}s.
+	 * 
+	 * @param results must not be {@literal null}.
+	 * @param committed whether the transaction of an atomic batch was committed, {@literal null} for non-atomic ones.
+	 */
+	public BatchResponse(List<Result> results, Boolean committed) {
+
+		Assert.notNull(results, "Results must not be null!");
+
+		this.results = new ArrayList<Result>(results);
+		this.committed = committed;
+	}
+
+	@JsonProperty("results")
+	public List<Result> getResults() {
+		return Collections.unmodifiableList(results);
+	}
+
+	@JsonProperty("committed")
+	public Boolean getCommitted() {
+		return committed;
+	}
+
+	/**
+	 * The captured response of a single {@link BatchRequest.Operation}. JSON bodies are embedded as is, all other
+	 * bodies are rendered as text.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	@JsonInclude(Include.NON_NULL)
+	public static class Result {
+
+		private final String id;
+		private final int status;
+		private final Map<String, String> headers;
+		private final String body;
+		private final boolean json;
+
+		/**
+		 * Creates a new {@link Result}.
+		 * 
+		 * @param id the identifier of the operation, can be {@literal null}.
+		 * @param status the response status.
+		 * @param headers must not be {@literal null}.
+		 * @param body can be {@literal null}.
+		 * @param json whether the given body is JSON.
+		 */
+		public Result(String id, int status, Map<String, String> headers, String body, boolean json) {
+
+			Assert.notNull(headers, "Headers must not be null!");
+
+			this.id = id;
+			this.status = status;
+			this.headers = new LinkedHashMap<String, String>(headers);
+			this.body = body;
+			this.json = json;
+		}
+
+		/**
+		 * Creates a {@link Result} for an operation that was not executed.
+		 * 
+		 * @param id can be {@literal null}.
+		 * @param status must not be {@literal null}.
+		 * @return
+		 */
+		public static Result notExecuted(String id, HttpStatus status) {
+			return new Result(id, status.value(), Collections.<String, String> emptyMap(), null, false);
+		}
+
+		@JsonProperty("id")
+		public String getId() {
+			return id;
+		}
+
+		@JsonProperty("status")
+		public int getStatus() {
+			return status;
+		}
+
+		@JsonProperty("headers")
+		public Map<String, String> getHeaders() {
+			return headers.isEmpty() ? null : Collections.unmodifiableMap(headers);
+		}
+
+		@JsonRawValue
+		@JsonProperty("body")
+		public String getBody() {
+			return json && body != null && body.trim().length() > 0 ? body : null;
+		}
+
+		@JsonProperty("text")
+		public String getText() {
+			return json || body == null || body.length() == 0 ? null : body;
+		}
+
+		/**
+		 * Returns whether the operation was executed successfully.
+		 * 
+		 * @return
+		 */
+		@JsonIgnore
+		public boolean isSuccessful() {
+			return status < 400;
+		}
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Compact, per item outcome of an operation on multiple entities. Every {@link Item} refers to the position of the
+ * entity in the request and carries the resulting status as well as either the location of the affected resource or
+ * an error message. Representations of the entities themselves are never included.
+ * 
+ * @author Oliver Gierke
+ */
+public class BulkOperationResult {
+
+	private final List<Item> items = new ArrayList<Item>();
+
+	/**
+	 * Records the successful processing of the item at the given index.
+	 * 
+	 * @param index the position of the item in the request.
+	 * @param status must not be {@literal null}.
+	 * @param location can be {@literal null}.
+	 */
+	public void success(int index, HttpStatus status, URI location) {
+		add(new Item(index, status, location, null));
+	}
+
+	/**
+	 * Records the failure to process the item at the given index.
+	 * 
+	 * @param index the position of the item in the request.
+	 * @param status must not be {@literal null}.
+	 * @param message can be {@literal null}.
+	 */
+	public void failure(int index, HttpStatus status, String message) {
+		add(new Item(index, status, null, message));
+	}
+
+	/**
+	 * Returns all recorded {@link Item}s ordered by their index.
+	 * 
+	 * @return
+	 */
+	@JsonProperty("items")
+	public List<Item> getItems() {
+
+		Collections.sort(items);
+		return Collections.unmodifiableList(items);
+	}
+
+	/**
+	 * Returns whether all items were processed successfully.
+	 * 
+	 * @return
+	 */
+	@JsonIgnore
+	public boolean isSuccessful() {
+
+		for (Item item : items) {
+			if (!item.isSuccessful()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the overall {@link HttpStatus} of the operation, i.e. the given one if all items were processed
+	 * successfully and {@code 207 Multi-Status} otherwise.
+	 * 
+	 * @param success must not be {@literal null}.
+	 * @return
+	 */
+	public HttpStatus getStatus(HttpStatus success) {
+
+		Assert.notNull(success, "Success status must not be null!");
+		return isSuccessful() ? success : HttpStatus.MULTI_STATUS;
+	}
+
+	private void add(Item item) {
+		items.add(item);
+	}
+
+	/**
+	 * The outcome for a single item of a {@link BulkOperationResult}.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	@JsonInclude(Include.NON_NULL)
+	public static class Item implements Comparable<Item> {
+
+		private final int index;
+		private final HttpStatus status;
+		private final URI location;
+		private final String message;
+
+		private Item(int index, HttpStatus status, URI location, String message) {
+
+			Assert.notNull(status, "Status must not be null!");
+
+			this.index = index;
+			this.status = status;
+			this.location = location;
+			this.message = message;
+		}
+
+		@JsonProperty("index")
+		public int getIndex() {
+			return index;
+		}
+
+		@JsonProperty("status")
+		public int getStatus() {
+			return status.value();
+		}
+
+		@JsonProperty("location")
+		public URI getLocation() {
+			return location;
+		}
+
+		@JsonProperty("message")
+		public String getMessage() {
+			return message;
+		}
+
+		@JsonIgnore
+		public boolean isSuccessful() {
+			return status.series() == HttpStatus.Series.SUCCESSFUL;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Comparable#compareTo(java.lang.Object)
+		 */
+		@Override
+		public int compareTo(Item that) {
+			return index < that.index ? -1 : index == that.index ? 0 : 1;
+		}
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.rest.core.config.BulkheadConfiguration.Priority;
+import org.springframework.util.Assert;
+
+/**
+ * Bounds the number of concurrent invocations of a single repository using fair {@link Semaphore}s. Invocations of
+ * lower {@link Priority} classes may only occupy their share of the overall capacity. Invocations not admitted
+ * immediately wait for a limited amount of time as long as the number of waiting invocations doesn't exceed the
+ * configured maximum. Keeps track of the number of admitted and rejected invocations as well as the time spent
+ * waiting.
+ * 
+ * @author Oliver Gierke
+ */
+public class Bulkhead {
+
+	private final int capacity;
+	private final int maxWaitingCalls;
+	private final long maxWaitNanos;
+	private final Semaphore permits;
+	private final Map<Priority, Semaphore> shares;
+
+	private final AtomicInteger waitingCalls = new AtomicInteger();
+	private final AtomicLong acceptedCalls = new AtomicLong();
+	private final AtomicLong rejectedCalls = new AtomicLong();
+	private final AtomicLong waitNanos = new AtomicLong();
+
+	/**
+	 * Creates a new {@link Bulkhead} with the given capacity and wait queue.
+	 * 
+	 * @param capacity the number of concurrent invocations, must be greater than 0.
+	 * @param maxWaitingCalls the number of invocations that may wait for admission, must not be negative.
+	 * @param maxWaitTime the number of milliseconds an invocation waits for admission, must not be negative.
+	 */
+	public Bulkhead(int capacity, int maxWaitingCalls, long maxWaitTime) {
+
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0!");
+		Assert.isTrue(maxWaitingCalls >= 0, "Maximum number of waiting calls must not be negative!");
+		Assert.isTrue(maxWaitTime >= 0, "Maximum wait time must not be negative!");
+
+		this.capacity = capacity;
+		this.maxWaitingCalls = maxWaitingCalls;
+		this.maxWaitNanos = MILLISECONDS.toNanos(maxWaitTime);
+		this.permits = new Semaphore(capacity, true);
+		this.shares = new EnumMap<Priority, Semaphore>(Priority.class);
+
+		for (Priority priority : Priority.values()) {
+			shares.put(priority, new Semaphore(priority.getPermits(capacity), true));
+		}
+	}
+
+	/**
+	 * Tries to admit an invocation of the given {@link Priority}. Admitted invocations have to be completed by calling
+	 * {@link #release(Priority)}.
+	 * 
+	 * @param priority must not be {@literal null}.
+	 * @return whether the invocation was admitted.
+	 */
+	public boolean tryAcquire(Priority priority) {
+
+		Assert.notNull(priority, "Priority must not be null!");
+
+		Semaphore share = shares.get(priority);
+		boolean waiting = false;
+		long start = System.nanoTime();
+
+		try {
+
+			if (tryAcquire(share, 0)) {
+				acceptedCalls.incrementAndGet();
+				return true;
+			}
+
+			if (waitingCalls.incrementAndGet() > maxWaitingCalls) {
+				waitingCalls.decrementAndGet();
+				rejectedCalls.incrementAndGet();
+				return false;
+			}
+
+			waiting = true;
+
+			if (tryAcquire(share, maxWaitNanos)) {
+				acceptedCalls.incrementAndGet();
+				return true;
+			}
+
+			rejectedCalls.incrementAndGet();
+			return false;
+
+		} catch (InterruptedException o_O) {
+
+			Thread.currentThread().interrupt();
+			rejectedCalls.incrementAndGet();
+			return false;
+
+		} finally {
+
+			if (waiting) {
+				waitingCalls.decrementAndGet();
+				waitNanos.addAndGet(System.nanoTime() - start);
+			}
+		}
+	}
+
+	/**
+	 * Completes an invocation of the given {@link Priority} previously admitted by {@link #tryAcquire(Priority)}.
+	 * 
+	 * @param priority must not be {@literal null}.
+	 */
+	public void release(Priority priority) {
+
+		Assert.notNull(priority, "Priority must not be null!");
+
+		permits.release();
+		shares.get(priority).release();
+	}
+
+	/**
+	 * Returns the number of concurrent invocations admitted.
+	 * 
+	 * @return
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of invocations currently executing.
+	 * 
+	 * @return
+	 */
+	public int getActiveCalls() {
+		return capacity - permits.availablePermits();
+	}
+
+	/**
+	 * Returns the number of invocations currently waiting for admission.
+	 * 
+	 * @return
+	 */
+	public int getQueueDepth() {
+		return waitingCalls.get();
+	}
+
+	/**
+	 * Returns the total number of admitted invocations.
+	 * 
+	 * @return
+	 */
+	public long getAcceptedCalls() {
+		return acceptedCalls.get();
+	}
+
+	/**
+	 * Returns the total number of rejected invocations.
+	 * 
+	 * @return
+	 */
+	public long getRejectedCalls() {
+		return rejectedCalls.get();
+	}
+
+	/**
+	 * Returns the total number of milliseconds invocations spent waiting for admission.
+	 * 
+	 * @return
+	 */
+	public long getWaitTime() {
+		return NANOSECONDS.toMillis(waitNanos.get());
+	}
+
+	private boolean tryAcquire(Semaphore share, long timeoutNanos) throws InterruptedException {
+
+		long deadline = System.nanoTime() + timeoutNanos;
+
+		if (!share.tryAcquire(timeoutNanos, NANOSECONDS)) {
+			return false;
+		}
+
+		if (permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), NANOSECONDS)) {
+			return true;
+		}
+
+		share.release();
+		return false;
+	}
+}
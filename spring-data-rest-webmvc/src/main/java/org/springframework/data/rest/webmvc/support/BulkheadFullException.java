@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+/**
+ * Indicates an invocation was rejected as the {@link Bulkhead} of the repository is saturated.
+ * 
+ * @author Oliver Gierke
+ */
+public class BulkheadFullException extends RuntimeException {
+
+	private static final long serialVersionUID = 4270612484617357153L;
+
+	private final int retryAfter;
+
+	/**
+	 * Creates a new {@link BulkheadFullException} for the given domain type.
+	 * 
+	 * @param domainType the domain type of the saturated repository.
+	 * @param retryAfter the number of seconds clients are advised to wait before retrying.
+	 */
+	public BulkheadFullException(Class<?> domainType, int retryAfter) {
+
+		super(String.format("Repository for %s is saturated!", domainType.getName()));
+		this.retryAfter = retryAfter;
+	}
+
+	/**
+	 * Returns the number of seconds clients are advised to wait before retrying.
+	 * 
+	 * @return
+	 */
+	public int getRetryAfter() {
+		return retryAfter;
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.rest.core.event.AfterCreateEvent;
+import org.springframework.data.rest.core.event.AfterDeleteEvent;
+import org.springframework.data.rest.core.event.RepositoryEvent;
+import org.springframework.data.rest.core.invoke.RepositoryInvoker;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TotalCountStrategy} memoizing the totals calculated by a delegate per domain type and request parameters for
+ * a configurable amount of time. Cached totals of a domain type are dropped as soon as an {@link AfterCreateEvent} or
+ * {@link AfterDeleteEvent} is published for one of its instances. Changes made without going through the exporter
+ * become visible once the cached total expires.
+ *
+ * @author Oliver Gierke
+ */
+public class CachingTotalCountStrategy implements TotalCountStrategy, ApplicationListener<RepositoryEvent> {
+
+	static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	private final TotalCountStrategy delegate;
+	private final long timeToLive;
+	private final int maxEntries;
+	private final Map<CacheKey, CachedTotal> cache = new ConcurrentHashMap<CacheKey, CachedTotal>();
+
+	/**
+	 * Creates a new {@link CachingTotalCountStrategy} caching the totals of the given delegate for the given number of
+	 * milliseconds.
+	 *
+	 * @param delegate must not be {@literal null}.
+	 * @param timeToLive must be greater than 0.
+	 */
+	public CachingTotalCountStrategy(TotalCountStrategy delegate, long timeToLive) {
+		this(delegate, timeToLive, DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * Creates a new {@link CachingTotalCountStrategy} caching at most the given number of totals of the given delegate
+	 * for the given number of milliseconds.
+	 *
+	 * @param delegate must not be {@literal null}.
+	 * @param timeToLive must be greater than 0.
+	 * @param maxEntries must be greater than 0.
+	 */
+	public CachingTotalCountStrategy(TotalCountStrategy delegate, long timeToLive, int maxEntries) {
+
+		Assert.notNull(delegate, "Delegate TotalCountStrategy must not be null!");
+		Assert.isTrue(timeToLive > 0, "Time to live must be greater than 0!");
+		Assert.isTrue(maxEntries > 0, "Maximum number of entries must be greater than 0!");
+
+		this.delegate = delegate;
+		this.timeToLive = timeToLive;
+		this.maxEntries = maxEntries;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.webmvc.support.TotalCountStrategy#getTotalCount(java.lang.Class, java.util.Map, org.springframework.data.rest.core.invoke.RepositoryInvoker)
+	 */
+	@Override
+	public TotalCount getTotalCount(Class<?> domainType, Map<String, String[]> parameters, RepositoryInvoker invoker) {
+
+		CacheKey key = new CacheKey(domainType, parameters);
+		CachedTotal cached = cache.get(key);
+		long now = System.currentTimeMillis();
+
+		if (cached != null && cached.expires > now) {
+			return cached.total;
+		}
+
+		TotalCount total = delegate.getTotalCount(domainType, parameters, invoker);
+
+		if (cache.size() >= maxEntries) {
+			evictExpired(now);
+		}
+
+		if (cache.size() < maxEntries) {
+			cache.put(key, new CachedTotal(total, now + timeToLive));
+		}
+
+		return total;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.ApplicationListener#onApplicationEvent(org.springframework.context.ApplicationEvent)
+	 */
+	@Override
+	public void onApplicationEvent(RepositoryEvent event) {
+
+		if (!(event instanceof AfterCreateEvent) && !(event instanceof AfterDeleteEvent)) {
+			return;
+		}
+
+		Class<?> type = event.getSource().getClass();
+
+		for (Iterator<CacheKey> iterator = cache.keySet().iterator(); iterator.hasNext();) {
+			if (iterator.next().domainType.isAssignableFrom(type)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private void evictExpired(long now) {
+
+		for (Iterator<Entry<CacheKey, CachedTotal>> iterator = cache.entrySet().iterator(); iterator.hasNext();) {
+			if (iterator.next().getValue().expires <= now) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private static class CachedTotal {
+
+		final TotalCount total;
+		final long expires;
+
+		public CachedTotal(TotalCount total, long expires) {
+
+			this.total = total;
+			this.expires = expires;
+		}
+	}
+
+	/**
+	 * Cache key consisting of the domain type and a canonical representation of the request parameters.
+	 *
+	 * @author Oliver Gierke
+	 */
+	private static class CacheKey {
+
+		final Class<?> domainType;
+		private final String signature;
+
+		public CacheKey(Class<?> domainType, Map<String, String[]> parameters) {
+
+			StringBuilder builder = new StringBuilder();
+
+			for (Entry<String, String[]> entry : new TreeMap<String, String[]>(parameters).entrySet()) {
+				builder.append(entry.getKey()).append('=').append(Arrays.toString(entry.getValue())).append('&');
+			}
+
+			this.domainType = domainType;
+			this.signature = builder.toString();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+
+			CacheKey that = (CacheKey) obj;
+			return this.domainType.equals(that.domainType) && this.signature.equals(that.signature);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return domainType.hashCode() * 31 + signature.hashCode();
+		}
+	}
+}
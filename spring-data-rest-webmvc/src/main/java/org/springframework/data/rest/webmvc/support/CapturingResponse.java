@@ -0,0 +1,208 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link HttpServletResponseWrapper} to capture the body written to a response. Either passes the body on to the
+ * wrapped response while capturing it or buffers it entirely so that it can be inspected before being sent using
+ * {@link #writeCapturedBody()}.
+ * 
+ * @author Oliver Gierke
+ */
+public class CapturingResponse extends HttpServletResponseWrapper {
+
+	private final ByteArrayOutputStream capture = new ByteArrayOutputStream();
+	private final boolean buffered;
+
+	private ServletOutputStream outputStream;
+	private PrintWriter writer;
+	private int status = SC_OK;
+
+	/**
+	 * Creates a new {@link CapturingResponse} for the given response.
+	 * 
+	 * @param response must not be {@literal null}.
+	 * @param buffered whether to hold back the body instead of passing it on to the given response.
+	 */
+	public CapturingResponse(HttpServletResponse response, boolean buffered) {
+
+		super(response);
+		this.buffered = buffered;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.servlet.ServletResponseWrapper#getOutputStream()
+	 */
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+
+		if (outputStream == null) {
+
+			final ServletOutputStream delegate = buffered ? null : super.getOutputStream();
+
+			outputStream = new ServletOutputStream() {
+
+				@Override
+				public void write(int b) throws IOException {
+
+					capture.write(b);
+
+					if (delegate != null) {
+						delegate.write(b);
+					}
+				}
+
+				@Override
+				public void write(byte[] b, int off, int len) throws IOException {
+
+					capture.write(b, off, len);
+
+					if (delegate != null) {
+						delegate.write(b, off, len);
+					}
+				}
+
+				@Override
+				public void flush() throws IOException {
+
+					if (delegate != null) {
+						delegate.flush();
+					}
+				}
+			};
+		}
+
+		return outputStream;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.servlet.ServletResponseWrapper#getWriter()
+	 */
+	@Override
+	public PrintWriter getWriter() throws IOException {
+
+		if (writer == null) {
+			writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+		}
+
+		return writer;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.servlet.ServletResponseWrapper#flushBuffer()
+	 */
+	@Override
+	public void flushBuffer() throws IOException {
+
+		if (!buffered) {
+			super.flushBuffer();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.servlet.ServletResponseWrapper#setContentLength(int)
+	 */
+	@Override
+	public void setContentLength(int len) {
+
+		if (!buffered) {
+			super.setContentLength(len);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.servlet.http.HttpServletResponseWrapper#setStatus(int)
+	 */
+	@Override
+	public void setStatus(int sc) {
+		super.setStatus(sc);
+		this.status = sc;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.servlet.http.HttpServletResponseWrapper#sendError(int)
+	 */
+	@Override
+	public void sendError(int sc) throws IOException {
+		super.sendError(sc);
+		this.status = sc;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.servlet.http.HttpServletResponseWrapper#sendError(int, java.lang.String)
+	 */
+	@Override
+	public void sendError(int sc, String msg) throws IOException {
+		super.sendError(sc, msg);
+		this.status = sc;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.servlet.http.HttpServletResponseWrapper#getStatus()
+	 */
+	@Override
+	public int getStatus() {
+		return status;
+	}
+
+	/**
+	 * Returns the body written to the response so far.
+	 * 
+	 * @return
+	 */
+	public byte[] getCapturedBody() {
+
+		if (writer != null) {
+			writer.flush();
+		}
+
+		return capture.toByteArray();
+	}
+
+	/**
+	 * Sends the buffered body to the wrapped response.
+	 * 
+	 * @throws IOException
+	 */
+	public void writeCapturedBody() throws IOException {
+
+		Assert.state(buffered, "Body has already been passed on to the response!");
+
+		byte[] body = getCapturedBody();
+
+		getResponse().setContentLength(body.length);
+		getResponse().getOutputStream().write(body);
+	}
+}
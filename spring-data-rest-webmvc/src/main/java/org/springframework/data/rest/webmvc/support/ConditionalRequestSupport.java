@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Helper to evaluate conditional requests against the {@link ETag}s of item resources, i.e. {@code If-None-Match} on
+ * reads and {@code If-Match} on writes. The latter uses strong comparison, so weak entity tags never match. For
+ * entities with a numeric version property managed by a repository implementing {@code JpaSpecificationExecutor},
+ * mismatching {@code If-Match} headers can be rejected with a single count query before loading the entity.
+ * 
+ * @author Oliver Gierke
+ */
+public class ConditionalRequestSupport {
+
+	private static final boolean IS_JPA_AVAILABLE = ClassUtils.isPresent(
+			"org.springframework.data.jpa.repository.JpaSpecificationExecutor",
+			ConditionalRequestSupport.class.getClassLoader());
+
+	private final Repositories repositories;
+	private final ConversionService conversionService;
+
+	/**
+	 * Creates a new {@link ConditionalRequestSupport} for the given {@link Repositories} and {@link ConversionService}.
+	 * 
+	 * @param repositories must not be {@literal null}.
+	 * @param conversionService must not be {@literal null}.
+	 */
+	public ConditionalRequestSupport(Repositories repositories, ConversionService conversionService) {
+
+		Assert.notNull(repositories, "Repositories must not be null!");
+		Assert.notNull(conversionService, "ConversionService must not be null!");
+
+		this.repositories = repositories;
+		this.conversionService = conversionService;
+	}
+
+	/**
+	 * Returns the {@link ETag} derived from the version property of the given entity, {@literal null} if it does not
+	 * have one.
+	 * 
+	 * @param bean must not be {@literal null}.
+	 * @return
+	 */
+	public ETag getETag(Object bean) {
+
+		Assert.notNull(bean, "Bean must not be null!");
+
+		PersistentEntity<?, ?> entity = repositories.getPersistentEntity(bean.getClass());
+		return entity == null ? null : ETag.from(entity, bean);
+	}
+
+	/**
+	 * Returns whether the item resources of the given domain type get an {@link ETag} derived from a version property.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @return
+	 */
+	public boolean hasVersionProperty(Class<?> domainType) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+
+		PersistentEntity<?, ?> entity = repositories.getPersistentEntity(domainType);
+		return entity != null && entity.hasVersionProperty();
+	}
+
+	/**
+	 * Returns whether the version of entities of the given domain type can be checked without loading them.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @return
+	 */
+	public boolean supportsVersionLookup(Class<?> domainType) {
+
+		if (!IS_JPA_AVAILABLE || !hasVersionProperty(domainType)) {
+			return false;
+		}
+
+		PersistentProperty<?> versionProperty = repositories.getPersistentEntity(domainType).getVersionProperty();
+
+		return Number.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(versionProperty.getType()))
+				&& JpaVersionQueries.supports(repositories.getRepositoryFor(domainType));
+	}
+
+	/**
+	 * Rejects the given {@code If-Match} header early if the entity with the given identifier doesn't currently have a
+	 * matching version, without loading it. A no-op if not supported for the domain type. As the entity might change
+	 * before it is loaded, the header still has to be verified against the loaded entity using
+	 * {@link #verifyIfMatch(Object, String)}.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 * @param ifMatch can be {@literal null}.
+	 * @throws ETagDoesntMatchException if the entity doesn't exist or has a different version.
+	 */
+	public void preverifyIfMatch(Class<?> domainType, Serializable id, String ifMatch) {
+
+		List<ETag> etags = ETag.parseStrong(ifMatch);
+
+		if (etags.isEmpty() || !supportsVersionLookup(domainType)) {
+			return;
+		}
+
+		if (!hasVersion(domainType, id, etags)) {
+			throw new ETagDoesntMatchException(null);
+		}
+	}
+
+	/**
+	 * Verifies the given {@code If-Match} header against the {@link ETag} of the given entity. Entities without a
+	 * version property only have to exist.
+	 * 
+	 * @param bean can be {@literal null}.
+	 * @param ifMatch can be {@literal null}.
+	 * @throws ETagDoesntMatchException if the entity doesn't exist or has a different version.
+	 */
+	public void verifyIfMatch(Object bean, String ifMatch) {
+
+		if (ifMatch == null) {
+			return;
+		}
+
+		if (bean == null) {
+			throw new ETagDoesntMatchException(null);
+		}
+
+		ETag current = getETag(bean);
+
+		if (current != null && !current.matchesStrongly(ifMatch)) {
+			throw new ETagDoesntMatchException(current);
+		}
+	}
+
+	/**
+	 * Returns whether the entity with the given identifier currently has a version matching one of the given
+	 * {@link ETag}s. Must only be called if {@link #supportsVersionLookup(Class)} returns {@literal true}.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 * @param etags must not be {@literal null}.
+	 * @return
+	 */
+	public boolean hasVersion(Class<?> domainType, Serializable id, List<ETag> etags) {
+
+		Assert.notNull(id, "Id must not be null!");
+		Assert.notNull(etags, "ETags must not be null!");
+		Assert.isTrue(supportsVersionLookup(domainType), "Version lookups not supported for " + domainType + "!");
+
+		PersistentEntity<?, ?> entity = repositories.getPersistentEntity(domainType);
+		PersistentProperty<?> idProperty = entity.getIdProperty();
+		PersistentProperty<?> versionProperty = entity.getVersionProperty();
+
+		List<Object> versions = new ArrayList<Object>(etags.size());
+
+		for (ETag etag : etags) {
+			try {
+				versions.add(conversionService.convert(etag.getValue(), versionProperty.getType()));
+			} catch (ConversionException o_O) {
+				// not a version of this entity
+			}
+		}
+
+		if (versions.isEmpty()) {
+			return false;
+		}
+
+		return JpaVersionQueries.hasVersion(repositories.getRepositoryFor(domainType), idProperty.getName(),
+				conversionService.convert(id, idProperty.getType()), versionProperty.getName(), versions);
+	}
+}
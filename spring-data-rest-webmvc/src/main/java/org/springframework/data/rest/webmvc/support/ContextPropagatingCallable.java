@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link Callable} to hand the thread bound contexts of the thread it is created on to the one executing it. Propagates
+ * the {@link LocaleContext} as well as the Spring Security {@code SecurityContext} if Spring Security is on the
+ * classpath, so that repositories secured on the method level see the principal of the request. The previous contexts
+ * of the executing thread are restored afterwards.
+ * 
+ * @author Oliver Gierke
+ */
+public class ContextPropagatingCallable<T> implements Callable<T> {
+
+	private static final String SECURITY_CONTEXT_HOLDER = "org.springframework.security.core.context.SecurityContextHolder";
+	private static final Method GET_SECURITY_CONTEXT;
+	private static final Method SET_SECURITY_CONTEXT;
+
+	static {
+
+		ClassLoader classLoader = ContextPropagatingCallable.class.getClassLoader();
+
+		if (ClassUtils.isPresent(SECURITY_CONTEXT_HOLDER, classLoader)) {
+
+			Class<?> holder = ClassUtils.resolveClassName(SECURITY_CONTEXT_HOLDER, classLoader);
+
+			GET_SECURITY_CONTEXT = ReflectionUtils.findMethod(holder, "getContext");
+			SET_SECURITY_CONTEXT = ReflectionUtils.findMethod(holder, "setContext", GET_SECURITY_CONTEXT.getReturnType());
+
+		} else {
+
+			GET_SECURITY_CONTEXT = null;
+			SET_SECURITY_CONTEXT = null;
+		}
+	}
+
+	private final Callable<T> delegate;
+	private final LocaleContext localeContext;
+	private final Object securityContext;
+
+	/**
+	 * Creates a new {@link ContextPropagatingCallable} for the given delegate capturing the contexts of the current
+	 * thread.
+	 * 
+	 * @param delegate must not be {@literal null}.
+	 */
+	public ContextPropagatingCallable(Callable<T> delegate) {
+
+		Assert.notNull(delegate, "Delegate must not be null!");
+
+		this.delegate = delegate;
+		this.localeContext = LocaleContextHolder.getLocaleContext();
+		this.securityContext = getSecurityContext();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.concurrent.Callable#call()
+	 */
+	@Override
+	public T call() throws Exception {
+
+		LocaleContext previousLocaleContext = LocaleContextHolder.getLocaleContext();
+		Object previousSecurityContext = getSecurityContext();
+
+		LocaleContextHolder.setLocaleContext(localeContext);
+		setSecurityContext(securityContext);
+
+		try {
+			return delegate.call();
+		} finally {
+			LocaleContextHolder.setLocaleContext(previousLocaleContext);
+			setSecurityContext(previousSecurityContext);
+		}
+	}
+
+	private static Object getSecurityContext() {
+		return GET_SECURITY_CONTEXT == null ? null : ReflectionUtils.invokeMethod(GET_SECURITY_CONTEXT, null);
+	}
+
+	private static void setSecurityContext(Object context) {
+
+		if (SET_SECURITY_CONTEXT != null && context != null) {
+			ReflectionUtils.invokeMethod(SET_SECURITY_CONTEXT, null, context);
+		}
+	}
+}
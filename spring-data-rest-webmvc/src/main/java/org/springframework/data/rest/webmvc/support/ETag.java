@@ -0,0 +1,232 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.model.BeanWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * A strong entity tag of an item resource, either derived from the version property of the entity or from a hash of
+ * its representation.
+ * 
+ * @author Oliver Gierke
+ */
+public final class ETag {
+
+	/**
+	 * Value of {@code If-Match} and {@code If-None-Match} headers matching any entity tag.
+	 */
+	public static final String ANY = "*";
+
+	private final String value;
+
+	private ETag(String value) {
+		this.value = value;
+	}
+
+	/**
+	 * Returns the {@link ETag} for the given raw value, {@literal null} if the value is {@literal null}.
+	 * 
+	 * @param value can be {@literal null}.
+	 * @return
+	 */
+	public static ETag from(Object value) {
+		return value == null ? null : new ETag(value.toString());
+	}
+
+	/**
+	 * Returns the {@link ETag} derived from the value of the version property of the given entity, {@literal null} if
+	 * the entity type does not have a version property or the version is not set.
+	 * 
+	 * @param entity must not be {@literal null}.
+	 * @param bean must not be {@literal null}.
+	 * @return
+	 */
+	public static ETag from(PersistentEntity<?, ?> entity, Object bean) {
+
+		Assert.notNull(entity, "PersistentEntity must not be null!");
+		Assert.notNull(bean, "Bean must not be null!");
+
+		PersistentProperty<?> versionProperty = entity.getVersionProperty();
+		return versionProperty == null ? null : from(BeanWrapper.create(bean, null).getProperty(versionProperty));
+	}
+
+	/**
+	 * Returns the {@link ETag} calculated from a hash of the given representation.
+	 * 
+	 * @param representation must not be {@literal null}.
+	 * @return
+	 */
+	public static ETag fromRepresentation(byte[] representation) {
+
+		Assert.notNull(representation, "Representation must not be null!");
+		return new ETag(DigestUtils.md5DigestAsHex(representation));
+	}
+
+	/**
+	 * Parses the entity tags listed in the given {@code If-None-Match} header value for weak comparison. Weak entity
+	 * tags are returned without their weakness indicator.
+	 * 
+	 * @param header can be {@literal null}.
+	 * @return the {@link ETag}s, never {@literal null}.
+	 */
+	public static List<ETag> parse(String header) {
+		return parse(header, true);
+	}
+
+	/**
+	 * Parses the entity tags listed in the given {@code If-Match} header value for strong comparison, i.e. weak entity
+	 * tags are dropped.
+	 * 
+	 * @param header can be {@literal null}.
+	 * @return the {@link ETag}s, never {@literal null}.
+	 */
+	public static List<ETag> parseStrong(String header) {
+		return parse(header, false);
+	}
+
+	private static List<ETag> parse(String header, boolean includeWeak) {
+
+		if (!StringUtils.hasText(header) || ANY.equals(header.trim())) {
+			return Collections.emptyList();
+		}
+
+		List<ETag> result = new ArrayList<ETag>();
+
+		for (String candidate : StringUtils.commaDelimitedListToStringArray(header)) {
+
+			String value = candidate.trim();
+
+			if (value.startsWith("W/")) {
+
+				if (!includeWeak) {
+					continue;
+				}
+
+				value = value.substring(2);
+			}
+
+			if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+				value = value.substring(1, value.length() - 1);
+			}
+
+			if (StringUtils.hasText(value)) {
+				result.add(new ETag(value));
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns whether the given {@code If-None-Match} header value matches the {@link ETag} using weak comparison.
+	 * 
+	 * @param header can be {@literal null}.
+	 * @return
+	 */
+	public boolean matches(String header) {
+
+		if (header == null) {
+			return false;
+		}
+
+		return ANY.equals(header.trim()) || parse(header).contains(this);
+	}
+
+	/**
+	 * Returns whether the given {@code If-Match} header value matches the {@link ETag} using strong comparison, i.e. weak
+	 * entity tags never match.
+	 * 
+	 * @param header can be {@literal null}.
+	 * @return
+	 */
+	public boolean matchesStrongly(String header) {
+
+		if (header == null) {
+			return false;
+		}
+
+		return ANY.equals(header.trim()) || parseStrong(header).contains(this);
+	}
+
+	/**
+	 * Returns the raw value of the {@link ETag}, i.e. without quotes.
+	 * 
+	 * @return
+	 */
+	public String getValue() {
+		return value;
+	}
+
+	/**
+	 * Adds the {@link ETag} to the given {@link HttpHeaders}.
+	 * 
+	 * @param headers must not be {@literal null}.
+	 * @return the given {@link HttpHeaders}.
+	 */
+	public HttpHeaders addTo(HttpHeaders headers) {
+
+		Assert.notNull(headers, "HttpHeaders must not be null!");
+
+		headers.setETag(toString());
+		return headers;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "\"" + value + "\"";
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof ETag)) {
+			return false;
+		}
+
+		return value.equals(((ETag) obj).value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return value.hashCode();
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+/**
+ * Indicates the {@code If-Match} header of a request doesn't match the current {@link ETag} of the item resource.
+ * 
+ * @author Oliver Gierke
+ */
+public class ETagDoesntMatchException extends RuntimeException {
+
+	private static final long serialVersionUID = -5178591413582424591L;
+
+	private final ETag currentETag;
+
+	/**
+	 * Creates a new {@link ETagDoesntMatchException} for the given current {@link ETag}.
+	 * 
+	 * @param currentETag the current {@link ETag} of the item resource, {@literal null} if the resource doesn't exist or
+	 *          its {@link ETag} was not looked up.
+	 */
+	public ETagDoesntMatchException(ETag currentETag) {
+
+		super(currentETag == null ? "Precondition failed!" : String.format("Precondition failed, current ETag is %s!",
+				currentETag));
+		this.currentETag = currentETag;
+	}
+
+	/**
+	 * Returns the current {@link ETag} of the item resource.
+	 * 
+	 * @return can be {@literal null}.
+	 */
+	public ETag getCurrentETag() {
+		return currentETag;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.Map;
+
+import org.springframework.data.rest.core.invoke.RepositoryInvoker;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TotalCountStrategy} reporting the estimate of a {@link TotalCountEstimator} for unfiltered collection
+ * resources. Falls back to the given delegate in case request parameters restrict the elements to count or the
+ * estimator cannot provide an estimate.
+ *
+ * @author Oliver Gierke
+ */
+public class EstimatingTotalCountStrategy implements TotalCountStrategy {
+
+	private final TotalCountEstimator estimator;
+	private final TotalCountStrategy delegate;
+
+	/**
+	 * Creates a new {@link EstimatingTotalCountStrategy} for the given {@link TotalCountEstimator} and fallback
+	 * {@link TotalCountStrategy}.
+	 *
+	 * @param estimator must not be {@literal null}.
+	 * @param delegate must not be {@literal null}.
+	 */
+	public EstimatingTotalCountStrategy(TotalCountEstimator estimator, TotalCountStrategy delegate) {
+
+		Assert.notNull(estimator, "TotalCountEstimator must not be null!");
+		Assert.notNull(delegate, "Delegate TotalCountStrategy must not be null!");
+
+		this.estimator = estimator;
+		this.delegate = delegate;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.webmvc.support.TotalCountStrategy#getTotalCount(java.lang.Class, java.util.Map, org.springframework.data.rest.core.invoke.RepositoryInvoker)
+	 */
+	@Override
+	public TotalCount getTotalCount(Class<?> domainType, Map<String, String[]> parameters, RepositoryInvoker invoker) {
+
+		Long estimate = parameters.isEmpty() ? estimator.estimate(domainType) : null;
+		return estimate == null ? delegate.getTotalCount(domainType, parameters, invoker) : TotalCount
+				.estimated(Math.max(estimate, 0));
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.Map;
+
+import org.springframework.data.rest.core.invoke.RepositoryInvoker;
+
+/**
+ * {@link TotalCountStrategy} issuing a count query through the repository for every request.
+ *
+ * @author Oliver Gierke
+ */
+public class ExactTotalCountStrategy implements TotalCountStrategy {
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.webmvc.support.TotalCountStrategy#getTotalCount(java.lang.Class, java.util.Map, org.springframework.data.rest.core.invoke.RepositoryInvoker)
+	 */
+	@Override
+	public TotalCount getTotalCount(Class<?> domainType, Map<String, String[]> parameters, RepositoryInvoker invoker) {
+		return TotalCount.exact(invoker.invokeCount());
+	}
+}
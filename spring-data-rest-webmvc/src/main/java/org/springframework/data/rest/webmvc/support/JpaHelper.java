@@ -1,7 +1,10 @@
 package org.springframework.data.rest.webmvc.support;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
 import javax.persistence.EntityManagerFactory;
 
 import org.springframework.beans.BeansException;
@@ -9,7 +12,9 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.orm.jpa.EntityManagerHolder;
 import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.context.request.WebRequestInterceptor;
 
 /**
@@ -35,4 +40,26 @@ public class JpaHelper implements BeanFactoryAware {
 		return interceptor;
 	}
 
+	/**
+	 * Returns the {@link EntityManagerHolder}s bound to the current thread that were opened in view, i.e. the ones not
+	 * participating in a transaction, keyed by their {@link EntityManagerFactory}.
+	 * 
+	 * @return will never be {@literal null}.
+	 */
+	public static Map<Object, Object> getEntityManagersOpenedInView() {
+
+		Map<Object, Object> result = new HashMap<Object, Object>();
+
+		for (Map.Entry<Object, Object> entry : TransactionSynchronizationManager.getResourceMap().entrySet()) {
+
+			Object value = entry.getValue();
+
+			if (value instanceof EntityManagerHolder && !((EntityManagerHolder) value).isSynchronizedWithTransaction()) {
+				result.put(entry.getKey(), value);
+			}
+		}
+
+		return result;
+	}
+
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.domain.Sort.Order;
+
+/**
+ * Turns the key values of a {@link KeysetPageRequest} into a JPA range predicate. Only to be touched if JPA is on the
+ * classpath.
+ *
+ * @author Oliver Gierke
+ */
+abstract class JpaKeysetQueries {
+
+	private JpaKeysetQueries() {}
+
+	/**
+	 * Returns the {@link Predicate} selecting all elements sorted after the element with the key values of the given
+	 * {@link KeysetPageRequest}, i.e. {@code (p1 > v1) or (p1 = v1 and p2 > v2) or …} with the comparison flipped for
+	 * descending orders. Plain comparisons are sufficient as key properties can't be {@literal null}, see
+	 * {@link JpaSliceQueries#isNullable(Class, String)}.
+	 *
+	 * @param request must not be {@literal null}.
+	 * @param root must not be {@literal null}.
+	 * @param cb must not be {@literal null}.
+	 * @return
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static Predicate toPredicate(KeysetPageRequest request, Root<?> root, CriteriaBuilder cb) {
+
+		List<Order> orders = request.getOrders();
+		List<Object> values = request.getValues();
+		List<Predicate> alternatives = new ArrayList<Predicate>(orders.size());
+
+		for (int i = 0; i < orders.size(); i++) {
+
+			List<Predicate> conditions = new ArrayList<Predicate>(i + 1);
+
+			for (int j = 0; j < i; j++) {
+				conditions.add(cb.equal(root.get(orders.get(j).getProperty()), values.get(j)));
+			}
+
+			Order order = orders.get(i);
+			Path<?> path = root.get(order.getProperty());
+			Comparable value = (Comparable) values.get(i);
+
+			conditions.add(order.isAscending() ? cb.greaterThan((Expression) path, value) : cb.lessThan((Expression) path,
+					value));
+
+			alternatives.add(cb.and(conditions.toArray(new Predicate[conditions.size()])));
+		}
+
+		return cb.or(alternatives.toArray(new Predicate[alternatives.size()]));
+	}
+}
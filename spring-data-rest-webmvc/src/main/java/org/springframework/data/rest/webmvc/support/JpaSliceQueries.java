@@ -0,0 +1,235 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.repository.core.CrudMethods;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.core.invoke.SliceQueryExecutor;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.util.Assert;
+
+/**
+ * {@link SliceQueryExecutor} for domain types managed by Spring Data JPA repositories. Issues a criteria query
+ * requesting one element more than the page size instead of the count query
+ * {@link JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification, Pageable)} and
+ * {@code findAll(Pageable)} run. Only used for paging repositories backed by {@link SimpleJpaRepository} itself that
+ * don't redeclare {@code findAll(…)}, as the query issued is equivalent to the default one only. As the query is issued
+ * on the {@link EntityManager} directly, advice applied to the repository proxy (e.g. method security or custom
+ * interceptors) is not applied to it. Thus repositories whose interface carries security annotations are not supported
+ * either. Also executes the range queries {@link KeysetPagingSupport}
+ * issues for keyset cursors. Only to be touched if Spring Data JPA is on the classpath.
+ *
+ * @author Oliver Gierke
+ */
+public class JpaSliceQueries implements SliceQueryExecutor {
+
+	private static final String SPRING_DATA_PACKAGE = "org.springframework.data.";
+
+	private final Repositories repositories;
+	private final ListableBeanFactory beanFactory;
+	private final Map<Class<?>, Boolean> supported = new ConcurrentHashMap<Class<?>, Boolean>();
+	private final Map<Class<?>, EntityManager> entityManagers = new ConcurrentHashMap<Class<?>, EntityManager>();
+
+	/**
+	 * Creates a new {@link JpaSliceQueries} for the given {@link Repositories} using the {@link EntityManagerFactory}s
+	 * registered in the given {@link ListableBeanFactory}.
+	 *
+	 * @param repositories must not be {@literal null}.
+	 * @param beanFactory must not be {@literal null}.
+	 */
+	public JpaSliceQueries(Repositories repositories, ListableBeanFactory beanFactory) {
+
+		Assert.notNull(repositories, "Repositories must not be null!");
+		Assert.notNull(beanFactory, "BeanFactory must not be null!");
+
+		this.repositories = repositories;
+		this.beanFactory = beanFactory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.SliceQueryExecutor#supports(java.lang.Class)
+	 */
+	@Override
+	public boolean supports(Class<?> domainType) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+
+		Boolean result = supported.get(domainType);
+
+		if (result == null) {
+
+			result = repositories.hasRepositoryFor(domainType)
+					&& hasDefaultFindAllMethod(repositories.getRepositoryInformationFor(domainType))
+					&& getEntityManager(domainType) != null;
+
+			supported.put(domainType, result);
+		}
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.SliceQueryExecutor#findAll(java.lang.Class, org.springframework.data.domain.Pageable)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Slice<Object> findAll(Class<?> domainType, Pageable pageable) {
+
+		Assert.isTrue(supports(domainType), String.format("Domain type %s is not supported!", domainType));
+		Assert.notNull(pageable, "Pageable must not be null!");
+
+		EntityManager entityManager = getEntityManager(domainType);
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+		CriteriaQuery<Object> query = builder.createQuery((Class<Object>) domainType);
+		Root<Object> root = query.from((Class<Object>) domainType);
+		query.select(root);
+
+		if (pageable instanceof KeysetPageRequest) {
+			query.where(JpaKeysetQueries.toPredicate((KeysetPageRequest) pageable, root, builder));
+		}
+
+		if (pageable.getSort() != null) {
+			query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+		}
+
+		int size = pageable.getPageSize();
+		List<Object> content = entityManager.createQuery(query).setFirstResult(pageable.getOffset())
+				.setMaxResults(size + 1).getResultList();
+
+		boolean hasNext = content.size() > size;
+		return new SliceImpl<Object>(hasNext ? new ArrayList<Object>(content.subList(0, size)) : content, pageable, hasNext);
+	}
+
+	/**
+	 * Returns whether the given property of the given domain type may be {@literal null}, i.e. whether it is neither the
+	 * identifier, nor primitive nor mapped as mandatory.
+	 *
+	 * @param domainType must be supported.
+	 * @param property must not be {@literal null}.
+	 * @return
+	 */
+	public boolean isNullable(Class<?> domainType, String property) {
+
+		Assert.isTrue(supports(domainType), String.format("Domain type %s is not supported!", domainType));
+		Assert.hasText(property, "Property must not be null or empty!");
+
+		Attribute<?, ?> attribute;
+
+		try {
+			attribute = getEntityManager(domainType).getEntityManagerFactory().getMetamodel().entity(domainType)
+					.getAttribute(property);
+		} catch (IllegalArgumentException o_O) {
+			return true;
+		}
+
+		if (!(attribute instanceof SingularAttribute)) {
+			return true;
+		}
+
+		SingularAttribute<?, ?> singularAttribute = (SingularAttribute<?, ?>) attribute;
+
+		return !singularAttribute.isId() && !singularAttribute.getJavaType().isPrimitive()
+				&& singularAttribute.isOptional();
+	}
+
+	/**
+	 * Returns the shared {@link EntityManager} of the {@link EntityManagerFactory} managing the given domain type.
+	 *
+	 * @param domainType must not be {@literal null}.
+	 * @return the {@link EntityManager} or {@literal null} if no {@link EntityManagerFactory} manages the type.
+	 */
+	private EntityManager getEntityManager(Class<?> domainType) {
+
+		EntityManager entityManager = entityManagers.get(domainType);
+
+		if (entityManager != null) {
+			return entityManager;
+		}
+
+		for (String name : BeanFactoryUtils.beanNamesForTypeIncludingAncestors(beanFactory, EntityManagerFactory.class)) {
+
+			EntityManagerFactory factory = beanFactory.getBean(name, EntityManagerFactory.class);
+
+			try {
+				factory.getMetamodel().entity(domainType);
+			} catch (IllegalArgumentException o_O) {
+				continue;
+			}
+
+			entityManager = SharedEntityManagerCreator.createSharedEntityManager(factory);
+			entityManagers.put(domainType, entityManager);
+
+			return entityManager;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns whether the given repository is backed by {@link SimpleJpaRepository} itself and uses the
+	 * {@code findAll(Pageable)} method declared by Spring Data, i.e. doesn't redeclare it with a custom query or
+	 * implementation. Custom base classes might filter the entities returned (e.g. soft deletes) and security
+	 * annotations on the repository interface would be bypassed, so both are not supported.
+	 *
+	 * @param information must not be {@literal null}.
+	 * @return
+	 */
+	private static boolean hasDefaultFindAllMethod(RepositoryInformation information) {
+
+		CrudMethods methods = information.getCrudMethods();
+
+		if (!SimpleJpaRepository.class.equals(information.getRepositoryBaseClass()) || !methods.hasFindAllMethod()
+				|| SecurityAnnotations.isPresentOn(information.getRepositoryInterface())) {
+			return false;
+		}
+
+		Method method = methods.getFindAllMethod();
+		Class<?>[] types = method.getParameterTypes();
+
+		if (types.length != 1 || !Pageable.class.equals(types[0])) {
+			return false;
+		}
+
+		return method.getDeclaringClass().getName().startsWith(SPRING_DATA_PACKAGE) && !information.isCustomMethod(method)
+				&& !information.isQueryMethod(method);
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.Collection;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+/**
+ * Checks the version of an entity against repositories implementing {@link JpaSpecificationExecutor} without loading
+ * it. Only to be touched if Spring Data JPA is on the classpath.
+ *
+ * @author Oliver Gierke
+ */
+abstract class JpaVersionQueries {
+
+	private JpaVersionQueries() {}
+
+	/**
+	 * Returns whether the given repository can execute version queries.
+	 *
+	 * @param repository
+	 * @return
+	 */
+	public static boolean supports(Object repository) {
+		return repository instanceof JpaSpecificationExecutor;
+	}
+
+	/**
+	 * Returns whether the entity with the given identifier currently has one of the given versions.
+	 *
+	 * @param repository must be a {@link JpaSpecificationExecutor}.
+	 * @param idProperty the name of the identifier property, must not be {@literal null}.
+	 * @param id the identifier, must not be {@literal null}.
+	 * @param versionProperty the name of the version property, must not be {@literal null}.
+	 * @param versions the versions to check for, must not be {@literal null} or empty.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public static boolean hasVersion(Object repository, final String idProperty, final Object id,
+			final String versionProperty, final Collection<?> versions) {
+
+		Specification<Object> specification = new Specification<Object>() {
+
+			/*
+			 * (non-Javadoc)
+			 * @see org.springframework.data.jpa.domain.Specification#toPredicate(javax.persistence.criteria.Root, javax.persistence.criteria.CriteriaQuery, javax.persistence.criteria.CriteriaBuilder)
+			 */
+			@Override
+			public Predicate toPredicate(Root<Object> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+				return cb.and(cb.equal(root.get(idProperty), id), root.get(versionProperty).in(versions));
+			}
+		};
+
+		return ((JpaSpecificationExecutor<Object>) repository).count(specification) > 0;
+	}
+}
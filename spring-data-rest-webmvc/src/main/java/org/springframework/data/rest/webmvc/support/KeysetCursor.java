@@ -0,0 +1,227 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * An opaque cursor to continue paging through a collection resource. Either points to the element a page has to
+ * start after (or end before) by carrying the values of the sort properties and the identifier of that element, or
+ * simply carries a page number for stores that cannot query by key ranges.
+ *
+ * @author Oliver Gierke
+ */
+public final class KeysetCursor {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final String KEYSET_FORWARD = "k>";
+	private static final String KEYSET_BACKWARD = "k<";
+	private static final String OFFSET = "o";
+	private static final String SEPARATOR = ".";
+
+	private final boolean forward;
+	private final List<String> values;
+	private final int page;
+
+	private KeysetCursor(boolean forward, List<String> values, int page) {
+
+		this.forward = forward;
+		this.values = values;
+		this.page = page;
+	}
+
+	/**
+	 * Creates a {@link KeysetCursor} pointing to the element with the given key values.
+	 *
+	 * @param forward whether to page forward from the element ({@literal true}) or backward ({@literal false}).
+	 * @param values the values of the sort properties followed by the identifier, must not be {@literal null} or empty.
+	 * @return
+	 */
+	public static KeysetCursor keyset(boolean forward, List<String> values) {
+
+		Assert.notEmpty(values, "Key values must not be null or empty!");
+		return new KeysetCursor(forward, Collections.unmodifiableList(new ArrayList<String>(values)), -1);
+	}
+
+	/**
+	 * Creates a {@link KeysetCursor} pointing to the page with the given number.
+	 *
+	 * @param page must not be negative.
+	 * @return
+	 */
+	public static KeysetCursor offset(int page) {
+
+		Assert.isTrue(page >= 0, "Page must not be negative!");
+		return new KeysetCursor(true, Collections.<String> emptyList(), page);
+	}
+
+	/**
+	 * Parses the given encoded cursor.
+	 *
+	 * @param source must not be {@literal null} or empty.
+	 * @return
+	 * @throws IllegalArgumentException in case the given source is not a valid cursor.
+	 */
+	public static KeysetCursor parse(String source) {
+
+		Assert.hasText(source, "Cursor must not be null or empty!");
+
+		String payload = decode(source);
+
+		if (payload.startsWith(OFFSET)) {
+
+			try {
+				return offset(Integer.parseInt(payload.substring(OFFSET.length())));
+			} catch (NumberFormatException o_O) {
+				throw new IllegalArgumentException(String.format("Invalid cursor %s!", source), o_O);
+			}
+		}
+
+		boolean forward = payload.startsWith(KEYSET_FORWARD);
+
+		if (!forward && !payload.startsWith(KEYSET_BACKWARD)) {
+			throw new IllegalArgumentException(String.format("Invalid cursor %s!", source));
+		}
+
+		List<String> values = new ArrayList<String>();
+
+		for (String value : StringUtils.delimitedListToStringArray(payload.substring(KEYSET_FORWARD.length()), SEPARATOR)) {
+			values.add(decode(value));
+		}
+
+		return keyset(forward, values);
+	}
+
+	/**
+	 * Returns whether the cursor carries key values or a page number.
+	 *
+	 * @return
+	 */
+	public boolean isKeyset() {
+		return page < 0;
+	}
+
+	/**
+	 * Returns whether to page forward from the element the cursor points to.
+	 *
+	 * @return
+	 */
+	public boolean isForward() {
+		return forward;
+	}
+
+	/**
+	 * Returns the values of the sort properties followed by the identifier of the element the cursor points to.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public List<String> getValues() {
+		return values;
+	}
+
+	/**
+	 * Returns the page number of an offset based cursor.
+	 *
+	 * @return the page number or {@literal -1} in case of a keyset cursor.
+	 */
+	public int getPage() {
+		return page;
+	}
+
+	/**
+	 * Returns the opaque, URL safe representation of the cursor.
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		if (!isKeyset()) {
+			return encode(OFFSET + page);
+		}
+
+		List<String> encoded = new ArrayList<String>(values.size());
+
+		for (String value : values) {
+			encoded.add(encode(value));
+		}
+
+		String prefix = forward ? KEYSET_FORWARD : KEYSET_BACKWARD;
+		return encode(prefix + StringUtils.collectionToDelimitedString(encoded, SEPARATOR));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof KeysetCursor)) {
+			return false;
+		}
+
+		KeysetCursor that = (KeysetCursor) obj;
+		return this.forward == that.forward && this.page == that.page && this.values.equals(that.values);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+
+		int result = 17;
+		result += 31 * (forward ? 1 : 0);
+		result += 31 * page;
+		result += 31 * values.hashCode();
+		return result;
+	}
+
+	private static String encode(String value) {
+
+		String base64 = DatatypeConverter.printBase64Binary(value.getBytes(UTF_8));
+		return StringUtils.trimTrailingCharacter(base64, '=').replace('+', '-').replace('/', '_');
+	}
+
+	private static String decode(String value) {
+
+		String base64 = value.replace('-', '+').replace('_', '/');
+
+		while (base64.length() % 4 != 0) {
+			base64 = base64.concat("=");
+		}
+
+		try {
+			return new String(DatatypeConverter.parseBase64Binary(base64), UTF_8);
+		} catch (IllegalArgumentException o_O) {
+			throw new IllegalArgumentException(String.format("Invalid cursor %s!", value), o_O);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * {@link HandlerMethodArgumentResolver} to parse the {@link KeysetCursor} handed in using the request parameter
+ * configured in {@link RepositoryRestConfiguration#getCursorParamName()}. Resolves {@literal null} if the parameter is
+ * absent.
+ *
+ * @author Oliver Gierke
+ */
+public class KeysetCursorHandlerMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+	private final RepositoryRestConfiguration config;
+
+	/**
+	 * Creates a new {@link KeysetCursorHandlerMethodArgumentResolver} for the given {@link RepositoryRestConfiguration}.
+	 *
+	 * @param config must not be {@literal null}.
+	 */
+	public KeysetCursorHandlerMethodArgumentResolver(RepositoryRestConfiguration config) {
+
+		Assert.notNull(config, "RepositoryRestConfiguration must not be null!");
+		this.config = config;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.web.method.support.HandlerMethodArgumentResolver#supportsParameter(org.springframework.core.MethodParameter)
+	 */
+	@Override
+	public boolean supportsParameter(MethodParameter parameter) {
+		return KeysetCursor.class.equals(parameter.getParameterType());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.web.method.support.HandlerMethodArgumentResolver#resolveArgument(org.springframework.core.MethodParameter, org.springframework.web.method.support.ModelAndViewContainer, org.springframework.web.context.request.NativeWebRequest, org.springframework.web.bind.support.WebDataBinderFactory)
+	 */
+	@Override
+	public KeysetCursor resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+			NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+
+		String cursor = webRequest.getParameter(config.getCursorParamName());
+		return StringUtils.hasText(cursor) ? KeysetCursor.parse(cursor) : null;
+	}
+}
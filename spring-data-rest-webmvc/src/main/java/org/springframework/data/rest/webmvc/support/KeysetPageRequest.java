@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.util.Assert;
+
+/**
+ * {@link PageRequest} for the first page of all elements sorted after the element with the given key values, i.e. the
+ * sort orders ending with the identifier of the element. Executed by {@link JpaSliceQueries}.
+ *
+ * @author Oliver Gierke
+ */
+class KeysetPageRequest extends PageRequest {
+
+	private static final long serialVersionUID = -3383530386342390137L;
+
+	private final List<Order> orders;
+	private final List<Object> values;
+
+	/**
+	 * Creates a new {@link KeysetPageRequest} for the given sort orders, key values and page size.
+	 *
+	 * @param orders must not be {@literal null} or empty.
+	 * @param values must not be {@literal null} and contain a non-{@literal null} value per {@link Order}.
+	 * @param size
+	 */
+	public KeysetPageRequest(List<Order> orders, List<Object> values, int size) {
+
+		super(0, size, new Sort(orders));
+
+		Assert.isTrue(orders.size() == values.size(), "Key values must match the sort orders!");
+		Assert.isTrue(!values.contains(null), "Key values must not be null!");
+
+		this.orders = Collections.unmodifiableList(orders);
+		this.values = Collections.unmodifiableList(values);
+	}
+
+	/**
+	 * Returns the sort orders making up the key.
+	 *
+	 * @return
+	 */
+	public List<Order> getOrders() {
+		return orders;
+	}
+
+	/**
+	 * Returns the key values of the element to start after, one per {@link Order}.
+	 *
+	 * @return
+	 */
+	public List<Object> getValues() {
+		return values;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.PageRequest#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof KeysetPageRequest)) {
+			return false;
+		}
+
+		return super.equals(obj) && this.values.equals(((KeysetPageRequest) obj).values);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.PageRequest#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + values.hashCode();
+	}
+}
@@ -0,0 +1,447 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.model.BeanWrapper;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.core.invoke.RepositoryInvoker;
+import org.springframework.data.rest.core.invoke.SliceQueryExecutor;
+import org.springframework.data.rest.webmvc.RootResourceInformation;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Keyset (seek) paging for collection resources. Instead of page numbers, clients navigate using opaque cursors that
+ * carry the sort key and identifier of the last (or first) element seen. The domain types {@link JpaSliceQueries}
+ * supports translate those into a range query issued through the {@link RepositoryInvoker} without a count query.
+ * Other stores, as well as sorts by properties that can't be used as keys as they can be {@literal null}, fall back to
+ * cursors carrying page numbers. Independently of that, requests addressing offsets beyond
+ * {@link RepositoryRestConfiguration#getMaxPageOffset()} are rejected.
+ *
+ * @author Oliver Gierke
+ */
+public class KeysetPagingSupport {
+
+	private static final boolean IS_JPA_AVAILABLE = ClassUtils.isPresent(
+			"org.springframework.data.jpa.repository.JpaSpecificationExecutor", KeysetPagingSupport.class.getClassLoader());
+	private static final String NULL_KEY_VALUE = "Element %s has no value for key property %s!";
+
+	private final Repositories repositories;
+	private final RepositoryRestConfiguration config;
+	private final ConversionService conversionService;
+	private final SliceQueryExecutor sliceQueries;
+	private final Map<Class<?>, Boolean> enabled = new ConcurrentHashMap<Class<?>, Boolean>();
+
+	/**
+	 * Creates a new {@link KeysetPagingSupport} for the given {@link Repositories}, {@link RepositoryRestConfiguration},
+	 * {@link ConversionService} and {@link SliceQueryExecutor}.
+	 *
+	 * @param repositories must not be {@literal null}.
+	 * @param config must not be {@literal null}.
+	 * @param conversionService must not be {@literal null}.
+	 * @param sliceQueries can be {@literal null}, keyset cursors are only used if it is a {@link JpaSliceQueries}.
+	 */
+	public KeysetPagingSupport(Repositories repositories, RepositoryRestConfiguration config,
+			ConversionService conversionService, SliceQueryExecutor sliceQueries) {
+
+		Assert.notNull(repositories, "Repositories must not be null!");
+		Assert.notNull(config, "RepositoryRestConfiguration must not be null!");
+		Assert.notNull(conversionService, "ConversionService must not be null!");
+
+		this.repositories = repositories;
+		this.config = config;
+		this.conversionService = conversionService;
+		this.sliceQueries = sliceQueries;
+	}
+
+	/**
+	 * Returns whether keyset paging is enabled for the given domain type, either through the
+	 * {@link RepositoryRestConfiguration} or {@link RepositoryRestResource#keysetPaging()}.
+	 *
+	 * @param domainType must not be {@literal null}.
+	 * @return
+	 */
+	public boolean isEnabledFor(Class<?> domainType) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+
+		Boolean result = enabled.get(domainType);
+
+		if (result == null) {
+
+			RepositoryRestResource annotation = repositories.hasRepositoryFor(domainType) ? AnnotationUtils.findAnnotation(
+					repositories.getRepositoryInformationFor(domainType).getRepositoryInterface(),
+					RepositoryRestResource.class) : null;
+
+			result = config.isKeysetPagingEnabledFor(domainType) || annotation != null && annotation.keysetPaging();
+			enabled.put(domainType, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the {@link Pageable} to use for the given request, turning an offset based cursor into the page it points
+	 * to and rejecting offsets beyond the configured maximum.
+	 *
+	 * @param pageable can be {@literal null}.
+	 * @param cursor can be {@literal null}.
+	 * @return
+	 * @throws IllegalArgumentException in case the cursor is a keyset one or the offset is too deep.
+	 */
+	public Pageable getPageable(Pageable pageable, KeysetCursor cursor) {
+
+		if (pageable == null) {
+			return null;
+		}
+
+		if (cursor != null) {
+
+			if (cursor.isKeyset()) {
+				throw new IllegalArgumentException(String.format("Cursor %s cannot be applied to this resource!", cursor));
+			}
+
+			pageable = new PageRequest(cursor.getPage(), pageable.getPageSize(), pageable.getSort());
+		}
+
+		return verifyOffset(pageable);
+	}
+
+	/**
+	 * Looks up the page of the collection resource described by the given {@link RootResourceInformation},
+	 * {@link Pageable} and {@link KeysetCursor}.
+	 *
+	 * @param information must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @param cursor can be {@literal null}.
+	 * @return
+	 */
+	public KeysetPage findAll(RootResourceInformation information, Pageable pageable, KeysetCursor cursor) {
+
+		Assert.notNull(information, "RootResourceInformation must not be null!");
+		Assert.notNull(pageable, "Pageable must not be null!");
+
+		PersistentEntity<?, ?> entity = information.getPersistentEntity();
+		RepositoryInvoker invoker = information.getInvoker();
+
+		List<Order> orders = isKeysetQuerySupported(entity.getType()) ? getKeyOrders(entity, pageable.getSort()) : null;
+		boolean keyset = orders != null;
+
+		if (cursor == null || !cursor.isKeyset()) {
+
+			Pageable request = getPageable(pageable, cursor);
+			Iterable<Object> result = invoker.invokeFindAll(keyset ? new PageRequest(request.getPageNumber(),
+					request.getPageSize(), new Sort(orders)) : request);
+
+			if (!(result instanceof Page)) {
+				return new KeysetPage(result, null, null);
+			}
+
+			Page<Object> page = (Page<Object>) result;
+			KeysetPage offsetPage = getOffsetPage(page);
+
+			if (!keyset || !page.hasContent()) {
+				return offsetPage;
+			}
+
+			List<Object> content = page.getContent();
+			KeysetCursor next = page.hasNext() ? getCursor(entity, orders, last(content), true) : null;
+			KeysetCursor previous = page.hasPrevious() ? getCursor(entity, orders, content.get(0), false) : null;
+
+			return new KeysetPage(content, next, previous);
+		}
+
+		if (!keyset) {
+			throw new IllegalArgumentException(String.format("Cursor %s cannot be applied to this resource!", cursor));
+		}
+
+		boolean forward = cursor.isForward();
+		List<Order> queryOrders = new ArrayList<Order>(orders.size());
+
+		for (Order order : orders) {
+			queryOrders.add(forward ? order : new Order(order.isAscending() ? Direction.DESC : Direction.ASC, order
+					.getProperty()));
+		}
+
+		Slice<Object> slice = invoker.invokeFindAllSliced(new KeysetPageRequest(queryOrders, getKeyValues(entity, orders,
+				cursor), pageable.getPageSize()));
+
+		List<Object> content = new ArrayList<Object>(slice.getContent());
+
+		if (!forward) {
+			Collections.reverse(content);
+		}
+
+		if (content.isEmpty()) {
+			return new KeysetPage(content, null, null);
+		}
+
+		KeysetCursor next = forward && !slice.hasNext() ? null : getCursor(entity, orders, last(content), true);
+		KeysetCursor previous = !forward && !slice.hasNext() ? null : getCursor(entity, orders, content.get(0), false);
+
+		return new KeysetPage(content, next, previous);
+	}
+
+	/**
+	 * Turns the given {@link Page} into a {@link KeysetPage} with offset based cursors.
+	 *
+	 * @param page must not be {@literal null}.
+	 * @return
+	 */
+	public KeysetPage getOffsetPage(Page<Object> page) {
+
+		Assert.notNull(page, "Page must not be null!");
+
+		return new KeysetPage(page.getContent(), page.hasNext() ? KeysetCursor.offset(page.getNumber() + 1) : null,
+				page.hasPrevious() ? KeysetCursor.offset(page.getNumber() - 1) : null);
+	}
+
+	/**
+	 * Replaces the {@code next} and {@code prev} links of the given {@link ResourceSupport} with ones pointing to the
+	 * current request carrying the cursors of the given {@link KeysetPage}.
+	 *
+	 * @param resource must not be {@literal null}.
+	 * @param page must not be {@literal null}.
+	 */
+	public void addCursorLinks(ResourceSupport resource, KeysetPage page) {
+
+		Assert.notNull(resource, "Resource must not be null!");
+		Assert.notNull(page, "KeysetPage must not be null!");
+
+		List<Link> links = new ArrayList<Link>();
+
+		for (Link link : resource.getLinks()) {
+			if (!Link.REL_NEXT.equals(link.getRel()) && !Link.REL_PREVIOUS.equals(link.getRel())) {
+				links.add(link);
+			}
+		}
+
+		if (page.getNext() != null) {
+			links.add(new Link(getCursorUri(page.getNext()), Link.REL_NEXT));
+		}
+
+		if (page.getPrevious() != null) {
+			links.add(new Link(getCursorUri(page.getPrevious()), Link.REL_PREVIOUS));
+		}
+
+		resource.removeLinks();
+		resource.add(links);
+	}
+
+	private Pageable verifyOffset(Pageable pageable) {
+
+		if (pageable.getOffset() > config.getMaxPageOffset()) {
+			throw new IllegalArgumentException(String.format(
+					"Page offset %s exceeds the maximum of %s! Use cursors to navigate further.", pageable.getOffset(),
+					config.getMaxPageOffset()));
+		}
+
+		return pageable;
+	}
+
+	private String getCursorUri(KeysetCursor cursor) {
+
+		return ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam(config.getPageParamName())
+				.replaceQueryParam(config.getCursorParamName(), cursor.toString()).build().toUriString();
+	}
+
+	/**
+	 * Returns whether keyset queries can be issued for the given domain type, i.e. whether the
+	 * {@link SliceQueryExecutor} used by its {@link RepositoryInvoker} is able to execute {@link KeysetPageRequest}s.
+	 */
+	private boolean isKeysetQuerySupported(Class<?> domainType) {
+		return IS_JPA_AVAILABLE && sliceQueries instanceof JpaSliceQueries && sliceQueries.supports(domainType);
+	}
+
+	/**
+	 * Returns the {@link Order}s to use as key, i.e. the requested ones followed by the identifier, or {@literal null} if
+	 * one of the sort properties cannot be used as key as it can be {@literal null} or its values can't be rendered into
+	 * a cursor.
+	 */
+	private List<Order> getKeyOrders(PersistentEntity<?, ?> entity, Sort sort) {
+
+		List<Order> orders = new ArrayList<Order>();
+		PersistentProperty<?> idProperty = entity.getIdProperty();
+		boolean idIncluded = false;
+
+		if (sort != null) {
+			for (Order order : sort) {
+
+				PersistentProperty<?> property = entity.getPersistentProperty(order.getProperty());
+
+				if (property == null || !isKey(entity, property)) {
+					return null;
+				}
+
+				idIncluded |= property.isIdProperty();
+				orders.add(order);
+			}
+		}
+
+		if (!idIncluded) {
+
+			if (idProperty == null || !isKey(entity, idProperty)) {
+				return null;
+			}
+
+			orders.add(new Order(Direction.ASC, idProperty.getName()));
+		}
+
+		return orders;
+	}
+
+	private boolean isKey(PersistentEntity<?, ?> entity, PersistentProperty<?> property) {
+		return isKeyType(property.getType())
+				&& !((JpaSliceQueries) sliceQueries).isNullable(entity.getType(), property.getName());
+	}
+
+	private boolean isKeyType(Class<?> type) {
+
+		Class<?> boxed = ClassUtils.resolvePrimitiveIfNecessary(type);
+
+		if (!Comparable.class.isAssignableFrom(boxed)) {
+			return false;
+		}
+
+		return Date.class.equals(boxed) || conversionService.canConvert(boxed, String.class)
+				&& conversionService.canConvert(String.class, boxed);
+	}
+
+	/**
+	 * Returns the keyset cursor pointing to the elements following (or preceding) the given one.
+	 *
+	 * @throws IllegalStateException in case the element has no value for one of the key properties although they're
+	 *           mapped as mandatory, as paging on would skip elements.
+	 */
+	private KeysetCursor getCursor(PersistentEntity<?, ?> entity, List<Order> orders, Object element, boolean forward) {
+
+		BeanWrapper<Object> wrapper = BeanWrapper.create(element, null);
+		List<String> values = new ArrayList<String>(orders.size());
+
+		for (Order order : orders) {
+
+			Object value = wrapper.getProperty(entity.getPersistentProperty(order.getProperty()));
+
+			if (value == null) {
+				throw new IllegalStateException(String.format(NULL_KEY_VALUE, element, order.getProperty()));
+			}
+
+			values.add(value instanceof Date ? String.valueOf(((Date) value).getTime()) : conversionService.convert(value,
+					String.class));
+		}
+
+		return KeysetCursor.keyset(forward, values);
+	}
+
+	private List<Object> getKeyValues(PersistentEntity<?, ?> entity, List<Order> orders, KeysetCursor cursor) {
+
+		List<String> source = cursor.getValues();
+
+		if (source.size() != orders.size()) {
+			throw new IllegalArgumentException(String.format("Cursor %s does not match the requested sort!", cursor));
+		}
+
+		List<Object> values = new ArrayList<Object>(source.size());
+
+		for (int i = 0; i < source.size(); i++) {
+
+			Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(entity.getPersistentProperty(
+					orders.get(i).getProperty()).getType());
+			String value = source.get(i);
+
+			try {
+				values.add(Date.class.equals(type) ? new Date(Long.parseLong(value)) : conversionService.convert(value, type));
+			} catch (RuntimeException o_O) {
+				throw new IllegalArgumentException(String.format("Cursor %s does not match the requested sort!", cursor), o_O);
+			}
+		}
+
+		return values;
+	}
+
+	private static Object last(List<Object> content) {
+		return content.get(content.size() - 1);
+	}
+
+	/**
+	 * A page of a keyset paged collection resource.
+	 *
+	 * @author Oliver Gierke
+	 */
+	public static class KeysetPage {
+
+		private final Iterable<Object> content;
+		private final KeysetCursor next;
+		private final KeysetCursor previous;
+
+		KeysetPage(Iterable<Object> content, KeysetCursor next, KeysetCursor previous) {
+
+			this.content = content;
+			this.next = next;
+			this.previous = previous;
+		}
+
+		/**
+		 * Returns the elements of the page.
+		 *
+		 * @return
+		 */
+		public Iterable<Object> getContent() {
+			return content;
+		}
+
+		/**
+		 * Returns the cursor pointing to the next page.
+		 *
+		 * @return the cursor or {@literal null} if this is the last page.
+		 */
+		public KeysetCursor getNext() {
+			return next;
+		}
+
+		/**
+		 * Returns the cursor pointing to the previous page.
+		 *
+		 * @return the cursor or {@literal null} if this is the first page.
+		 */
+		public KeysetCursor getPrevious() {
+			return previous;
+		}
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Marker rendered in place of an entity that was requested by id as part of a batch lookup but could not be found.
+ * Points to the item resource that was requested.
+ * 
+ * @author Oliver Gierke
+ */
+public class MissingEntityResource extends ResourceSupport {
+
+	private final String id;
+
+	/**
+	 * Creates a new {@link MissingEntityResource} for the given request id and link to the item resource.
+	 * 
+	 * @param id must not be {@literal null}.
+	 * @param link must not be {@literal null}.
+	 */
+	public MissingEntityResource(String id, Link link) {
+
+		Assert.notNull(id, "Id must not be null!");
+		Assert.notNull(link, "Link must not be null!");
+
+		this.id = id;
+		add(link);
+	}
+
+	/**
+	 * Returns the id as handed in by the client.
+	 * 
+	 * @return
+	 */
+	@JsonProperty("missing")
+	public String getRequestId() {
+		return id;
+	}
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.rest.core.annotation.CacheableSearch;
+import org.springframework.data.rest.core.event.AfterBulkDeleteEvent;
+import org.springframework.data.rest.core.event.AfterCreateEvent;
+import org.springframework.data.rest.core.event.AfterDeleteEvent;
+import org.springframework.data.rest.core.event.AfterLinkDeleteEvent;
+import org.springframework.data.rest.core.event.AfterLinkSaveEvent;
+import org.springframework.data.rest.core.event.AfterSaveEvent;
+import org.springframework.data.rest.core.event.RepositoryEvent;
+import org.springframework.data.rest.core.invoke.QueryMethodBindingPlan;
+import org.springframework.util.Assert;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * Cache for the results of query methods annotated with {@link CacheableSearch}. Keeps a bounded region per query
+ * method evicting the least recently used results and results older than the configured time to live. Results are
+ * keyed by the request parameters bound to the query method as well as the {@link Pageable} and dropped for a domain
+ * type as soon as an {@link AfterCreateEvent}, {@link AfterSaveEvent}, {@link AfterDeleteEvent},
+ * {@link AfterLinkSaveEvent} or {@link AfterLinkDeleteEvent} is published for one of its instances.
+ * <p>
+ * Results are cached in serialized form and every hit gets its own detached copy, so that requests never share
+ * entity instances. Thus results have to be {@link Serializable}, others are not cached. Associations not loaded by
+ * the time the query method returns can't be loaded lazily from a copy.
+ * <p>
+ * As hits don't invoke the repository, results are keyed by the name of the authenticated principal as well and query
+ * methods carrying security annotations (or declared in repositories carrying them) are never cached.
+ * 
+ * @author Oliver Gierke
+ */
+public class QueryMethodResultCache implements ApplicationListener<RepositoryEvent> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(QueryMethodResultCache.class);
+	private static final Region UNCACHED = new Region(Object.class, null, null);
+
+	private final ConcurrentMap<Method, Region> regions;
+
+	public QueryMethodResultCache() {
+		this.regions = new ConcurrentHashMap<Method, Region>();
+	}
+
+	/**
+	 * Looks up the cached result of the given query method invocation.
+	 * 
+	 * @param domainType the domain type managed by the repository declaring the query method, must not be
+	 *          {@literal null}.
+	 * @param method the query method, must not be {@literal null}.
+	 * @param parameters the request parameters, must not be {@literal null}.
+	 * @param pageable can be {@literal null}.
+	 * @param sliced whether the query method is executed as slice.
+	 * @param principal the authenticated principal, can be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public Lookup lookup(Class<?> domainType, Method method, Map<String, String[]> parameters, Pageable pageable,
+			boolean sliced, Principal principal) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+		Assert.notNull(method, "Method must not be null!");
+		Assert.notNull(parameters, "Parameters must not be null!");
+
+		Region region = getRegion(domainType, method);
+
+		if (region == UNCACHED) {
+			return Lookup.UNCACHED;
+		}
+
+		List<Object> key = region.getKey(parameters, pageable, sliced);
+		key.add(principal == null ? null : principal.getName());
+
+		return region.lookup(key);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.ApplicationListener#onApplicationEvent(org.springframework.context.ApplicationEvent)
+	 */
+	@Override
+	public void onApplicationEvent(RepositoryEvent event) {
+
+		Class<?> type;
+
+		if (event instanceof AfterBulkDeleteEvent) {
+			type = ((AfterBulkDeleteEvent) event).getDomainType();
+		} else if (event instanceof AfterCreateEvent || event instanceof AfterSaveEvent
+				|| event instanceof AfterDeleteEvent || event instanceof AfterLinkSaveEvent
+				|| event instanceof AfterLinkDeleteEvent) {
+			type = event.getSource().getClass();
+		} else {
+			return;
+		}
+
+		for (Region region : regions.values()) {
+			if (region != UNCACHED && region.domainType.isAssignableFrom(type)) {
+				region.clear();
+			}
+		}
+	}
+
+	private Region getRegion(Class<?> domainType, Method method) {
+
+		Region region = regions.get(method);
+
+		if (region != null) {
+			return region;
+		}
+
+		CacheableSearch annotation = AnnotationUtils.findAnnotation(method, CacheableSearch.class);
+
+		if (annotation != null && SecurityAnnotations.isPresentOn(method, method.getDeclaringClass())) {
+			LOGGER.warn("Not caching results of secured query method {}!", method);
+			annotation = null;
+		}
+
+		region = annotation == null ? UNCACHED : new Region(domainType, new QueryMethodBindingPlan(method), annotation);
+		Region existing = regions.putIfAbsent(method, region);
+
+		return existing == null ? region : existing;
+	}
+
+	/**
+	 * The result of a cache lookup. Results of cache misses can be added to the cache using {@link #store(Object)}.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	public static class Lookup {
+
+		static final Lookup UNCACHED = new Lookup(null, null, null, 0);
+
+		private final Region region;
+		private final List<Object> key;
+		private final CachedResult cached;
+		private final long evictions;
+
+		private Lookup(Region region, List<Object> key, CachedResult cached, long evictions) {
+
+			this.region = region;
+			this.key = key;
+			this.cached = cached;
+			this.evictions = evictions;
+		}
+
+		/**
+		 * Returns whether a result was found in the cache.
+		 * 
+		 * @return
+		 */
+		public boolean isHit() {
+			return cached != null;
+		}
+
+		/**
+		 * Returns a detached copy of the cached result.
+		 * 
+		 * @return can be {@literal null} if the query method returned {@literal null}.
+		 */
+		public Object getResult() {
+			return cached == null || cached.result == null ? null : SerializationUtils.deserialize(cached.result);
+		}
+
+		/**
+		 * Stores the given result of the query method invocation in the cache. A no-op if the query method is not
+		 * cacheable, the result is not {@link Serializable} or the region saw an eviction since the lookup, as the result
+		 * might have been obtained before a concurrent change.
+		 * 
+		 * @param result can be {@literal null}.
+		 */
+		public void store(Object result) {
+
+			if (region != null) {
+				region.put(key, result, evictions);
+			}
+		}
+	}
+
+	/**
+	 * The cached results of a single query method.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class Region {
+
+		final Class<?> domainType;
+		private final QueryMethodBindingPlan plan;
+		private final long timeToLive;
+		private final Map<List<Object>, CachedResult> results;
+
+		private long evictions = 0;
+		private boolean warnedNotSerializable = false;
+
+		public Region(Class<?> domainType, QueryMethodBindingPlan plan, final CacheableSearch annotation) {
+
+			this.domainType = domainType;
+			this.plan = plan;
+			this.timeToLive = annotation == null ? 0 : annotation.timeToLive();
+			this.results = annotation == null ? Collections.<List<Object>, CachedResult> emptyMap()
+					: new LinkedHashMap<List<Object>, CachedResult>(16, 0.75f, true) {
+
+						private static final long serialVersionUID = -3480286716271806155L;
+
+						@Override
+						protected boolean removeEldestEntry(Map.Entry<List<Object>, CachedResult> eldest) {
+							return size() > annotation.maxEntries();
+						}
+					};
+		}
+
+		/**
+		 * Creates the cache key from the values of the request parameters bound to the query method. Falls back to all
+		 * request parameters if the names of the method parameters cannot be discovered.
+		 * 
+		 * @param parameters must not be {@literal null}.
+		 * @param pageable can be {@literal null}.
+		 * @param sliced
+		 * @return
+		 */
+		public List<Object> getKey(Map<String, String[]> parameters, Pageable pageable, boolean sliced) {
+
+			List<Object> key = new ArrayList<Object>();
+			key.add(pageable);
+			key.add(sliced);
+
+			List<String> names = plan.getParameterNames();
+			int unnamed = (plan.hasPageableParameter() ? 1 : 0) + (plan.hasSortParameter() ? 1 : 0);
+
+			if (Collections.frequency(names, null) > unnamed) {
+
+				for (Map.Entry<String, String[]> entry : new TreeMap<String, String[]>(parameters).entrySet()) {
+					key.add(entry.getKey());
+					key.add(Arrays.asList(entry.getValue()));
+				}
+
+				return key;
+			}
+
+			for (String name : names) {
+
+				if (name != null) {
+					String[] values = parameters.get(name);
+					key.add(values == null ? null : Arrays.asList(values));
+				}
+			}
+
+			return key;
+		}
+
+		public synchronized Lookup lookup(List<Object> key) {
+
+			CachedResult cached = results.get(key);
+
+			if (cached != null && cached.expires <= System.currentTimeMillis()) {
+				results.remove(key);
+				cached = null;
+			}
+
+			return new Lookup(this, key, cached, evictions);
+		}
+
+		public void put(List<Object> key, Object result, long evictionsAtLookup) {
+
+			byte[] serialized = null;
+
+			if (result != null) {
+
+				if (!(result instanceof Serializable)) {
+					warnNotSerializable(result);
+					return;
+				}
+
+				try {
+					serialized = SerializationUtils.serialize(result);
+				} catch (IllegalArgumentException o_O) {
+					warnNotSerializable(result);
+					return;
+				}
+			}
+
+			CachedResult cached = new CachedResult(serialized, System.currentTimeMillis() + timeToLive);
+
+			synchronized (this) {
+
+				// skip results that might have been obtained before a concurrent eviction
+				if (evictions == evictionsAtLookup) {
+					results.put(key, cached);
+				}
+			}
+		}
+
+		public synchronized void clear() {
+			results.clear();
+			evictions++;
+		}
+
+		private synchronized void warnNotSerializable(Object result) {
+
+			if (!warnedNotSerializable) {
+				LOGGER.warn("Not caching results of type {} for {} as they are not Serializable!", result.getClass()
+						.getName(), plan.getMethod());
+				warnedNotSerializable = true;
+			}
+		}
+	}
+
+	private static class CachedResult {
+
+		final byte[] result;
+		final long expires;
+
+		public CachedResult(byte[] result, long expires) {
+
+			this.result = result;
+			this.expires = expires;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.data.rest.core.config.BulkheadConfiguration;
+import org.springframework.util.Assert;
+
+/**
+ * Registry of the {@link Bulkhead}s per repository, keyed by the domain type the repository manages. Bulkheads are
+ * created on first access according to the {@link BulkheadConfiguration}. Exposes all bulkheads created so far to
+ * publish their metrics.
+ * 
+ * @author Oliver Gierke
+ */
+public class RepositoryBulkheads {
+
+	private final BulkheadConfiguration configuration;
+	private final ConcurrentMap<Class<?>, Bulkhead> bulkheads;
+
+	/**
+	 * Creates a new {@link RepositoryBulkheads} for the given {@link BulkheadConfiguration}.
+	 * 
+	 * @param configuration must not be {@literal null}.
+	 */
+	public RepositoryBulkheads(BulkheadConfiguration configuration) {
+
+		Assert.notNull(configuration, "BulkheadConfiguration must not be null!");
+
+		this.configuration = configuration;
+		this.bulkheads = new ConcurrentHashMap<Class<?>, Bulkhead>();
+	}
+
+	/**
+	 * Returns the {@link Bulkhead} of the repository managing the given domain type.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @return
+	 */
+	public Bulkhead getBulkhead(Class<?> domainType) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+
+		Bulkhead bulkhead = bulkheads.get(domainType);
+
+		if (bulkhead != null) {
+			return bulkhead;
+		}
+
+		bulkhead = new Bulkhead(configuration.getMaxConcurrentCallsFor(domainType), configuration.getMaxWaitingCalls(),
+				configuration.getMaxWaitTime());
+		Bulkhead existing = bulkheads.putIfAbsent(domainType, bulkhead);
+
+		return existing == null ? bulkhead : existing;
+	}
+
+	/**
+	 * Returns all {@link Bulkhead}s created so far keyed by domain type.
+	 * 
+	 * @return
+	 */
+	public Map<Class<?>, Bulkhead> getBulkheads() {
+		return Collections.unmodifiableMap(bulkheads);
+	}
+}
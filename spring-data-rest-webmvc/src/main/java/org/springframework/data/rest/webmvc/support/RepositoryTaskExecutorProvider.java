@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * Strategy to look up the {@link AsyncTaskExecutor} invocations of the repository managing a given domain type are
+ * executed on if asynchronous execution is enabled. Implementations can hand out any executor, e.g. one backed by
+ * lightweight threads on JVMs supporting them.
+ *
+ * @author Oliver Gierke
+ * @see ThreadPoolRepositoryTaskExecutorProvider
+ */
+public interface RepositoryTaskExecutorProvider {
+
+	/**
+	 * Returns the {@link AsyncTaskExecutor} to invoke the repository for the given domain type on. Executors are expected
+	 * to be bounded and to throw a {@link org.springframework.core.task.TaskRejectedException} if saturated.
+	 *
+	 * @param domainType the domain type of the repository to be invoked, will never be {@literal null}.
+	 * @return must not be {@literal null}.
+	 */
+	AsyncTaskExecutor getTaskExecutor(Class<?> domainType);
+}
@@ -0,0 +1,602 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.mapping.Association;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.SimpleAssociationHandler;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.core.config.RepresentationCacheConfiguration;
+import org.springframework.data.rest.core.event.AfterBulkDeleteEvent;
+import org.springframework.data.rest.core.event.AfterDeleteEvent;
+import org.springframework.data.rest.core.event.AfterLinkDeleteEvent;
+import org.springframework.data.rest.core.event.AfterLinkSaveEvent;
+import org.springframework.data.rest.core.event.AfterSaveEvent;
+import org.springframework.data.rest.core.event.RepositoryEvent;
+import org.springframework.data.rest.webmvc.PersistentEntityResource;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Cache for the rendered representations of item resources of the domain types configured in the
+ * {@link RepresentationCacheConfiguration}. Representations are keyed by domain type, identifier, projection, selected
+ * fields, negotiated media type, base URI and the name of the authenticated principal and written to the response as is
+ * on a hit, so that neither the resource nor its serialization has to be built again. Note that a hit neither invokes
+ * the repository's {@code findOne(…)} method nor any {@link org.springframework.hateoas.ResourceProcessor}. Thus
+ * security checks applied to those are only performed on the first request of a principal and representations
+ * customized per request beyond the principal must not be cached. The representations of an entity are dropped as soon as an
+ * {@link AfterSaveEvent}, {@link AfterDeleteEvent}, {@link AfterLinkSaveEvent} or {@link AfterLinkDeleteEvent} is
+ * published for it. As projections can inline associated entities, the representations of all entities of types
+ * owning an association to the changed type are dropped as well.
+ * 
+ * @author Oliver Gierke
+ */
+public class RepresentationCache implements ApplicationListener<RepositoryEvent> {
+
+	/**
+	 * Name of the request attribute holding the {@link Lookup} whose representation is to be captured while rendering
+	 * the response.
+	 */
+	public static final String LOOKUP_ATTRIBUTE = RepresentationCache.class.getName() + ".LOOKUP";
+
+	private static final String GZIP = "gzip";
+
+	private final Repositories repositories;
+	private final ConversionService conversionService;
+	private final RepositoryRestConfiguration config;
+	private final List<MediaType> producibleTypes;
+	private final ConcurrentMap<Class<?>, Region> regions;
+	private final ConcurrentMap<Class<?>, Set<Class<?>>> owningTypes;
+
+	/**
+	 * Creates a new {@link RepresentationCache} for the given {@link Repositories}, {@link ConversionService},
+	 * {@link RepositoryRestConfiguration} and {@link HttpMessageConverter}s item resources are rendered with.
+	 * 
+	 * @param repositories must not be {@literal null}.
+	 * @param conversionService must not be {@literal null}.
+	 * @param config must not be {@literal null}.
+	 * @param converters must not be {@literal null}.
+	 */
+	public RepresentationCache(Repositories repositories, ConversionService conversionService,
+			RepositoryRestConfiguration config, List<HttpMessageConverter<?>> converters) {
+
+		Assert.notNull(repositories, "Repositories must not be null!");
+		Assert.notNull(conversionService, "ConversionService must not be null!");
+		Assert.notNull(config, "RepositoryRestConfiguration must not be null!");
+		Assert.notNull(converters, "HttpMessageConverters must not be null!");
+
+		this.repositories = repositories;
+		this.conversionService = conversionService;
+		this.config = config;
+		this.producibleTypes = getProducibleTypes(converters);
+		this.regions = new ConcurrentHashMap<Class<?>, Region>();
+		this.owningTypes = new ConcurrentHashMap<Class<?>, Set<Class<?>>>();
+	}
+
+	/**
+	 * Looks up the cached representation of the item resource with the given identifier for the given request.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 * @param request must not be {@literal null}.
+	 * @return the {@link Lookup} or {@literal null} if the item resources of the given type are not cached or no media
+	 *         type can be negotiated for the request.
+	 */
+	public Lookup lookup(Class<?> domainType, Serializable id, HttpServletRequest request) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+		Assert.notNull(id, "Id must not be null!");
+		Assert.notNull(request, "Request must not be null!");
+
+		RepresentationCacheConfiguration configuration = config.representationCacheConfiguration();
+
+		if (!configuration.isCached(domainType)) {
+			return null;
+		}
+
+		MediaType mediaType = negotiateMediaType(request);
+
+		if (mediaType == null) {
+			return null;
+		}
+
+		Region region = getRegion(domainType, configuration);
+		Serializable key = getKey(domainType, id);
+		Principal principal = request.getUserPrincipal();
+		List<String> variant = Arrays.asList(request.getParameter(config.projectionConfiguration().getParameterName()),
+				request.getParameter(config.getFieldsParamName()), mediaType.toString(), ServletUriComponentsBuilder
+						.fromServletMapping(request).build().toUriString(), principal == null ? null : principal.getName());
+
+		return region.lookup(key, variant);
+	}
+
+	/**
+	 * Negotiates the media type an item resource is rendered in for the given request the same way Spring MVC does, so
+	 * that requests with different {@code Accept} headers resulting in the same representation share the cache entry.
+	 * 
+	 * @param request must not be {@literal null}.
+	 * @return the media type or {@literal null} if none can be negotiated.
+	 */
+	private MediaType negotiateMediaType(HttpServletRequest request) {
+
+		List<MediaType> acceptedTypes;
+
+		try {
+			String accept = request.getHeader("Accept");
+			acceptedTypes = StringUtils.hasText(accept) ? MediaType.parseMediaTypes(accept) : Collections
+					.singletonList(MediaType.ALL);
+		} catch (InvalidMediaTypeException o_O) {
+			return null;
+		}
+
+		List<MediaType> compatibleTypes = new ArrayList<MediaType>();
+
+		for (MediaType acceptedType : acceptedTypes) {
+			for (MediaType producibleType : producibleTypes) {
+				if (acceptedType.isCompatibleWith(producibleType)) {
+					compatibleTypes.add(getMostSpecificMediaType(acceptedType, producibleType));
+				}
+			}
+		}
+
+		MediaType.sortBySpecificityAndQuality(compatibleTypes);
+
+		for (MediaType type : compatibleTypes) {
+			if (type.isConcrete()) {
+				return new MediaType(type.getType(), type.getSubtype());
+			}
+		}
+
+		return null;
+	}
+
+	private static MediaType getMostSpecificMediaType(MediaType acceptedType, MediaType producibleType) {
+
+		MediaType producibleTypeToUse = producibleType.copyQualityValue(acceptedType);
+		return MediaType.SPECIFICITY_COMPARATOR.compare(acceptedType, producibleTypeToUse) <= 0 ? acceptedType
+				: producibleTypeToUse;
+	}
+
+	private static List<MediaType> getProducibleTypes(List<HttpMessageConverter<?>> converters) {
+
+		List<MediaType> result = new ArrayList<MediaType>();
+
+		for (HttpMessageConverter<?> converter : converters) {
+			if (converter.canWrite(PersistentEntityResource.class, null)) {
+				result.addAll(converter.getSupportedMediaTypes());
+			}
+		}
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.ApplicationListener#onApplicationEvent(org.springframework.context.ApplicationEvent)
+	 */
+	@Override
+	public void onApplicationEvent(RepositoryEvent event) {
+
+		if (regions.isEmpty()) {
+			return;
+		}
+
+		if (event instanceof AfterBulkDeleteEvent) {
+
+			for (Object entity : ((AfterBulkDeleteEvent) event).getEntities()) {
+				evict(entity);
+			}
+
+		} else if (event instanceof AfterSaveEvent || event instanceof AfterDeleteEvent
+				|| event instanceof AfterLinkSaveEvent || event instanceof AfterLinkDeleteEvent) {
+			evict(event.getSource());
+		}
+	}
+
+	private void evict(Object entity) {
+
+		Class<?> type = entity.getClass();
+
+		for (Region region : regions.values()) {
+
+			if (region.domainType.isInstance(entity)) {
+
+				EntityInformation<Object, Serializable> information = repositories
+						.getEntityInformationFor(region.domainType);
+				Serializable id = information.getId(entity);
+
+				if (id == null) {
+					region.clear();
+				} else {
+					region.evict(id);
+				}
+
+			} else if (getOwningTypes(type).contains(region.domainType)) {
+				region.clear();
+			}
+		}
+	}
+
+	private Region getRegion(Class<?> domainType, RepresentationCacheConfiguration configuration) {
+
+		Region region = regions.get(domainType);
+
+		if (region != null) {
+			return region;
+		}
+
+		region = new Region(domainType, configuration);
+		Region existing = regions.putIfAbsent(domainType, region);
+
+		return existing == null ? region : existing;
+	}
+
+	private Serializable getKey(Class<?> domainType, Serializable id) {
+
+		Class<?> idType = repositories.getEntityInformationFor(domainType).getIdType();
+		return idType.isInstance(id) ? id : (Serializable) conversionService.convert(id, idType);
+	}
+
+	/**
+	 * Returns the types of the repository managed entities having an association to the given type.
+	 * 
+	 * @param type
+	 * @return
+	 */
+	private Set<Class<?>> getOwningTypes(final Class<?> type) {
+
+		Set<Class<?>> types = owningTypes.get(type);
+
+		if (types != null) {
+			return types;
+		}
+
+		final Set<Class<?>> result = new HashSet<Class<?>>();
+
+		for (final Class<?> candidate : repositories) {
+
+			PersistentEntity<?, ?> entity = repositories.getPersistentEntity(candidate);
+
+			entity.doWithAssociations(new SimpleAssociationHandler() {
+
+				/*
+				 * (non-Javadoc)
+				 * @see org.springframework.data.mapping.SimpleAssociationHandler#doWithAssociation(org.springframework.data.mapping.Association)
+				 */
+				@Override
+				public void doWithAssociation(Association<? extends PersistentProperty<?>> association) {
+
+					if (association.getInverse().getActualType().isAssignableFrom(type)) {
+						result.add(candidate);
+					}
+				}
+			});
+		}
+
+		types = Collections.unmodifiableSet(result);
+		owningTypes.putIfAbsent(type, types);
+
+		return types;
+	}
+
+	/**
+	 * The result of a cache lookup. On a miss, the representation rendered for the request can be captured using a
+	 * {@link CapturingResponse} and added to the cache using {@link #store(CapturingResponse)}.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	public static class Lookup {
+
+		private final Region region;
+		private final Serializable id;
+		private final List<String> variant;
+		private final Representation representation;
+		private final long evictions;
+
+		private Lookup(Region region, Serializable id, List<String> variant, Representation representation,
+				long evictions) {
+
+			this.region = region;
+			this.id = id;
+			this.variant = variant;
+			this.representation = representation;
+			this.evictions = evictions;
+		}
+
+		/**
+		 * Returns whether a representation was found in the cache.
+		 * 
+		 * @return
+		 */
+		public boolean isHit() {
+			return representation != null;
+		}
+
+		/**
+		 * Writes the cached representation to the given response, gzipped if configured and accepted by the client. Sends
+		 * {@code 304 Not Modified} instead if the request's {@code If-None-Match} header matches the cached
+		 * representation's {@link ETag}.
+		 * 
+		 * @param request must not be {@literal null}.
+		 * @param response must not be {@literal null}.
+		 * @throws IOException
+		 */
+		public void writeTo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+			Assert.state(isHit(), "Cannot write representation on a cache miss!");
+
+			response.addHeader("Vary", "Accept");
+
+			if (representation.etag != null) {
+
+				response.setHeader("ETag", representation.etag);
+
+				if (ETag.parse(representation.etag).get(0).matches(request.getHeader("If-None-Match"))) {
+					response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+					return;
+				}
+			}
+
+			boolean gzip = representation.gzipped != null && acceptsGzip(request.getHeader("Accept-Encoding"));
+			byte[] body = gzip ? representation.gzipped : representation.body;
+
+			response.setStatus(HttpServletResponse.SC_OK);
+			response.setContentType(representation.contentType);
+			response.setContentLength(body.length);
+
+			if (representation.gzipped != null) {
+				response.addHeader("Vary", "Accept-Encoding");
+			}
+
+			if (gzip) {
+				response.setHeader("Content-Encoding", GZIP);
+			}
+
+			response.getOutputStream().write(body);
+		}
+
+		/**
+		 * Returns whether the given {@code Accept-Encoding} header accepts {@code gzip}, i.e. lists it or a wildcard
+		 * without it with a quality value greater than 0.
+		 * 
+		 * @param acceptEncoding can be {@literal null}.
+		 * @return
+		 */
+		private static boolean acceptsGzip(String acceptEncoding) {
+
+			if (!StringUtils.hasText(acceptEncoding)) {
+				return false;
+			}
+
+			Double gzip = null;
+			Double wildcard = null;
+
+			for (String coding : StringUtils.commaDelimitedListToStringArray(acceptEncoding)) {
+
+				String[] parts = StringUtils.tokenizeToStringArray(coding, ";");
+
+				if (parts.length == 0) {
+					continue;
+				}
+
+				double quality = 1;
+
+				for (int i = 1; i < parts.length; i++) {
+
+					if (parts[i].startsWith("q=")) {
+						try {
+							quality = Double.parseDouble(parts[i].substring(2).trim());
+						} catch (NumberFormatException o_O) {
+							quality = 0;
+						}
+					}
+				}
+
+				if (GZIP.equalsIgnoreCase(parts[0])) {
+					gzip = quality;
+				} else if ("*".equals(parts[0])) {
+					wildcard = quality;
+				}
+			}
+
+			Double quality = gzip != null ? gzip : wildcard;
+			return quality != null && quality > 0;
+		}
+
+		/**
+		 * Stores the representation captured by the given {@link CapturingResponse} unless the response is not a plain
+		 * {@code 200 OK} or the entity was evicted since the lookup.
+		 * 
+		 * @param response must not be {@literal null}.
+		 */
+		public void store(CapturingResponse response) {
+
+			Assert.notNull(response, "Response must not be null!");
+
+			if (response.getStatus() != HttpServletResponse.SC_OK || response.getContentType() == null
+					|| response.containsHeader("Content-Encoding") || response.containsHeader("Link")) {
+				return;
+			}
+
+			region.store(id, variant, response.getContentType(), response.getHeader("ETag"), response.getCapturedBody(),
+					evictions);
+		}
+	}
+
+	/**
+	 * A bounded, least recently used cache of the representations of the entities of a single domain type. Every
+	 * variant of a representation counts towards the bound, all variants of the least recently used entity are evicted
+	 * first.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class Region {
+
+		private final Class<?> domainType;
+		private final Map<Serializable, Map<List<String>, Representation>> entries;
+		private final int maxEntries;
+		private final long timeToLive;
+		private final boolean gzip;
+
+		private long evictions = 0;
+		private int size = 0;
+
+		public Region(Class<?> domainType, RepresentationCacheConfiguration configuration) {
+
+			this.domainType = domainType;
+			this.maxEntries = configuration.getMaxEntries();
+			this.timeToLive = configuration.getTimeToLive();
+			this.gzip = configuration.isGzip();
+			this.entries = new LinkedHashMap<Serializable, Map<List<String>, Representation>>(16, 0.75f, true);
+		}
+
+		public synchronized Lookup lookup(Serializable id, List<String> variant) {
+
+			Map<List<String>, Representation> variants = entries.get(id);
+			Representation representation = variants == null ? null : variants.get(variant);
+
+			if (representation != null && representation.isExpired()) {
+				variants.remove(variant);
+				size--;
+				representation = null;
+			}
+
+			return new Lookup(this, id, variant, representation, evictions);
+		}
+
+		public void store(Serializable id, List<String> variant, String contentType, String etag, byte[] body,
+				long evictionsAtLookup) {
+
+			Representation representation = new Representation(contentType, etag, body, gzip ? gzip(body) : null,
+					System.currentTimeMillis() + timeToLive);
+
+			synchronized (this) {
+
+				// skip representations that might have been rendered before a concurrent eviction
+				if (evictions != evictionsAtLookup) {
+					return;
+				}
+
+				Map<List<String>, Representation> variants = entries.get(id);
+
+				if (variants == null) {
+					variants = new HashMap<List<String>, Representation>();
+					entries.put(id, variants);
+				}
+
+				if (variants.put(variant, representation) == null) {
+					size++;
+				}
+
+				removeLeastRecentlyUsed();
+			}
+		}
+
+		public synchronized void evict(Serializable id) {
+
+			Map<List<String>, Representation> variants = entries.remove(id);
+
+			if (variants != null) {
+				size -= variants.size();
+			}
+
+			evictions++;
+		}
+
+		public synchronized void clear() {
+			entries.clear();
+			size = 0;
+			evictions++;
+		}
+
+		private void removeLeastRecentlyUsed() {
+
+			Iterator<Map<List<String>, Representation>> iterator = entries.values().iterator();
+
+			while (size > maxEntries && iterator.hasNext()) {
+				size -= iterator.next().size();
+				iterator.remove();
+			}
+		}
+
+		private static byte[] gzip(byte[] body) {
+
+			ByteArrayOutputStream result = new ByteArrayOutputStream(body.length / 2);
+
+			try {
+				GZIPOutputStream stream = new GZIPOutputStream(result);
+				stream.write(body);
+				stream.close();
+			} catch (IOException o_O) {
+				throw new IllegalStateException(o_O);
+			}
+
+			return result.toByteArray();
+		}
+	}
+
+	private static class Representation {
+
+		private final String contentType;
+		private final String etag;
+		private final byte[] body;
+		private final byte[] gzipped;
+		private final long expiresAt;
+
+		public Representation(String contentType, String etag, byte[] body, byte[] gzipped, long expiresAt) {
+
+			this.contentType = contentType;
+			this.etag = etag;
+			this.body = body;
+			this.gzipped = gzipped;
+			this.expiresAt = expiresAt;
+		}
+
+		public boolean isExpired() {
+			return System.currentTimeMillis() > expiresAt;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.security.Principal;
+
+import org.springframework.data.rest.core.invoke.PrincipalResolver;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * {@link PrincipalResolver} returning the name of the authenticated principal of the request bound to the current
+ * thread.
+ * 
+ * @author Oliver Gierke
+ */
+public class RequestPrincipalResolver implements PrincipalResolver {
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.invoke.PrincipalResolver#getPrincipalName()
+	 */
+	@Override
+	public String getPrincipalName() {
+
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+		if (!(attributes instanceof ServletRequestAttributes)) {
+			return null;
+		}
+
+		Principal principal = ((ServletRequestAttributes) attributes).getRequest().getUserPrincipal();
+		return principal == null ? null : principal.getName();
+	}
+}
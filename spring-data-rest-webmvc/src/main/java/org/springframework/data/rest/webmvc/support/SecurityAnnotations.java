@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+
+/**
+ * Helper to detect security annotations of Spring Security or JSR-250 on repositories and their methods. Used to
+ * exclude them from optimizations that don't invoke the repository proxy and thus bypass the security checks applied
+ * by it.
+ * 
+ * @author Oliver Gierke
+ */
+abstract class SecurityAnnotations {
+
+	private static final String[] SECURITY_PACKAGES = { "org.springframework.security.", "javax.annotation.security." };
+
+	private SecurityAnnotations() {}
+
+	/**
+	 * Returns whether any of the given elements carries a security annotation.
+	 * 
+	 * @param elements must not be {@literal null}.
+	 * @return
+	 */
+	public static boolean isPresentOn(AnnotatedElement... elements) {
+
+		for (AnnotatedElement element : elements) {
+			for (Annotation annotation : element.getAnnotations()) {
+
+				String name = annotation.annotationType().getName();
+
+				for (String securityPackage : SECURITY_PACKAGES) {
+					if (name.startsWith(securityPackage)) {
+						return true;
+					}
+				}
+			}
+		}
+
+		return false;
+	}
+}
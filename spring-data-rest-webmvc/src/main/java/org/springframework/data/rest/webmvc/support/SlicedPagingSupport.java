@@ -0,0 +1,174 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Decides whether paged resources are to be rendered as {@link Slice}s, i.e. without issuing a count query to
+ * calculate the total number of elements. Slicing is enabled globally or per domain type through the
+ * {@link RepositoryRestConfiguration} or {@link RepositoryRestResource#slicedPaging()} and can be overridden per
+ * request using the parameter configured in {@link RepositoryRestConfiguration#getCountParamName()} or by sending a
+ * {@code Prefer: count=none} header.
+ *
+ * @author Oliver Gierke
+ */
+public class SlicedPagingSupport {
+
+	static final String PREFER_HEADER = "Prefer";
+	static final String PREFER_NO_COUNT = "count=none";
+
+	private final Repositories repositories;
+	private final RepositoryRestConfiguration config;
+	private final HateoasPageableHandlerMethodArgumentResolver pageableResolver;
+	private final Map<Class<?>, Boolean> enabled = new ConcurrentHashMap<Class<?>, Boolean>();
+
+	/**
+	 * Creates a new {@link SlicedPagingSupport} for the given {@link Repositories}, {@link RepositoryRestConfiguration}
+	 * and {@link HateoasPageableHandlerMethodArgumentResolver}.
+	 *
+	 * @param repositories must not be {@literal null}.
+	 * @param config must not be {@literal null}.
+	 * @param pageableResolver must not be {@literal null}.
+	 */
+	public SlicedPagingSupport(Repositories repositories, RepositoryRestConfiguration config,
+			HateoasPageableHandlerMethodArgumentResolver pageableResolver) {
+
+		Assert.notNull(repositories, "Repositories must not be null!");
+		Assert.notNull(config, "RepositoryRestConfiguration must not be null!");
+		Assert.notNull(pageableResolver, "HateoasPageableHandlerMethodArgumentResolver must not be null!");
+
+		this.repositories = repositories;
+		this.config = config;
+		this.pageableResolver = pageableResolver;
+	}
+
+	/**
+	 * Returns whether the paged resource of the given domain type shall be rendered without a total for the given
+	 * request.
+	 *
+	 * @param domainType must not be {@literal null}.
+	 * @param request can be {@literal null}.
+	 * @return
+	 */
+	public boolean isSliced(Class<?> domainType, WebRequest request) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+
+		if (request != null) {
+
+			String count = request.getParameter(config.getCountParamName());
+
+			if (StringUtils.hasText(count)) {
+				return !Boolean.parseBoolean(count.trim());
+			}
+
+			if (prefersNoCount(request)) {
+				return true;
+			}
+		}
+
+		return isEnabledFor(domainType);
+	}
+
+	/**
+	 * Returns whether sliced paging is enabled by default for the given domain type, either through the
+	 * {@link RepositoryRestConfiguration} or {@link RepositoryRestResource#slicedPaging()}.
+	 *
+	 * @param domainType must not be {@literal null}.
+	 * @return
+	 */
+	public boolean isEnabledFor(Class<?> domainType) {
+
+		Boolean result = enabled.get(domainType);
+
+		if (result == null) {
+
+			RepositoryRestResource annotation = repositories.hasRepositoryFor(domainType) ? AnnotationUtils.findAnnotation(
+					repositories.getRepositoryInformationFor(domainType).getRepositoryInterface(),
+					RepositoryRestResource.class) : null;
+
+			result = config.isSlicedPagingEnabledFor(domainType) || annotation != null && annotation.slicedPaging();
+			enabled.put(domainType, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Adds {@code next} and {@code prev} links pointing to the neighbouring slices of the given {@link Slice} to the
+	 * given {@link ResourceSupport}.
+	 *
+	 * @param resource must not be {@literal null}.
+	 * @param slice must not be {@literal null}.
+	 */
+	public void addSliceLinks(ResourceSupport resource, Slice<?> slice) {
+
+		Assert.notNull(resource, "Resource must not be null!");
+		Assert.notNull(slice, "Slice must not be null!");
+
+		if (slice.hasNext()) {
+			resource.add(new Link(getUri(slice.nextPageable()), Link.REL_NEXT));
+		}
+
+		if (slice.hasPrevious()) {
+			resource.add(new Link(getUri(slice.previousPageable()), Link.REL_PREVIOUS));
+		}
+	}
+
+	private String getUri(Pageable pageable) {
+
+		UriComponentsBuilder builder = ServletUriComponentsBuilder.fromCurrentRequest();
+		pageableResolver.enhance(builder, null, pageable);
+
+		return builder.build().toUriString();
+	}
+
+	private static boolean prefersNoCount(WebRequest request) {
+
+		String[] values = request.getHeaderValues(PREFER_HEADER);
+
+		if (values == null) {
+			return false;
+		}
+
+		for (String value : values) {
+			for (String preference : StringUtils.commaDelimitedListToStringArray(value)) {
+				if (PREFER_NO_COUNT.equalsIgnoreCase(preference.trim())) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+}
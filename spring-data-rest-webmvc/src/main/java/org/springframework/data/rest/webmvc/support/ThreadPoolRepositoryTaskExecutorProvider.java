@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link RepositoryTaskExecutorProvider} that lazily creates a dedicated, bounded {@link ThreadPoolTaskExecutor} per
+ * domain type so that slow repositories can't starve the others. Pool sizes and queue capacity are taken from the
+ * {@link RepositoryRestConfiguration}. Saturated executors reject further invocations.
+ *
+ * @author Oliver Gierke
+ */
+public class ThreadPoolRepositoryTaskExecutorProvider implements RepositoryTaskExecutorProvider, DisposableBean {
+
+	private final RepositoryRestConfiguration config;
+	private final ConcurrentMap<Class<?>, ThreadPoolTaskExecutor> executors;
+
+	/**
+	 * Creates a new {@link ThreadPoolRepositoryTaskExecutorProvider} for the given {@link RepositoryRestConfiguration}.
+	 *
+	 * @param config must not be {@literal null}.
+	 */
+	public ThreadPoolRepositoryTaskExecutorProvider(RepositoryRestConfiguration config) {
+
+		Assert.notNull(config, "RepositoryRestConfiguration must not be null!");
+		this.config = config;
+		this.executors = new ConcurrentHashMap<Class<?>, ThreadPoolTaskExecutor>();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.webmvc.support.RepositoryTaskExecutorProvider#getTaskExecutor(java.lang.Class)
+	 */
+	@Override
+	public AsyncTaskExecutor getTaskExecutor(Class<?> domainType) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+
+		ThreadPoolTaskExecutor executor = executors.get(domainType);
+
+		if (executor != null) {
+			return executor;
+		}
+
+		ThreadPoolTaskExecutor candidate = createExecutor(domainType);
+		executor = executors.putIfAbsent(domainType, candidate);
+
+		if (executor == null) {
+			return candidate;
+		}
+
+		candidate.shutdown();
+		return executor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+
+		for (ThreadPoolTaskExecutor executor : executors.values()) {
+			executor.shutdown();
+		}
+
+		executors.clear();
+	}
+
+	private ThreadPoolTaskExecutor createExecutor(Class<?> domainType) {
+
+		int poolSize = config.getAsyncPoolSizeFor(domainType);
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(config.getAsyncQueueCapacity());
+		executor.setThreadNamePrefix(String.format("spring-data-rest-%s-",
+				StringUtils.uncapitalize(domainType.getSimpleName())));
+		executor.initialize();
+
+		return executor;
+	}
+}
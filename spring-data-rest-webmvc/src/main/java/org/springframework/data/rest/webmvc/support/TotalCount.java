@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import org.springframework.util.Assert;
+
+/**
+ * The total number of elements of a paged resource as calculated by a {@link TotalCountStrategy}, flagging whether it
+ * is exact or an estimate.
+ *
+ * @author Oliver Gierke
+ */
+public final class TotalCount {
+
+	private final long value;
+	private final boolean estimated;
+
+	private TotalCount(long value, boolean estimated) {
+
+		Assert.isTrue(value >= 0, "Total count must not be negative!");
+
+		this.value = value;
+		this.estimated = estimated;
+	}
+
+	/**
+	 * Creates an exact {@link TotalCount}.
+	 *
+	 * @param value must not be negative.
+	 * @return
+	 */
+	public static TotalCount exact(long value) {
+		return new TotalCount(value, false);
+	}
+
+	/**
+	 * Creates an estimated {@link TotalCount}.
+	 *
+	 * @param value must not be negative.
+	 * @return
+	 */
+	public static TotalCount estimated(long value) {
+		return new TotalCount(value, true);
+	}
+
+	/**
+	 * Returns the total number of elements.
+	 *
+	 * @return
+	 */
+	public long getValue() {
+		return value;
+	}
+
+	/**
+	 * Returns whether the total is an estimate rather than the result of a count query.
+	 *
+	 * @return
+	 */
+	public boolean isEstimated() {
+		return estimated;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return estimated ? "~" + value : String.valueOf(value);
+	}
+}
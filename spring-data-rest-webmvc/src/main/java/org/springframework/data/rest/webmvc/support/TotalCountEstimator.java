@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+/**
+ * SPI to obtain a cheap estimate of the number of elements of a domain type from the store, e.g. from table
+ * statistics.
+ *
+ * @author Oliver Gierke
+ * @see EstimatingTotalCountStrategy
+ */
+public interface TotalCountEstimator {
+
+	/**
+	 * Returns the estimated number of elements of the given domain type.
+	 *
+	 * @param domainType will never be {@literal null}.
+	 * @return the estimate or {@literal null} if none is available for the given type.
+	 */
+	Long estimate(Class<?> domainType);
+}
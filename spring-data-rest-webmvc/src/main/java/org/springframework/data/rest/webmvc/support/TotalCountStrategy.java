@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.Map;
+
+import org.springframework.data.rest.core.invoke.RepositoryInvoker;
+
+/**
+ * Strategy to calculate the total number of elements of paged collection resources.
+ *
+ * @author Oliver Gierke
+ * @see ExactTotalCountStrategy
+ * @see CachingTotalCountStrategy
+ * @see EstimatingTotalCountStrategy
+ */
+public interface TotalCountStrategy {
+
+	/**
+	 * Returns the total number of elements of the given domain type.
+	 *
+	 * @param domainType the domain type to count, will never be {@literal null}.
+	 * @param parameters the request parameters not related to paging, will never be {@literal null}.
+	 * @param invoker the {@link RepositoryInvoker} of the domain type's repository, will never be {@literal null}.
+	 * @return must not be {@literal null}.
+	 */
+	TotalCount getTotalCount(Class<?> domainType, Map<String, String[]> parameters, RepositoryInvoker invoker);
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.core.invoke.RepositoryInvoker;
+import org.springframework.hateoas.PagedResources.PageMetadata;
+import org.springframework.util.Assert;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Looks up pages of collection resources calculating the total number of elements through a
+ * {@link TotalCountStrategy}. The content is looked up as {@link Slice} so that the count query can be skipped or
+ * replaced by the strategy. This includes paging repositories the configured
+ * {@link org.springframework.data.rest.core.invoke.SliceQueryExecutor} supports. Repositories that always count when
+ * paging otherwise, i.e. the ones that don't declare a {@link Slice} returning {@code findAll…(Pageable)} method,
+ * keep reporting the total calculated by the store as it has been calculated already.
+ *
+ * @author Oliver Gierke
+ */
+public class TotalCountSupport {
+
+	private final RepositoryRestConfiguration config;
+	private final TotalCountStrategy strategy;
+
+	/**
+	 * Creates a new {@link TotalCountSupport} for the given {@link RepositoryRestConfiguration} and
+	 * {@link TotalCountStrategy}.
+	 *
+	 * @param config must not be {@literal null}.
+	 * @param strategy must not be {@literal null}.
+	 */
+	public TotalCountSupport(RepositoryRestConfiguration config, TotalCountStrategy strategy) {
+
+		Assert.notNull(config, "RepositoryRestConfiguration must not be null!");
+		Assert.notNull(strategy, "TotalCountStrategy must not be null!");
+
+		this.config = config;
+		this.strategy = strategy;
+	}
+
+	/**
+	 * Returns the page of all elements of the given domain type described by the given {@link Pageable}.
+	 *
+	 * @param invoker must not be {@literal null}.
+	 * @param domainType must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @param request can be {@literal null}.
+	 * @return a {@link Page}, or a {@link Slice} in case the repository doesn't provide a way to count elements.
+	 */
+	public Slice<Object> findAll(RepositoryInvoker invoker, Class<?> domainType, Pageable pageable, WebRequest request) {
+
+		Assert.notNull(invoker, "RepositoryInvoker must not be null!");
+		Assert.notNull(domainType, "Domain type must not be null!");
+		Assert.notNull(pageable, "Pageable must not be null!");
+
+		Slice<Object> slice = invoker.invokeFindAllSliced(pageable);
+
+		if (slice instanceof Page || !invoker.hasCountMethod()) {
+			return slice;
+		}
+
+		List<Object> content = slice.getContent();
+		long seen = pageable.getOffset() + content.size();
+
+		if (!slice.hasNext() && (!content.isEmpty() || pageable.getOffset() == 0)) {
+			return new CountedPage(content, pageable, TotalCount.exact(seen));
+		}
+
+		TotalCount total = strategy.getTotalCount(domainType, getParameters(request), invoker);
+		long minimum = slice.hasNext() ? seen + 1 : seen;
+
+		return new CountedPage(content, pageable, total.getValue() >= minimum ? total : TotalCount.estimated(minimum));
+	}
+
+	private Map<String, String[]> getParameters(WebRequest request) {
+
+		if (request == null) {
+			return new HashMap<String, String[]>();
+		}
+
+		Map<String, String[]> parameters = new HashMap<String, String[]>(request.getParameterMap());
+		List<String> pagingParameters = Arrays.asList(config.getPageParamName(), config.getLimitParamName(),
+				config.getSortParamName(), config.getCursorParamName(), config.getCountParamName());
+
+		parameters.keySet().removeAll(pagingParameters);
+
+		return parameters;
+	}
+
+	/**
+	 * {@link Page} carrying whether its total was estimated.
+	 *
+	 * @author Oliver Gierke
+	 */
+	public static class CountedPage extends PageImpl<Object> {
+
+		private static final long serialVersionUID = 4256137914735362085L;
+
+		private final boolean estimated;
+
+		public CountedPage(List<Object> content, Pageable pageable, TotalCount total) {
+
+			super(content, pageable, total.getValue());
+			this.estimated = total.isEstimated();
+		}
+
+		/**
+		 * Returns whether the total number of elements is an estimate.
+		 *
+		 * @return
+		 */
+		public boolean isEstimated() {
+			return estimated;
+		}
+	}
+
+	/**
+	 * {@link PageMetadata} flagging the total number of elements and pages as estimates.
+	 *
+	 * @author Oliver Gierke
+	 */
+	public static class EstimatedPageMetadata extends PageMetadata {
+
+		/**
+		 * Creates a new {@link EstimatedPageMetadata} from the given {@link PageMetadata}.
+		 *
+		 * @param metadata must not be {@literal null}.
+		 */
+		public EstimatedPageMetadata(PageMetadata metadata) {
+			super(metadata.getSize(), metadata.getNumber(), metadata.getTotalElements(), metadata.getTotalPages());
+		}
+
+		/**
+		 * Returns whether the totals are estimates, i.e. always {@literal true}.
+		 *
+		 * @return
+		 */
+		@JsonProperty
+		public boolean isEstimated() {
+			return true;
+		}
+	}
+}
@@ -15,11 +15,16 @@
  */
 package org.springframework.data.rest.webmvc.util;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.MethodParameter;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.util.UriTemplate;
 
 /**
  * Utility methods to work with requests and URIs.
@@ -28,6 +33,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
  */
 public abstract class UriUtils {
 
+	private static final Map<String, UriTemplate> TEMPLATES = new ConcurrentHashMap<String, UriTemplate>();
+
 	private UriUtils() {}
 
 	/**
@@ -41,20 +48,51 @@ public abstract class UriUtils {
 	public static String findMappingVariable(String variable, MethodParameter parameter, String lookupPath) {
 
 		Assert.hasText(variable, "Variable name must not be null or empty!");
+
+		return findMappingVariables(parameter, lookupPath).get(variable);
+	}
+
+	/**
+	 * Returns the variables of the mappings of the given parameter's handler method matching the given lookup path. Every
+	 * variable is taken from the first mapping that resolves it to a non-{@literal null} value, just like
+	 * {@link #findMappingVariable(String, MethodParameter, String)} does for an individual variable.
+	 * 
+	 * @param parameter must not be {@literal null}.
+	 * @param lookupPath
+	 * @return the matched variables or an empty {@link Map} if none of the mappings matches.
+	 */
+	public static Map<String, String> findMappingVariables(MethodParameter parameter, String lookupPath) {
+
 		Assert.notNull(parameter, "Method parameter must not be null!");
 
 		RequestMapping annotation = parameter.getMethodAnnotation(RequestMapping.class);
 
-		for (String mapping : annotation.value()) {
+		if (annotation == null || lookupPath == null) {
+			return Collections.emptyMap();
+		}
 
-			Map<String, String> variables = new org.springframework.web.util.UriTemplate(mapping).match(lookupPath);
-			String value = variables.get(variable);
+		Map<String, String> result = new HashMap<String, String>();
 
-			if (value != null) {
-				return value;
+		for (String mapping : annotation.value()) {
+			for (Entry<String, String> variable : getTemplate(mapping).match(lookupPath).entrySet()) {
+				if (variable.getValue() != null && !result.containsKey(variable.getKey())) {
+					result.put(variable.getKey(), variable.getValue());
+				}
 			}
 		}
 
-		return null;
+		return result;
+	}
+
+	private static UriTemplate getTemplate(String mapping) {
+
+		UriTemplate template = TEMPLATES.get(mapping);
+
+		if (template == null) {
+			template = new UriTemplate(mapping);
+			TEMPLATES.put(mapping, template);
+		}
+
+		return template;
 	}
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.annotation.Reference;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.context.PersistentEntities;
+import org.springframework.data.mapping.model.MappingException;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.data.rest.core.mapping.MappingResourceMetadata;
+import org.springframework.data.rest.core.mapping.ResourceMappings;
+import org.springframework.data.rest.webmvc.mapping.AssociationLinkTemplates;
+import org.springframework.data.rest.webmvc.mapping.AssociationLinkTemplates.Template;
+import org.springframework.data.rest.webmvc.mapping.AssociationLinks;
+import org.springframework.hateoas.Link;
+
+/**
+ * Unit tests for {@link AssociationLinkTemplates}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AssociationLinkTemplatesUnitTests {
+
+	@Mock ResourceMappings mappings;
+
+	MongoMappingContext mappingContext;
+	AssociationLinkTemplates templates;
+
+	@Before
+	public void setUp() {
+
+		this.mappingContext = new MongoMappingContext();
+		this.templates = new AssociationLinkTemplates(new PersistentEntities(Arrays.asList(mappingContext)),
+				new AssociationLinks(mappings));
+
+		export(Sample.class, Ambiguous.class, Cyclic.class, Property.class);
+	}
+
+	@Test
+	public void appendsTemplatePathToInstanceUri() {
+
+		List<Link> links = templates.getLinksFor(getEntity(Sample.class), "http://localhost/samples/1");
+
+		assertThat(links, hasSize(1));
+		assertThat(links, hasItem(new Link("http://localhost/samples/1/property", "property")));
+	}
+
+	@Test
+	public void cachesTemplatesPerEntity() {
+
+		PersistentEntity<?, ?> entity = getEntity(Sample.class);
+		List<Template> result = templates.getTemplatesFor(entity);
+
+		assertThat(result, hasSize(1));
+		assertThat(templates.getTemplatesFor(entity), is(sameInstance(result)));
+	}
+
+	@Test(expected = MappingException.class)
+	public void rejectsAmbiguousAssociationRels() {
+		templates.getTemplatesFor(getEntity(Ambiguous.class));
+	}
+
+	@Test
+	public void stopsTraversingCyclicUnlinkableAssociations() {
+		assertThat(templates.getTemplatesFor(getEntity(Cyclic.class)), hasSize(1));
+	}
+
+	private PersistentEntity<?, ?> getEntity(Class<?> type) {
+		return mappingContext.getPersistentEntity(type);
+	}
+
+	private void export(Class<?>... types) {
+
+		for (Class<?> type : types) {
+			when(mappings.getMappingFor(type)).thenReturn(new MappingResourceMetadata(getEntity(type)));
+		}
+	}
+
+	public static class Sample {
+
+		@Reference Property property;
+	}
+
+	public static class Ambiguous {
+
+		@RestResource(rel = "property") @Reference Property first;
+		@RestResource(rel = "property") @Reference Property second;
+	}
+
+	public static class Cyclic {
+
+		@Reference Property property;
+		@Reference Unexported unexported;
+	}
+
+	public static class Unexported {
+
+		@Reference Cyclic cyclic;
+		@Reference Unexported self;
+	}
+
+	public static class Property {
+
+	}
+}
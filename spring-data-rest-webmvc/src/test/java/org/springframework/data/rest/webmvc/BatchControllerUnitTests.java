@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.webmvc.BatchRequestDispatcher.DetachedHttpServletRequest;
+import org.springframework.data.rest.webmvc.support.BatchRequest;
+import org.springframework.data.rest.webmvc.support.BatchRequest.Operation;
+import org.springframework.data.rest.webmvc.support.BatchResponse.Result;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Unit tests for {@link BatchController}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BatchControllerUnitTests {
+
+	@Mock PagedResourcesAssembler<Object> assembler;
+	@Mock BatchRequestDispatcher dispatcher;
+
+	BatchController controller;
+	MockHttpServletRequest request;
+
+	@Before
+	public void setUp() {
+
+		RepositoryRestConfiguration configuration = new RepositoryRestConfiguration();
+		configuration.setBatchEnabled(true);
+
+		controller = new BatchController(assembler, configuration, dispatcher, new SimpleAsyncTaskExecutor());
+		request = new MockHttpServletRequest("POST", "/$batch");
+
+		when(dispatcher.dispatch(any(Operation.class), any(HttpServletRequest.class), anyString())).thenReturn(
+				Result.notExecuted("1", HttpStatus.OK));
+	}
+
+	@Test
+	public void dispatchesParallelOperationsWithDetachedRequest() throws Exception {
+
+		BatchRequest batch = new BatchRequest();
+		batch.setParallel(true);
+		batch.setOperations(Arrays.asList(getOperation("/people/1"), getOperation("/people/2")));
+
+		controller.executeBatch(batch, request);
+
+		ArgumentCaptor<HttpServletRequest> captor = ArgumentCaptor.forClass(HttpServletRequest.class);
+		verify(dispatcher, times(2)).dispatch(any(Operation.class), captor.capture(), anyString());
+
+		List<HttpServletRequest> requests = captor.getAllValues();
+
+		assertThat(requests.get(0), is(instanceOf(DetachedHttpServletRequest.class)));
+		assertThat(requests.get(0), is(sameInstance(requests.get(1))));
+	}
+
+	@After
+	public void tearDown() {
+		LocaleContextHolder.resetLocaleContext();
+	}
+
+	@Test
+	public void propagatesLocaleToParallelOperations() throws Exception {
+
+		final List<Locale> locales = Collections.synchronizedList(new ArrayList<Locale>());
+
+		when(dispatcher.dispatch(any(Operation.class), any(HttpServletRequest.class), anyString())).thenAnswer(
+				new Answer<Result>() {
+
+					@Override
+					public Result answer(InvocationOnMock invocation) throws Throwable {
+						locales.add(LocaleContextHolder.getLocale());
+						return Result.notExecuted("1", HttpStatus.OK);
+					}
+				});
+
+		LocaleContextHolder.setLocale(Locale.GERMAN);
+
+		BatchRequest batch = new BatchRequest();
+		batch.setParallel(true);
+		batch.setOperations(Arrays.asList(getOperation("/people/1"), getOperation("/people/2")));
+
+		controller.executeBatch(batch, request);
+
+		assertThat(locales, is(Arrays.asList(Locale.GERMAN, Locale.GERMAN)));
+	}
+
+	@Test
+	public void dispatchesSequentialOperationsWithOriginalRequest() throws Exception {
+
+		BatchRequest batch = new BatchRequest();
+		batch.setOperations(Arrays.asList(getOperation("/people/1")));
+
+		controller.executeBatch(batch, request);
+
+		verify(dispatcher).dispatch(any(Operation.class), eq((HttpServletRequest) request), anyString());
+	}
+
+	private static Operation getOperation(String uri) {
+
+		Operation operation = new Operation();
+		operation.setUri(uri);
+
+		return operation;
+	}
+}
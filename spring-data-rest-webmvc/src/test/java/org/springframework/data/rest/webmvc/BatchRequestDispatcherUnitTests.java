@@ -0,0 +1,253 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.Charset;
+import java.util.Collections;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.rest.webmvc.BatchRequestDispatcher.BatchOperationHttpServletRequest;
+import org.springframework.data.rest.webmvc.BatchRequestDispatcher.BatchOperationHttpServletResponse;
+import org.springframework.data.rest.webmvc.BatchRequestDispatcher.DetachedHttpServletRequest;
+import org.springframework.data.rest.webmvc.support.BatchRequest;
+import org.springframework.data.rest.webmvc.support.BatchRequest.Operation;
+import org.springframework.data.rest.webmvc.support.BatchResponse.Result;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerAdapter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for the request and response abstractions of {@link BatchRequestDispatcher}.
+ *
+ * @author Oliver Gierke
+ */
+public class BatchRequestDispatcherUnitTests {
+
+	MockHttpServletRequest batchRequest;
+
+	@Before
+	public void setUp() {
+
+		batchRequest = new MockHttpServletRequest("POST", "/ctx/api/$batch");
+		batchRequest.setContextPath("/ctx");
+		batchRequest.setServletPath("/api");
+		batchRequest.setPathInfo("/$batch");
+		batchRequest.addHeader("Accept", "application/json");
+		batchRequest.addHeader("X-Forwarded-Host", "example.com");
+		batchRequest.setAttribute("foo", "bar");
+	}
+
+	@Test
+	public void derivesRequestFromOperation() throws Exception {
+
+		Operation operation = new Operation();
+		operation.setMethod(HttpMethod.PATCH);
+		operation.setUri("people/1?projection=summary&name=Dave%20Matthews");
+		operation.setBody(new ObjectMapper().readTree("{ \"firstName\" : \"Dave\" }"));
+
+		BatchOperationHttpServletRequest request = new BatchOperationHttpServletRequest(batchRequest, operation, "");
+
+		assertThat(request.getMethod(), is("PATCH"));
+		assertThat(request.getRequestURI(), is("/ctx/api/people/1"));
+		assertThat(request.getServletPath(), is("/api"));
+		assertThat(request.getPathInfo(), is("/people/1"));
+		assertThat(request.getParameter("projection"), is("summary"));
+		assertThat(request.getParameter("name"), is("Dave Matthews"));
+		assertThat(request.getContentType(), is("application/json"));
+		assertThat(StreamUtils.copyToString(request.getInputStream(), Charset.forName("UTF-8")),
+				is("{\"firstName\":\"Dave\"}"));
+	}
+
+	@Test
+	public void inheritsGeneralHeadersButNotContentNegotiation() {
+
+		Operation operation = new Operation();
+		operation.setUri("/people");
+
+		BatchOperationHttpServletRequest request = new BatchOperationHttpServletRequest(batchRequest, operation, "");
+
+		assertThat(request.getHeader("X-Forwarded-Host"), is("example.com"));
+		assertThat(request.getHeader("Accept"), is(nullValue()));
+
+		operation.setHeaders(Collections.singletonMap("Accept", "application/hal+json"));
+		request = new BatchOperationHttpServletRequest(batchRequest, operation, "");
+
+		assertThat(request.getHeader("accept"), is("application/hal+json"));
+	}
+
+	@Test
+	public void keepsAttributesSeparate() {
+
+		Operation operation = new Operation();
+		operation.setUri("/people");
+
+		BatchOperationHttpServletRequest request = new BatchOperationHttpServletRequest(batchRequest, operation, "");
+		request.setAttribute("foo", "foobar");
+
+		assertThat(request.getAttribute("foo"), is((Object) "foobar"));
+		assertThat(batchRequest.getAttribute("foo"), is((Object) "bar"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsAbsoluteUri() {
+
+		Operation operation = new Operation();
+		operation.setUri("http://example.com/people");
+
+		new BatchOperationHttpServletRequest(batchRequest, operation, "");
+	}
+
+	@Test
+	public void capturesResponse() throws Exception {
+
+		BatchOperationHttpServletResponse response = new BatchOperationHttpServletResponse();
+		response.setStatus(201);
+		response.setContentType("application/hal+json");
+		response.setHeader("Location", "http://localhost/people/1");
+		response.getOutputStream().write("{\"firstName\":\"Dave\"}".getBytes("UTF-8"));
+
+		Result result = response.toResult("1");
+
+		assertThat(result.getId(), is("1"));
+		assertThat(result.getStatus(), is(201));
+		assertThat(result.getHeaders().get("Location"), is("http://localhost/people/1"));
+		assertThat(result.getBody(), is("{\"firstName\":\"Dave\"}"));
+		assertThat(result.getText(), is(nullValue()));
+	}
+
+	@Test
+	public void rejectsNestedBatchOperations() throws Exception {
+
+		HandlerMapping mapping = mock(HandlerMapping.class);
+		HandlerAdapter adapter = mock(HandlerAdapter.class);
+		HandlerMethod handlerMethod = new HandlerMethod(mock(BatchController.class), BatchController.class.getMethod(
+				"executeBatch", BatchRequest.class, HttpServletRequest.class));
+
+		when(mapping.getHandler(any(HttpServletRequest.class))).thenReturn(new HandlerExecutionChain(handlerMethod));
+
+		Operation operation = new Operation();
+		operation.setId("1");
+		operation.setMethod(HttpMethod.POST);
+		operation.setUri("/$batch");
+		operation.setBody(new ObjectMapper().readTree("{ \"operations\" : [] }"));
+
+		BatchOperationAuthorizer authorizer = mock(BatchOperationAuthorizer.class);
+		when(authorizer.isAuthorized(any(HttpServletRequest.class))).thenReturn(true);
+
+		BatchRequestDispatcher dispatcher = new BatchRequestDispatcher(mapping, adapter,
+				mock(HandlerExceptionResolver.class), authorizer);
+		Result result = dispatcher.dispatch(operation, batchRequest, "");
+
+		assertThat(result.getStatus(), is(400));
+		assertThat(result.getText(), is(notNullValue()));
+		verifyZeroInteractions(adapter);
+	}
+
+	@Test
+	public void rejectsOperationsNotAuthorized() throws Exception {
+
+		HandlerMapping mapping = mock(HandlerMapping.class);
+		BatchOperationAuthorizer authorizer = mock(BatchOperationAuthorizer.class);
+
+		Operation operation = new Operation();
+		operation.setId("1");
+		operation.setMethod(HttpMethod.DELETE);
+		operation.setUri("/people/1");
+
+		BatchRequestDispatcher dispatcher = new BatchRequestDispatcher(mapping, mock(HandlerAdapter.class),
+				mock(HandlerExceptionResolver.class), authorizer);
+		Result result = dispatcher.dispatch(operation, batchRequest, "");
+
+		ArgumentCaptor<HttpServletRequest> captor = ArgumentCaptor.forClass(HttpServletRequest.class);
+		verify(authorizer).isAuthorized(captor.capture());
+
+		assertThat(captor.getValue().getMethod(), is("DELETE"));
+		assertThat(captor.getValue().getRequestURI(), is("/ctx/api/people/1"));
+		assertThat(result.getStatus(), is(403));
+		verifyZeroInteractions(mapping);
+	}
+
+	@Test
+	public void rejectsAllOperationsWithoutAuthorizer() throws Exception {
+
+		HandlerMapping mapping = mock(HandlerMapping.class);
+
+		Operation operation = new Operation();
+		operation.setId("1");
+		operation.setUri("/people/1");
+
+		BatchRequestDispatcher dispatcher = new BatchRequestDispatcher(mapping, mock(HandlerAdapter.class),
+				mock(HandlerExceptionResolver.class), null);
+
+		assertThat(dispatcher.dispatch(operation, batchRequest, "").getStatus(), is(403));
+		verifyZeroInteractions(mapping);
+	}
+
+	@Test
+	public void detachedRequestIsNotAffectedByChangesToTheOriginalOne() {
+
+		DetachedHttpServletRequest request = new DetachedHttpServletRequest(batchRequest);
+
+		batchRequest.addHeader("X-Forwarded-Host", "evil.com");
+		batchRequest.addHeader("X-Custom", "foo");
+		batchRequest.setAttribute("foo", "foobar");
+		batchRequest.setServletPath("/other");
+		batchRequest.setServerName("other.com");
+
+		assertThat(request.getHeader("X-Forwarded-Host"), is("example.com"));
+		assertThat(Collections.list(request.getHeaders("X-Forwarded-Host")), is(Collections.singletonList("example.com")));
+		assertThat(request.getHeader("X-Custom"), is(nullValue()));
+		assertThat(request.getAttribute("foo"), is((Object) "bar"));
+		assertThat(request.getServletPath(), is("/api"));
+		assertThat(request.getServerName(), is("localhost"));
+		assertThat(request.getRequestURI(), is("/ctx/api/$batch"));
+	}
+
+	@Test
+	public void derivesOperationRequestFromDetachedRequest() {
+
+		Operation operation = new Operation();
+		operation.setUri("people/1");
+
+		BatchOperationHttpServletRequest request = new BatchOperationHttpServletRequest(new DetachedHttpServletRequest(
+				batchRequest), operation, "");
+
+		assertThat(request.getRequestURI(), is("/ctx/api/people/1"));
+		assertThat(request.getHeader("X-Forwarded-Host"), is("example.com"));
+		assertThat(request.getRequestURL().toString(), is("http://localhost/ctx/api/people/1"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void detachedRequestDoesNotCreateSessions() {
+		new DetachedHttpServletRequest(batchRequest).getSession();
+	}
+}
@@ -17,19 +17,60 @@ package org.springframework.data.rest.webmvc;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataRetrievalFailureException;
 import org.springframework.data.mapping.context.PersistentEntities;
+import org.springframework.data.rest.core.RepositoryConstraintViolationException;
 import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.core.event.AfterBulkDeleteEvent;
+import org.springframework.data.rest.core.event.AfterCreateEvent;
+import org.springframework.data.rest.core.event.AfterDeleteEvent;
+import org.springframework.data.rest.core.event.BeforeBulkDeleteEvent;
+import org.springframework.data.rest.core.event.BeforeCreateEvent;
+import org.springframework.data.rest.core.event.BeforeDeleteEvent;
+import org.springframework.data.rest.core.event.BulkDeleteEvent;
+import org.springframework.data.rest.core.invoke.RepositoryInvoker;
 import org.springframework.data.rest.webmvc.jpa.Address;
 import org.springframework.data.rest.webmvc.jpa.AddressRepository;
 import org.springframework.data.rest.webmvc.jpa.JpaRepositoryConfig;
 import org.springframework.data.rest.webmvc.jpa.Order;
 import org.springframework.data.rest.webmvc.jpa.Person;
+import org.springframework.data.rest.webmvc.jpa.PersonRepository;
+import org.springframework.data.rest.webmvc.support.BulkOperationResult;
+import org.springframework.data.rest.webmvc.support.BulkOperationResult.Item;
+import org.springframework.data.rest.webmvc.support.MissingEntityResource;
+import org.springframework.hateoas.Resources;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 
 /**
@@ -46,6 +87,31 @@ public class RepositoryEntityControllerIntegrationTests extends AbstractControll
 	@Autowired RepositoryRestConfiguration configuration;
 	@Autowired PersistentEntityResourceAssembler assembler;
 	@Autowired PersistentEntities entities;
+	@Autowired PersonRepository people;
+	@Autowired ApplicationContext context;
+	@Autowired PlatformTransactionManager transactionManager;
+
+	RecordingEventPublisher publisher;
+	int bulkChunkSize, maxPageSize;
+
+	@Before
+	public void setUp() {
+
+		this.publisher = new RecordingEventPublisher();
+		this.bulkChunkSize = configuration.getBulkChunkSize();
+		this.maxPageSize = configuration.getMaxPageSize();
+
+		controller.setApplicationEventPublisher(publisher);
+	}
+
+	@After
+	public void tearDown() {
+
+		controller.setApplicationEventPublisher(context);
+		configuration.setBulkChunkSize(bulkChunkSize);
+		configuration.setMaxPageSize(maxPageSize);
+		ReflectionTestUtils.setField(controller, "transactionManager", transactionManager);
+	}
 
 	/**
 	 * @see DATAREST-217
@@ -56,7 +122,7 @@ public class RepositoryEntityControllerIntegrationTests extends AbstractControll
 		repository.save(new Address());
 
 		RootResourceInformation request = getResourceInformation(Address.class);
-		controller.getCollectionResource(request, null, null, null);
+		controller.getCollectionResource(request, null, null, null, null, null);
 	}
 
 	/**
@@ -80,8 +146,296 @@ public class RepositoryEntityControllerIntegrationTests extends AbstractControll
 		PersistentEntityResource<Object> persistentEntityResource = new PersistentEntityResource<Object>(
 				entities.getPersistentEntity(Order.class), new Order(new Person()));
 
-		ResponseEntity<?> entity = controller.putItemResource(information, persistentEntityResource, 1L, assembler);
+		ResponseEntity<?> entity = controller.putItemResource(information, persistentEntityResource, 1L, assembler, null);
 
 		assertThat(entity.getHeaders().getLocation().toString(), not(endsWith("{?projection}")));
 	}
+
+	@Test
+	public void createsMultipleEntitiesReportingLocationPerItem() throws Exception {
+
+		ResponseEntity<?> response = postPeople(getResourceInformation(Person.class), new Person("Dave", "Matthews"),
+				new Person("Carter", "Beauford"));
+
+		assertThat(response.getStatusCode(), is(HttpStatus.CREATED));
+
+		List<Item> items = ((BulkOperationResult) response.getBody()).getItems();
+
+		assertThat(items, hasSize(2));
+
+		for (Item item : items) {
+			assertThat(item.getStatus(), is(HttpStatus.CREATED.value()));
+			assertThat(item.getLocation().toString(), containsString("/people/"));
+			assertThat(item.getLocation().toString(), not(endsWith("{?projection}")));
+		}
+
+		assertThat(items.get(0).getLocation(), is(not(items.get(1).getLocation())));
+	}
+
+	@Test
+	public void savesBulkCreationsInChunks() throws Exception {
+
+		configuration.setBulkChunkSize(2);
+
+		postPeople(getResourceInformation(Person.class), new Person("Dave", "Matthews"), new Person("Carter",
+				"Beauford"), new Person("Boyd", "Tinsley"));
+
+		assertThat(publisher.getEventTypes(), is(Arrays.<Class<?>> asList(BeforeCreateEvent.class,
+				BeforeCreateEvent.class, AfterCreateEvent.class, AfterCreateEvent.class, BeforeCreateEvent.class,
+				AfterCreateEvent.class)));
+	}
+
+	@Test
+	public void reportsValidationFailuresPerItem() throws Exception {
+
+		ResponseEntity<?> response = postPeople(getResourceInformation(Person.class), new Person("Dave", "Matthews"),
+				new Person("Carter", null), new Person("Boyd", "Tinsley"));
+
+		assertThat(response.getStatusCode(), is(HttpStatus.MULTI_STATUS));
+
+		List<Item> items = ((BulkOperationResult) response.getBody()).getItems();
+
+		assertThat(items, hasSize(3));
+		assertThat(items.get(0).getStatus(), is(HttpStatus.CREATED.value()));
+		assertThat(items.get(1).getStatus(), is(HttpStatus.BAD_REQUEST.value()));
+		assertThat(items.get(1).getLocation(), is(nullValue()));
+		assertThat(items.get(2).getStatus(), is(HttpStatus.CREATED.value()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void reportsConflictsWithMessageAndOtherStoreFailuresGenerically() throws Exception {
+
+		configuration.setBulkChunkSize(1);
+
+		RepositoryInvoker invoker = mock(RepositoryInvoker.class);
+		when(invoker.exposesSave()).thenReturn(true);
+		when(invoker.invokeSaveAll(any(Iterable.class))).thenThrow(new DataIntegrityViolationException("Duplicate!"),
+				new DataRetrievalFailureException("Connection to jdbc:secret lost!"));
+
+		RootResourceInformation information = new RootResourceInformation(getMetadata(Person.class),
+				entities.getPersistentEntity(Person.class), invoker);
+
+		ResponseEntity<?> response = postPeople(information, new Person("Dave", "Matthews"), new Person("Carter",
+				"Beauford"));
+
+		assertThat(response.getStatusCode(), is(HttpStatus.MULTI_STATUS));
+
+		List<Item> items = ((BulkOperationResult) response.getBody()).getItems();
+
+		assertThat(items.get(0).getStatus(), is(HttpStatus.CONFLICT.value()));
+		assertThat(items.get(0).getMessage(), is("Duplicate!"));
+		assertThat(items.get(1).getStatus(), is(HttpStatus.INTERNAL_SERVER_ERROR.value()));
+		assertThat(items.get(1).getMessage(), not(containsString("secret")));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void reportsAllItemsOfChunkFailedIfItsTransactionIsRolledBack() throws Exception {
+
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(
+				new SimpleTransactionStatus());
+		ReflectionTestUtils.setField(controller, "transactionManager", transactionManager);
+
+		RepositoryInvoker invoker = mock(RepositoryInvoker.class);
+		when(invoker.exposesSave()).thenReturn(true);
+		when(invoker.invokeSaveAll(any(Iterable.class))).thenThrow(new DataIntegrityViolationException("Duplicate!"));
+
+		RootResourceInformation information = new RootResourceInformation(getMetadata(Person.class),
+				entities.getPersistentEntity(Person.class), invoker);
+
+		ResponseEntity<?> response = postPeople(information, new Person("Dave", "Matthews"), new Person("Carter",
+				"Beauford"));
+
+		List<Item> items = ((BulkOperationResult) response.getBody()).getItems();
+
+		assertThat(items.get(0).getStatus(), is(HttpStatus.CONFLICT.value()));
+		assertThat(items.get(1).getStatus(), is(HttpStatus.CONFLICT.value()));
+		assertThat(publisher.getEventTypes(), not(hasItem((Class<?>) AfterCreateEvent.class)));
+
+		verify(transactionManager).rollback(any(TransactionStatus.class));
+		verify(transactionManager, never()).commit(any(TransactionStatus.class));
+	}
+
+	@Test
+	public void savesAndReportsItemsOneByOneWithoutTransactionManager() throws Exception {
+
+		ReflectionTestUtils.setField(controller, "transactionManager", null);
+
+		RepositoryInvoker invoker = mock(RepositoryInvoker.class);
+		when(invoker.exposesSave()).thenReturn(true);
+		when(invoker.invokeSave(any())).thenAnswer(new Answer<Object>() {
+
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+
+				Person person = (Person) invocation.getArguments()[0];
+
+				if ("Carter".equals(person.getFirstName())) {
+					throw new DataIntegrityViolationException("Duplicate!");
+				}
+
+				return people.save(person);
+			}
+		});
+
+		RootResourceInformation information = new RootResourceInformation(getMetadata(Person.class),
+				entities.getPersistentEntity(Person.class), invoker);
+
+		ResponseEntity<?> response = postPeople(information, new Person("Dave", "Matthews"), new Person("Carter",
+				"Beauford"), new Person("Boyd", "Tinsley"));
+
+		List<Item> items = ((BulkOperationResult) response.getBody()).getItems();
+
+		assertThat(items, hasSize(3));
+		assertThat(items.get(0).getStatus(), is(HttpStatus.CREATED.value()));
+		assertThat(items.get(1).getStatus(), is(HttpStatus.CONFLICT.value()));
+		assertThat(items.get(2).getStatus(), is(HttpStatus.CREATED.value()));
+		assertThat(publisher.getEventTypes(), is(Arrays.<Class<?>> asList(BeforeCreateEvent.class,
+				BeforeCreateEvent.class, BeforeCreateEvent.class, AfterCreateEvent.class, AfterCreateEvent.class)));
+	}
+
+	@Test
+	public void returnsEntitiesByIdsInRequestedOrderMarkingMissingOnes() throws Exception {
+
+		configuration.setBulkChunkSize(1);
+
+		Person dave = people.save(new Person("Dave", "Matthews"));
+		Person carter = people.save(new Person("Carter", "Beauford"));
+
+		List<String> ids = Arrays.asList(carter.getId().toString(), "4711", dave.getId().toString());
+		Resources<?> resources = controller.getCollectionResourceByIds(getResourceInformation(Person.class), ids,
+				assembler);
+
+		List<Object> content = new ArrayList<Object>(resources.getContent());
+
+		assertThat(content, hasSize(3));
+		assertThat(((PersistentEntityResource<?>) content.get(0)).getContent(), is((Object) carter));
+		assertThat(content.get(1), is(instanceOf(MissingEntityResource.class)));
+		assertThat(((MissingEntityResource) content.get(1)).getRequestId(), is("4711"));
+		assertThat(((PersistentEntityResource<?>) content.get(2)).getContent(), is((Object) dave));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsMoreIdsThanMaxPageSize() throws Exception {
+
+		configuration.setMaxPageSize(2);
+
+		controller.getCollectionResourceByIds(getResourceInformation(Person.class), Arrays.asList("1", "2", "3"),
+				assembler);
+	}
+
+	@Test
+	public void deletesEntitiesByIdsReportingStatusPerItem() throws Exception {
+
+		Person dave = people.save(new Person("Dave", "Matthews"));
+		Person carter = people.save(new Person("Carter", "Beauford"));
+
+		ResponseEntity<BulkOperationResult> response = controller.deleteCollectionResourceByIds(
+				getResourceInformation(Person.class),
+				Arrays.asList(dave.getId().toString(), "4711", carter.getId().toString()));
+
+		assertThat(response.getStatusCode(), is(HttpStatus.MULTI_STATUS));
+
+		List<Item> items = response.getBody().getItems();
+
+		assertThat(items, hasSize(3));
+		assertThat(items.get(0).getStatus(), is(HttpStatus.NO_CONTENT.value()));
+		assertThat(items.get(1).getStatus(), is(HttpStatus.NOT_FOUND.value()));
+		assertThat(items.get(2).getStatus(), is(HttpStatus.NO_CONTENT.value()));
+
+		assertThat(people.findOne(dave.getId()), is(nullValue()));
+		assertThat(people.findOne(carter.getId()), is(nullValue()));
+	}
+
+	@Test
+	public void returnsOkIfAllEntitiesWereDeleted() throws Exception {
+
+		Person dave = people.save(new Person("Dave", "Matthews"));
+
+		ResponseEntity<BulkOperationResult> response = controller.deleteCollectionResourceByIds(
+				getResourceInformation(Person.class), Arrays.asList(dave.getId().toString()));
+
+		assertThat(response.getStatusCode(), is(HttpStatus.OK));
+		assertThat(response.getBody().isSuccessful(), is(true));
+	}
+
+	@Test
+	public void publishesBulkDeleteEventsPerChunk() throws Exception {
+
+		configuration.setBulkChunkSize(2);
+
+		Person dave = people.save(new Person("Dave", "Matthews"));
+		Person carter = people.save(new Person("Carter", "Beauford"));
+		Person boyd = people.save(new Person("Boyd", "Tinsley"));
+
+		controller.deleteCollectionResourceByIds(getResourceInformation(Person.class),
+				Arrays.asList(dave.getId().toString(), carter.getId().toString(), boyd.getId().toString()));
+
+		assertThat(publisher.getEventTypes(), is(Arrays.<Class<?>> asList(BeforeDeleteEvent.class,
+				BeforeDeleteEvent.class, BeforeBulkDeleteEvent.class, AfterDeleteEvent.class, AfterDeleteEvent.class,
+				AfterBulkDeleteEvent.class, BeforeDeleteEvent.class, BeforeBulkDeleteEvent.class, AfterDeleteEvent.class,
+				AfterBulkDeleteEvent.class)));
+
+		BulkDeleteEvent event = (BulkDeleteEvent) publisher.events.get(2);
+
+		assertThat(event.getDomainType(), is(typeCompatibleWith(Person.class)));
+		assertThat(event.getEntities(), contains((Object) dave, carter));
+
+		event = (BulkDeleteEvent) publisher.events.get(9);
+
+		assertThat(event.getEntities(), contains((Object) boyd));
+	}
+
+	private ResponseEntity<?> postPeople(RootResourceInformation information, Person... people) throws Exception {
+
+		Iterator<Object> contents = Arrays.<Object> asList((Object[]) people).iterator();
+		PersistentEntityPayload payload = PersistentEntityPayload.multiple(entities.getPersistentEntity(Person.class),
+				contents);
+
+		return controller.postCollectionResource(information, payload, assembler);
+	}
+
+	/**
+	 * {@link ApplicationEventPublisher} recording all events published and rejecting the creation of {@link Person}s
+	 * without a last name.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	static class RecordingEventPublisher implements ApplicationEventPublisher {
+
+		final List<ApplicationEvent> events = new ArrayList<ApplicationEvent>();
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.springframework.context.ApplicationEventPublisher#publishEvent(org.springframework.context.ApplicationEvent)
+		 */
+		@Override
+		public void publishEvent(ApplicationEvent event) {
+
+			Object source = event.getSource();
+
+			if (event instanceof BeforeCreateEvent && source instanceof Person && ((Person) source).getLastName() == null) {
+
+				Errors errors = new BeanPropertyBindingResult(source, "person");
+				errors.rejectValue("lastName", "NotNull");
+
+				throw new RepositoryConstraintViolationException(errors);
+			}
+
+			events.add(event);
+		}
+
+		List<Class<?>> getEventTypes() {
+
+			List<Class<?>> types = new ArrayList<Class<?>>(events.size());
+
+			for (ApplicationEvent event : events) {
+				types.add(event.getClass());
+			}
+
+			return types;
+		}
+	}
 }
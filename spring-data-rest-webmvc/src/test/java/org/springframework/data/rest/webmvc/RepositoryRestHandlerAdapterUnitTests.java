@@ -0,0 +1,199 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.core.mapping.ResourceMappings;
+import org.springframework.data.rest.core.mapping.ResourceMetadata;
+import org.springframework.data.rest.webmvc.support.RepositoryTaskExecutorProvider;
+import org.springframework.hateoas.ResourceProcessor;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Unit tests for the asynchronous invocation of repository resources by {@link RepositoryRestHandlerAdapter}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RepositoryRestHandlerAdapterUnitTests {
+
+	@Mock ResourceMappings mappings;
+	@Mock ResourceMetadata metadata;
+	@Mock RepositoryTaskExecutorProvider executors;
+	@Mock CallableProcessingInterceptor interceptor;
+
+	SampleController controller;
+	RepositoryRestHandlerAdapter adapter;
+	MockHttpServletRequest request;
+	MockHttpServletResponse response;
+	WebAsyncManager asyncManager;
+
+	@Before
+	public void setUp() throws Exception {
+
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.refresh();
+
+		RepositoryRestConfiguration config = new RepositoryRestConfiguration();
+		config.setAsyncExecution(true);
+
+		adapter = new RepositoryRestHandlerAdapter(Collections.<HandlerMethodArgumentResolver> emptyList(),
+				Collections.<ResourceProcessor<?>> emptyList(), config, mappings, executors);
+		adapter.setApplicationContext(context);
+		adapter.afterPropertiesSet();
+
+		request = new MockHttpServletRequest("GET", "/people");
+		request.setAsyncSupported(true);
+		request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+				Collections.singletonMap("repository", "people"));
+		response = new MockHttpServletResponse();
+
+		asyncManager = WebAsyncUtils.getAsyncManager(request);
+		asyncManager.registerCallableInterceptor("interceptor", interceptor);
+
+		controller = new SampleController();
+
+		doReturn(Object.class).when(metadata).getDomainType();
+		when(mappings.getExportedMappingForPath("people")).thenReturn(metadata);
+	}
+
+	@After
+	public void tearDown() {
+		LocaleContextHolder.resetLocaleContext();
+	}
+
+	@Test
+	public void dispatchesInvocationResultAndAppliesCallableInterceptors() throws Exception {
+
+		useExecutor(new TaskExecutorAdapter(new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+
+				// simulate a worker thread not having the contexts of the request thread bound
+				LocaleContextHolder.resetLocaleContext();
+				command.run();
+			}
+		}));
+
+		LocaleContextHolder.setLocale(Locale.GERMAN);
+		invoke();
+
+		assertThat(asyncManager.hasConcurrentResult(), is(true));
+		assertThat(asyncManager.getConcurrentResult(), is((Object) "result"));
+		assertThat(controller.locale, is(Locale.GERMAN));
+		assertThat(((MockAsyncContext) request.getAsyncContext()).getDispatchedPath(), is(notNullValue()));
+
+		verify(interceptor).preProcess(any(NativeWebRequest.class), any(Callable.class));
+		verify(interceptor).postProcess(any(NativeWebRequest.class), any(Callable.class), eq("result"));
+	}
+
+	@Test
+	public void resultsInTaskRejectedExceptionIfExecutorIsSaturated() throws Exception {
+
+		useExecutor(new TaskExecutorAdapter(new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				throw new TaskRejectedException("Saturated!");
+			}
+		}));
+
+		invoke();
+
+		assertThat(asyncManager.getConcurrentResult(), is(instanceOf(TaskRejectedException.class)));
+		assertThat(controller.invoked, is(false));
+	}
+
+	@Test
+	public void resultsInRepositoryInvocationTimeoutExceptionIfInvocationTimesOut() throws Exception {
+
+		useExecutor(new TaskExecutorAdapter(new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				// never executed to simulate a long running invocation
+			}
+		}));
+
+		invoke();
+
+		MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+
+		for (AsyncListener listener : asyncContext.getListeners()) {
+			listener.onTimeout(new AsyncEvent(asyncContext));
+		}
+
+		assertThat(asyncManager.getConcurrentResult(), is(instanceOf(RepositoryInvocationTimeoutException.class)));
+		assertThat(controller.invoked, is(false));
+	}
+
+	private void useExecutor(AsyncTaskExecutor executor) {
+		when(executors.getTaskExecutor(Object.class)).thenReturn(executor);
+	}
+
+	private void invoke() throws Exception {
+		assertThat(adapter.handle(request, response, new HandlerMethod(controller, "invoke")), is(nullValue()));
+	}
+
+	@RepositoryRestController
+	static class SampleController {
+
+		volatile boolean invoked;
+		volatile Locale locale;
+
+		public Object invoke() {
+
+			this.invoked = true;
+			this.locale = LocaleContextHolder.getLocale();
+
+			return "result";
+		}
+	}
+}
@@ -34,7 +34,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
 import org.springframework.data.rest.core.mapping.ResourceMappings;
 import org.springframework.data.rest.webmvc.config.RepositoryRestMvcConfiguration;
+import org.springframework.data.rest.webmvc.support.KeysetCursor;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.HandlerMethod;
 
 /**
@@ -66,7 +68,8 @@ public class RepositoryRestHandlerMappingUnitTests {
 		mockRequest = new MockHttpServletRequest();
 
 		listEntitiesMethod = RepositoryEntityController.class.getMethod("getCollectionResource",
-				RootResourceInformation.class, Pageable.class, Sort.class, PersistentEntityResourceAssembler.class);
+				RootResourceInformation.class, Pageable.class, Sort.class, KeysetCursor.class,
+				WebRequest.class, PersistentEntityResourceAssembler.class);
 		rootHandlerMethod = RepositoryController.class.getMethod("listRepositories");
 	}
 
@@ -216,4 +219,27 @@ public class RepositoryRestHandlerMappingUnitTests {
 
 		assertThat(method, is(nullValue()));
 	}
+
+	@Test
+	public void doesNotMapBatchResourceByDefault() throws Exception {
+
+		mockRequest = new MockHttpServletRequest("POST", "/$batch");
+		mockRequest.setContentType("application/json");
+
+		assertThat(handlerMapping.lookupHandlerMethod("/$batch", mockRequest), is(nullValue()));
+	}
+
+	@Test
+	public void mapsBatchResourceIfEnabled() throws Exception {
+
+		configuration.setBatchEnabled(true);
+
+		mockRequest = new MockHttpServletRequest("POST", "/$batch");
+		mockRequest.setContentType("application/json");
+
+		HandlerMethod method = handlerMapping.lookupHandlerMethod("/$batch", mockRequest);
+
+		assertThat(method, is(notNullValue()));
+		assertThat(method.getMethod().getDeclaringClass(), is((Object) BatchController.class));
+	}
 }
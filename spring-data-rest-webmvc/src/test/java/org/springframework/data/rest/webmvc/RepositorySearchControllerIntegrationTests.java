@@ -28,11 +28,15 @@ import org.springframework.data.rest.webmvc.jpa.JpaRepositoryConfig;
 import org.springframework.data.rest.webmvc.jpa.Order;
 import org.springframework.data.rest.webmvc.jpa.Person;
 import org.springframework.data.rest.webmvc.jpa.TestDataPopulator;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedResources;
 import org.springframework.hateoas.ResourceSupport;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 /**
  * Integration tests for the {@link RepositorySearchController}.
@@ -67,6 +71,22 @@ public class RepositorySearchControllerIntegrationTests extends AbstractControll
 		tester.assertHasLinkEndingWith("findByCreatedGreaterThan", "findByCreatedGreaterThan{?date,page,size,sort}");
 	}
 
+	@Test
+	public void rendersSearchLinksForBaseUriOfCurrentRequest() throws Exception {
+
+		controller.listSearches(getResourceInformation(Person.class));
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setServerName("example.com");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		ResourceSupport resource = controller.listSearches(getResourceInformation(Person.class));
+
+		for (Link link : resource.getLinks()) {
+			assertThat(link.getHref(), startsWith("http://example.com/"));
+		}
+	}
+
 	@Test(expected = ResourceNotFoundException.class)
 	public void returns404ForUnexportedRepository() {
 
@@ -86,7 +106,7 @@ public class RepositorySearchControllerIntegrationTests extends AbstractControll
 		RootResourceInformation resourceInformation = getResourceInformation(Person.class);
 
 		ResponseEntity<Object> response = controller.executeSearch(resourceInformation, getRequest(parameters),
-				"firstname", null, assembler);
+				"firstname", null, null, assembler);
 
 		ResourceTester tester = ResourceTester.of(response.getBody());
 		PagedResources<Object> pagedResources = tester.assertIsPage();
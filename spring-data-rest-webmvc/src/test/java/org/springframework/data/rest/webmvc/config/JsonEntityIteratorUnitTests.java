@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.config;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for {@link JsonEntityIterator}.
+ *
+ * @author Oliver Gierke
+ */
+public class JsonEntityIteratorUnitTests {
+
+	ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	public void readsElementsOfJsonArray() throws Exception {
+
+		JsonEntityIterator iterator = iteratorFor("[ { \"name\" : \"Dave\" }, { \"name\" : \"Carter\" } ]");
+
+		assertThat(iterator.hasNext(), is(true));
+		assertThat(((Sample) iterator.next()).name, is("Dave"));
+		assertThat(iterator.hasNext(), is(true));
+		assertThat(((Sample) iterator.next()).name, is("Carter"));
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@Test
+	public void readsNewlineDelimitedJson() throws Exception {
+
+		JsonEntityIterator iterator = iteratorFor("{ \"name\" : \"Dave\" }\n{ \"name\" : \"Carter\" }\n");
+
+		assertThat(((Sample) iterator.next()).name, is("Dave"));
+		assertThat(((Sample) iterator.next()).name, is("Carter"));
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@Test
+	public void handlesEmptyArray() throws Exception {
+		assertThat(iteratorFor("[]").hasNext(), is(false));
+	}
+
+	@Test(expected = HttpMessageNotReadableException.class)
+	public void rejectsInvalidElement() throws Exception {
+		iteratorFor("[ { \"name\" : [ } ]").next();
+	}
+
+	private JsonEntityIterator iteratorFor(String source) throws IOException {
+		return new JsonEntityIterator(mapper, Sample.class, new ByteArrayInputStream(source.getBytes("UTF-8")));
+	}
+
+	static class Sample {
+		public String name;
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.config;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.rest.webmvc.AbstractControllerIntegrationTests;
+import org.springframework.data.rest.webmvc.RepositoryRequestContext;
+import org.springframework.data.rest.webmvc.jpa.Book;
+import org.springframework.data.rest.webmvc.jpa.JpaRepositoryConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Integration tests for {@link RepositoryRequestContextResolver}.
+ *
+ * @author Oliver Gierke
+ */
+@ContextConfiguration(classes = JpaRepositoryConfig.class)
+public class RepositoryRequestContextResolverIntegrationTests extends AbstractControllerIntegrationTests {
+
+	@Autowired RepositoryRequestContextResolver resolver;
+
+	@Test
+	public void resolvesRepositoryAndBackendIdFromRequest() throws Exception {
+
+		NativeWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/books/5-5-5-5-5"));
+		RepositoryRequestContext context = resolver.getContext(getParameter(), request);
+
+		assertThat(context.getRepositoryKey(), is("books"));
+		assertThat(context.getPathVariable("id"), is("5-5-5-5-5"));
+		assertThat(context.getResourceMetadata().getDomainType(), is((Object) Book.class));
+		assertThat(context.getPersistentEntity().getType(), is((Object) Book.class));
+		assertThat(context.getInvoker(), is(notNullValue()));
+		assertThat(context.getBackendId(), is((Object) 5L));
+	}
+
+	@Test
+	public void cachesContextAsRequestAttribute() throws Exception {
+
+		NativeWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/books/5-5-5-5-5"));
+		RepositoryRequestContext context = resolver.getContext(getParameter(), request);
+
+		assertThat(resolver.getContext(getParameter(), request), is(sameInstance(context)));
+	}
+
+	@Test
+	public void returnsEmptyContextForUnexportedPath() throws Exception {
+
+		NativeWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/foo/1"));
+		RepositoryRequestContext context = resolver.getContext(getParameter(), request);
+
+		assertThat(context.getRepositoryKey(), is("foo"));
+		assertThat(context.getResourceMetadata(), is(nullValue()));
+		assertThat(context.getInvoker(), is(nullValue()));
+		assertThat(context.getBackendId(), is(nullValue()));
+	}
+
+	@Test
+	public void convertsBackendIdOnFirstAccessOnly() throws Exception {
+
+		NativeWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/books/invalid"));
+		RepositoryRequestContext context = resolver.getContext(getParameter(), request);
+
+		assertThat(context.getRepositoryKey(), is("books"));
+		assertThat(context.getResourceMetadata(), is(notNullValue()));
+
+		try {
+			context.getBackendId();
+			fail("Expected conversion of invalid identifier to fail!");
+		} catch (RuntimeException o_O) {}
+	}
+
+	@Test
+	public void takesEveryVariableFromFirstMappingResolvingIt() throws Exception {
+
+		NativeWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/books/5-5-5-5-5"));
+		RepositoryRequestContext context = resolver.getContext(getParameter("resolveIdFromSecondMapping"), request);
+
+		assertThat(context.getRepositoryKey(), is("books"));
+		assertThat(context.getPathVariable("id"), is("5-5-5-5-5"));
+	}
+
+	private static MethodParameter getParameter() {
+		return getParameter("resolveId");
+	}
+
+	private static MethodParameter getParameter(String name) {
+
+		Method method = ReflectionUtils.findMethod(SampleController.class, name, Serializable.class);
+		return new MethodParameter(method, 0);
+	}
+
+	static class SampleController {
+
+		@RequestMapping("/{repository}/{id}")
+		void resolveId(Serializable backendId) {}
+
+		@RequestMapping({ "/{repository}/{search}", "/{repository}/{id}" })
+		void resolveIdFromSecondMapping(Serializable backendId) {}
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.json;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.context.PersistentEntities;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.webmvc.mongodb.User;
+
+/**
+ * Unit tests for {@link FieldSets}.
+ * 
+ * @author Oliver Gierke
+ */
+public class FieldSetsUnitTests {
+
+	FieldSets fieldSets;
+	PersistentEntity<?, ?> entity;
+
+	@Before
+	public void setUp() {
+
+		MongoMappingContext mappingContext = new MongoMappingContext();
+
+		this.entity = mappingContext.getPersistentEntity(User.class);
+		this.fieldSets = new FieldSets(new PersistentEntities(Arrays.asList(mappingContext)),
+				new RepositoryRestConfiguration());
+	}
+
+	@Test
+	public void usesConfiguredParameterName() {
+		assertThat(fieldSets.getParameterName(), is("fields"));
+	}
+
+	@Test
+	public void returnsNullForMissingSelection() {
+
+		assertThat(fieldSets.getFieldSet(entity, null), is(nullValue()));
+		assertThat(fieldSets.getFieldSet(entity, " , "), is(nullValue()));
+	}
+
+	@Test
+	public void parsesTopLevelAndNestedProperties() {
+
+		FieldSet fieldSet = fieldSets.getFieldSet(entity, "firstname, address.street");
+
+		assertThat(fieldSet.includes("firstname"), is(true));
+		assertThat(fieldSet.getNested("firstname"), is(nullValue()));
+		assertThat(fieldSet.includes("lastname"), is(false));
+		assertThat(fieldSet.includes("address"), is(true));
+		assertThat(fieldSet.getNested("address").includes("street"), is(true));
+		assertThat(fieldSet.getNested("address").includes("zipCode"), is(false));
+	}
+
+	@Test
+	public void completeSelectionOfPropertyWinsOverNestedOne() {
+
+		FieldSet fieldSet = fieldSets.getFieldSet(entity, "address.street,address");
+
+		assertThat(fieldSet.includes("address"), is(true));
+		assertThat(fieldSet.getNested("address"), is(nullValue()));
+	}
+
+	@Test
+	public void cachesFieldSetPerTypeAndSelection() {
+
+		FieldSet fieldSet = fieldSets.getFieldSet(entity, "firstname");
+
+		assertThat(fieldSets.getFieldSet(entity, "firstname"), is(sameInstance(fieldSet)));
+		assertThat(fieldSets.getFieldSet(entity, "lastname"), is(not(sameInstance(fieldSet))));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsUnknownProperty() {
+		fieldSets.getFieldSet(entity, "firstname,password");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsUnknownNestedProperty() {
+		fieldSets.getFieldSet(entity, "address.city");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNestedPathOnSimpleProperty() {
+		fieldSets.getFieldSet(entity, "firstname.length");
+	}
+}
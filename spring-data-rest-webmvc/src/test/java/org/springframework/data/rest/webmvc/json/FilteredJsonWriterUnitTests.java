@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.json;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.core.mapping.ResourceMappings;
+import org.springframework.data.rest.core.mapping.ResourceMetadata;
+import org.springframework.data.rest.webmvc.jsonfilterannotations.SerializeOnePropertiesFilter;
+import org.springframework.data.rest.webmvc.jsonfilterannotations.SerializeOnePropertiesFilters;
+
+/**
+ * Unit tests for {@link FilteredJsonWriter}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FilteredJsonWriterUnitTests {
+
+	@Mock ResourceMappings mappings;
+	@Mock ResourceMetadata metadata;
+
+	RepositoryRestConfiguration config;
+
+	@Before
+	public void setUp() {
+
+		this.config = new RepositoryRestConfiguration();
+
+		doReturn(SampleRepository.class).when(metadata).getRepositoryInterface();
+		when(metadata.isExported()).thenReturn(true);
+		when(mappings.iterator()).thenReturn(Arrays.asList(metadata).iterator());
+	}
+
+	@Test
+	public void appliesFiltersDeclaredOnRepositoryInterface() throws Exception {
+		assertThat(render(new Sample()), is("{\"name\":\"Dave\"}"));
+	}
+
+	@Test
+	public void prettyPrintsIfConfigured() throws Exception {
+
+		config.setPrettyPrintJson(true);
+
+		assertThat(render(new Sample()), containsString("\n"));
+	}
+
+	@Test
+	public void reusesWriterForRepository() {
+
+		FilteredJsonWriter writer = new FilteredJsonWriter(mappings, config);
+
+		assertThat(writer.getWriterFor(metadata), is(sameInstance(writer.getWriterFor(metadata))));
+	}
+
+	@Test
+	public void writesIterableAsFilteredArray() throws Exception {
+		assertThat(render(Arrays.asList(new Sample(), new Sample())), is("[{\"name\":\"Dave\"},{\"name\":\"Dave\"}]"));
+	}
+
+	@Test
+	public void writesPageWithContentAndMetadata() throws Exception {
+
+		PageImpl<Sample> page = new PageImpl<Sample>(Arrays.asList(new Sample()), new PageRequest(0, 10), 1);
+
+		assertThat(render(page), is("{\"content\":[{\"name\":\"Dave\"}],"
+				+ "\"page\":{\"size\":10,\"totalElements\":1,\"totalPages\":1,\"number\":0}}"));
+	}
+
+	private String render(Object value) throws Exception {
+
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		new FilteredJsonWriter(mappings, config).write(metadata, value, stream);
+
+		return stream.toString("UTF-8");
+	}
+
+	@SerializeOnePropertiesFilters(@SerializeOnePropertiesFilter(className = "FilteredJsonWriterUnitTests$Sample", include = "name"))
+	interface SampleRepository {}
+
+	public static class Sample {
+
+		public String name = "Dave";
+		public String secret = "secret";
+	}
+}
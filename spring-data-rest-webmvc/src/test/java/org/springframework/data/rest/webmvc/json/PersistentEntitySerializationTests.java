@@ -17,6 +17,7 @@ package org.springframework.data.rest.webmvc.json;
 
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.io.StringWriter;
@@ -30,6 +31,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mapping.PersistentEntity;
 import org.springframework.data.repository.support.Repositories;
 import org.springframework.data.rest.webmvc.PersistentEntityResource;
+import org.springframework.data.rest.webmvc.PersistentEntityResourceAssembler;
+import org.springframework.data.rest.webmvc.StreamingResources;
 import org.springframework.data.rest.webmvc.jpa.LineItem;
 import org.springframework.data.rest.webmvc.jpa.Order;
 import org.springframework.data.rest.webmvc.jpa.OrderRepository;
@@ -69,6 +72,7 @@ public class PersistentEntitySerializationTests {
 	@Autowired Repositories repositories;
 	@Autowired PersonRepository people;
 	@Autowired OrderRepository orders;
+	@Autowired FieldSets fieldSets;
 
 	LinkDiscoverer linkDiscoverer;
 
@@ -217,4 +221,62 @@ public class PersistentEntitySerializationTests {
 
 		assertThat(JsonPath.read(result, "$_embedded.orders[*].lineItems"), is(notNullValue()));
 	}
+
+	@Test
+	public void rendersSelectedFieldsOnly() throws Exception {
+
+		User user = new User();
+		user.firstname = "Dave";
+		user.lastname = "Matthews";
+		user.address = new Address();
+		user.address.street = "Street";
+		user.address.zipCode = "Zip";
+
+		PersistentEntity<?, ?> entity = repositories.getPersistentEntity(User.class);
+		FieldSet fieldSet = fieldSets.getFieldSet(entity, "firstname,address.street");
+
+		String result = mapper.writeValueAsString(PersistentEntityResource.wrap(entity, user, fieldSet, new Link(
+				"/users/1")));
+
+		assertThat(JsonPath.read(result, "$firstname"), is((Object) "Dave"));
+		assertThat(JsonPath.read(result, "$address.street"), is((Object) "Street"));
+		assertThat(result, not(containsString("lastname")));
+		assertThat(result, not(containsString("zipCode")));
+		assertThat(linkDiscoverer.findLinkWithRel(Link.REL_SELF, result), is(notNullValue()));
+	}
+
+	@Test
+	public void serializesStreamingResourcesIntoEmbeddedRel() throws Exception {
+
+		User user = new User();
+		user.address = new Address();
+		user.address.street = "Street";
+
+		PersistentEntityResource<Object> userResource = new PersistentEntityResource<Object>(
+				repositories.getPersistentEntity(User.class), user, new Link("/users/1"));
+
+		PersistentEntityResourceAssembler assembler = mock(PersistentEntityResourceAssembler.class);
+		when(assembler.toResource(user)).thenReturn(userResource);
+
+		StreamingResources resources = new StreamingResources(Arrays.asList(user), assembler, "users", new PageMetadata(
+				1, 0, 10), Arrays.asList(new Link("/users")));
+
+		String result = mapper.writeValueAsString(resources);
+
+		assertThat(JsonPath.read(result, "$_embedded.users[0].address.street"), is((Object) "Street"));
+		assertThat(JsonPath.read(result, "$page.totalElements"), is((Object) 10));
+		assertThat(linkDiscoverer.findLinkWithRel(Link.REL_SELF, result), is(notNullValue()));
+	}
+
+	@Test
+	public void omitsEmbeddedForEmptyStreamingResources() throws Exception {
+
+		StreamingResources resources = new StreamingResources(Collections.emptyList(),
+				mock(PersistentEntityResourceAssembler.class), "users", null, Arrays.asList(new Link("/users")));
+
+		String result = mapper.writeValueAsString(resources);
+
+		assertThat(result, not(containsString("_embedded")));
+		assertThat(linkDiscoverer.findLinkWithRel(Link.REL_SELF, result), is(notNullValue()));
+	}
 }
@@ -97,6 +97,11 @@ public class RepositoryTestsConfig {
 		return new PersistentEntities(mappingContexts);
 	}
 
+	@Bean
+	public FieldSets fieldSets() {
+		return new FieldSets(persistentEntities(), config());
+	}
+
 	@Bean
 	public UriToEntityConverter uriToEntityConverter() {
 		return new UriToEntityConverter(persistentEntities(), domainClassConverter());
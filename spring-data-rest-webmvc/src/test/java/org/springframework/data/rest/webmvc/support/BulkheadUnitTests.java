@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.data.rest.core.config.BulkheadConfiguration.Priority;
+
+/**
+ * Unit tests for {@link Bulkhead}.
+ *
+ * @author Oliver Gierke
+ */
+public class BulkheadUnitTests {
+
+	@Test
+	public void rejectsCallsExceedingCapacity() {
+
+		Bulkhead bulkhead = new Bulkhead(2, 0, 0);
+
+		assertThat(bulkhead.tryAcquire(Priority.HIGH), is(true));
+		assertThat(bulkhead.tryAcquire(Priority.HIGH), is(true));
+		assertThat(bulkhead.tryAcquire(Priority.HIGH), is(false));
+
+		assertThat(bulkhead.getActiveCalls(), is(2));
+		assertThat(bulkhead.getAcceptedCalls(), is(2L));
+		assertThat(bulkhead.getRejectedCalls(), is(1L));
+	}
+
+	@Test
+	public void admitsCallsAgainAfterRelease() {
+
+		Bulkhead bulkhead = new Bulkhead(1, 0, 0);
+
+		assertThat(bulkhead.tryAcquire(Priority.NORMAL), is(true));
+		bulkhead.release(Priority.NORMAL);
+
+		assertThat(bulkhead.tryAcquire(Priority.NORMAL), is(true));
+		assertThat(bulkhead.getActiveCalls(), is(1));
+	}
+
+	@Test
+	public void reservesCapacityForHigherPriorities() {
+
+		Bulkhead bulkhead = new Bulkhead(4, 0, 0);
+
+		assertThat(bulkhead.tryAcquire(Priority.LOW), is(true));
+		assertThat(bulkhead.tryAcquire(Priority.LOW), is(true));
+		assertThat(bulkhead.tryAcquire(Priority.LOW), is(false));
+
+		assertThat(bulkhead.tryAcquire(Priority.HIGH), is(true));
+		assertThat(bulkhead.tryAcquire(Priority.HIGH), is(true));
+		assertThat(bulkhead.tryAcquire(Priority.HIGH), is(false));
+	}
+
+	@Test
+	public void waitsForAdmissionWithinLimits() {
+
+		Bulkhead bulkhead = new Bulkhead(1, 1, 10);
+
+		assertThat(bulkhead.tryAcquire(Priority.HIGH), is(true));
+		assertThat(bulkhead.tryAcquire(Priority.HIGH), is(false));
+
+		assertThat(bulkhead.getQueueDepth(), is(0));
+		assertThat(bulkhead.getRejectedCalls(), is(1L));
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.rest.core.event.AfterCreateEvent;
+import org.springframework.data.rest.core.event.AfterSaveEvent;
+import org.springframework.data.rest.core.invoke.RepositoryInvoker;
+
+/**
+ * Unit tests for {@link CachingTotalCountStrategy}.
+ *
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CachingTotalCountStrategyUnitTests {
+
+	static final Map<String, String[]> NO_PARAMETERS = Collections.emptyMap();
+
+	@Mock RepositoryInvoker invoker;
+
+	CachingTotalCountStrategy strategy;
+
+	@Before
+	public void setUp() {
+
+		when(invoker.invokeCount()).thenReturn(42L, 43L);
+		strategy = new CachingTotalCountStrategy(new ExactTotalCountStrategy(), 60000);
+	}
+
+	@Test
+	public void cachesTotalPerDomainType() {
+
+		assertThat(strategy.getTotalCount(Sample.class, NO_PARAMETERS, invoker).getValue(), is(42L));
+		assertThat(strategy.getTotalCount(Sample.class, NO_PARAMETERS, invoker).getValue(), is(42L));
+
+		verify(invoker, times(1)).invokeCount();
+	}
+
+	@Test
+	public void cachesTotalPerParameterSignature() {
+
+		Map<String, String[]> parameters = Collections.singletonMap("name", new String[] { "Dave" });
+
+		strategy.getTotalCount(Sample.class, NO_PARAMETERS, invoker);
+		assertThat(strategy.getTotalCount(Sample.class, parameters, invoker).getValue(), is(43L));
+	}
+
+	@Test
+	public void dropsCachedTotalOnCreation() {
+
+		strategy.getTotalCount(Sample.class, NO_PARAMETERS, invoker);
+		strategy.onApplicationEvent(new AfterCreateEvent(new Sample()));
+
+		assertThat(strategy.getTotalCount(Sample.class, NO_PARAMETERS, invoker).getValue(), is(43L));
+	}
+
+	@Test
+	public void keepsCachedTotalOnUpdate() {
+
+		strategy.getTotalCount(Sample.class, NO_PARAMETERS, invoker);
+		strategy.onApplicationEvent(new AfterSaveEvent(new Sample()));
+
+		assertThat(strategy.getTotalCount(Sample.class, NO_PARAMETERS, invoker).getValue(), is(42L));
+	}
+
+	@Test
+	public void doesNotCacheBeyondMaximumNumberOfEntries() {
+
+		strategy = new CachingTotalCountStrategy(new ExactTotalCountStrategy(), 60000, 1);
+
+		strategy.getTotalCount(Object.class, NO_PARAMETERS, invoker);
+		strategy.getTotalCount(Sample.class, NO_PARAMETERS, invoker);
+
+		verify(invoker, times(2)).invokeCount();
+		assertThat(strategy.getTotalCount(Object.class, NO_PARAMETERS, invoker).getValue(), is(42L));
+	}
+
+	static class Sample {}
+}
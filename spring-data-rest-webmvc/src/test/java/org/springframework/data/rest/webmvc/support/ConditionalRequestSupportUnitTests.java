@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.repository.support.Repositories;
+
+/**
+ * Unit tests for {@link ConditionalRequestSupport}.
+ *
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ConditionalRequestSupportUnitTests {
+
+	MongoMappingContext context = new MongoMappingContext();
+
+	@Mock Repositories repositories;
+
+	ConditionalRequestSupport support;
+
+	@Before
+	public void setUp() {
+
+		doReturn(context.getPersistentEntity(Versioned.class)).when(repositories).getPersistentEntity(Versioned.class);
+		doReturn(context.getPersistentEntity(Unversioned.class)).when(repositories).getPersistentEntity(
+				Unversioned.class);
+		doReturn(new Object()).when(repositories).getRepositoryFor(Versioned.class);
+
+		support = new ConditionalRequestSupport(repositories, new DefaultConversionService());
+	}
+
+	@Test
+	public void derivesETagFromVersionProperty() {
+
+		assertThat(support.getETag(new Versioned(3L)), is(ETag.from(3L)));
+		assertThat(support.getETag(new Unversioned()), is(nullValue()));
+	}
+
+	@Test
+	public void acceptsMatchingIfMatchHeader() {
+
+		support.verifyIfMatch(new Versioned(3L), "\"3\"");
+		support.verifyIfMatch(new Versioned(3L), "*");
+		support.verifyIfMatch(new Versioned(3L), null);
+		support.verifyIfMatch(new Unversioned(), "\"3\"");
+	}
+
+	@Test
+	public void rejectsIfMatchHeaderNotMatchingCurrentVersion() {
+
+		try {
+			support.verifyIfMatch(new Versioned(4L), "\"3\"");
+			fail("Expected ETagDoesntMatchException!");
+		} catch (ETagDoesntMatchException o_O) {
+			assertThat(o_O.getCurrentETag(), is(ETag.from(4L)));
+		}
+	}
+
+	@Test(expected = ETagDoesntMatchException.class)
+	public void rejectsWeakEntityTagsInIfMatchHeader() {
+		support.verifyIfMatch(new Versioned(3L), "W/\"3\"");
+	}
+
+	@Test(expected = ETagDoesntMatchException.class)
+	public void rejectsIfMatchHeaderForMissingEntity() {
+		support.verifyIfMatch(null, "*");
+	}
+
+	@Test
+	public void defersToLoadedEntityIfVersionLookupIsNotSupported() {
+
+		assertThat(support.supportsVersionLookup(Versioned.class), is(false));
+		support.preverifyIfMatch(Versioned.class, 1L, "\"3\"");
+	}
+
+	static class Versioned {
+
+		@Id Long id;
+		@Version Long version;
+
+		public Versioned(Long version) {
+			this.version = version;
+		}
+	}
+
+	static class Unversioned {
+
+		@Id Long id;
+	}
+}
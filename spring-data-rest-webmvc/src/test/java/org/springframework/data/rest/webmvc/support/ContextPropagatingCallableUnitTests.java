@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+/**
+ * Unit tests for {@link ContextPropagatingCallable}.
+ * 
+ * @author Oliver Gierke
+ */
+public class ContextPropagatingCallableUnitTests {
+
+	static final Callable<Locale> GET_LOCALE = new Callable<Locale>() {
+
+		@Override
+		public Locale call() {
+			return LocaleContextHolder.getLocale();
+		}
+	};
+
+	@After
+	public void tearDown() {
+		LocaleContextHolder.resetLocaleContext();
+	}
+
+	@Test
+	public void propagatesLocaleContextToExecutingThread() throws Exception {
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		try {
+
+			LocaleContextHolder.setLocale(Locale.GERMAN);
+			Callable<Locale> callable = new ContextPropagatingCallable<Locale>(GET_LOCALE);
+
+			assertThat(executor.submit(callable).get(), is(Locale.GERMAN));
+
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void restoresPreviousLocaleContextOfExecutingThread() throws Exception {
+
+		LocaleContextHolder.setLocale(Locale.GERMAN);
+		Callable<Locale> callable = new ContextPropagatingCallable<Locale>(GET_LOCALE);
+
+		LocaleContextHolder.setLocale(Locale.FRENCH);
+
+		assertThat(callable.call(), is(Locale.GERMAN));
+		assertThat(LocaleContextHolder.getLocale(), is(Locale.FRENCH));
+	}
+}
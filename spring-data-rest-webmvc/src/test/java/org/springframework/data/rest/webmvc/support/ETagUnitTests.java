@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ETag}.
+ *
+ * @author Oliver Gierke
+ */
+public class ETagUnitTests {
+
+	@Test
+	public void rendersQuotedValue() {
+		assertThat(ETag.from(1L).toString(), is("\"1\""));
+	}
+
+	@Test
+	public void returnsNullForNullValue() {
+		assertThat(ETag.from((Object) null), is(nullValue()));
+	}
+
+	@Test
+	public void parsesListOfEntityTags() {
+		assertThat(ETag.parse("\"1\", W/\"2\"").size(), is(2));
+		assertThat(ETag.parse("\"1\", W/\"2\"").get(1), is(ETag.from(2)));
+	}
+
+	@Test
+	public void dropsWeakEntityTagsForStrongComparison() {
+		assertThat(ETag.parseStrong("\"1\", W/\"2\""), is(Arrays.asList(ETag.from(1))));
+	}
+
+	@Test
+	public void matchesStronglyOnlyHeaderContainingStrongEntityTag() {
+
+		ETag etag = ETag.from(2);
+
+		assertThat(etag.matchesStrongly("\"1\", \"2\""), is(true));
+		assertThat(etag.matchesStrongly("W/\"2\""), is(false));
+		assertThat(etag.matchesStrongly("*"), is(true));
+		assertThat(etag.matchesStrongly(null), is(false));
+	}
+
+	@Test
+	public void matchesHeaderContainingIt() {
+
+		ETag etag = ETag.from(2);
+
+		assertThat(etag.matches("\"1\", \"2\""), is(true));
+		assertThat(etag.matches("\"1\""), is(false));
+		assertThat(etag.matches("*"), is(true));
+		assertThat(etag.matches(null), is(false));
+	}
+
+	@Test
+	public void calculatesStableHashOfRepresentation() {
+
+		byte[] representation = "{ \"name\" : \"Dave\" }".getBytes();
+
+		assertThat(ETag.fromRepresentation(representation), is(ETag.fromRepresentation(representation.clone())));
+		assertThat(ETag.fromRepresentation(representation), is(not(ETag.fromRepresentation(new byte[0]))));
+	}
+}
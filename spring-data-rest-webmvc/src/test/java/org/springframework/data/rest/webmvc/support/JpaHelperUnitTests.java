@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for {@link JpaHelper}.
+ * 
+ * @author Oliver Gierke
+ */
+public class JpaHelperUnitTests {
+
+	@After
+	public void tearDown() {
+
+		for (Object key : new ArrayList<Object>(TransactionSynchronizationManager.getResourceMap().keySet())) {
+			TransactionSynchronizationManager.unbindResource(key);
+		}
+	}
+
+	@Test
+	public void onlyExposesEntityManagersNotParticipatingInTransactions() {
+
+		EntityManagerHolder openedInView = new EntityManagerHolder(mock(EntityManager.class));
+		EntityManagerHolder transactional = new EntityManagerHolder(mock(EntityManager.class));
+		transactional.setSynchronizedWithTransaction(true);
+
+		TransactionSynchronizationManager.bindResource("view", openedInView);
+		TransactionSynchronizationManager.bindResource("transaction", transactional);
+		TransactionSynchronizationManager.bindResource("dataSource", new Object());
+
+		Map<Object, Object> result = JpaHelper.getEntityManagersOpenedInView();
+
+		assertThat(result, is(Collections.<Object, Object> singletonMap("view", openedInView)));
+	}
+}
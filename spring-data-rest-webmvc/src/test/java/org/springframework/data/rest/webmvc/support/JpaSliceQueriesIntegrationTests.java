@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.rest.core.invoke.SliceQueryExecutor;
+import org.springframework.data.rest.webmvc.AbstractControllerIntegrationTests;
+import org.springframework.data.rest.webmvc.jpa.Author;
+import org.springframework.data.rest.webmvc.jpa.JpaRepositoryConfig;
+import org.springframework.data.rest.webmvc.jpa.Person;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Integration tests for {@link JpaSliceQueries}.
+ *
+ * @author Oliver Gierke
+ */
+@ContextConfiguration(classes = JpaRepositoryConfig.class)
+public class JpaSliceQueriesIntegrationTests extends AbstractControllerIntegrationTests {
+
+	@Autowired EntityManagerFactory entityManagerFactory;
+	@Autowired SliceQueryExecutor sliceQueryExecutor;
+
+	Statistics statistics;
+
+	@Before
+	public void setUp() {
+
+		statistics = ((HibernateEntityManagerFactory) entityManagerFactory).getSessionFactory().getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+	}
+
+	@Test
+	public void supportsDomainTypesOfPagingAndSortingRepositories() {
+
+		assertThat(sliceQueryExecutor, is(instanceOf(JpaSliceQueries.class)));
+		assertThat(sliceQueryExecutor.supports(Person.class), is(true));
+	}
+
+	@Test
+	public void doesNotSupportDomainTypesOfRepositoriesNotPaging() {
+
+		assertThat(sliceQueryExecutor.supports(Author.class), is(false));
+		assertThat(sliceQueryExecutor.supports(String.class), is(false));
+	}
+
+	@Test
+	public void looksUpSliceOfPagingAndSortingRepositoryWithoutCountQuery() {
+
+		Slice<Object> slice = invokerFactory.getInvokerFor(Person.class).invokeFindAllSliced(
+				new PageRequest(0, 2, new Sort("firstName")));
+
+		assertThat(slice, is(not(instanceOf(Page.class))));
+		assertThat(slice.getNumberOfElements(), is(2));
+		assertThat(slice.hasNext(), is(true));
+		assertThat(((Person) slice.getContent().get(0)).getFirstName(), is("Billy Bob"));
+		assertThat(getCountQueries(), is(Collections.<String> emptyList()));
+	}
+
+	@Test
+	public void detectsLastSliceUsingLookahead() {
+
+		Slice<Object> slice = invokerFactory.getInvokerFor(Person.class).invokeFindAllSliced(
+				new PageRequest(1, 2, new Sort("firstName")));
+
+		assertThat(slice.getNumberOfElements(), is(1));
+		assertThat(slice.hasNext(), is(false));
+		assertThat(((Person) slice.getContent().get(0)).getFirstName(), is("John"));
+		assertThat(getCountQueries(), is(Collections.<String> emptyList()));
+	}
+
+	private List<String> getCountQueries() {
+
+		List<String> result = new ArrayList<String>();
+
+		for (String query : statistics.getQueries()) {
+			if (query.toLowerCase().contains("count(")) {
+				result.add(query);
+			}
+		}
+
+		return result;
+	}
+}
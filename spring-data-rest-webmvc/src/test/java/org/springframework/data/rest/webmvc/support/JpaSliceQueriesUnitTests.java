@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.Serializable;
+
+import javax.annotation.security.RolesAllowed;
+import javax.persistence.EntityManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.core.CrudMethods;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+
+/**
+ * Unit tests for {@link JpaSliceQueries}.
+ *
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class JpaSliceQueriesUnitTests {
+
+	@Mock Repositories repositories;
+	@Mock ListableBeanFactory beanFactory;
+	@Mock RepositoryInformation information;
+	@Mock CrudMethods crudMethods;
+
+	JpaSliceQueries sliceQueries;
+
+	@Before
+	public void setUp() {
+
+		when(repositories.hasRepositoryFor(Sample.class)).thenReturn(true);
+		when(repositories.getRepositoryInformationFor(Sample.class)).thenReturn(information);
+		when(information.getCrudMethods()).thenReturn(crudMethods);
+		when(crudMethods.hasFindAllMethod()).thenReturn(true);
+
+		sliceQueries = new JpaSliceQueries(repositories, beanFactory);
+	}
+
+	@Test
+	public void doesNotSupportRepositoriesWithCustomBaseClass() {
+
+		doReturn(SoftDeletingRepository.class).when(information).getRepositoryBaseClass();
+		doReturn(SampleRepository.class).when(information).getRepositoryInterface();
+
+		assertThat(sliceQueries.supports(Sample.class), is(false));
+	}
+
+	@Test
+	public void doesNotSupportRepositoriesCarryingSecurityAnnotations() {
+
+		doReturn(SimpleJpaRepository.class).when(information).getRepositoryBaseClass();
+		doReturn(SecuredSampleRepository.class).when(information).getRepositoryInterface();
+
+		assertThat(sliceQueries.supports(Sample.class), is(false));
+	}
+
+	static class Sample {}
+
+	interface SampleRepository extends PagingAndSortingRepository<Sample, Long> {}
+
+	@RolesAllowed("ADMIN")
+	interface SecuredSampleRepository extends PagingAndSortingRepository<Sample, Long> {}
+
+	static class SoftDeletingRepository<T, ID extends Serializable> extends SimpleJpaRepository<T, ID> {
+
+		public SoftDeletingRepository(JpaEntityInformation<T, ?> information, EntityManager em) {
+			super(information, em);
+		}
+	}
+}
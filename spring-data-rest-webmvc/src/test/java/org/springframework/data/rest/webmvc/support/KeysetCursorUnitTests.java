@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link KeysetCursor}.
+ *
+ * @author Oliver Gierke
+ */
+public class KeysetCursorUnitTests {
+
+	@Test
+	public void roundTripsKeysetCursor() {
+
+		KeysetCursor cursor = KeysetCursor.keyset(true, Arrays.asList("Matthews", "", "4.2", "a.b/c+d"));
+		KeysetCursor parsed = KeysetCursor.parse(cursor.toString());
+
+		assertThat(parsed, is(cursor));
+		assertThat(parsed.isKeyset(), is(true));
+		assertThat(parsed.isForward(), is(true));
+		assertThat(parsed.getValues(), is(Arrays.asList("Matthews", "", "4.2", "a.b/c+d")));
+	}
+
+	@Test
+	public void roundTripsBackwardCursor() {
+
+		KeysetCursor parsed = KeysetCursor.parse(KeysetCursor.keyset(false, Arrays.asList("1")).toString());
+
+		assertThat(parsed.isForward(), is(false));
+		assertThat(parsed.getValues(), is(Arrays.asList("1")));
+	}
+
+	@Test
+	public void roundTripsOffsetCursor() {
+
+		KeysetCursor parsed = KeysetCursor.parse(KeysetCursor.offset(42).toString());
+
+		assertThat(parsed.isKeyset(), is(false));
+		assertThat(parsed.getPage(), is(42));
+	}
+
+	@Test
+	public void rendersUrlSafeRepresentation() {
+
+		String cursor = KeysetCursor.keyset(true, Arrays.asList("???>>>", "~~~")).toString();
+		assertThat(cursor.matches("[A-Za-z0-9_\\-]+"), is(true));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidCursor() {
+		KeysetCursor.parse("foo");
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.rest.webmvc.AbstractControllerIntegrationTests;
+import org.springframework.data.rest.webmvc.RootResourceInformation;
+import org.springframework.data.rest.webmvc.jpa.JpaRepositoryConfig;
+import org.springframework.data.rest.webmvc.jpa.Person;
+import org.springframework.data.rest.webmvc.jpa.PersonRepository;
+import org.springframework.data.rest.webmvc.support.KeysetPagingSupport.KeysetPage;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Integration tests for {@link KeysetPagingSupport}.
+ *
+ * @author Oliver Gierke
+ */
+@ContextConfiguration(classes = JpaRepositoryConfig.class)
+public class KeysetPagingSupportIntegrationTests extends AbstractControllerIntegrationTests {
+
+	@Autowired KeysetPagingSupport keysetPaging;
+	@Autowired PersonRepository people;
+	@Autowired EntityManagerFactory entityManagerFactory;
+
+	RootResourceInformation information;
+	Statistics statistics;
+
+	@Before
+	public void setUp() {
+
+		information = getResourceInformation(Person.class);
+		statistics = ((HibernateEntityManagerFactory) entityManagerFactory).getSessionFactory().getStatistics();
+		statistics.setStatisticsEnabled(true);
+	}
+
+	@Test
+	public void pagesThroughAllElementsUsingKeysetCursors() {
+
+		Pageable pageable = new PageRequest(0, 1);
+		List<Long> ids = new ArrayList<Long>();
+
+		KeysetPage page = keysetPaging.findAll(information, pageable, null);
+		ids.add(getSingleElement(page).getId());
+
+		assertThat(page.getNext().isKeyset(), is(true));
+		statistics.clear();
+
+		while (page.getNext() != null) {
+			page = keysetPaging.findAll(information, pageable, page.getNext());
+			ids.add(getSingleElement(page).getId());
+		}
+
+		assertThat(ids, is(getIdsInOrder()));
+		assertThat(getCountQueries(), is(Collections.<String> emptyList()));
+	}
+
+	@Test
+	public void pagesBackwardsUsingKeysetCursors() {
+
+		Pageable pageable = new PageRequest(0, 1);
+
+		KeysetPage first = keysetPaging.findAll(information, pageable, null);
+		KeysetPage second = keysetPaging.findAll(information, pageable, first.getNext());
+		KeysetPage previous = keysetPaging.findAll(information, pageable, second.getPrevious());
+
+		assertThat(getSingleElement(previous).getId(), is(getSingleElement(first).getId()));
+		assertThat(previous.getPrevious(), is(nullValue()));
+		assertThat(previous.getNext(), is(notNullValue()));
+	}
+
+	@Test
+	public void usesOffsetCursorsForSortByNullableProperty() {
+
+		Pageable pageable = new PageRequest(0, 1, new Sort("firstName"));
+		List<Long> ids = new ArrayList<Long>();
+
+		KeysetPage page = keysetPaging.findAll(information, pageable, null);
+		ids.add(getSingleElement(page).getId());
+
+		assertThat(page.getNext().isKeyset(), is(false));
+
+		while (page.getNext() != null) {
+			page = keysetPaging.findAll(information, pageable, page.getNext());
+			ids.add(getSingleElement(page).getId());
+		}
+
+		assertThat(ids.size(), is((int) people.count()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsKeysetCursorForSortByNullableProperty() {
+
+		KeysetPage page = keysetPaging.findAll(information, new PageRequest(0, 1), null);
+		keysetPaging.findAll(information, new PageRequest(0, 1, new Sort("firstName")), page.getNext());
+	}
+
+	private List<Long> getIdsInOrder() {
+
+		List<Long> result = new ArrayList<Long>();
+
+		for (Person person : people.findAll(new Sort("id"))) {
+			result.add(person.getId());
+		}
+
+		return result;
+	}
+
+	private static Person getSingleElement(KeysetPage page) {
+
+		List<Object> content = new ArrayList<Object>();
+
+		for (Object element : page.getContent()) {
+			content.add(element);
+		}
+
+		assertThat(content.size(), is(1));
+		return (Person) content.get(0);
+	}
+
+	private List<String> getCountQueries() {
+
+		List<String> result = new ArrayList<String>();
+
+		for (String query : statistics.getQueries()) {
+			if (query.toLowerCase().contains("count(")) {
+				result.add(query);
+			}
+		}
+
+		return result;
+	}
+}
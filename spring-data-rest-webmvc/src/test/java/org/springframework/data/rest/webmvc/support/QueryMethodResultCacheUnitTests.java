@@ -0,0 +1,212 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.security.RolesAllowed;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.CacheableSearch;
+import org.springframework.data.rest.core.event.AfterSaveEvent;
+import org.springframework.data.rest.core.event.BeforeSaveEvent;
+
+/**
+ * Unit tests for {@link QueryMethodResultCache}.
+ *
+ * @author Oliver Gierke
+ */
+public class QueryMethodResultCacheUnitTests {
+
+	static final PageRequest PAGEABLE = new PageRequest(0, 10);
+
+	QueryMethodResultCache cache;
+	Method cached, uncached;
+
+	@Before
+	public void setUp() throws Exception {
+
+		cache = new QueryMethodResultCache();
+		cached = SampleRepository.class.getMethod("findByName", String.class);
+		uncached = SampleRepository.class.getMethod("findByCity", String.class);
+	}
+
+	@Test
+	public void cachesResultsOfAnnotatedQueryMethods() {
+
+		Object result = Collections.singletonList(new Sample());
+
+		assertThat(cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null).isHit(), is(false));
+		cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null).store(result);
+
+		QueryMethodResultCache.Lookup lookup = cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE,
+				false, null);
+
+		assertThat(lookup.isHit(), is(true));
+		assertThat(lookup.getResult(), is(instanceOf(List.class)));
+		assertThat(((List<?>) lookup.getResult()).size(), is(1));
+	}
+
+	@Test
+	public void returnsDetachedCopyForEveryHit() {
+
+		List<Sample> result = Collections.singletonList(new Sample());
+		cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null).store(result);
+
+		List<?> first = (List<?>) cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null)
+				.getResult();
+		List<?> second = (List<?>) cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null)
+				.getResult();
+
+		assertThat(first.get(0), is(not(sameInstance((Object) result.get(0)))));
+		assertThat(first.get(0), is(not(sameInstance(second.get(0)))));
+	}
+
+	@Test
+	public void doesNotCacheResultsNotSerializable() {
+
+		cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null).store(new Object());
+
+		assertThat(cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null).isHit(), is(false));
+	}
+
+	@Test
+	public void doesNotStoreResultsLookedUpBeforeEviction() {
+
+		QueryMethodResultCache.Lookup lookup = cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE,
+				false, null);
+
+		cache.onApplicationEvent(new AfterSaveEvent(new Sample()));
+		lookup.store(Collections.singletonList(new Sample()));
+
+		assertThat(cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null).isHit(), is(false));
+	}
+
+	@Test
+	public void doesNotCacheResultsOfQueryMethodsNotAnnotated() {
+
+		cache.lookup(Sample.class, uncached, parameters("city", "Dresden"), PAGEABLE, false, null).store("result");
+
+		assertThat(cache.lookup(Sample.class, uncached, parameters("city", "Dresden"), PAGEABLE, false, null).isHit(), is(false));
+	}
+
+	@Test
+	public void keysResultsByBoundParametersAndPageable() {
+
+		Map<String, String[]> parameters = parameters("name", "Dave");
+		cache.lookup(Sample.class, cached, parameters, PAGEABLE, false, null).store("result");
+
+		parameters.put("projection", new String[] { "summary" });
+
+		assertThat(cache.lookup(Sample.class, cached, parameters, PAGEABLE, false, null).isHit(), is(true));
+		assertThat(cache.lookup(Sample.class, cached, parameters("name", "Carter"), PAGEABLE, false, null).isHit(), is(false));
+		assertThat(cache.lookup(Sample.class, cached, parameters, new PageRequest(1, 10), false, null).isHit(), is(false));
+		assertThat(cache.lookup(Sample.class, cached, parameters, PAGEABLE, true, null).isHit(), is(false));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedResults() {
+
+		cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null).store("result");
+		cache.lookup(Sample.class, cached, parameters("name", "Carter"), PAGEABLE, false, null).store("result");
+
+		assertThat(cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null).isHit(), is(false));
+		assertThat(cache.lookup(Sample.class, cached, parameters("name", "Carter"), PAGEABLE, false, null).isHit(), is(true));
+	}
+
+	@Test
+	public void dropsResultsOnChangesToDomainType() {
+
+		cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null).store("result");
+
+		cache.onApplicationEvent(new BeforeSaveEvent(new Sample()));
+		assertThat(cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null).isHit(), is(true));
+
+		cache.onApplicationEvent(new AfterSaveEvent(new Sample()));
+		assertThat(cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null).isHit(), is(false));
+	}
+
+	@Test
+	public void keysResultsByPrincipal() {
+
+		cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, principal("dave")).store("result");
+
+		assertThat(cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, principal("dave"))
+				.isHit(), is(true));
+		assertThat(cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, principal("carter"))
+				.isHit(), is(false));
+		assertThat(cache.lookup(Sample.class, cached, parameters("name", "Dave"), PAGEABLE, false, null).isHit(),
+				is(false));
+	}
+
+	@Test
+	public void doesNotCacheResultsOfSecuredQueryMethods() throws Exception {
+
+		Method secured = SampleRepository.class.getMethod("findByFirstname", String.class);
+
+		cache.lookup(Sample.class, secured, parameters("firstname", "Dave"), PAGEABLE, false, null).store("result");
+
+		assertThat(cache.lookup(Sample.class, secured, parameters("firstname", "Dave"), PAGEABLE, false, null).isHit(),
+				is(false));
+	}
+
+	private static Principal principal(final String name) {
+
+		return new Principal() {
+
+			@Override
+			public String getName() {
+				return name;
+			}
+		};
+	}
+
+	private static Map<String, String[]> parameters(String name, String value) {
+
+		Map<String, String[]> parameters = new HashMap<String, String[]>();
+		parameters.put(name, new String[] { value });
+
+		return parameters;
+	}
+
+	static class Sample implements Serializable {
+		private static final long serialVersionUID = 1L;
+	}
+
+	interface SampleRepository {
+
+		@CacheableSearch(maxEntries = 1)
+		List<Sample> findByName(@Param("name") String name);
+
+		List<Sample> findByCity(@Param("city") String city);
+
+		@CacheableSearch
+		@RolesAllowed("ADMIN")
+		List<Sample> findByFirstname(@Param("firstname") String firstname);
+	}
+}
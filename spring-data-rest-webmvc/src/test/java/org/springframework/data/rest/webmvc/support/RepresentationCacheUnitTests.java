@@ -0,0 +1,299 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.core.event.AfterSaveEvent;
+import org.springframework.data.rest.core.event.BeforeSaveEvent;
+import org.springframework.data.rest.webmvc.support.RepresentationCache.Lookup;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Unit tests for {@link RepresentationCache}.
+ *
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RepresentationCacheUnitTests {
+
+	static final String BODY = "{ \"name\" : \"Dave\" }";
+
+	@Mock Repositories repositories;
+	@Mock EntityInformation<Object, Serializable> information;
+
+	RepositoryRestConfiguration config;
+	RepresentationCache cache;
+	MockHttpServletRequest request;
+
+	@Before
+	public void setUp() {
+
+		config = new RepositoryRestConfiguration();
+		config.representationCacheConfiguration().cache(Sample.class);
+		MappingJackson2HttpMessageConverter halConverter = new MappingJackson2HttpMessageConverter();
+		halConverter.setSupportedMediaTypes(Arrays.asList(MediaTypes.HAL_JSON));
+
+		List<HttpMessageConverter<?>> converters = Arrays.<HttpMessageConverter<?>> asList(halConverter,
+				new MappingJackson2HttpMessageConverter());
+
+		cache = new RepresentationCache(repositories, new DefaultConversionService(), config, converters);
+
+		request = new MockHttpServletRequest("GET", "/samples/1");
+		request.addHeader("Accept", "application/hal+json");
+
+		when(repositories.getEntityInformationFor(Sample.class)).thenReturn(information);
+		doReturn(Long.class).when(information).getIdType();
+	}
+
+	@Test
+	public void doesNotCacheTypesNotConfigured() {
+		assertThat(cache.lookup(Object.class, 1L, request), is(nullValue()));
+	}
+
+	@Test
+	public void writesCapturedRepresentationOnHit() throws IOException {
+
+		render(cache.lookup(Sample.class, "1", request));
+
+		Lookup lookup = cache.lookup(Sample.class, 1L, request);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		assertThat(lookup.isHit(), is(true));
+
+		lookup.writeTo(request, response);
+
+		assertThat(response.getContentAsString(), is(BODY));
+		assertThat(response.getContentType(), is("application/hal+json"));
+		assertThat(response.getHeaders("Vary"), hasItem("Accept"));
+	}
+
+	@Test
+	public void keysRepresentationsByPrincipal() throws IOException {
+
+		request.setUserPrincipal(principal("dave"));
+		render(cache.lookup(Sample.class, 1L, request));
+
+		MockHttpServletRequest anonymous = new MockHttpServletRequest("GET", "/samples/1");
+		anonymous.addHeader("Accept", "application/hal+json");
+
+		MockHttpServletRequest other = new MockHttpServletRequest("GET", "/samples/1");
+		other.addHeader("Accept", "application/hal+json");
+		other.setUserPrincipal(principal("carter"));
+
+		assertThat(cache.lookup(Sample.class, 1L, request).isHit(), is(true));
+		assertThat(cache.lookup(Sample.class, 1L, anonymous).isHit(), is(false));
+		assertThat(cache.lookup(Sample.class, 1L, other).isHit(), is(false));
+	}
+
+	@Test
+	public void keysRepresentationsByProjectionAndMediaType() throws IOException {
+
+		render(cache.lookup(Sample.class, 1L, request));
+
+		MockHttpServletRequest projected = new MockHttpServletRequest("GET", "/samples/1");
+		projected.addHeader("Accept", "application/hal+json");
+		projected.setParameter(config.projectionConfiguration().getParameterName(), "summary");
+
+		MockHttpServletRequest sparse = new MockHttpServletRequest("GET", "/samples/1");
+		sparse.addHeader("Accept", "application/hal+json");
+		sparse.setParameter(config.getFieldsParamName(), "name");
+
+		MockHttpServletRequest json = new MockHttpServletRequest("GET", "/samples/1");
+		json.addHeader("Accept", "application/json");
+
+		assertThat(cache.lookup(Sample.class, 1L, projected).isHit(), is(false));
+		assertThat(cache.lookup(Sample.class, 1L, sparse).isHit(), is(false));
+		assertThat(cache.lookup(Sample.class, 1L, json).isHit(), is(false));
+	}
+
+	@Test
+	public void keysRepresentationsByNegotiatedMediaType() throws IOException {
+
+		render(cache.lookup(Sample.class, 1L, request));
+
+		MockHttpServletRequest weighted = new MockHttpServletRequest("GET", "/samples/1");
+		weighted.addHeader("Accept", "text/html;q=0.1, application/hal+json;q=0.9");
+
+		MockHttpServletRequest any = new MockHttpServletRequest("GET", "/samples/1");
+		any.addHeader("Accept", "*/*");
+
+		assertThat(cache.lookup(Sample.class, 1L, weighted).isHit(), is(true));
+		assertThat(cache.lookup(Sample.class, 1L, any).isHit(), is(true));
+	}
+
+	@Test
+	public void doesNotLookUpRepresentationsIfNoMediaTypeCanBeNegotiated() {
+
+		MockHttpServletRequest html = new MockHttpServletRequest("GET", "/samples/1");
+		html.addHeader("Accept", "text/html");
+
+		assertThat(cache.lookup(Sample.class, 1L, html), is(nullValue()));
+	}
+
+	@Test
+	public void countsEveryVariantTowardsMaxEntries() throws IOException {
+
+		config.representationCacheConfiguration().setMaxEntries(2);
+
+		MockHttpServletRequest projected = new MockHttpServletRequest("GET", "/samples/1");
+		projected.addHeader("Accept", "application/hal+json");
+		projected.setParameter(config.projectionConfiguration().getParameterName(), "summary");
+
+		render(cache.lookup(Sample.class, 1L, request));
+		render(cache.lookup(Sample.class, 1L, projected));
+		render(cache.lookup(Sample.class, 2L, request));
+
+		assertThat(cache.lookup(Sample.class, 2L, request).isHit(), is(true));
+		assertThat(cache.lookup(Sample.class, 1L, request).isHit(), is(false));
+		assertThat(cache.lookup(Sample.class, 1L, projected).isHit(), is(false));
+	}
+
+	@Test
+	public void doesNotStoreFailedResponses() throws IOException {
+
+		Lookup lookup = cache.lookup(Sample.class, 1L, request);
+		CapturingResponse response = new CapturingResponse(new MockHttpServletResponse(), false);
+		response.setStatus(404);
+		lookup.store(response);
+
+		assertThat(cache.lookup(Sample.class, 1L, request).isHit(), is(false));
+	}
+
+	@Test
+	public void writesGzippedRepresentationIfAccepted() throws IOException {
+
+		config.representationCacheConfiguration().setGzip(true);
+		render(cache.lookup(Sample.class, 1L, request));
+
+		request.addHeader("Accept-Encoding", "gzip, deflate");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		cache.lookup(Sample.class, 1L, request).writeTo(request, response);
+
+		assertThat(response.getHeader("Content-Encoding"), is("gzip"));
+
+		GZIPInputStream stream = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()));
+		assertThat(new String(StreamUtils.copyToByteArray(stream), "UTF-8"), is(BODY));
+	}
+
+	@Test
+	public void writesPlainRepresentationIfGzipIsRejectedByQualityValue() throws IOException {
+
+		config.representationCacheConfiguration().setGzip(true);
+		render(cache.lookup(Sample.class, 1L, request));
+
+		request.addHeader("Accept-Encoding", "gzip;q=0, deflate");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		cache.lookup(Sample.class, 1L, request).writeTo(request, response);
+
+		assertThat(response.getHeader("Content-Encoding"), is(nullValue()));
+		assertThat(response.getContentAsString(), is(BODY));
+	}
+
+	@Test
+	public void writesGzippedRepresentationIfAcceptedByWildcard() throws IOException {
+
+		config.representationCacheConfiguration().setGzip(true);
+		render(cache.lookup(Sample.class, 1L, request));
+
+		request.addHeader("Accept-Encoding", "deflate, *;q=0.5");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		cache.lookup(Sample.class, 1L, request).writeTo(request, response);
+
+		assertThat(response.getHeader("Content-Encoding"), is("gzip"));
+	}
+
+	@Test
+	public void answersMatchingIfNoneMatchWithNotModified() throws IOException {
+
+		Lookup lookup = cache.lookup(Sample.class, 1L, request);
+		CapturingResponse captured = new CapturingResponse(new MockHttpServletResponse(), false);
+		captured.setContentType("application/hal+json");
+		captured.setHeader("ETag", "\"1\"");
+		captured.getOutputStream().write(BODY.getBytes("UTF-8"));
+		lookup.store(captured);
+
+		request.addHeader("If-None-Match", "\"1\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		cache.lookup(Sample.class, 1L, request).writeTo(request, response);
+
+		assertThat(response.getStatus(), is(304));
+		assertThat(response.getHeader("ETag"), is("\"1\""));
+		assertThat(response.getContentAsByteArray().length, is(0));
+	}
+
+	@Test
+	public void evictsRepresentationsOnAfterSaveEvent() throws IOException {
+
+		Sample sample = new Sample();
+		when(information.getId(sample)).thenReturn(1L);
+
+		render(cache.lookup(Sample.class, 1L, request));
+
+		cache.onApplicationEvent(new BeforeSaveEvent(sample));
+		assertThat(cache.lookup(Sample.class, 1L, request).isHit(), is(true));
+
+		cache.onApplicationEvent(new AfterSaveEvent(sample));
+		assertThat(cache.lookup(Sample.class, 1L, request).isHit(), is(false));
+	}
+
+	private static void render(Lookup lookup) throws IOException {
+
+		CapturingResponse response = new CapturingResponse(new MockHttpServletResponse(), false);
+		response.setStatus(200);
+		response.setContentType("application/hal+json");
+		response.getOutputStream().write(BODY.getBytes("UTF-8"));
+
+		lookup.store(response);
+	}
+
+	private static Principal principal(final String name) {
+
+		return new Principal() {
+
+			@Override
+			public String getName() {
+				return name;
+			}
+		};
+	}
+
+	static class Sample {}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Unit tests for {@link ThreadPoolRepositoryTaskExecutorProvider}.
+ *
+ * @author Oliver Gierke
+ */
+public class ThreadPoolRepositoryTaskExecutorProviderUnitTests {
+
+	RepositoryRestConfiguration config;
+	ThreadPoolRepositoryTaskExecutorProvider provider;
+
+	@Before
+	public void setUp() {
+
+		config = new RepositoryRestConfiguration().setAsyncPoolSize(2).setAsyncPoolSize(Slow.class, 5);
+		provider = new ThreadPoolRepositoryTaskExecutorProvider(config);
+	}
+
+	@After
+	public void tearDown() {
+		provider.destroy();
+	}
+
+	@Test
+	public void createsSingleExecutorPerDomainType() {
+
+		AsyncTaskExecutor executor = provider.getTaskExecutor(Sample.class);
+
+		assertThat(provider.getTaskExecutor(Sample.class), is(sameInstance(executor)));
+		assertThat(provider.getTaskExecutor(Slow.class), is(not(sameInstance(executor))));
+	}
+
+	@Test
+	public void usesPoolSizeConfiguredForDomainType() {
+
+		assertThat(((ThreadPoolTaskExecutor) provider.getTaskExecutor(Sample.class)).getMaxPoolSize(), is(2));
+		assertThat(((ThreadPoolTaskExecutor) provider.getTaskExecutor(Slow.class)).getMaxPoolSize(), is(5));
+	}
+
+	static class Sample {}
+
+	static class Slow {}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.core.invoke.RepositoryInvoker;
+import org.springframework.data.rest.webmvc.AbstractControllerIntegrationTests;
+import org.springframework.data.rest.webmvc.jpa.JpaRepositoryConfig;
+import org.springframework.data.rest.webmvc.jpa.Person;
+import org.springframework.data.rest.webmvc.jpa.PersonRepository;
+import org.springframework.data.rest.webmvc.support.TotalCountSupport.CountedPage;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Integration tests for {@link TotalCountSupport} with a JPA {@link PersonRepository}.
+ *
+ * @author Oliver Gierke
+ */
+@ContextConfiguration(classes = JpaRepositoryConfig.class)
+public class TotalCountSupportIntegrationTests extends AbstractControllerIntegrationTests {
+
+	@Autowired RepositoryRestConfiguration config;
+	@Autowired PersonRepository people;
+	@Autowired EntityManagerFactory entityManagerFactory;
+
+	TotalCountSupport support;
+	RepositoryInvoker invoker;
+	Statistics statistics;
+
+	@Before
+	public void setUp() {
+
+		support = new TotalCountSupport(config, new CachingTotalCountStrategy(new ExactTotalCountStrategy(), 60000));
+		invoker = invokerFactory.getInvokerFor(Person.class);
+
+		statistics = ((HibernateEntityManagerFactory) entityManagerFactory).getSessionFactory().getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+	}
+
+	@Test
+	public void consultsStrategyForPagingAndSortingRepository() {
+
+		Slice<Object> result = support.findAll(invoker, Person.class, new PageRequest(0, 1), null);
+
+		assertThat(result, is(instanceOf(CountedPage.class)));
+		assertThat(((CountedPage) result).getTotalElements(), is(people.count()));
+	}
+
+	@Test
+	public void doesNotIssueCountQueryForCachedTotal() {
+
+		support.findAll(invoker, Person.class, new PageRequest(0, 1), null);
+		assertThat(getCountQueries().isEmpty(), is(false));
+
+		statistics.clear();
+
+		Slice<Object> result = support.findAll(invoker, Person.class, new PageRequest(1, 1), null);
+
+		assertThat(result, is(instanceOf(CountedPage.class)));
+		assertThat(result.getNumberOfElements(), is(1));
+		assertThat(getCountQueries(), is(Collections.<String> emptyList()));
+	}
+
+	private List<String> getCountQueries() {
+
+		List<String> result = new ArrayList<String>();
+
+		for (String query : statistics.getQueries()) {
+			if (query.toLowerCase().contains("count(")) {
+				result.add(query);
+			}
+		}
+
+		return result;
+	}
+}
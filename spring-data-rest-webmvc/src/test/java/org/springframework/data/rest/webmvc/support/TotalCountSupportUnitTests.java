@@ -0,0 +1,145 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.rest.webmvc.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.core.invoke.RepositoryInvoker;
+import org.springframework.data.rest.webmvc.support.TotalCountSupport.CountedPage;
+
+/**
+ * Unit tests for {@link TotalCountSupport} and {@link EstimatingTotalCountStrategy}.
+ *
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TotalCountSupportUnitTests {
+
+	static final PageRequest FIRST_PAGE = new PageRequest(0, 2);
+
+	@Mock RepositoryInvoker invoker;
+
+	StaticTotalCountEstimator estimator;
+	TotalCountSupport support;
+
+	@Before
+	public void setUp() {
+
+		estimator = new StaticTotalCountEstimator();
+		support = new TotalCountSupport(new RepositoryRestConfiguration(), new EstimatingTotalCountStrategy(estimator,
+				new ExactTotalCountStrategy()));
+
+		when(invoker.hasCountMethod()).thenReturn(true);
+		when(invoker.invokeCount()).thenReturn(5L);
+	}
+
+	@Test
+	public void reportsEstimatedTotal() {
+
+		estimator.estimates.put(Object.class, 1000000L);
+		when(invoker.invokeFindAllSliced(FIRST_PAGE)).thenReturn(slice(true, 1, 2));
+
+		CountedPage page = (CountedPage) support.findAll(invoker, Object.class, FIRST_PAGE, null);
+
+		assertThat(page.getTotalElements(), is(1000000L));
+		assertThat(page.isEstimated(), is(true));
+		verify(invoker, never()).invokeCount();
+	}
+
+	@Test
+	public void fallsBackToExactCountIfNoEstimateAvailable() {
+
+		when(invoker.invokeFindAllSliced(FIRST_PAGE)).thenReturn(slice(true, 1, 2));
+
+		CountedPage page = (CountedPage) support.findAll(invoker, Object.class, FIRST_PAGE, null);
+
+		assertThat(page.getTotalElements(), is(5L));
+		assertThat(page.isEstimated(), is(false));
+	}
+
+	@Test
+	public void raisesEstimateBelowElementsSeen() {
+
+		estimator.estimates.put(Object.class, 1L);
+		when(invoker.invokeFindAllSliced(FIRST_PAGE)).thenReturn(slice(true, 1, 2));
+
+		CountedPage page = (CountedPage) support.findAll(invoker, Object.class, FIRST_PAGE, null);
+
+		assertThat(page.getTotalElements(), is(3L));
+		assertThat(page.hasNext(), is(true));
+	}
+
+	@Test
+	public void usesElementsSeenAsExactTotalForLastPage() {
+
+		when(invoker.invokeFindAllSliced(FIRST_PAGE)).thenReturn(slice(false, 1));
+
+		CountedPage page = (CountedPage) support.findAll(invoker, Object.class, FIRST_PAGE, null);
+
+		assertThat(page.getTotalElements(), is(1L));
+		assertThat(page.isEstimated(), is(false));
+		verify(invoker, never()).invokeCount();
+	}
+
+	@Test
+	public void returnsSliceIfRepositoryCannotCount() {
+
+		Slice<Object> slice = slice(true, 1, 2);
+
+		when(invoker.hasCountMethod()).thenReturn(false);
+		when(invoker.invokeFindAllSliced(FIRST_PAGE)).thenReturn(slice);
+
+		assertThat(support.findAll(invoker, Object.class, FIRST_PAGE, null), is(slice));
+	}
+
+	private static Slice<Object> slice(boolean hasNext, Object... content) {
+		return new SliceImpl<Object>(Arrays.asList(content), FIRST_PAGE, hasNext);
+	}
+
+	/**
+	 * Local stand-in for a store specific {@link TotalCountEstimator}.
+	 *
+	 * @author Oliver Gierke
+	 */
+	static class StaticTotalCountEstimator implements TotalCountEstimator {
+
+		final Map<Class<?>, Long> estimates = new HashMap<Class<?>, Long>();
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.rest.webmvc.support.TotalCountEstimator#estimate(java.lang.Class)
+		 */
+		@Override
+		public Long estimate(Class<?> domainType) {
+			return estimates.get(domainType);
+		}
+	}
+}